@@ -21,6 +21,7 @@
 package org.onap.cps.ncmp.impl.cache;
 
 import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.map.IMap;
 import org.onap.cps.impl.cache.HazelcastCacheConfig;
 import org.springframework.context.annotation.Bean;
@@ -29,8 +30,11 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class AlternateIdCacheConfig extends HazelcastCacheConfig {
 
+    // the config name must equal the map name for hazelcast to apply the near cache to it
     private static final MapConfig cmHandleIdPerAlternateIdMapConfig =
-            createGenericMapConfig("cmHandleIdPerAlternateIdMapConfig");
+            createMapConfigWithNearCache("cmHandleIdPerAlternateId");
+    private static final MapConfig alternateIdPerCmHandleIdMapConfig =
+            createGenericMapConfig("alternateIdPerCmHandleIdMapConfig");
 
     /**
      * Distributed instance used for mapping alternate id to cm handle id.
@@ -42,4 +46,21 @@ public class AlternateIdCacheConfig extends HazelcastCacheConfig {
         return getOrCreateHazelcastInstance(cmHandleIdPerAlternateIdMapConfig).getMap("cmHandleIdPerAlternateId");
     }
 
+    /**
+     * Distributed instance used for mapping cm handle id to alternate id (reverse of cmHandleIdPerAlternateId).
+     * Contains all registered cm handle ids, so existence checks on cm handle id are keyed lookups.
+     *
+     * @return configured map of alternate id by cm handle id
+     */
+    @Bean("alternateIdPerCmHandleId")
+    public IMap<String, String> alternateIdPerCmHandleId() {
+        return getOrCreateHazelcastInstance(alternateIdPerCmHandleIdMapConfig).getMap("alternateIdPerCmHandleId");
+    }
+
+    private static MapConfig createMapConfigWithNearCache(final String configName) {
+        final MapConfig mapConfig = createGenericMapConfig(configName);
+        mapConfig.setNearCacheConfig(new NearCacheConfig(configName));
+        return mapConfig;
+    }
+
 }
@@ -0,0 +1,94 @@
+/*
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.ncmp.impl.cache;
+
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.MapEvent;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import com.hazelcast.map.listener.MapClearedListener;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.onap.cps.ncmp.impl.utils.AlternateIdTrie;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the local alternate id trie in line with the distributed cmHandleIdPerAlternateId map.
+ * Updates arrive asynchronously, so callers of the trie must fall back to the map when there is no match.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AlternateIdTrieSynchronizer implements EntryAddedListener<String, String>,
+    EntryUpdatedListener<String, String>, EntryRemovedListener<String, String>, MapClearedListener {
+
+    @Qualifier("cmHandleIdPerAlternateId")
+    private final IMap<String, String> cmHandleIdPerAlternateId;
+
+    private final AlternateIdTrie alternateIdTrie;
+
+    private UUID listenerRegistrationId;
+
+    /**
+     * Register for changes of the distributed map and load its current content.
+     * The listener is registered first so no change is missed while loading.
+     */
+    @PostConstruct
+    public void startSynchronizing() {
+        listenerRegistrationId = cmHandleIdPerAlternateId.addEntryListener(this, true);
+        cmHandleIdPerAlternateId.forEach(alternateIdTrie::put);
+        log.info("Alternate ID trie loaded with {} entries", alternateIdTrie.size());
+    }
+
+    /**
+     * Stop receiving changes of the distributed map.
+     */
+    @PreDestroy
+    public void stopSynchronizing() {
+        cmHandleIdPerAlternateId.removeEntryListener(listenerRegistrationId);
+    }
+
+    @Override
+    public void entryAdded(final EntryEvent<String, String> event) {
+        alternateIdTrie.put(event.getKey(), event.getValue());
+    }
+
+    @Override
+    public void entryUpdated(final EntryEvent<String, String> event) {
+        alternateIdTrie.put(event.getKey(), event.getValue());
+    }
+
+    @Override
+    public void entryRemoved(final EntryEvent<String, String> event) {
+        alternateIdTrie.remove(event.getKey());
+    }
+
+    @Override
+    public void mapCleared(final MapEvent event) {
+        alternateIdTrie.clear();
+    }
+}
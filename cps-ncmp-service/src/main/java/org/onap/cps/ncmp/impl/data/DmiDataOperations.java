@@ -109,17 +109,17 @@ public class DmiDataOperations {
 
     /**
      * This method fetches all the resource data from operational data store for given cm handle
-     * identifier using dmi client.
+     * using the non-blocking dmi client.
      * Note: this method is only used for DataSync
      *
-     * @param cmHandleId    network resource identifier
-     * @param requestId     requestId for async responses
-     * @param options       options field for filtered response
-     * @return {@code ResponseEntity} response entity
+     * @param yangModelCmHandle cm handle (including its properties and state)
+     * @param requestId         requestId for async responses
+     * @param options           options field for filtered response
+     * @return {@code Mono<ResponseEntity<Object>>} A reactive type representing the response entity.
      */
-    public ResponseEntity<Object> getAllResourceDataFromDmi(final String cmHandleId, final String requestId,
-            final String options) {
-        final YangModelCmHandle yangModelCmHandle = getYangModelCmHandle(cmHandleId);
+    public Mono<ResponseEntity<Object>> getAllResourceDataFromDmi(final YangModelCmHandle yangModelCmHandle,
+                                                                  final String requestId,
+                                                                  final String options) {
         final CmHandleState cmHandleState = yangModelCmHandle.getCompositeState().getCmHandleState();
         validateIfCmHandleStateReady(yangModelCmHandle, cmHandleState);
 
@@ -127,7 +127,7 @@ public class DmiDataOperations {
         final UrlTemplateParameters urlTemplateParameters = getUrlTemplateParameters(
                 PASSTHROUGH_OPERATIONAL.getDatastoreName(), yangModelCmHandle, "/", options,
                 null);
-        return dmiRestClient.synchronousPostOperation(DATA, urlTemplateParameters, jsonRequestBody, READ,
+        return dmiRestClient.asynchronousPostOperation(DATA, urlTemplateParameters, jsonRequestBody, READ,
                 DmiRestClient.NO_AUTHORIZATION);
     }
 
@@ -85,6 +85,9 @@ public class CmHandleRegistrationService {
     @Qualifier("cmHandleIdPerAlternateId")
     private final IMap<String, String> cmHandleIdPerAlternateId;
 
+    @Qualifier("alternateIdPerCmHandleId")
+    private final IMap<String, String> alternateIdPerCmHandleId;
+
     /**
      * Registration of Created, Removed, Updated or Upgraded CM Handles.
      *
@@ -139,24 +142,24 @@ public class CmHandleRegistrationService {
     }
 
     /**
-     * Method to add alternate ids to cache by passing in yang model cm handle.
+     * Method to add alternate ids to cache (in both directions) by passing in yang model cm handle.
      * Note: If alternate id does not exist for given cm handle,
-     * then the map is populated with cm handle id as both key and value.
+     * then the maps are populated with cm handle id as both key and value.
      *
      * @param yangModelCmHandles collection of yang model cm handles
      */
     public void addAlternateIdsToCache(final Collection<YangModelCmHandle> yangModelCmHandles) {
         final Map<String, String> cmHandleIdPerAlternateIdToRegister = new HashMap<>(yangModelCmHandles.size());
+        final Map<String, String> alternateIdPerCmHandleIdToRegister = new HashMap<>(yangModelCmHandles.size());
         for (final YangModelCmHandle yangModelCmHandle : yangModelCmHandles) {
             final String cmHandleId = yangModelCmHandle.getId();
-            final String alternateId = yangModelCmHandle.getAlternateId();
-            if (StringUtils.isNotBlank(alternateId)) {
-                cmHandleIdPerAlternateIdToRegister.put(alternateId, cmHandleId);
-            } else {
-                cmHandleIdPerAlternateIdToRegister.put(cmHandleId, cmHandleId);
-            }
+            final String alternateId = StringUtils.isNotBlank(yangModelCmHandle.getAlternateId())
+                    ? yangModelCmHandle.getAlternateId() : cmHandleId;
+            cmHandleIdPerAlternateIdToRegister.put(alternateId, cmHandleId);
+            alternateIdPerCmHandleIdToRegister.put(cmHandleId, alternateId);
         }
         cmHandleIdPerAlternateId.putAll(cmHandleIdPerAlternateIdToRegister);
+        alternateIdPerCmHandleId.putAll(alternateIdPerCmHandleIdToRegister);
     }
 
     protected void processRemovedCmHandles(final DmiPluginRegistration dmiPluginRegistration,
@@ -428,6 +431,7 @@ public class CmHandleRegistrationService {
             } else {
                 cmHandleIdPerAlternateId.delete(cmHandleId);
             }
+            alternateIdPerCmHandleId.delete(cmHandleId);
         }
     }
 
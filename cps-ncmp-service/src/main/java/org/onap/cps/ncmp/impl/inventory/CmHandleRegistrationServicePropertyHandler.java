@@ -70,6 +70,8 @@ public class CmHandleRegistrationServicePropertyHandler {
     private final AlternateIdChecker alternateIdChecker;
     @Qualifier("cmHandleIdPerAlternateId")
     private final IMap<String, String> cmHandleIdPerAlternateId;
+    @Qualifier("alternateIdPerCmHandleId")
+    private final IMap<String, String> alternateIdPerCmHandleId;
     private final LcmEventProducer lcmEventProducer;
 
     /**
@@ -136,6 +138,7 @@ public class CmHandleRegistrationServicePropertyHandler {
                     newAlternateId);
             cmHandleIdPerAlternateId.delete(cmHandleId);
             cmHandleIdPerAlternateId.set(newAlternateId, cmHandleId);
+            alternateIdPerCmHandleId.set(cmHandleId, newAlternateId);
         }
     }
 
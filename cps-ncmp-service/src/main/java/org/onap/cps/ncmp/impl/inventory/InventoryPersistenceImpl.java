@@ -66,7 +66,7 @@ public class InventoryPersistenceImpl extends NcmpPersistenceImpl implements Inv
 
     private final CpsModuleService cpsModuleService;
     private final CpsValidator cpsValidator;
-    private final IMap<String, String> cmHandleIdPerAlternateId;
+    private final IMap<String, String> alternateIdPerCmHandleId;
 
     @Value("${ignore.r20250722.model:true}")
     private boolean ignoreModelR20250722;
@@ -79,18 +79,19 @@ public class InventoryPersistenceImpl extends NcmpPersistenceImpl implements Inv
      * @param cpsAnchorService     cps anchor service instance
      * @param cpsModuleService     cps module service instance
      * @param cpsDataService       cps data service instance
+     * @param alternateIdPerCmHandleId map of alternate id by (all registered) cm handle ids
      */
     public InventoryPersistenceImpl(final CpsValidator cpsValidator,
                                     final JsonObjectMapper jsonObjectMapper,
                                     final CpsAnchorService cpsAnchorService,
                                     final CpsModuleService cpsModuleService,
                                     final CpsDataService cpsDataService,
-                                    @Qualifier("cmHandleIdPerAlternateId")
-                                    final IMap<String, String> cmHandleIdPerAlternateId) {
+                                    @Qualifier("alternateIdPerCmHandleId")
+                                    final IMap<String, String> alternateIdPerCmHandleId) {
         super(jsonObjectMapper, cpsAnchorService, cpsDataService);
         this.cpsModuleService = cpsModuleService;
         this.cpsValidator = cpsValidator;
-        this.cmHandleIdPerAlternateId = cmHandleIdPerAlternateId;
+        this.alternateIdPerCmHandleId = alternateIdPerCmHandleId;
     }
 
     @Override
@@ -318,7 +319,7 @@ public class InventoryPersistenceImpl extends NcmpPersistenceImpl implements Inv
     }
 
     private boolean exists(final String cmHandleId) {
-        return cmHandleIdPerAlternateId.containsKey(cmHandleId) || cmHandleIdPerAlternateId.containsValue(cmHandleId);
+        return alternateIdPerCmHandleId.containsKey(cmHandleId);
     }
 
 }
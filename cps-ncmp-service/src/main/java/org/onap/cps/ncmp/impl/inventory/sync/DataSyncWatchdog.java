@@ -21,12 +21,25 @@
 package org.onap.cps.ncmp.impl.inventory.sync;
 
 import static org.onap.cps.ncmp.impl.inventory.NcmpPersistence.NFP_OPERATIONAL_DATASTORE_DATASPACE_NAME;
+import static org.onap.cps.ncmp.impl.models.RequiredDmiService.DATA;
 
 import com.hazelcast.map.IMap;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -37,8 +50,13 @@ import org.onap.cps.ncmp.api.inventory.DataStoreSyncState;
 import org.onap.cps.ncmp.api.inventory.models.CompositeState;
 import org.onap.cps.ncmp.impl.inventory.InventoryPersistence;
 import org.onap.cps.ncmp.impl.inventory.models.YangModelCmHandle;
+import org.onap.cps.ncmp.impl.utils.EventDateTimeFormatter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -54,6 +72,15 @@ public class DataSyncWatchdog {
     private final ModuleOperationsUtils moduleOperationsUtils;
     private final IMap<String, Boolean> dataSyncSemaphores;
     private final ReadinessManager readinessManager;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger pendingCmHandlesCount = new AtomicInteger();
+
+    @Value("${ncmp.data-sync.batch-size:100}")
+    private int batchSize;
+
+    @Value("${ncmp.data-sync.max-concurrent-requests-per-dmi:10}")
+    private int maxConcurrentRequestsPerDmi;
 
     /**
      * Execute Cm Handle poll which queries the cm handle state in 'READY' and Operational Datastore Sync State in
@@ -67,61 +94,140 @@ public class DataSyncWatchdog {
         }
         executeUnsynchronizedReadyCmHandleForInitialDataSync();
     }
-    
+
     /**
      * This method queries the cm handle state in 'READY' and Operational Datastore Sync State in
-     * 'UNSYNCHRONIZED'.
+     * 'UNSYNCHRONIZED' and synchronizes them in a bounded-concurrency pipeline:
+     * resource data is fetched from each DMI without blocking (with a limit on concurrent requests per DMI),
+     * then persisted and marked as synchronized in batches.
+     * Cm handles are claimed per batch, just before the batch is prepared (i.e. only as far ahead as the pipeline
+     * requests), so in a long run the claims of cm handles still waiting do not expire before they are processed.
+     * Returns when all cm handles have been processed. A failing batch does not affect the other batches;
+     * the claims of cm handles that could not be synchronized are released so a later run can retry them.
      */
     public void executeUnsynchronizedReadyCmHandleForInitialDataSync() {
-        final List<YangModelCmHandle> unsynchronizedReadyCmHandles =
-                moduleOperationsUtils.getUnsynchronizedReadyCmHandles();
-        unsynchronizedReadyCmHandles.stream().map(YangModelCmHandle::getId).forEach(this::synchronizeCmHandle);
-    }
-
-    private void synchronizeCmHandle(final String cmHandleId) {
-
-        if (!hasPushedIntoSemaphoreMap(cmHandleId)) {
-            log.debug("{} already processed by another instance", cmHandleId);
+        final List<String> unsynchronizedCmHandleIds = moduleOperationsUtils.getUnsynchronizedReadyCmHandles()
+                .stream().map(YangModelCmHandle::getId).toList();
+        if (unsynchronizedCmHandleIds.isEmpty()) {
             return;
         }
-
+        log.info("Executing data sync on {} cm handles", unsynchronizedCmHandleIds.size());
+        registerPendingCmHandlesGauge();
+        pendingCmHandlesCount.set(unsynchronizedCmHandleIds.size());
+        final Set<String> unfinishedCmHandleIds = ConcurrentHashMap.newKeySet();
         try {
-            performDataSynchronizationForCmHandle(cmHandleId);
+            Flux.fromIterable(unsynchronizedCmHandleIds)
+                .buffer(batchSize)
+                .concatMapIterable(cmHandleIds -> prepareDataSyncTasks(cmHandleIds, unfinishedCmHandleIds), 1)
+                .subscribeOn(Schedulers.boundedElastic())
+                .groupBy(dataSyncTask -> dataSyncTask.yangModelCmHandle().resolveDmiServiceName(DATA))
+                .flatMap(dataSyncTasksForDmi -> dataSyncTasksForDmi.flatMap(this::fetchResourceData,
+                        maxConcurrentRequestsPerDmi), Integer.MAX_VALUE)
+                .buffer(batchSize)
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(batch -> persistBatch(batch, unfinishedCmHandleIds))
+                .blockLast();
         } catch (final Exception exception) {
-            log.error("Failed to complete data sync for CM handle: {}", cmHandleId, exception);
+            log.error("Failed to complete data sync", exception);
+        } finally {
+            unfinishedCmHandleIds.forEach(this::releaseDataSyncSemaphore);
+            pendingCmHandlesCount.set(0);
         }
     }
 
-    private void performDataSynchronizationForCmHandle(final String cmHandleId) {
-        log.info("Executing data sync on {}", cmHandleId);
-        final CompositeState compositeState = inventoryPersistence.getCmHandleState(cmHandleId);
-        final Collection<String> rootNodeReferences =
-                cpsModuleService.getRootNodeReferences(NFP_OPERATIONAL_DATASTORE_DATASPACE_NAME, cmHandleId);
-
-        for (final String rootNodeReference : rootNodeReferences) {
-            synchronizeRootNodeReferences(cmHandleId, rootNodeReference);
+    private List<DataSyncTask> prepareDataSyncTasks(final Collection<String> unsynchronizedCmHandleIds,
+                                                    final Set<String> unfinishedCmHandleIds) {
+        final List<String> cmHandleIds = unsynchronizedCmHandleIds.stream()
+                .filter(this::hasPushedIntoSemaphoreMap).toList();
+        unfinishedCmHandleIds.addAll(cmHandleIds);
+        pendingCmHandlesCount.addAndGet(cmHandleIds.size() - unsynchronizedCmHandleIds.size());
+        if (cmHandleIds.isEmpty()) {
+            return List.of();
         }
+        final Collection<YangModelCmHandle> yangModelCmHandles;
+        try {
+            yangModelCmHandles = inventoryPersistence.getYangModelCmHandles(cmHandleIds);
+        } catch (final Exception exception) {
+            log.error("Failed to load CM handles for data sync: {}", cmHandleIds, exception);
+            countCmHandles("failed", cmHandleIds.size());
+            pendingCmHandlesCount.addAndGet(-cmHandleIds.size());
+            return List.of();
+        }
+        final List<DataSyncTask> dataSyncTasks = new ArrayList<>(yangModelCmHandles.size());
+        for (final YangModelCmHandle yangModelCmHandle : yangModelCmHandles) {
+            final String cmHandleId = yangModelCmHandle.getId();
+            try {
+                final Collection<String> rootNodeReferences =
+                        cpsModuleService.getRootNodeReferences(NFP_OPERATIONAL_DATASTORE_DATASPACE_NAME, cmHandleId);
+                dataSyncTasks.add(new DataSyncTask(yangModelCmHandle, rootNodeReferences));
+            } catch (final Exception exception) {
+                log.error("Failed to complete data sync for CM handle: {}", cmHandleId, exception);
+                countCmHandles("failed", 1);
+                pendingCmHandlesCount.decrementAndGet();
+            }
+        }
+        return dataSyncTasks;
+    }
 
-        setSyncStateToSynchronized().accept(compositeState);
-        inventoryPersistence.saveCmHandleState(cmHandleId, compositeState);
-        updateDataSyncSemaphoreMap(cmHandleId);
-        log.info("Data sync finished for {}", cmHandleId);
+    private Mono<SynchronizedResourceData> fetchResourceData(final DataSyncTask dataSyncTask) {
+        return Flux.fromIterable(dataSyncTask.rootNodeReferences())
+            .concatMap(rootNodeReference ->
+                fetchResourceDataForRootNode(dataSyncTask.yangModelCmHandle(), rootNodeReference))
+            .collectList()
+            .map(resourceData -> new SynchronizedResourceData(dataSyncTask.yangModelCmHandle(), resourceData));
     }
 
-    private void synchronizeRootNodeReferences(final String cmHandleId, final String rootNodeReference) {
+    private Mono<String> fetchResourceDataForRootNode(final YangModelCmHandle yangModelCmHandle,
+                                                      final String rootNodeReference) {
+        final String cmHandleId = yangModelCmHandle.getId();
         final String options = String.format("(fields=%s)", rootNodeReference);
+        return Mono.defer(() -> moduleOperationsUtils.getResourceData(yangModelCmHandle, options))
+            .switchIfEmpty(Mono.fromRunnable(() ->
+                log.warn("No resource data found for CM handle: {} with options: {}", cmHandleId, options)))
+            .onErrorResume(exception -> {
+                log.error("Failed to sync module and root node for CM handle: {} with options: {}", cmHandleId,
+                        options, exception);
+                return Mono.empty();
+            });
+    }
 
+    private void persistBatch(final List<SynchronizedResourceData> batch, final Set<String> unfinishedCmHandleIds) {
+        final Timer.Sample timerSample = Timer.start(meterRegistry);
+        final Map<String, CompositeState> compositeStatePerCmHandleId = new HashMap<>(batch.size());
         try {
-            final String resourceData = moduleOperationsUtils.getResourceData(cmHandleId, options);
-            if (resourceData == null) {
-                log.warn("No resource data found for CM handle: {} with options: {}", cmHandleId, options);
-                return;
+            for (final SynchronizedResourceData synchronizedResourceData : batch) {
+                final YangModelCmHandle yangModelCmHandle = synchronizedResourceData.yangModelCmHandle();
+                for (final String resourceData : synchronizedResourceData.resourceData()) {
+                    saveResourceData(yangModelCmHandle.getId(), resourceData);
+                }
+                final CompositeState compositeState = yangModelCmHandle.getCompositeState();
+                recordLag(compositeState);
+                setSyncStateToSynchronized().accept(compositeState);
+                compositeStatePerCmHandleId.put(yangModelCmHandle.getId(), compositeState);
             }
+            inventoryPersistence.saveCmHandleStateBatch(compositeStatePerCmHandleId);
+            compositeStatePerCmHandleId.keySet().forEach(this::updateDataSyncSemaphoreMap);
+            unfinishedCmHandleIds.removeAll(compositeStatePerCmHandleId.keySet());
+            countCmHandles("synchronized", batch.size());
+            log.info("Data sync finished for {} cm handles", batch.size());
+        } catch (final Exception exception) {
+            log.error("Failed to update data sync state for CM handles: {}", batch.stream()
+                .map(synchronizedResourceData -> synchronizedResourceData.yangModelCmHandle().getId()).toList(),
+                exception);
+            countCmHandles("failed", batch.size());
+        }
+        pendingCmHandlesCount.addAndGet(-batch.size());
+        timerSample.stop(Timer.builder("cps.ncmp.data.sync.batch")
+            .description("Time taken to persist a batch of synchronized cm handles")
+            .register(meterRegistry));
+    }
+
+    private void saveResourceData(final String cmHandleId, final String resourceData) {
+        try {
             cpsDataService.saveData(NFP_OPERATIONAL_DATASTORE_DATASPACE_NAME, cmHandleId, resourceData,
                     OffsetDateTime.now());
         } catch (final Exception exception) {
-            log.error("Failed to sync module and root node for CM handle: {} with options: {}", cmHandleId, options,
-                    exception);
+            log.error("Failed to save resource data for CM handle: {}", cmHandleId, exception);
         }
     }
 
@@ -135,12 +241,55 @@ public class DataSyncWatchdog {
         };
     }
 
+    private void recordLag(final CompositeState compositeState) {
+        try {
+            final OffsetDateTime unsynchronizedSince =
+                    EventDateTimeFormatter.toIsoOffsetDateTime(compositeState.getLastUpdateTime());
+            if (unsynchronizedSince != null) {
+                Timer.builder("cps.ncmp.data.sync.lag")
+                    .description("Time between a cm handle becoming ready and its data being synchronized")
+                    .register(meterRegistry)
+                    .record(Duration.between(unsynchronizedSince, OffsetDateTime.now()));
+            }
+        } catch (final DateTimeParseException dateTimeParseException) {
+            log.debug("Cannot determine data sync lag from {}", compositeState.getLastUpdateTime());
+        }
+    }
+
+    private void countCmHandles(final String outcome, final int count) {
+        Counter.builder("cps.ncmp.data.sync.cm.handles")
+            .description("Number of cm handles processed by data sync")
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .increment(count);
+    }
+
+    private void registerPendingCmHandlesGauge() {
+        Gauge.builder("cps.ncmp.data.sync.pending", pendingCmHandlesCount, AtomicInteger::get)
+            .description("Number of cm handles of the current data sync run that are not processed yet")
+            .register(meterRegistry);
+    }
+
     private void updateDataSyncSemaphoreMap(final String cmHandleId) {
         dataSyncSemaphores.replace(cmHandleId, DATA_SYNC_DONE);
     }
 
+    private void releaseDataSyncSemaphore(final String cmHandleId) {
+        dataSyncSemaphores.delete(cmHandleId);
+    }
+
     private boolean hasPushedIntoSemaphoreMap(final String cmHandleId) {
-        return dataSyncSemaphores.putIfAbsent(cmHandleId, DATA_SYNC_IN_PROGRESS,
+        final boolean claimed = dataSyncSemaphores.putIfAbsent(cmHandleId, DATA_SYNC_IN_PROGRESS,
                 SynchronizationCacheConfig.DATA_SYNC_SEMAPHORE_TTL_SECS, TimeUnit.SECONDS) == null;
+        if (!claimed) {
+            log.debug("{} already processed by another instance", cmHandleId);
+        }
+        return claimed;
+    }
+
+    private record DataSyncTask(YangModelCmHandle yangModelCmHandle, Collection<String> rootNodeReferences) {
+    }
+
+    private record SynchronizedResourceData(YangModelCmHandle yangModelCmHandle, List<String> resourceData) {
     }
 }
@@ -45,8 +45,8 @@ import org.onap.cps.ncmp.impl.inventory.CmHandleQueryService;
 import org.onap.cps.ncmp.impl.inventory.models.YangModelCmHandle;
 import org.onap.cps.ncmp.impl.utils.YangDataConverter;
 import org.onap.cps.utils.JsonObjectMapper;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 @Slf4j
 @Service
@@ -165,16 +165,14 @@ public class ModuleOperationsUtils {
     /**
      * Get the Resource Data from Node through DMI Passthrough service.
      *
-     * @param cmHandleId cm handle id
-     * @return optional string containing the resource data
+     * @param yangModelCmHandle cm handle (including its properties and state)
+     * @param options           options field for filtered response
+     * @return mono of the resource data, empty when the dmi response was not successful
      */
-    public String getResourceData(final String cmHandleId, final String options) {
-        final ResponseEntity<Object> resourceDataResponseEntity = dmiDataOperations.getAllResourceDataFromDmi(
-                cmHandleId, UUID.randomUUID().toString(), options);
-        if (resourceDataResponseEntity.getStatusCode().is2xxSuccessful()) {
-            return getFirstResource(resourceDataResponseEntity.getBody());
-        }
-        return null;
+    public Mono<String> getResourceData(final YangModelCmHandle yangModelCmHandle, final String options) {
+        return dmiDataOperations.getAllResourceDataFromDmi(yangModelCmHandle, UUID.randomUUID().toString(), options)
+            .filter(resourceDataResponseEntity -> resourceDataResponseEntity.getStatusCode().is2xxSuccessful())
+            .map(resourceDataResponseEntity -> getFirstResource(resourceDataResponseEntity.getBody()));
     }
 
     /**
@@ -0,0 +1,70 @@
+/*
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.ncmp.impl.inventory.sync;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ModuleSyncExecutorConfig {
+
+    @Value("${ncmp.module-sync.max-concurrent-batches:2}")
+    private int maxConcurrentBatches;
+
+    @Value("${ncmp.module-sync.max-concurrent-cm-handles:10}")
+    private int maxConcurrentCmHandles;
+
+    /**
+     * Creates the TaskExecutor running module sync batches.
+     *
+     * @return TaskExecutor
+     */
+    @Bean("moduleSyncBatchExecutor")
+    public TaskExecutor moduleSyncBatchExecutor() {
+        return createFixedSizeExecutor(maxConcurrentBatches, "module-sync-batch-");
+    }
+
+    /**
+     * Creates the TaskExecutor running module sync of the individual cm handles of a batch.
+     *
+     * @return TaskExecutor
+     */
+    @Bean("moduleSyncCmHandleExecutor")
+    public TaskExecutor moduleSyncCmHandleExecutor() {
+        return createFixedSizeExecutor(maxConcurrentCmHandles, "module-sync-cm-handle-");
+    }
+
+    private static TaskExecutor createFixedSizeExecutor(final int poolSize, final String threadNamePrefix) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
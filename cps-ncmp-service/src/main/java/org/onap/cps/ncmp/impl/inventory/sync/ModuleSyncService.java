@@ -29,6 +29,8 @@ import static org.onap.cps.ncmp.impl.inventory.NcmpPersistence.NFP_OPERATIONAL_D
 import java.time.OffsetDateTime;
 import java.util.Collection;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -53,6 +55,8 @@ public class ModuleSyncService {
     private final CpsAnchorService cpsAnchorService;
     private final JsonObjectMapper jsonObjectMapper;
 
+    private static final String NO_MODULE_SET_TAG = "";
+
     @AllArgsConstructor
     private static final class ModuleDelta {
         Collection<ModuleReference> allModuleReferences;
@@ -61,14 +65,15 @@ public class ModuleSyncService {
 
     /**
      * Creates a CM handle and initiates the synchronization of modules to create a schema set and anchor.
+     * A CM handle without module set tag is bound to an existing schema set with exactly the same modules if there is
+     * one, so identical devices share a schema set and no yang resources are fetched from the DMI plugin for them.
      *
      * @param yangModelCmHandle the yang model of cm handle.
      */
     public void syncAndCreateSchemaSetAndAnchor(final YangModelCmHandle yangModelCmHandle) {
         final String cmHandleId = yangModelCmHandle.getId();
         final String targetModuleSetTag = yangModelCmHandle.getModuleSetTag();
-        final String schemaSetName = getSchemaSetNameForModuleSetTag(cmHandleId, targetModuleSetTag);
-        syncAndCreateSchemaSet(yangModelCmHandle, schemaSetName, targetModuleSetTag);
+        final String schemaSetName = syncAndGetSchemaSetName(yangModelCmHandle, targetModuleSetTag);
         try {
             cpsAnchorService.createAnchor(NFP_OPERATIONAL_DATASTORE_DATASPACE_NAME, schemaSetName, cmHandleId);
         } catch (final AlreadyDefinedException alreadyDefinedException) {
@@ -86,40 +91,61 @@ public class ModuleSyncService {
         final String cmHandleId = yangModelCmHandle.getId();
         final String sourceModuleSetTag = yangModelCmHandle.getModuleSetTag();
         final String targetModuleSetTag = ModuleOperationsUtils.getTargetModuleSetTagForUpgrade(yangModelCmHandle);
-        final String schemaSetName = getSchemaSetNameForModuleSetTag(cmHandleId, targetModuleSetTag);
-        if (sourceModuleSetTag.isEmpty() && targetModuleSetTag.isEmpty()) {
-            final ModuleDelta moduleDelta = getModuleDelta(yangModelCmHandle, targetModuleSetTag);
-            cpsModuleService.upgradeSchemaSetFromModules(NFP_OPERATIONAL_DATASTORE_DATASPACE_NAME,
-                    schemaSetName, moduleDelta.newYangResourceContentPerName, moduleDelta.allModuleReferences);
-        } else {
-            syncAndCreateSchemaSet(yangModelCmHandle, schemaSetName, targetModuleSetTag);
-            cpsAnchorService.updateAnchorSchemaSet(NFP_OPERATIONAL_DATASTORE_DATASPACE_NAME, cmHandleId, schemaSetName);
+        final String schemaSetName = syncAndGetSchemaSetName(yangModelCmHandle, targetModuleSetTag);
+        cpsAnchorService.updateAnchorSchemaSet(NFP_OPERATIONAL_DATASTORE_DATASPACE_NAME, cmHandleId, schemaSetName);
+        if (!sourceModuleSetTag.isEmpty() || !targetModuleSetTag.isEmpty()) {
             setCmHandleModuleSetTag(yangModelCmHandle, targetModuleSetTag);
-            log.info("Upgrading schema set for CM handle ID: {}, Source Tag: {}, Target Tag: {}",
-                cmHandleId, sourceModuleSetTag, targetModuleSetTag);
         }
+        log.info("Upgrading schema set for CM handle ID: {}, Source Tag: {}, Target Tag: {}",
+            cmHandleId, sourceModuleSetTag, targetModuleSetTag);
     }
 
-    private void syncAndCreateSchemaSet(final YangModelCmHandle yangModelCmHandle,
-                                        final String schemaSetName,
-                                        final String targetModuleSetTag) {
-        if (isNewSchemaSet(schemaSetName)) {
-            final String cmHandleId = yangModelCmHandle.getId();
-            final ModuleDelta moduleDelta = getModuleDelta(yangModelCmHandle, targetModuleSetTag);
-            try {
-                log.info("Creating Schema Set {} for CM Handle {}", schemaSetName, cmHandleId);
-                cpsModuleService.createSchemaSetFromModules(
-                    NFP_OPERATIONAL_DATASTORE_DATASPACE_NAME,
-                    schemaSetName,
-                    moduleDelta.newYangResourceContentPerName,
-                    moduleDelta.allModuleReferences
-                );
-                log.info("Successfully created Schema Set {} for CM Handle {}", schemaSetName,
-                    yangModelCmHandle.getId());
-            } catch (final AlreadyDefinedException alreadyDefinedException) {
-                log.warn("Ignoring (Schema Set) already exists exception for {}. Exception details: {}", cmHandleId,
-                        alreadyDefinedException.getDetails());
-            }
+    private String syncAndGetSchemaSetName(final YangModelCmHandle yangModelCmHandle,
+                                           final String targetModuleSetTag) {
+        if (targetModuleSetTag.isEmpty()) {
+            return findOrSyncAndCreateSchemaSet(yangModelCmHandle);
+        }
+        if (isNewSchemaSet(targetModuleSetTag)) {
+            createSchemaSet(yangModelCmHandle, targetModuleSetTag, getModuleDelta(yangModelCmHandle, targetModuleSetTag,
+                dmiModelOperations.getModuleReferences(yangModelCmHandle, targetModuleSetTag)));
+        }
+        return targetModuleSetTag;
+    }
+
+    private String findOrSyncAndCreateSchemaSet(final YangModelCmHandle yangModelCmHandle) {
+        final String cmHandleId = yangModelCmHandle.getId();
+        final Collection<ModuleReference> allModuleReferences =
+            dmiModelOperations.getModuleReferences(yangModelCmHandle, NO_MODULE_SET_TAG);
+        final Optional<String> existingSchemaSetName = cpsModuleService.findSchemaSetNameByModuleReferences(
+            NFP_OPERATIONAL_DATASTORE_DATASPACE_NAME, allModuleReferences);
+        if (existingSchemaSetName.isPresent()) {
+            log.info("Using existing Schema Set {} with the same modules for CM Handle {}",
+                existingSchemaSetName.get(), cmHandleId);
+            return existingSchemaSetName.get();
+        }
+        // a schema set named after the cm handle can still be in use by other cm handles, with other modules
+        final String schemaSetName = isNewSchemaSet(cmHandleId) ? cmHandleId : cmHandleId + "-" + UUID.randomUUID();
+        createSchemaSet(yangModelCmHandle, schemaSetName,
+            getModuleDelta(yangModelCmHandle, NO_MODULE_SET_TAG, allModuleReferences));
+        return schemaSetName;
+    }
+
+    private void createSchemaSet(final YangModelCmHandle yangModelCmHandle,
+                                 final String schemaSetName,
+                                 final ModuleDelta moduleDelta) {
+        final String cmHandleId = yangModelCmHandle.getId();
+        try {
+            log.info("Creating Schema Set {} for CM Handle {}", schemaSetName, cmHandleId);
+            cpsModuleService.createSchemaSetFromModules(
+                NFP_OPERATIONAL_DATASTORE_DATASPACE_NAME,
+                schemaSetName,
+                moduleDelta.newYangResourceContentPerName,
+                moduleDelta.allModuleReferences
+            );
+            log.info("Successfully created Schema Set {} for CM Handle {}", schemaSetName, cmHandleId);
+        } catch (final AlreadyDefinedException alreadyDefinedException) {
+            log.warn("Ignoring (Schema Set) already exists exception for {}. Exception details: {}", cmHandleId,
+                    alreadyDefinedException.getDetails());
         }
     }
 
@@ -128,9 +154,8 @@ public class ModuleSyncService {
     }
 
     private ModuleDelta getModuleDelta(final YangModelCmHandle yangModelCmHandle,
-                                       final String targetModuleSetTag) {
-        final Collection<ModuleReference> allModuleReferences =
-            dmiModelOperations.getModuleReferences(yangModelCmHandle, targetModuleSetTag);
+                                       final String targetModuleSetTag,
+                                       final Collection<ModuleReference> allModuleReferences) {
         final Collection<ModuleReference> newModuleReferences =
                 cpsModuleService.identifyNewModuleReferences(allModuleReferences);
         final Map<String, String> newYangResourceContentPerName =
@@ -147,8 +172,4 @@ public class ModuleSyncService {
                 jsonForUpdate, OffsetDateTime.now(), ContentType.JSON);
     }
 
-    private static String getSchemaSetNameForModuleSetTag(final String cmHandleId, final String moduleSetTag) {
-        return moduleSetTag.isEmpty() ? cmHandleId : moduleSetTag;
-    }
-
 }
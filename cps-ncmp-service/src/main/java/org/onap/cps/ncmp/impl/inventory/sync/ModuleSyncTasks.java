@@ -20,19 +20,34 @@
 
 package org.onap.cps.ncmp.impl.inventory.sync;
 
+import static org.onap.cps.ncmp.impl.models.RequiredDmiService.MODEL;
+
 import com.hazelcast.map.IMap;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.onap.cps.api.exceptions.DataNodeNotFoundException;
+import org.apache.commons.lang3.StringUtils;
 import org.onap.cps.ncmp.api.inventory.models.CmHandleState;
 import org.onap.cps.ncmp.api.inventory.models.CompositeState;
 import org.onap.cps.ncmp.api.inventory.models.LockReasonCategory;
 import org.onap.cps.ncmp.impl.inventory.InventoryPersistence;
 import org.onap.cps.ncmp.impl.inventory.models.YangModelCmHandle;
 import org.onap.cps.ncmp.impl.inventory.sync.lcm.LcmEventsCmHandleStateHandler;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Component;
 
 @RequiredArgsConstructor
@@ -44,29 +59,40 @@ public class ModuleSyncTasks {
     private final ModuleSyncService moduleSyncService;
     private final LcmEventsCmHandleStateHandler lcmEventsCmHandleStateHandler;
     private final IMap<String, Object> moduleSyncStartedOnCmHandles;
+    @Qualifier("moduleSyncCmHandleExecutor")
+    private final TaskExecutor moduleSyncCmHandleExecutor;
+
+    private final ConcurrentMap<String, DmiDispatcher> dispatcherPerDmiServiceName = new ConcurrentHashMap<>();
+
+    @Value("${ncmp.module-sync.max-concurrent-requests-per-dmi:5}")
+    private int maxConcurrentRequestsPerDmi;
 
     /**
      * Perform module sync on a batch of cm handles.
+     * The cm handles of each DMI plugin are processed concurrently, but never more than the configured number of
+     * cm handles per DMI plugin at the same time (across all batches of this instance).
+     * Cm handles waiting for their DMI plugin are queued, they do not occupy a thread of the executor,
+     * so a slow DMI plugin cannot hold up the cm handles of other DMI plugins.
      *
      * @param cmHandleIds                  a batch of cm handle ids to perform module sync on
      */
     public void performModuleSync(final Collection<String> cmHandleIds) {
-        final Map<YangModelCmHandle, CmHandleState> cmHandleStatePerCmHandle = new HashMap<>(cmHandleIds.size());
+        final Map<YangModelCmHandle, CmHandleState> cmHandleStatePerCmHandle =
+                new ConcurrentHashMap<>(cmHandleIds.size());
         try {
-            for (final String cmHandleId : cmHandleIds) {
-                try {
-                    final YangModelCmHandle yangModelCmHandle = inventoryPersistence.getYangModelCmHandle(cmHandleId);
-                    if (isCmHandleInAdvisedState(yangModelCmHandle)) {
-                        final CmHandleState newCmHandleState = processCmHandle(yangModelCmHandle);
-                        cmHandleStatePerCmHandle.put(yangModelCmHandle, newCmHandleState);
-                    } else {
-                        log.warn("Skipping module sync for CM handle '{}' as it is in {} state", cmHandleId,
-                                yangModelCmHandle.getCompositeState().getCmHandleState().name());
-                    }
-                } catch (final DataNodeNotFoundException dataNodeNotFoundException) {
-                    log.warn("Skipping module sync for CM handle '{}' as it does not exist", cmHandleId);
+            final Map<String, List<YangModelCmHandle>> advisedCmHandlesPerDmiServiceName =
+                    getAdvisedCmHandles(cmHandleIds).stream().collect(Collectors.groupingBy(yangModelCmHandle ->
+                            StringUtils.defaultString(yangModelCmHandle.resolveDmiServiceName(MODEL))));
+            final List<CompletableFuture<Void>> processedCmHandles = new ArrayList<>();
+            advisedCmHandlesPerDmiServiceName.forEach((dmiServiceName, yangModelCmHandles) -> {
+                final DmiDispatcher dmiDispatcher = dispatcherPerDmiServiceName.computeIfAbsent(dmiServiceName,
+                        name -> new DmiDispatcher(maxConcurrentRequestsPerDmi));
+                for (final YangModelCmHandle yangModelCmHandle : yangModelCmHandles) {
+                    processedCmHandles.add(dmiDispatcher.submit(() ->
+                            cmHandleStatePerCmHandle.put(yangModelCmHandle, processCmHandle(yangModelCmHandle))));
                 }
-            }
+            });
+            CompletableFuture.allOf(processedCmHandles.toArray(new CompletableFuture[0])).join();
         } finally {
             lcmEventsCmHandleStateHandler.updateCmHandleStateBatch(cmHandleStatePerCmHandle);
         }
@@ -93,6 +119,25 @@ public class ModuleSyncTasks {
         lcmEventsCmHandleStateHandler.updateCmHandleStateBatch(cmHandleStatePerCmHandle);
     }
 
+    private Collection<YangModelCmHandle> getAdvisedCmHandles(final Collection<String> cmHandleIds) {
+        final Collection<YangModelCmHandle> yangModelCmHandles =
+                inventoryPersistence.getYangModelCmHandles(cmHandleIds);
+        final Collection<String> missingCmHandleIds = new HashSet<>(cmHandleIds);
+        final Collection<YangModelCmHandle> advisedCmHandles = new ArrayList<>(yangModelCmHandles.size());
+        for (final YangModelCmHandle yangModelCmHandle : yangModelCmHandles) {
+            missingCmHandleIds.remove(yangModelCmHandle.getId());
+            if (isCmHandleInAdvisedState(yangModelCmHandle)) {
+                advisedCmHandles.add(yangModelCmHandle);
+            } else {
+                log.warn("Skipping module sync for CM handle '{}' as it is in {} state", yangModelCmHandle.getId(),
+                        yangModelCmHandle.getCompositeState().getCmHandleState().name());
+            }
+        }
+        missingCmHandleIds.forEach(cmHandleId ->
+                log.warn("Skipping module sync for CM handle '{}' as it does not exist", cmHandleId));
+        return advisedCmHandles;
+    }
+
     private CmHandleState processCmHandle(final YangModelCmHandle yangModelCmHandle) {
         final CompositeState compositeState = yangModelCmHandle.getCompositeState();
         final boolean inUpgrade = ModuleOperationsUtils.inUpgradeOrUpgradeFailed(compositeState);
@@ -122,4 +167,47 @@ public class ModuleSyncTasks {
     private static boolean isCmHandleInAdvisedState(final YangModelCmHandle yangModelCmHandle) {
         return yangModelCmHandle.getCompositeState().getCmHandleState() == CmHandleState.ADVISED;
     }
+
+    /**
+     * Runs the tasks of one DMI plugin on the shared executor, at most the given number at the same time.
+     * Tasks are only handed to the executor once a permit is available, so no executor thread waits for a permit.
+     */
+    private final class DmiDispatcher {
+
+        private final Queue<Runnable> pendingTasks = new ConcurrentLinkedQueue<>();
+        private final Semaphore permits;
+
+        private DmiDispatcher(final int maximumConcurrentTasks) {
+            permits = new Semaphore(maximumConcurrentTasks);
+        }
+
+        private CompletableFuture<Void> submit(final Runnable task) {
+            final CompletableFuture<Void> taskCompletion = new CompletableFuture<>();
+            // runs the task in the calling (executor) thread and completes the future with its outcome
+            pendingTasks.add(() -> taskCompletion.completeAsync(() -> {
+                task.run();
+                return null;
+            }, Runnable::run));
+            dispatch();
+            return taskCompletion;
+        }
+
+        private void dispatch() {
+            while (!pendingTasks.isEmpty() && permits.tryAcquire()) {
+                final Runnable task = pendingTasks.poll();
+                if (task == null) {
+                    permits.release();
+                } else {
+                    moduleSyncCmHandleExecutor.execute(() -> {
+                        try {
+                            task.run();
+                        } finally {
+                            permits.release();
+                            dispatch();
+                        }
+                    });
+                }
+            }
+        }
+    }
 }
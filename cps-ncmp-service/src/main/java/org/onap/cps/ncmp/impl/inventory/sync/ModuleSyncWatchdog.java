@@ -22,14 +22,21 @@
 package org.onap.cps.ncmp.impl.inventory.sync;
 
 import com.hazelcast.map.IMap;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.onap.cps.init.actuator.ReadinessManager;
 import org.onap.cps.ncmp.impl.inventory.models.YangModelCmHandle;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
@@ -44,6 +51,10 @@ public class ModuleSyncWatchdog {
     private final ModuleSyncTasks moduleSyncTasks;
     @Qualifier("cpsCommonLocks") private final IMap<String, String> cpsCommonLocks;
     private final ReadinessManager readinessManager;
+    @Qualifier("moduleSyncBatchExecutor") private final TaskExecutor moduleSyncBatchExecutor;
+
+    @Value("${ncmp.module-sync.max-concurrent-batches:2}")
+    private int maxConcurrentBatches;
 
     private static final int MODULE_SYNC_BATCH_SIZE = 300;
     private static final String VALUE_FOR_HAZELCAST_IN_PROGRESS_MAP = "Started";
@@ -52,6 +63,8 @@ public class ModuleSyncWatchdog {
     /**
      * Check DB for any cm handles in 'ADVISED' state.
      * Queue and create batches to process them asynchronously.
+     * At most ncmp.module-sync.max-concurrent-batches batches are processed at the same time, the work queue is only
+     * drained for the next batch once one of the active batches has finished.
      * This method will only finish when there are no more 'ADVISED' cm handles in the DB.
      * This method is triggered on a configurable interval (ncmp.timers.advised-modules-sync.sleep-time-ms) and when the
      * system is in the ready state.
@@ -72,14 +85,30 @@ public class ModuleSyncWatchdog {
     public void moduleSyncAdvisedCmHandles() {
         log.debug("Processing module sync watchdog waking up.");
         populateWorkQueueIfNeeded();
+        final Semaphore batchPermits = new Semaphore(maxConcurrentBatches);
+        final AtomicInteger activeBatches = new AtomicInteger();
+        final List<CompletableFuture<Void>> batches = new ArrayList<>();
         while (!moduleSyncWorkQueue.isEmpty()) {
+            batchPermits.acquireUninterruptibly();
             final Collection<String> nextBatch = prepareNextBatch();
-            if (!nextBatch.isEmpty()) {
-                log.info("Processing module sync batch of {}. 1 batch(es) active.", nextBatch.size());
-                moduleSyncTasks.performModuleSync(nextBatch);
-                log.info("Processing module sync batch finished. 0 batch(es) active.");
+            if (nextBatch.isEmpty()) {
+                batchPermits.release();
+            } else {
+                log.info("Processing module sync batch of {}. {} batch(es) active.", nextBatch.size(),
+                        activeBatches.incrementAndGet());
+                batches.add(CompletableFuture.runAsync(() -> moduleSyncTasks.performModuleSync(nextBatch),
+                                moduleSyncBatchExecutor)
+                        .whenComplete((ignored, throwable) -> {
+                            if (throwable != null) {
+                                log.error("Processing module sync batch failed", throwable);
+                            }
+                            log.info("Processing module sync batch finished. {} batch(es) active.",
+                                    activeBatches.decrementAndGet());
+                            batchPermits.release();
+                        }));
             }
         }
+        CompletableFuture.allOf(batches.toArray(new CompletableFuture[0])).exceptionally(throwable -> null).join();
     }
 
     /**
@@ -23,6 +23,7 @@ package org.onap.cps.ncmp.impl.utils;
 import com.hazelcast.map.IMap;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -44,18 +45,31 @@ public class AlternateIdMatcher {
     @Qualifier("cmHandleIdPerAlternateId")
     private final IMap<String, String> cmHandleIdPerAlternateId;
 
+    @Qualifier("alternateIdPerCmHandleId")
+    private final IMap<String, String> alternateIdPerCmHandleId;
+
+    private final AlternateIdTrie alternateIdTrie;
+
     private static final String URI_PATH_COMPONENT_SEPARATOR = "#";
 
     /**
      * Get cm handle that matches longest alternate id by removing elements
      * (as defined by the separator string) from right to left.
      * If alternate id contains a hash then all elements after that hash are ignored.
+     * The local alternate id trie is tried first, its match is verified against the (near cached) distributed cache.
+     * The distributed cache is only walked when the trie has no (valid) match
+     * (e.g. for a cm handle that has just been registered or deleted).
      *
      * @param alternateId            alternate ID
      * @param separator              a string that separates each path element from the next.
      * @return ncmp service cm handle
      */
     public String getCmHandleIdByLongestMatchingAlternateId(final String alternateId, final String separator) {
+        final AlternateIdTrie.Match matchFromTrie = alternateIdTrie.findLongestMatch(alternateId, separator);
+        if (matchFromTrie != null
+            && isCurrentMatch(matchFromTrie, cmHandleIdPerAlternateId.get(matchFromTrie.alternateId()))) {
+            return matchFromTrie.cmHandleId();
+        }
         final String[] uriPathComponents = alternateId.split(URI_PATH_COMPONENT_SEPARATOR, 2);
         String bestMatch = uriPathComponents[0];
         while (StringUtils.isNotEmpty(bestMatch)) {
@@ -95,6 +109,9 @@ public class AlternateIdMatcher {
     /**
      * Get collection of cm handle ids whose alternate id best (longest) match the given paths.
      * If alternate id contains a hash then all elements after that hash are ignored.
+     * Paths are resolved using the local alternate id trie, its matches are verified against the (near cached)
+     * distributed cache. Only unresolved paths and paths with an outdated match are matched against the
+     * distributed cache.
      *
      * @param paths            collection of paths
      * @param separator        a string that separates each path element from the next.
@@ -103,7 +120,29 @@ public class AlternateIdMatcher {
     public Collection<String> getCmHandleIdsByLongestMatchingAlternateIds(final Collection<String> paths,
                                                                           final String separator) {
         final Collection<String> cmHandleIds = new ArrayList<>();
-        Set<String> unresolvedPaths = new HashSet<>(paths);
+        Set<String> unresolvedPaths = new HashSet<>(paths.size());
+        final Map<String, AlternateIdTrie.Match> matchFromTriePerPath = new HashMap<>(paths.size());
+        for (final String path : paths) {
+            final AlternateIdTrie.Match matchFromTrie = alternateIdTrie.findLongestMatch(path, separator);
+            if (matchFromTrie == null) {
+                unresolvedPaths.add(path);
+            } else {
+                matchFromTriePerPath.put(path, matchFromTrie);
+            }
+        }
+        if (!matchFromTriePerPath.isEmpty()) {
+            final Map<String, String> cmHandleIdPerMatchedAlternateId = cmHandleIdPerAlternateId.getAll(
+                matchFromTriePerPath.values().stream().map(AlternateIdTrie.Match::alternateId)
+                    .collect(Collectors.toSet()));
+            for (final Map.Entry<String, AlternateIdTrie.Match> entry : matchFromTriePerPath.entrySet()) {
+                final AlternateIdTrie.Match matchFromTrie = entry.getValue();
+                if (isCurrentMatch(matchFromTrie, cmHandleIdPerMatchedAlternateId.get(matchFromTrie.alternateId()))) {
+                    cmHandleIds.add(matchFromTrie.cmHandleId());
+                } else {
+                    unresolvedPaths.add(entry.getKey());
+                }
+            }
+        }
         while (!unresolvedPaths.isEmpty()) {
             final Map<String, String> resolvedCmHandleIdPerAlternateId
                 = cmHandleIdPerAlternateId.getAll(unresolvedPaths);
@@ -125,7 +164,7 @@ public class AlternateIdMatcher {
     public String getCmHandleId(final String cmHandleReference) {
         final String cmHandleId = cmHandleIdPerAlternateId.get(cmHandleReference);
         if (cmHandleId == null) {
-            if (cmHandleIdPerAlternateId.containsValue(cmHandleReference)) {
+            if (alternateIdPerCmHandleId.containsKey(cmHandleReference)) {
                 return cmHandleReference;
             } else {
                 throw new CmHandleNotFoundException(cmHandleReference);
@@ -134,6 +173,15 @@ public class AlternateIdMatcher {
         return cmHandleId;
     }
 
+    private static boolean isCurrentMatch(final AlternateIdTrie.Match matchFromTrie,
+                                          final String cmHandleIdFromDistributedCache) {
+        if (matchFromTrie.cmHandleId().equals(cmHandleIdFromDistributedCache)) {
+            return true;
+        }
+        log.debug("Alternate id trie is outdated for {}", matchFromTrie.alternateId());
+        return false;
+    }
+
     private String getParentPath(final String path, final String separator) {
         final int lastSeparatorIndex = path.lastIndexOf(separator);
         return lastSeparatorIndex < 0 ? "" : path.substring(0, lastSeparatorIndex);
@@ -0,0 +1,262 @@
+/*
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.ncmp.impl.utils;
+
+import java.util.Arrays;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process radix trie of alternate ids (keys) and their cm handle ids (values).
+ * Reads are lock free and walk an immutable snapshot; writes copy the affected path and publish a new root.
+ * This favours the (very frequent) longest match lookups over the (rare) registration updates.
+ */
+@Component
+public class AlternateIdTrie {
+
+    private static final char URI_PATH_COMPONENT_SEPARATOR = '#';
+
+    private volatile Node root = Node.EMPTY_ROOT;
+    private int size;
+
+    /**
+     * Add or replace the cm handle id for an alternate id.
+     *
+     * @param alternateId alternate id
+     * @param cmHandleId  cm handle id
+     */
+    public synchronized void put(final String alternateId, final String cmHandleId) {
+        if (get(alternateId) == null) {
+            size++;
+        }
+        root = insert(root, alternateId, 0, cmHandleId);
+    }
+
+    /**
+     * Remove an alternate id. Has no effect when the alternate id is not present.
+     *
+     * @param alternateId alternate id
+     */
+    public synchronized void remove(final String alternateId) {
+        final Node newRoot = delete(root, alternateId, 0);
+        if (newRoot != root) {
+            size--;
+            root = newRoot;
+        }
+    }
+
+    /**
+     * Remove all alternate ids.
+     */
+    public synchronized void clear() {
+        root = Node.EMPTY_ROOT;
+        size = 0;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Get the cm handle id for an exact alternate id.
+     *
+     * @param alternateId alternate id
+     * @return cm handle id or null when the alternate id is not present
+     */
+    public String get(final String alternateId) {
+        Node node = root;
+        int offset = 0;
+        while (offset < alternateId.length()) {
+            final Node child = node.getChild(alternateId.charAt(offset));
+            if (child == null || !alternateId.startsWith(child.label, offset)) {
+                return null;
+            }
+            offset += child.label.length();
+            node = child;
+        }
+        return node.value;
+    }
+
+    /**
+     * Get cm handle id that matches the longest alternate id in one walk down the trie.
+     * Only prefixes that end where the path ends or where a separator starts are considered, consistent with
+     * removing elements from right to left. If the path contains a hash then everything after it is ignored.
+     *
+     * @param path      path, typically an FDN
+     * @param separator a string that separates each path element from the next
+     * @return cm handle id or null when no alternate id matches
+     */
+    public String getLongestMatch(final String path, final String separator) {
+        final Match longestMatch = findLongestMatch(path, separator);
+        return longestMatch == null ? null : longestMatch.cmHandleId();
+    }
+
+    /**
+     * Get the longest alternate id matching the path and its cm handle id, see
+     * {@link #getLongestMatch(String, String)}.
+     *
+     * @param path      path, typically an FDN
+     * @param separator a string that separates each path element from the next
+     * @return the matching alternate id and its cm handle id or null when no alternate id matches
+     */
+    public Match findLongestMatch(final String path, final String separator) {
+        final int hashIndex = path.indexOf(URI_PATH_COMPONENT_SEPARATOR);
+        final int end = hashIndex < 0 ? path.length() : hashIndex;
+        String longestMatchValue = null;
+        int longestMatchLength = 0;
+        Node node = root;
+        int offset = 0;
+        while (true) {
+            if (node.value != null && offset > 0 && (offset == end || path.startsWith(separator, offset))) {
+                longestMatchValue = node.value;
+                longestMatchLength = offset;
+            }
+            final Node child = offset == end ? null : node.getChild(path.charAt(offset));
+            if (child == null || offset + child.label.length() > end || !path.startsWith(child.label, offset)) {
+                return longestMatchValue == null ? null
+                    : new Match(path.substring(0, longestMatchLength), longestMatchValue);
+            }
+            offset += child.label.length();
+            node = child;
+        }
+    }
+
+    /**
+     * An alternate id and its cm handle id.
+     */
+    public record Match(String alternateId, String cmHandleId) {
+    }
+
+    private static Node insert(final Node node, final String key, final int offset, final String value) {
+        if (offset == key.length()) {
+            return node.withValue(value);
+        }
+        final char firstChar = key.charAt(offset);
+        final int index = Arrays.binarySearch(node.firstChars, firstChar);
+        if (index < 0) {
+            final Node leaf = new Node(key.substring(offset), value, Node.NO_CHARS, Node.NO_CHILDREN);
+            return node.withChildAdded(-index - 1, firstChar, leaf);
+        }
+        final Node child = node.children[index];
+        final int commonLength = commonPrefixLength(child.label, key, offset);
+        if (commonLength == child.label.length()) {
+            return node.withChildReplaced(index, insert(child, key, offset + commonLength, value));
+        }
+        final Node splitNode = new Node(child.label.substring(0, commonLength), null,
+            new char[] {child.label.charAt(commonLength)},
+            new Node[] {child.withLabel(child.label.substring(commonLength))});
+        return node.withChildReplaced(index, insert(splitNode, key, offset + commonLength, value));
+    }
+
+    private static Node delete(final Node node, final String key, final int offset) {
+        if (offset == key.length()) {
+            return node.value == null ? node : node.withValue(null);
+        }
+        final int index = Arrays.binarySearch(node.firstChars, key.charAt(offset));
+        if (index < 0) {
+            return node;
+        }
+        final Node child = node.children[index];
+        if (!key.startsWith(child.label, offset)) {
+            return node;
+        }
+        final Node newChild = delete(child, key, offset + child.label.length());
+        if (newChild == child) {
+            return node;
+        }
+        if (newChild.value == null && newChild.children.length == 0) {
+            return node.withChildRemoved(index);
+        }
+        if (newChild.value == null && newChild.children.length == 1) {
+            final Node grandChild = newChild.children[0];
+            return node.withChildReplaced(index, grandChild.withLabel(newChild.label + grandChild.label));
+        }
+        return node.withChildReplaced(index, newChild);
+    }
+
+    private static int commonPrefixLength(final String label, final String key, final int offset) {
+        final int maxLength = Math.min(label.length(), key.length() - offset);
+        int length = 0;
+        while (length < maxLength && label.charAt(length) == key.charAt(offset + length)) {
+            length++;
+        }
+        return length;
+    }
+
+    private static final class Node {
+
+        private static final char[] NO_CHARS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final Node EMPTY_ROOT = new Node("", null, NO_CHARS, NO_CHILDREN);
+
+        private final String label;
+        private final String value;
+        private final char[] firstChars;
+        private final Node[] children;
+
+        private Node(final String label, final String value, final char[] firstChars, final Node[] children) {
+            this.label = label;
+            this.value = value;
+            this.firstChars = firstChars;
+            this.children = children;
+        }
+
+        private Node getChild(final char firstChar) {
+            final int index = Arrays.binarySearch(firstChars, firstChar);
+            return index < 0 ? null : children[index];
+        }
+
+        private Node withValue(final String newValue) {
+            return new Node(label, newValue, firstChars, children);
+        }
+
+        private Node withLabel(final String newLabel) {
+            return new Node(newLabel, value, firstChars, children);
+        }
+
+        private Node withChildReplaced(final int index, final Node child) {
+            final Node[] newChildren = children.clone();
+            newChildren[index] = child;
+            return new Node(label, value, firstChars, newChildren);
+        }
+
+        private Node withChildAdded(final int index, final char firstChar, final Node child) {
+            final char[] newFirstChars = new char[firstChars.length + 1];
+            final Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(firstChars, 0, newFirstChars, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newFirstChars[index] = firstChar;
+            newChildren[index] = child;
+            System.arraycopy(firstChars, index, newFirstChars, index + 1, firstChars.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            return new Node(label, value, newFirstChars, newChildren);
+        }
+
+        private Node withChildRemoved(final int index) {
+            final char[] newFirstChars = new char[firstChars.length - 1];
+            final Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(firstChars, 0, newFirstChars, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(firstChars, index + 1, newFirstChars, index, firstChars.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            return new Node(label, value, newFirstChars, newChildren);
+        }
+    }
+}
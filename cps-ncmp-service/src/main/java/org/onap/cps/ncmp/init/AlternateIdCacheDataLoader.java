@@ -48,6 +48,9 @@ public class AlternateIdCacheDataLoader {
     @Qualifier("cmHandleIdPerAlternateId")
     private final IMap<String, String> cmHandleIdPerAlternateId;
 
+    @Qualifier("alternateIdPerCmHandleId")
+    private final IMap<String, String> alternateIdPerCmHandleId;
+
     /**
      * Method to initialise the Alternate ID Cache by querying the current inventory.
      * This method is triggered by NcmpInventoryModelOnboardingFinishedEvent.
@@ -56,7 +59,8 @@ public class AlternateIdCacheDataLoader {
      */
     @EventListener
     public void populateCmHandleIdPerAlternateIdMap(final NcmpInventoryModelOnboardingFinishedEvent event) {
-        if (cmHandleIdPerAlternateId.isEmpty()) {
+        // also (re)populate when only the reverse map is empty, e.g. after upgrading a running cluster
+        if (cmHandleIdPerAlternateId.isEmpty() || alternateIdPerCmHandleId.isEmpty()) {
             log.info("Populating Alternate ID map from inventory");
             final Collection<DataNode> dataNodes = inventoryPersistence.getDataNode(
                     NCMP_DMI_REGISTRY_PARENT, DIRECT_CHILDREN_ONLY).iterator().next().getChildDataNodes();
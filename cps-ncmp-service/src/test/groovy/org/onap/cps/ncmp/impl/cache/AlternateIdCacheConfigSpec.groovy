@@ -34,6 +34,10 @@ class AlternateIdCacheConfigSpec extends Specification {
     @Qualifier("cmHandleIdPerAlternateId")
     IMap<String, String> cmHandleIdPerAlternateId
 
+    @Autowired
+    @Qualifier("alternateIdPerCmHandleId")
+    IMap<String, String> alternateIdPerCmHandleId
+
     def cleanupSpec() {
         Hazelcast.getHazelcastInstanceByName('cps-and-ncmp-hazelcast-instance-test-config').shutdown()
     }
@@ -41,9 +45,20 @@ class AlternateIdCacheConfigSpec extends Specification {
     def 'Hazelcast cache for alternate ids.'() {
         expect: 'system is able to create an instance alternate id cache'
             assert null != cmHandleIdPerAlternateId
+        and: 'an instance of the reverse alternate id cache'
+            assert null != alternateIdPerCmHandleId
         and: 'there is at least 1 instance'
             assert Hazelcast.allHazelcastInstances.size() > 0
         and: 'Hazelcast cache instance for alternate ids is present'
             assert Hazelcast.getHazelcastInstanceByName('cps-and-ncmp-hazelcast-instance-test-config').getMap('cmHandleIdPerAlternateId') != null
+        and: 'Hazelcast cache instance for the reverse mapping is present'
+            assert Hazelcast.getHazelcastInstanceByName('cps-and-ncmp-hazelcast-instance-test-config').getMap('alternateIdPerCmHandleId') != null
+    }
+
+    def 'Alternate id cache is configured with a near cache.'() {
+        when: 'retrieving the map config of the alternate id cache'
+            def mapConfig = Hazelcast.getHazelcastInstanceByName('cps-and-ncmp-hazelcast-instance-test-config').config.findMapConfig('cmHandleIdPerAlternateId')
+        then: 'it has a near cache'
+            assert mapConfig.nearCacheConfig != null
     }
 }
@@ -0,0 +1,85 @@
+/*
+ * ============LICENSE_START=======================================================
+ * Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.ncmp.impl.cache
+
+import com.hazelcast.core.EntryEvent
+import com.hazelcast.map.IMap
+import com.hazelcast.map.MapEvent
+import org.onap.cps.ncmp.impl.utils.AlternateIdTrie
+import spock.lang.Specification
+
+class AlternateIdTrieSynchronizerSpec extends Specification {
+
+    def mockCmHandleIdPerAlternateId = Mock(IMap)
+    def alternateIdTrie = new AlternateIdTrie()
+
+    def objectUnderTest = new AlternateIdTrieSynchronizer(mockCmHandleIdPerAlternateId, alternateIdTrie)
+
+    def 'Start synchronizing.'() {
+        given: 'the distributed cache contains an alternate id'
+            mockCmHandleIdPerAlternateId.forEach(_) >> { args -> args[0].accept('/a=1', 'ch1') }
+        when: 'synchronizing is started'
+            objectUnderTest.startSynchronizing()
+        then: 'the synchronizer is registered as listener including values'
+            1 * mockCmHandleIdPerAlternateId.addEntryListener(objectUnderTest, true)
+        and: 'the existing alternate id is loaded into the trie'
+            assert alternateIdTrie.get('/a=1') == 'ch1'
+    }
+
+    def 'Stop synchronizing.'() {
+        given: 'synchronizing was started'
+            def registrationId = UUID.randomUUID()
+            mockCmHandleIdPerAlternateId.addEntryListener(*_) >> registrationId
+            objectUnderTest.startSynchronizing()
+        when: 'synchronizing is stopped'
+            objectUnderTest.stopSynchronizing()
+        then: 'the listener is removed'
+            1 * mockCmHandleIdPerAlternateId.removeEntryListener(registrationId)
+    }
+
+    def 'Entry events update the trie.'() {
+        when: 'an entry is added'
+            objectUnderTest.entryAdded(createEntryEvent('/a=1', 'ch1'))
+        then: 'it is in the trie'
+            assert alternateIdTrie.get('/a=1') == 'ch1'
+        when: 'the entry is updated'
+            objectUnderTest.entryUpdated(createEntryEvent('/a=1', 'ch2'))
+        then: 'the trie has the new value'
+            assert alternateIdTrie.get('/a=1') == 'ch2'
+        when: 'the entry is removed'
+            objectUnderTest.entryRemoved(createEntryEvent('/a=1', null))
+        then: 'it is no longer in the trie'
+            assert alternateIdTrie.get('/a=1') == null
+    }
+
+    def 'Map cleared event clears the trie.'() {
+        given: 'the trie contains an alternate id'
+            alternateIdTrie.put('/a=1', 'ch1')
+        when: 'the distributed cache is cleared'
+            objectUnderTest.mapCleared(new MapEvent('some source', null, 0, 1))
+        then: 'the trie is empty'
+            assert alternateIdTrie.size() == 0
+    }
+
+    def static createEntryEvent(key, value) {
+        return new EntryEvent('some source', null, 0, key, value)
+    }
+}
@@ -22,6 +22,7 @@
 package org.onap.cps.ncmp.impl.data
 
 import com.fasterxml.jackson.databind.ObjectMapper
+import org.onap.cps.api.exceptions.CpsException
 import org.onap.cps.events.EventProducer
 import org.onap.cps.ncmp.api.data.models.CmResourceAddress
 import org.onap.cps.ncmp.api.data.models.DataOperationRequest
@@ -156,17 +157,31 @@ class DmiDataOperationsSpec extends DmiOperationsBaseSpec {
     }
 
     def 'Get all resource data.'() {
-        given: 'the system returns a cm handle with a sample property and sample module set tag'
-            mockYangModelCmHandleRetrieval([yangModelCmHandleProperty], 'my-module-set-tag')
+        given: 'a cm handle with a sample property and sample module set tag'
+            populateYangModelCmHandle([yangModelCmHandleProperty], 'my-module-set-tag')
         and: 'a positive response from DMI service when it is called with the expected parameters'
-            def responseFromDmi = new ResponseEntity<Object>(HttpStatus.OK)
+            def responseFromDmi = Mono.just(new ResponseEntity<Object>(HttpStatus.OK))
             def expectedTemplateWithVariables = new UrlTemplateParameters('myServiceName/dmi/v1/ch/{cmHandleId}/data/ds/{datastore}?resourceIdentifier={resourceIdentifier}&options={options}', ['resourceIdentifier': '/', 'datastore': 'ncmp-datastore:passthrough-operational', 'cmHandleId': cmHandleId, 'options': OPTIONS_PARAM])
             def expectedJson = '{"operation":"read","cmHandleProperties":{"prop1":"val1"},"moduleSetTag":"my-module-set-tag"}'
-            mockDmiRestClient.synchronousPostOperation(DATA, expectedTemplateWithVariables, expectedJson, READ, null) >> responseFromDmi
+            mockDmiRestClient.asynchronousPostOperation(DATA, expectedTemplateWithVariables, expectedJson, READ, null) >> responseFromDmi
         when: 'get resource data is invoked'
-            def result = objectUnderTest.getAllResourceDataFromDmi(cmHandleId, NO_REQUEST_ID, OPTIONS_PARAM)
+            def result = objectUnderTest.getAllResourceDataFromDmi(yangModelCmHandle, NO_REQUEST_ID, OPTIONS_PARAM)
         then: 'the result is the response from the DMI service'
             assert result == responseFromDmi
+        and: 'the cm handle is not retrieved again'
+            0 * mockInventoryPersistence.getYangModelCmHandle(_)
+    }
+
+    def 'Get all resource data for a cm handle that is not ready.'() {
+        given: 'a cm handle in state ADVISED'
+            populateYangModelCmHandle([], '')
+            yangModelCmHandle.compositeState.cmHandleState = CmHandleState.ADVISED
+        when: 'get resource data is invoked'
+            objectUnderTest.getAllResourceDataFromDmi(yangModelCmHandle, NO_REQUEST_ID, OPTIONS_PARAM)
+        then: 'a state mismatch exception is thrown'
+            thrown(CpsException)
+        and: 'the DMI service is not called'
+            0 * mockDmiRestClient.asynchronousPostOperation(*_)
     }
 
     def 'Write data for pass-through:running datastore in DMI.'() {
@@ -55,9 +55,10 @@ class CmHandleRegistrationServicePropertyHandlerSpec extends Specification {
     def jsonObjectMapper = new JsonObjectMapper(new ObjectMapper())
     def mockAlternateIdChecker = Mock(AlternateIdChecker)
     def mockCmHandleIdPerAlternateId = Mock(IMap)
+    def mockAlternateIdPerCmHandleId = Mock(IMap)
     def mockLcmEventProducer = Mock(LcmEventProducer)
 
-    def objectUnderTest = new CmHandleRegistrationServicePropertyHandler(mockInventoryPersistence, mockCpsDataService, jsonObjectMapper, mockAlternateIdChecker, mockCmHandleIdPerAlternateId, mockLcmEventProducer)
+    def objectUnderTest = new CmHandleRegistrationServicePropertyHandler(mockInventoryPersistence, mockCpsDataService, jsonObjectMapper, mockAlternateIdChecker, mockCmHandleIdPerAlternateId, mockAlternateIdPerCmHandleId, mockLcmEventProducer)
     def logger = Spy(ListAppender<ILoggingEvent>)
 
     void setup() {
@@ -216,6 +217,9 @@ class CmHandleRegistrationServicePropertyHandlerSpec extends Specification {
             def response = objectUnderTest.updateCmHandleProperties(cmHandleUpdateRequest)
         then: 'the update is delegated to inventory persistence with correct parameters'
             1 * mockInventoryPersistence.updateCmHandleField(cmHandleId, 'alternate-id', 'alt-1')
+        and: 'both alternate id caches are updated'
+            1 * mockCmHandleIdPerAlternateId.set('alt-1', cmHandleId)
+            1 * mockAlternateIdPerCmHandleId.set(cmHandleId, 'alt-1')
         and: 'one successful registration response'
             response.size() == 1
         and: 'the response shows success for the given cm handle id'
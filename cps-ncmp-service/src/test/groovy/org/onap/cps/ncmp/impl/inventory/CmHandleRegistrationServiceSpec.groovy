@@ -60,10 +60,11 @@ class CmHandleRegistrationServiceSpec extends Specification {
     def mockTrustLevelManager = Mock(TrustLevelManager)
     def mockAlternateIdChecker = Mock(AlternateIdChecker)
     def mockCmHandleIdPerAlternateId = Mock(IMap)
+    def mockAlternateIdPerCmHandleId = Mock(IMap)
 
     def objectUnderTest = Spy(new CmHandleRegistrationService(
         mockNetworkCmProxyDataServicePropertyHandler, mockInventoryPersistence, mockCpsDataService, mockLcmEventsCmHandleStateHandler,
-        mockModuleSyncStartedOnCmHandles, mockTrustLevelManager, mockAlternateIdChecker, mockCmHandleIdPerAlternateId))
+        mockModuleSyncStartedOnCmHandles, mockTrustLevelManager, mockAlternateIdChecker, mockCmHandleIdPerAlternateId, mockAlternateIdPerCmHandleId))
 
     def setup() {
         // always accept all cm handles
@@ -440,10 +441,14 @@ class CmHandleRegistrationServiceSpec extends Specification {
             objectUnderTest.addAlternateIdsToCache([yangModelCmHandle])
         then: 'it is added to the cache with the expected key'
             1 * mockCmHandleIdPerAlternateId.putAll([(expectedKey):'ch-1'])
+        and: 'it is added to the reverse cache with the expected value'
+            1 * mockAlternateIdPerCmHandleId.putAll(['ch-1':expectedKey])
         when: 'it is removed from the cache'
             objectUnderTest.removeAlternateIdsFromCache([yangModelCmHandle], ['ch-1'],[].toSet())
         then: 'the correct key is deleted from the cache'
             1 * mockCmHandleIdPerAlternateId.delete(expectedKey)
+        and: 'the cm handle id is deleted from the reverse cache'
+            1 * mockAlternateIdPerCmHandleId.delete('ch-1')
         where: 'the following alternate ids are used'
             scenario             | alternateId || expectedKey
             'with alternate id'  | 'alt-1'     || 'alt-1'
@@ -67,9 +67,9 @@ class InventoryPersistenceImplSpec extends Specification {
 
     def mockCpsValidator = Mock(CpsValidator)
 
-    def mockCmHandleIdPerAlternateId = Mock(IMap)
+    def mockAlternateIdPerCmHandleId = Mock(IMap)
 
-    def objectUnderTest = Spy(new InventoryPersistenceImpl(mockCpsValidator, spiedJsonObjectMapper, mockCpsAnchorService, mockCpsModuleService, mockCpsDataService, mockCmHandleIdPerAlternateId))
+    def objectUnderTest = Spy(new InventoryPersistenceImpl(mockCpsValidator, spiedJsonObjectMapper, mockCpsAnchorService, mockCpsModuleService, mockCpsDataService, mockAlternateIdPerCmHandleId))
 
     def formattedDateAndTime = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ")
             .format(OffsetDateTime.of(2022, 12, 31, 20, 30, 40, 1, ZoneOffset.UTC))
@@ -185,7 +185,7 @@ class InventoryPersistenceImplSpec extends Specification {
             def cmHandleId = 'ch-1'
             def compositeState = new CompositeState(cmHandleState: cmHandleState, lastUpdateTime: formattedDateAndTime)
         and: 'alternate id cache contains the given cm handle reference'
-            mockCmHandleIdPerAlternateId.containsKey(_) >> true
+            mockAlternateIdPerCmHandleId.containsKey(_) >> true
         when: 'update cm handle state is invoked with the #scenario state'
             objectUnderTest.saveCmHandleState(cmHandleId, compositeState)
         then: 'update data nodes and descendants is invoked with the correct params'
@@ -202,7 +202,7 @@ class InventoryPersistenceImplSpec extends Specification {
             def cmHandleId = 'ch-1'
             def compositeState = new CompositeState(cmHandleState: CmHandleState.READY, lastUpdateTime: formattedDateAndTime)
         and: 'alternate id cache contains the given cm handle reference'
-            mockCmHandleIdPerAlternateId.containsKey(_) >> true
+            mockAlternateIdPerCmHandleId.containsKey(_) >> true
         when: 'update cm handle state is invoked'
             objectUnderTest.saveCmHandleState(cmHandleId, compositeState)
         then: 'update data nodes and descendants is invoked'
@@ -216,7 +216,7 @@ class InventoryPersistenceImplSpec extends Specification {
             def compositeState1 = new CompositeState(cmHandleState: cmHandleState, lastUpdateTime: formattedDateAndTime)
             def compositeState2 = new CompositeState(cmHandleState: cmHandleState, lastUpdateTime: formattedDateAndTime)
         and: 'alternate id cache contains the given cm handle reference'
-            mockCmHandleIdPerAlternateId.containsKey(_) >> true
+            mockAlternateIdPerCmHandleId.containsKey(_) >> true
         when: 'update cm handle state is invoked with the #scenario state'
             def cmHandleStateMap = ['ch-11' : compositeState1, 'ch-12' : compositeState2]
             objectUnderTest.saveCmHandleStateBatch(cmHandleStateMap)
@@ -233,9 +233,8 @@ class InventoryPersistenceImplSpec extends Specification {
         given: 'a map of cm handles composite states'
             def compositeState = new CompositeState(cmHandleState: CmHandleState.ADVISED, lastUpdateTime: formattedDateAndTime)
             def cmHandleStateMap = ['ch-1' : compositeState]
-        and: 'alternate id cache returns #scenario'
-            mockCmHandleIdPerAlternateId.containsKey(_) >> keyExists
-            mockCmHandleIdPerAlternateId.containsValue(_) >> valueExists
+        and: 'alternate id per cm handle id cache returns #scenario'
+            mockAlternateIdPerCmHandleId.containsKey('ch-1') >> idExists
         when: 'we update the state of a cm handle when #scenario'
             objectUnderTest.saveCmHandleStateBatch(cmHandleStateMap)
         then: 'update data nodes and descendants is invoked correct number of times'
@@ -243,10 +242,9 @@ class InventoryPersistenceImplSpec extends Specification {
         and: 'update node leaves is invoked correct number of times'
             expectedCalls * mockCpsDataService.updateNodeLeaves(*_)
         where: 'the following cm handle ids are used'
-            scenario            | keyExists | valueExists || expectedCalls
-            'id exists as key'  | true      | false       || 1
-            'id exists as value'| false     | true        || 1
-            'id does not exist' | false     | false       || 0
+            scenario            | idExists || expectedCalls
+            'id exists'         | true     || 1
+            'id does not exist' | false    || 0
     }
 
     def 'Getting module definitions by module.'() {
@@ -25,6 +25,9 @@ import ch.qos.logback.classic.Logger
 import ch.qos.logback.classic.spi.ILoggingEvent
 import ch.qos.logback.core.read.ListAppender
 import com.hazelcast.map.IMap
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import java.time.Duration
+import java.util.concurrent.atomic.AtomicInteger
 import org.onap.cps.api.CpsDataService
 import org.onap.cps.api.CpsModuleService
 import org.onap.cps.init.actuator.ReadinessManager
@@ -34,6 +37,7 @@ import org.onap.cps.ncmp.impl.inventory.InventoryPersistence
 import org.onap.cps.ncmp.api.inventory.models.CmHandleState
 import org.onap.cps.ncmp.impl.inventory.models.YangModelCmHandle
 import org.slf4j.LoggerFactory
+import reactor.core.publisher.Mono
 import spock.lang.Specification
 
 import static org.onap.cps.ncmp.impl.inventory.NcmpPersistence.NFP_OPERATIONAL_DATASTORE_DATASPACE_NAME
@@ -46,18 +50,21 @@ class DataSyncWatchdogSpec extends Specification {
     def mockModuleOperationUtils = Mock(ModuleOperationsUtils)
     def mockDataSyncSemaphores = Mock(IMap<String,Boolean>)
     def mockReadinessManager = Mock(ReadinessManager)
+    def meterRegistry = new SimpleMeterRegistry()
 
     def jsonString = '{"stores:bookstore":{"categories":[{"code":"01"}]}}'
 
-    def objectUnderTest = new DataSyncWatchdog(mockInventoryPersistence, mockCpsModuleService, mockCpsDataService, mockModuleOperationUtils, mockDataSyncSemaphores, mockReadinessManager)
+    def objectUnderTest = new DataSyncWatchdog(mockInventoryPersistence, mockCpsModuleService, mockCpsDataService, mockModuleOperationUtils, mockDataSyncSemaphores, mockReadinessManager, meterRegistry)
 
-    def compositeState = getCompositeState()
     def yangModelCmHandle1 = createSampleYangModelCmHandle('cm-handle-1')
     def yangModelCmHandle2 = createSampleYangModelCmHandle('cm-handle-2')
 
     def logAppender = Spy(ListAppender<ILoggingEvent>)
 
     void setup() {
+        objectUnderTest.batchSize = 100
+        objectUnderTest.maxConcurrentRequestsPerDmi = 10
+        mockReadinessManager.isReady() >> true
         def logger = LoggerFactory.getLogger(DataSyncWatchdog)
         logger.setLevel(Level.INFO)
         logger.addAppender(logAppender)
@@ -70,7 +77,7 @@ class DataSyncWatchdogSpec extends Specification {
 
     def 'Data sync watchdog is triggered'(){
         given: 'the system is not ready to accept traffic'
-            mockReadinessManager.isReady() >> false
+            def objectUnderTest = new DataSyncWatchdog(mockInventoryPersistence, mockCpsModuleService, mockCpsDataService, mockModuleOperationUtils, mockDataSyncSemaphores, Mock(ReadinessManager), meterRegistry)
         when: 'data sync is started'
             objectUnderTest.scheduledUnsynchronizedReadyCmHandleForInitialDataSync()
         then: 'an event is logged with level INFO'
@@ -81,117 +88,242 @@ class DataSyncWatchdogSpec extends Specification {
     }
 
     def 'Data Sync for Cm Handle State in READY and Operational Sync State in UNSYNCHRONIZED.'() {
-        given: 'sample resource data'
-            def resourceData = jsonString
-        and: 'system is ready to accept traffic'
-            mockReadinessManager.isReady() >> true
-        and: 'sync utilities returns a cm handle twice'
+        given: 'sync utilities returns two cm handles'
             mockModuleOperationUtils.getUnsynchronizedReadyCmHandles() >> [yangModelCmHandle1, yangModelCmHandle2]
+        and: 'the inventory returns both cm handles (including their state)'
+            mockInventoryPersistence.getYangModelCmHandles(['cm-handle-1', 'cm-handle-2']) >> [yangModelCmHandle1, yangModelCmHandle2]
         and: 'we have the module and root nodes references to form the options field'
             mockCpsModuleService.getRootNodeReferences(_, 'cm-handle-1') >> ['some-module-1:some-root-node']
             mockCpsModuleService.getRootNodeReferences(_, 'cm-handle-2') >> ['some-module-2:some-root-node']
+        and: 'the sync util returns resource data for both'
+            mockModuleOperationUtils.getResourceData(yangModelCmHandle1, '(fields=some-module-1:some-root-node)') >> Mono.just(jsonString)
+            mockModuleOperationUtils.getResourceData(yangModelCmHandle2, '(fields=some-module-2:some-root-node)') >> Mono.just(jsonString)
         when: 'data sync poll is executed'
             objectUnderTest.scheduledUnsynchronizedReadyCmHandleForInitialDataSync()
-        then: 'the inventory persistence cm handle returns a composite state for the first cm handle'
-            1 * mockInventoryPersistence.getCmHandleState('cm-handle-1') >> compositeState
-        and: 'the sync util returns first resource data'
-            1 * mockModuleOperationUtils.getResourceData('cm-handle-1', '(fields=some-module-1:some-root-node)') >> resourceData
-        and: 'the cm-handle data is saved'
+        then: 'the cm-handle data is saved for both cm handles'
             1 * mockCpsDataService.saveData(NFP_OPERATIONAL_DATASTORE_DATASPACE_NAME, 'cm-handle-1', jsonString, _)
-        and: 'the first cm handle operational sync state is updated'
-            1 * mockInventoryPersistence.saveCmHandleState('cm-handle-1', compositeState)
-        then: 'the inventory persistence cm handle returns a composite state for the second cm handle'
-            1 * mockInventoryPersistence.getCmHandleState('cm-handle-2') >> compositeState
-        and: 'the sync util returns first resource data'
-            1 * mockModuleOperationUtils.getResourceData('cm-handle-2', '(fields=some-module-2:some-root-node)') >> resourceData
-        and: 'the cm-handle data is saved'
             1 * mockCpsDataService.saveData(NFP_OPERATIONAL_DATASTORE_DATASPACE_NAME, 'cm-handle-2', jsonString, _)
-        and: 'the second cm handle operational sync state is updated from "UNSYNCHRONIZED" to "SYNCHRONIZED"'
-            1 * mockInventoryPersistence.saveCmHandleState('cm-handle-2', compositeState)
+        and: 'the operational sync state of both cm handles is updated in one batch'
+            1 * mockInventoryPersistence.saveCmHandleStateBatch({ it.keySet() == ['cm-handle-1', 'cm-handle-2'] as Set })
+        and: 'the operational sync state is "SYNCHRONIZED"'
+            assert yangModelCmHandle1.compositeState.dataStores.operationalDataStore.dataStoreSyncState == DataStoreSyncState.SYNCHRONIZED
+            assert yangModelCmHandle2.compositeState.dataStores.operationalDataStore.dataStoreSyncState == DataStoreSyncState.SYNCHRONIZED
+        and: 'the data sync semaphores are updated'
+            1 * mockDataSyncSemaphores.replace('cm-handle-1', true)
+            1 * mockDataSyncSemaphores.replace('cm-handle-2', true)
+        and: 'no data sync semaphores are released'
+            0 * mockDataSyncSemaphores.delete(_)
+        and: 'the synchronized cm handles are counted'
+            assert meterRegistry.get('cps.ncmp.data.sync.cm.handles').tag('outcome', 'synchronized').counter().count() == 2
+        and: 'the lag is recorded for both cm handles'
+            assert meterRegistry.get('cps.ncmp.data.sync.lag').timer().count() == 2
+        and: 'no cm handles are pending anymore'
+            assert meterRegistry.get('cps.ncmp.data.sync.pending').gauge().value() == 0
+    }
+
+    def 'Data Sync persists cm handles in batches of the configured size.'() {
+        given: 'a batch size of 1'
+            objectUnderTest.batchSize = 1
+        and: 'sync utilities returns two cm handles without root nodes'
+            mockModuleOperationUtils.getUnsynchronizedReadyCmHandles() >> [yangModelCmHandle1, yangModelCmHandle2]
+            mockInventoryPersistence.getYangModelCmHandles(['cm-handle-1']) >> [yangModelCmHandle1]
+            mockInventoryPersistence.getYangModelCmHandles(['cm-handle-2']) >> [yangModelCmHandle2]
+            mockCpsModuleService.getRootNodeReferences(*_) >> []
+        when: 'data sync poll is executed'
+            objectUnderTest.executeUnsynchronizedReadyCmHandleForInitialDataSync()
+        then: 'the sync state is saved in two batches'
+            2 * mockInventoryPersistence.saveCmHandleStateBatch({ it.size() == 1 })
+    }
+
+    def 'Data Sync claims the cm handles of each batch just before the batch is prepared.'() {
+        given: 'a batch size of 1'
+            objectUnderTest.batchSize = 1
+        and: 'sync utilities returns two cm handles without root nodes'
+            mockModuleOperationUtils.getUnsynchronizedReadyCmHandles() >> [yangModelCmHandle1, yangModelCmHandle2]
+            mockCpsModuleService.getRootNodeReferences(*_) >> []
+        when: 'data sync poll is executed'
+            objectUnderTest.executeUnsynchronizedReadyCmHandleForInitialDataSync()
+        then: 'the first cm handle is claimed'
+            1 * mockDataSyncSemaphores.putIfAbsent('cm-handle-1', false, _, _) >> null
+        then: 'the first cm handle is retrieved'
+            1 * mockInventoryPersistence.getYangModelCmHandles(['cm-handle-1']) >> [yangModelCmHandle1]
+        then: 'only then the second cm handle is claimed'
+            1 * mockDataSyncSemaphores.putIfAbsent('cm-handle-2', false, _, _) >> null
+        then: 'and retrieved'
+            1 * mockInventoryPersistence.getYangModelCmHandles(['cm-handle-2']) >> [yangModelCmHandle2]
+    }
+
+    def 'Data Sync skips cm handles of a batch that are claimed by another instance.'() {
+        given: 'sync utilities returns two cm handles without root nodes'
+            mockModuleOperationUtils.getUnsynchronizedReadyCmHandles() >> [yangModelCmHandle1, yangModelCmHandle2]
+            mockCpsModuleService.getRootNodeReferences(*_) >> []
+        and: 'the first cm handle is already claimed by another instance'
+            mockDataSyncSemaphores.putIfAbsent('cm-handle-1', _, _, _) >> false
+        when: 'data sync poll is executed'
+            objectUnderTest.executeUnsynchronizedReadyCmHandleForInitialDataSync()
+        then: 'only the second cm handle is retrieved and synchronized'
+            1 * mockInventoryPersistence.getYangModelCmHandles(['cm-handle-2']) >> [yangModelCmHandle2]
+            1 * mockInventoryPersistence.saveCmHandleStateBatch({ it.keySet() == ['cm-handle-2'] as Set })
+        and: 'the claim of the other instance is not released'
+            0 * mockDataSyncSemaphores.delete(_)
+        and: 'no cm handles are pending anymore'
+            assert meterRegistry.get('cps.ncmp.data.sync.pending').gauge().value() == 0
     }
 
     def 'Data Sync for Cm Handle State in READY and Operational Sync State in UNSYNCHRONIZED without resource data.'() {
-        given: 'system is ready to accept traffic'
-            mockReadinessManager.isReady() >> true
-        and: 'sync utilities returns a cm handle'
+        given: 'sync utilities returns a cm handle'
             mockModuleOperationUtils.getUnsynchronizedReadyCmHandles() >> [yangModelCmHandle1]
+            mockInventoryPersistence.getYangModelCmHandles(_) >> [yangModelCmHandle1]
         and: 'the module service returns the module and root nodes references to form the options field'
             mockCpsModuleService.getRootNodeReferences(_,'cm-handle-1') >> ['some-module-1:some-root-node']
+        and: 'the sync util returns no resource data'
+            mockModuleOperationUtils.getResourceData(yangModelCmHandle1, '(fields=some-module-1:some-root-node)') >> Mono.empty()
         when: 'data sync poll is executed'
             objectUnderTest.scheduledUnsynchronizedReadyCmHandleForInitialDataSync()
-        then: 'the inventory persistence cm handle returns a composite state for the first cm handle'
-            1 * mockInventoryPersistence.getCmHandleState('cm-handle-1') >> compositeState
-        and: 'the sync util returns no resource data'
-            1 * mockModuleOperationUtils.getResourceData('cm-handle-1', '(fields=some-module-1:some-root-node)') >> null
-        and: 'the cm-handle data is not saved'
+        then: 'the cm-handle data is not saved'
             0 * mockCpsDataService.saveData(*_)
+        and: 'the cm handle operational sync state is still updated'
+            1 * mockInventoryPersistence.saveCmHandleStateBatch({ it.containsKey('cm-handle-1') })
     }
 
     def 'Data Sync for Cm Handle that is already being processed.'() {
-        given: 'system is ready to accept traffic'
-            mockReadinessManager.isReady() >> true
-        and: 'sync utilities returns a cm handle'
+        given: 'sync utilities returns a cm handle'
             mockModuleOperationUtils.getUnsynchronizedReadyCmHandles() >> [yangModelCmHandle1]
-        and: 'the module service returns the module and root nodes references to form the options field'
-            mockCpsModuleService.getRootNodeReferences(_,'cm-handle-1') >> ['some-module-1:some-root-node']
         and: 'the shared data sync semaphore indicate it is already being processed'
             mockDataSyncSemaphores.putIfAbsent('cm-handle-1', _, _, _) >> 'something (not null)'
         when: 'data sync poll is executed'
             objectUnderTest.scheduledUnsynchronizedReadyCmHandleForInitialDataSync()
-        then: 'it is NOT processed e.g. state is not requested'
-            0 * mockInventoryPersistence.getCmHandleState(*_)
+        then: 'it is NOT processed e.g. cm handle is not retrieved'
+            0 * mockInventoryPersistence.getYangModelCmHandles(*_)
+        and: 'no state is saved'
+            0 * mockInventoryPersistence.saveCmHandleStateBatch(*_)
     }
 
     def 'Data sync handles exception during overall cm handle processing.'() {
-        given: 'system is ready to accept traffic'
-            mockReadinessManager.isReady() >> true
-        and: 'sync utilities returns a cm handle'
+        given: 'sync utilities returns a cm handle'
+            mockModuleOperationUtils.getUnsynchronizedReadyCmHandles() >> [yangModelCmHandle1]
+            mockInventoryPersistence.getYangModelCmHandles(_) >> [yangModelCmHandle1]
+        and: 'getting root node references throws exception'
+            mockCpsModuleService.getRootNodeReferences(_, 'cm-handle-1') >> { throw new RuntimeException('some exception') }
+        when: 'data sync poll is executed'
+            objectUnderTest.scheduledUnsynchronizedReadyCmHandleForInitialDataSync()
+        then: 'no exception is thrown'
+            noExceptionThrown()
+        and: 'the cm handle is not marked as synchronized'
+            0 * mockInventoryPersistence.saveCmHandleStateBatch(*_)
+        and: 'the data sync semaphore is released'
+            1 * mockDataSyncSemaphores.delete('cm-handle-1')
+        and: 'the failure is counted'
+            assert meterRegistry.get('cps.ncmp.data.sync.cm.handles').tag('outcome', 'failed').counter().count() == 1
+    }
+
+    def 'Data sync handles exception while retrieving cm handles.'() {
+        given: 'sync utilities returns a cm handle'
             mockModuleOperationUtils.getUnsynchronizedReadyCmHandles() >> [yangModelCmHandle1]
-        and: 'semaphore map allows processing'
-            mockDataSyncSemaphores.putIfAbsent('cm-handle-1', false, _, _) >> null
-        and: 'getting cm handle state throws exception'
-            mockInventoryPersistence.getCmHandleState('cm-handle-1') >> { throw new RuntimeException('some exception') }
+        and: 'retrieving the cm handles throws exception'
+            mockInventoryPersistence.getYangModelCmHandles(_) >> { throw new RuntimeException('some exception') }
         when: 'data sync poll is executed'
             objectUnderTest.scheduledUnsynchronizedReadyCmHandleForInitialDataSync()
         then: 'no exception is thrown'
             noExceptionThrown()
+        and: 'the data sync semaphore is released'
+            1 * mockDataSyncSemaphores.delete('cm-handle-1')
+        and: 'the failure is counted'
+            assert meterRegistry.get('cps.ncmp.data.sync.cm.handles').tag('outcome', 'failed').counter().count() == 1
+        and: 'no cm handles are pending anymore'
+            assert meterRegistry.get('cps.ncmp.data.sync.pending').gauge().value() == 0
+    }
+
+    def 'Data sync continues with the next batch after a failing batch.'() {
+        given: 'a batch size of 1'
+            objectUnderTest.batchSize = 1
+        and: 'sync utilities returns two cm handles without root nodes'
+            mockModuleOperationUtils.getUnsynchronizedReadyCmHandles() >> [yangModelCmHandle1, yangModelCmHandle2]
+            mockCpsModuleService.getRootNodeReferences(*_) >> []
+        and: 'retrieving the first cm handle throws exception'
+            mockInventoryPersistence.getYangModelCmHandles(['cm-handle-1']) >> { throw new RuntimeException('some exception') }
+            mockInventoryPersistence.getYangModelCmHandles(['cm-handle-2']) >> [yangModelCmHandle2]
+        when: 'data sync poll is executed'
+            objectUnderTest.executeUnsynchronizedReadyCmHandleForInitialDataSync()
+        then: 'the second cm handle is still synchronized'
+            1 * mockInventoryPersistence.saveCmHandleStateBatch({ it.keySet() == ['cm-handle-2'] as Set })
+            1 * mockDataSyncSemaphores.replace('cm-handle-2', true)
+        and: 'only the data sync semaphore of the first cm handle is released'
+            1 * mockDataSyncSemaphores.delete('cm-handle-1')
+            0 * mockDataSyncSemaphores.delete('cm-handle-2')
     }
 
     def 'Data sync handles exception during resource data retrieval.'() {
-        given: 'system is ready to accept traffic'
-            mockReadinessManager.isReady() >> true
-        and: 'sync utilities returns a cm handle'
+        given: 'sync utilities returns a cm handle'
             mockModuleOperationUtils.getUnsynchronizedReadyCmHandles() >> [yangModelCmHandle1]
-        and: 'semaphore map allows processing'
-            mockDataSyncSemaphores.putIfAbsent('cm-handle-1', false, _, _) >> null
+            mockInventoryPersistence.getYangModelCmHandles(_) >> [yangModelCmHandle1]
         and: 'module operations returns module and root nodes references'
             mockCpsModuleService.getRootNodeReferences(_,'cm-handle-1') >> ['some-module-1:some-root-node', 'some-module-2:some-root-node']
+        and: 'first module retrieval succeeds'
+            mockModuleOperationUtils.getResourceData(yangModelCmHandle1, '(fields=some-module-1:some-root-node)') >> Mono.just(jsonString)
+        and: 'second module retrieval fails'
+            mockModuleOperationUtils.getResourceData(yangModelCmHandle1, '(fields=some-module-2:some-root-node)') >> Mono.error(new RuntimeException('Some network error'))
         when: 'data sync poll is executed'
             objectUnderTest.scheduledUnsynchronizedReadyCmHandleForInitialDataSync()
-        then: 'cm handle state is retrieved'
-            1 * mockInventoryPersistence.getCmHandleState('cm-handle-1') >> compositeState
-        and: 'first module sync succeeds'
-            1 * mockModuleOperationUtils.getResourceData('cm-handle-1', '(fields=some-module-1:some-root-node)') >> jsonString
+        then: 'only the data of the first module is saved'
             1 * mockCpsDataService.saveData(NFP_OPERATIONAL_DATASTORE_DATASPACE_NAME, 'cm-handle-1', jsonString, _)
-        and: 'second module sync throws exception'
-            1 * mockModuleOperationUtils.getResourceData('cm-handle-1', '(fields=some-module-2:some-root-node)') >> { throw new RuntimeException('Some network error') }
-        and: 'no data is saved for failed module'
-            0 * mockCpsDataService.saveData(NFP_OPERATIONAL_DATASTORE_DATASPACE_NAME, 'cm-handle-1', _, _)
         and: 'cm handle state is still updated (processing continues after module failure)'
-            1 * mockInventoryPersistence.saveCmHandleState('cm-handle-1', compositeState)
+            1 * mockInventoryPersistence.saveCmHandleStateBatch({ it.containsKey('cm-handle-1') })
             1 * mockDataSyncSemaphores.replace('cm-handle-1', true)
     }
 
+    def 'Data sync handles exception while saving the cm handle states.'() {
+        given: 'sync utilities returns a cm handle without root nodes'
+            mockModuleOperationUtils.getUnsynchronizedReadyCmHandles() >> [yangModelCmHandle1]
+            mockInventoryPersistence.getYangModelCmHandles(_) >> [yangModelCmHandle1]
+            mockCpsModuleService.getRootNodeReferences(*_) >> []
+        and: 'saving the states throws exception'
+            mockInventoryPersistence.saveCmHandleStateBatch(_) >> { throw new RuntimeException('some exception') }
+        when: 'data sync poll is executed'
+            objectUnderTest.scheduledUnsynchronizedReadyCmHandleForInitialDataSync()
+        then: 'no exception is thrown'
+            noExceptionThrown()
+        and: 'the data sync semaphore is not updated but released'
+            0 * mockDataSyncSemaphores.replace(*_)
+            1 * mockDataSyncSemaphores.delete('cm-handle-1')
+        and: 'the failure is counted'
+            assert meterRegistry.get('cps.ncmp.data.sync.cm.handles').tag('outcome', 'failed').counter().count() == 1
+    }
+
+    def 'Data sync limits the number of concurrent requests per DMI.'() {
+        given: 'a limit of 2 concurrent requests per DMI'
+            objectUnderTest.maxConcurrentRequestsPerDmi = 2
+        and: '6 cm handles on the same DMI, each with one root node'
+            def yangModelCmHandles = (1..6).collect { createSampleYangModelCmHandle("ch-${it}".toString()) }
+            mockModuleOperationUtils.getUnsynchronizedReadyCmHandles() >> yangModelCmHandles
+            mockInventoryPersistence.getYangModelCmHandles(_) >> yangModelCmHandles
+            mockCpsModuleService.getRootNodeReferences(*_) >> ['some-module:some-root-node']
+        and: 'each DMI request takes some time and the number of requests in progress is tracked'
+            def requestsInProgress = new AtomicInteger()
+            def maximumRequestsInProgress = new AtomicInteger()
+            mockModuleOperationUtils.getResourceData(*_) >> {
+                Mono.fromCallable { maximumRequestsInProgress.accumulateAndGet(requestsInProgress.incrementAndGet(), { a, b -> Math.max(a, b) }); jsonString }
+                    .delayElement(Duration.ofMillis(50))
+                    .doFinally { requestsInProgress.decrementAndGet() }
+            }
+        when: 'data sync poll is executed'
+            objectUnderTest.executeUnsynchronizedReadyCmHandleForInitialDataSync()
+        then: 'all cm handles are synchronized'
+            assert meterRegistry.get('cps.ncmp.data.sync.cm.handles').tag('outcome', 'synchronized').counter().count() == 6
+        and: 'there were never more than 2 requests in progress'
+            assert maximumRequestsInProgress.get() == 2
+    }
+
     def createSampleYangModelCmHandle(cmHandleId) {
         def compositeState = getCompositeState()
-        return new YangModelCmHandle(id: cmHandleId, compositeState: compositeState)
+        return new YangModelCmHandle(id: cmHandleId, dmiServiceName: 'my-dmi', compositeState: compositeState)
     }
 
     def getCompositeState() {
         def cmHandleState = CmHandleState.READY
-        def compositeState = new CompositeState(cmHandleState: cmHandleState)
+        def compositeState = new CompositeState(cmHandleState: cmHandleState, lastUpdateTime: CompositeState.nowInSyncTimeFormat())
         compositeState.setDataStores(CompositeState.DataStores.builder()
-            .operationalDataStore(CompositeState.Operational.builder().dataStoreSyncState(DataStoreSyncState.SYNCHRONIZED)
+            .operationalDataStore(CompositeState.Operational.builder().dataStoreSyncState(DataStoreSyncState.UNSYNCHRONIZED)
                 .build()).build())
         return compositeState
     }
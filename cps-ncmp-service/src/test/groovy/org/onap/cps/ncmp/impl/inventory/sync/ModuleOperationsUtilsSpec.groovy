@@ -31,6 +31,7 @@ import org.onap.cps.ncmp.api.inventory.models.CompositeState
 import org.onap.cps.ncmp.api.inventory.models.CompositeStateBuilder
 import org.onap.cps.ncmp.impl.data.DmiDataOperations
 import org.onap.cps.ncmp.impl.inventory.CmHandleQueryService
+import org.onap.cps.ncmp.impl.inventory.models.YangModelCmHandle
 import org.onap.cps.ncmp.api.inventory.DataStoreSyncState
 import org.onap.cps.ncmp.api.inventory.models.CmHandleState
 import org.onap.cps.api.parameters.FetchDescendantsOption
@@ -40,6 +41,7 @@ import org.slf4j.LoggerFactory
 import org.springframework.context.annotation.AnnotationConfigApplicationContext
 import org.springframework.http.HttpStatus
 import org.springframework.http.ResponseEntity
+import reactor.core.publisher.Mono
 import spock.lang.Specification
 import java.util.stream.Collectors
 
@@ -153,9 +155,10 @@ class ModuleOperationsUtilsSpec extends Specification{
             JsonNode jsonNode = jsonObjectMapper.convertToJsonNode(jsonString)
         and: 'DMI operations are mocked to return a response based on the scenario'
             def responseEntity = new ResponseEntity<>(statusCode == HttpStatus.OK ? jsonNode : null, statusCode)
-            mockDmiDataOperations.getAllResourceDataFromDmi('cm-handle-123', _, 'some options') >> responseEntity
+            def yangModelCmHandle = new YangModelCmHandle(id: 'cm-handle-123')
+            mockDmiDataOperations.getAllResourceDataFromDmi(yangModelCmHandle, _, 'some options') >> Mono.just(responseEntity)
         when: 'get resource data is called'
-            def actualResult = objectUnderTest.getResourceData('cm-handle-123', 'some options')
+            def actualResult = objectUnderTest.getResourceData(yangModelCmHandle, 'some options').block()
         then: 'the returned data matches the expected result'
             assert actualResult == expectedResult
         where:
@@ -42,7 +42,9 @@ class ModuleSyncServiceSpec extends Specification {
 
     def NO_MODULE_SET_TAG = ''
 
-    def mockCpsModuleService = Mock(CpsModuleService)
+    def mockCpsModuleService = Mock(CpsModuleService) {
+        findSchemaSetNameByModuleReferences(*_) >> Optional.empty()
+    }
     def mockDmiModelOperations = Mock(DmiModelOperations)
     def mockCpsAnchorService = Mock(CpsAnchorService)
     def mockCmHandleQueries = Mock(CmHandleQueryService)
@@ -74,6 +76,41 @@ class ModuleSyncServiceSpec extends Specification {
             'same tag'                | []                                    | [:]                           | 'same-tag'   | [new ModuleReference('module1', '1'), new ModuleReference('module2', '2')] || 'same-tag'
     }
 
+    def 'Sync models for a NEW cm handle without module set tag with the same modules as an existing schema set.'() {
+        given: 'a cm handle without module set tag to be synced'
+            def yangModelCmHandle = createAdvisedCmHandle(NO_MODULE_SET_TAG)
+        and: 'DMI operations returns some module references'
+            def moduleReferences =  [ new ModuleReference('module1','1'), new ModuleReference('module2','2') ]
+            mockDmiModelOperations.getModuleReferences(yangModelCmHandle, NO_MODULE_SET_TAG) >> moduleReferences
+        when: 'module sync is triggered'
+            objectUnderTest.syncAndCreateSchemaSetAndAnchor(yangModelCmHandle)
+        then: 'the module service finds an existing schema set with the same modules'
+            1 * mockCpsModuleService.findSchemaSetNameByModuleReferences(NFP_OPERATIONAL_DATASTORE_DATASPACE_NAME, moduleReferences) >> Optional.of('existing-schema-set')
+        and: 'no new modules are identified or fetched from the DMI plugin'
+            0 * mockCpsModuleService.identifyNewModuleReferences(*_)
+            0 * mockDmiModelOperations.getNewYangResourcesFromDmi(*_)
+        and: 'no schema set is created'
+            0 * mockCpsModuleService.createSchemaSetFromModules(*_)
+        and: 'the anchor is created for the existing schema set'
+            1 * mockCpsAnchorService.createAnchor(NFP_OPERATIONAL_DATASTORE_DATASPACE_NAME, 'existing-schema-set', 'ch-1')
+    }
+
+    def 'Sync models for a NEW cm handle without module set tag when a schema set with its name is still in use.'() {
+        given: 'a cm handle without module set tag to be synced'
+            def yangModelCmHandle = createAdvisedCmHandle(NO_MODULE_SET_TAG)
+        and: 'DMI operations returns some module references'
+            def moduleReferences =  [ new ModuleReference('module1','1') ]
+            mockDmiModelOperations.getModuleReferences(yangModelCmHandle, NO_MODULE_SET_TAG) >> moduleReferences
+        and: 'a schema set with the name of the cm handle (but other modules) already exists'
+            mockCpsModuleService.schemaSetExists(NFP_OPERATIONAL_DATASTORE_DATASPACE_NAME, 'ch-1') >> true
+        when: 'module sync is triggered'
+            objectUnderTest.syncAndCreateSchemaSetAndAnchor(yangModelCmHandle)
+        then: 'a schema set with a unique name is created'
+            1 * mockCpsModuleService.createSchemaSetFromModules(NFP_OPERATIONAL_DATASTORE_DATASPACE_NAME, { it.startsWith('ch-1-') }, _, moduleReferences)
+        and: 'the anchor is created for that schema set'
+            1 * mockCpsAnchorService.createAnchor(NFP_OPERATIONAL_DATASTORE_DATASPACE_NAME, { it.startsWith('ch-1-') }, 'ch-1')
+    }
+
     def 'Attempt Sync models for a cm handle with exception and #scenario module set tag.'() {
         given: 'a cm handle to be synced'
             def yangModelCmHandle = createAdvisedCmHandle(moduleSetTag)
@@ -148,14 +185,40 @@ class ModuleSyncServiceSpec extends Specification {
             mockDmiModelOperations.getNewYangResourcesFromDmi(_, NO_MODULE_SET_TAG, []) >> [:]
         and: 'none of these module references are new (all already known to the system)'
             mockCpsModuleService.identifyNewModuleReferences(_) >> []
+        and: 'the schema set named after the cm handle is still in use'
+            mockCpsModuleService.schemaSetExists(NFP_OPERATIONAL_DATASTORE_DATASPACE_NAME, 'upgraded-ch') >> true
         when: 'module sync is triggered'
             objectUnderTest.syncAndUpgradeSchemaSet(yangModelCmHandle)
-        then: 'update schema set from module is invoked for the upgraded cm handle'
-            1 * mockCpsModuleService.upgradeSchemaSetFromModules(NFP_OPERATIONAL_DATASTORE_DATASPACE_NAME, 'upgraded-ch', [:], moduleReferences)
+        then: 'a new schema set is created for the upgraded modules (the existing one might be shared)'
+            1 * mockCpsModuleService.createSchemaSetFromModules(NFP_OPERATIONAL_DATASTORE_DATASPACE_NAME, { it.startsWith('upgraded-ch-') }, [:], moduleReferences)
+        and: 'the anchor of the upgraded cm handle is moved to the new schema set'
+            1 * mockCpsAnchorService.updateAnchorSchemaSet(NFP_OPERATIONAL_DATASTORE_DATASPACE_NAME, 'upgraded-ch', { it.startsWith('upgraded-ch-') })
+        and: 'the existing schema set is not changed'
+            0 * mockCpsModuleService.upgradeSchemaSetFromModules(*_)
         and: 'No anchor is created for the upgraded cm handle'
             0 * mockCpsAnchorService.createAnchor(*_)
     }
 
+    def 'Model upgrade without using Module Set Tags (legacy) to modules of an existing schema set.'() {
+        given: 'a cm handle being upgraded without using module set tags'
+            def ncmpServiceCmHandle = new NcmpServiceCmHandle(cmHandleId: 'upgraded-ch')
+            ncmpServiceCmHandle.setCompositeState(new CompositeStateBuilder().withLockReason(MODULE_UPGRADE, '').build())
+            def yangModelCmHandle = YangModelCmHandle.toYangModelCmHandle(new DmiPluginRegistration(dmiPlugin: 'some service name'), ncmpServiceCmHandle,'', '', '', '', '')
+        and: 'DMI operations returns some module references for upgraded cm handle'
+            def moduleReferences =  [ new ModuleReference('module1','1') ]
+            mockDmiModelOperations.getModuleReferences(yangModelCmHandle, NO_MODULE_SET_TAG) >> moduleReferences
+        when: 'module sync is triggered'
+            objectUnderTest.syncAndUpgradeSchemaSet(yangModelCmHandle)
+        then: 'the module service finds an existing schema set with the same modules'
+            1 * mockCpsModuleService.findSchemaSetNameByModuleReferences(NFP_OPERATIONAL_DATASTORE_DATASPACE_NAME, moduleReferences) >> Optional.of('existing-schema-set')
+        and: 'the anchor of the upgraded cm handle is moved to the existing schema set'
+            1 * mockCpsAnchorService.updateAnchorSchemaSet(NFP_OPERATIONAL_DATASTORE_DATASPACE_NAME, 'upgraded-ch', 'existing-schema-set')
+        and: 'no yang resources are fetched and no schema set is created or changed'
+            0 * mockDmiModelOperations.getNewYangResourcesFromDmi(*_)
+            0 * mockCpsModuleService.createSchemaSetFromModules(*_)
+            0 * mockCpsModuleService.upgradeSchemaSetFromModules(*_)
+    }
+
     def 'Model upgrade using to existing Module Set Tag'() {
         given: 'a cm handle that is ready but locked for upgrade'
             def ncmpServiceCmHandle = new NcmpServiceCmHandle()
@@ -175,14 +238,14 @@ class ModuleSyncServiceSpec extends Specification {
             expectedCallsToModuleService * mockCpsModuleService.identifyNewModuleReferences(_) >> []
         when: 'module upgrade is triggered'
             objectUnderTest.syncAndUpgradeSchemaSet(yangModelCmHandle)
-        then: 'the upgrade is delegated to the anchor service (with the correct parameters) except when new tag is blank'
-            expectedCallsToAnchorService * mockCpsAnchorService.updateAnchorSchemaSet(NFP_OPERATIONAL_DATASTORE_DATASPACE_NAME, 'cmHandleId-1', tagTo)
+        then: 'the upgrade is delegated to the anchor service (with the correct parameters)'
+            1 * mockCpsAnchorService.updateAnchorSchemaSet(NFP_OPERATIONAL_DATASTORE_DATASPACE_NAME, 'cmHandleId-1', expectedSchemaSetName)
         where: 'with or without from tag'
-            scenario                         | schemaExists | tagFrom  | tagTo  || expectedCallsToDmi | expectedCallsToModuleService | expectedCallsToAnchorService
-            'from no tag to existing tag'    | true         | ''       | 'tagTo'|| 0                  | 0                            | 1
-            'from tag to other existing tag' | true         | 'oldTag' | 'tagTo'|| 0                  | 0                            | 1
-            'to new tag'                     | false        | 'oldTag' | 'tagTo'|| 1                  | 1                            | 1
-            'to NO tag'                      | true         | 'oldTag' | ''     || 1                  | 1                            | 0
+            scenario                         | schemaExists | tagFrom  | tagTo  || expectedCallsToDmi | expectedCallsToModuleService | expectedSchemaSetName
+            'from no tag to existing tag'    | true         | ''       | 'tagTo'|| 0                  | 0                            | 'tagTo'
+            'from tag to other existing tag' | true         | 'oldTag' | 'tagTo'|| 0                  | 0                            | 'tagTo'
+            'to new tag'                     | false        | 'oldTag' | 'tagTo'|| 1                  | 1                            | 'tagTo'
+            'to NO tag'                      | true         | 'oldTag' | ''     || 1                  | 1                            | 'cmHandleId-1'
     }
 
     def createAdvisedCmHandle(moduleSetTag) {
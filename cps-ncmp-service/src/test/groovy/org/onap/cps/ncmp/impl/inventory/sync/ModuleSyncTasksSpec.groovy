@@ -29,7 +29,6 @@ import com.hazelcast.config.Config
 import com.hazelcast.core.Hazelcast
 import com.hazelcast.instance.impl.HazelcastInstanceFactory
 import com.hazelcast.map.IMap
-import org.onap.cps.api.exceptions.DataNodeNotFoundException
 import org.onap.cps.ncmp.api.inventory.models.CmHandleState
 import org.onap.cps.ncmp.api.inventory.models.CompositeState
 import org.onap.cps.ncmp.api.inventory.models.CompositeStateBuilder
@@ -37,8 +36,17 @@ import org.onap.cps.ncmp.impl.inventory.InventoryPersistence
 import org.onap.cps.ncmp.impl.inventory.models.YangModelCmHandle
 import org.onap.cps.ncmp.impl.inventory.sync.lcm.LcmEventsCmHandleStateHandler
 import org.slf4j.LoggerFactory
+import org.springframework.core.task.SyncTaskExecutor
+import org.springframework.core.task.support.TaskExecutorAdapter
 import spock.lang.Specification
 
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.IntBinaryOperator
+
 import static org.onap.cps.ncmp.api.inventory.models.LockReasonCategory.MODULE_SYNC_FAILED
 import static org.onap.cps.ncmp.api.inventory.models.LockReasonCategory.MODULE_UPGRADE
 import static org.onap.cps.ncmp.api.inventory.models.LockReasonCategory.MODULE_UPGRADE_FAILED
@@ -52,6 +60,7 @@ class ModuleSyncTasksSpec extends Specification {
         logger.setLevel(Level.DEBUG)
         logger.addAppender(logAppender)
         logAppender.start()
+        objectUnderTest.maxConcurrentRequestsPerDmi = 5
     }
 
     void cleanup() {
@@ -71,7 +80,7 @@ class ModuleSyncTasksSpec extends Specification {
             .getMap('mapInstanceName')
 
     def objectUnderTest = new ModuleSyncTasks(mockInventoryPersistence, mockSyncUtils, mockModuleSyncService,
-            mockLcmEventsCmHandleStateHandler, moduleSyncStartedOnCmHandles)
+            mockLcmEventsCmHandleStateHandler, moduleSyncStartedOnCmHandles, new SyncTaskExecutor())
 
     def cleanupSpec() {
         Hazelcast.getHazelcastInstanceByName('hazelcastInstanceName').shutdown()
@@ -82,8 +91,7 @@ class ModuleSyncTasksSpec extends Specification {
             def cmHandle1 = cmHandleByIdAndState('cm-handle-1', CmHandleState.ADVISED)
             def cmHandle2 = cmHandleByIdAndState('cm-handle-2', CmHandleState.ADVISED)
         and: 'the inventory persistence cm handle returns a ADVISED state for the handles'
-            mockInventoryPersistence.getYangModelCmHandle('cm-handle-1') >> cmHandle1
-            mockInventoryPersistence.getYangModelCmHandle('cm-handle-2') >> cmHandle2
+            mockInventoryPersistence.getYangModelCmHandles(['cm-handle-1', 'cm-handle-2']) >> [cmHandle1, cmHandle2]
         when: 'module sync poll is executed'
             objectUnderTest.performModuleSync(['cm-handle-1', 'cm-handle-2'])
         then: 'module sync service is invoked for each cm handle'
@@ -99,7 +107,7 @@ class ModuleSyncTasksSpec extends Specification {
         given: 'a CM handle in ADVISED state with a specific lock reason'
             def cmHandle = cmHandleByIdAndState('cm-handle', CmHandleState.ADVISED)
             cmHandle.compositeState.lockReason = CompositeState.LockReason.builder().lockReasonCategory(lockReasonCategory).details(lockReasonDetails).build()
-            mockInventoryPersistence.getYangModelCmHandle('cm-handle') >> cmHandle
+            mockInventoryPersistence.getYangModelCmHandles(['cm-handle']) >> [cmHandle]
         and: 'module sync service attempts to sync/upgrade the CM handle and throws an exception'
             mockModuleSyncService.syncAndCreateSchemaSetAndAnchor(_) >> { throw new Exception('some exception') }
             mockModuleSyncService.syncAndUpgradeSchemaSet(_) >> { throw new Exception('some exception') }
@@ -119,12 +127,10 @@ class ModuleSyncTasksSpec extends Specification {
     }
 
     def 'Module sync succeeds even if a handle gets deleted during module sync.'() {
-        given: 'a cm handle which has been deleted'
-            mockInventoryPersistence.getYangModelCmHandle('cm-handle-1') >> { throw new DataNodeNotFoundException('dataspace', 'anchor', 'cm-handle-1') }
-        and: 'a cm handle which is being deleted'
-            mockInventoryPersistence.getYangModelCmHandle('cm-handle-2') >> cmHandleByIdAndState('cm-handle-2', CmHandleState.DELETING)
-        and: 'a cm handle in advised state'
-            mockInventoryPersistence.getYangModelCmHandle('cm-handle-3') >> cmHandleByIdAndState('cm-handle-3', CmHandleState.ADVISED)
+        given: 'a cm handle which has been deleted (not returned), one which is being deleted and one in advised state'
+            mockInventoryPersistence.getYangModelCmHandles(['cm-handle-1', 'cm-handle-2', 'cm-handle-3']) >>
+                [cmHandleByIdAndState('cm-handle-2', CmHandleState.DELETING),
+                 cmHandleByIdAndState('cm-handle-3', CmHandleState.ADVISED)]
         when: 'module sync poll is executed'
             objectUnderTest.performModuleSync(['cm-handle-1', 'cm-handle-2', 'cm-handle-3'])
         then: 'no exception is thrown'
@@ -166,7 +172,7 @@ class ModuleSyncTasksSpec extends Specification {
         given: 'cm handles in an ADVISED state'
             def cmHandle1 = cmHandleByIdAndState('cm-handle-1', CmHandleState.ADVISED)
         and: 'the inventory persistence cm handle returns a ADVISED state for the any handle'
-            mockInventoryPersistence.getYangModelCmHandle('cm-handle-1') >> cmHandle1
+            mockInventoryPersistence.getYangModelCmHandles(['cm-handle-1']) >> [cmHandle1]
         and: 'entry in progress map for other cm handle'
             moduleSyncStartedOnCmHandles.put('other-cm-handle', 'started')
         when: 'module sync poll is executed'
@@ -193,7 +199,7 @@ class ModuleSyncTasksSpec extends Specification {
         given: 'a CM handle in an upgrade state'
             def cmHandle = cmHandleByIdAndState('cm-handle', CmHandleState.ADVISED)
             cmHandle.compositeState.setLockReason(CompositeState.LockReason.builder().lockReasonCategory(lockReasonCategory).build())
-            mockInventoryPersistence.getYangModelCmHandle('cm-handle') >> cmHandle
+            mockInventoryPersistence.getYangModelCmHandles(['cm-handle']) >> [cmHandle]
         when: 'module sync is executed'
             objectUnderTest.performModuleSync(['cm-handle'])
         then: 'the module sync service should attempt to sync and upgrade the CM handle'
@@ -206,10 +212,107 @@ class ModuleSyncTasksSpec extends Specification {
             'module upgrade failed' | MODULE_UPGRADE_FAILED
     }
 
+    def 'Module sync processes cm handles of different DMI plugins concurrently.'() {
+        given: 'an executor with more threads than cm handles'
+            def executor = Executors.newFixedThreadPool(4)
+            objectUnderTest = new ModuleSyncTasks(mockInventoryPersistence, mockSyncUtils, mockModuleSyncService,
+                mockLcmEventsCmHandleStateHandler, moduleSyncStartedOnCmHandles, new TaskExecutorAdapter(executor))
+            objectUnderTest.maxConcurrentRequestsPerDmi = 1
+        and: 'two advised cm handles each registered with a different DMI plugin'
+            mockInventoryPersistence.getYangModelCmHandles(['ch-1', 'ch-2']) >>
+                [cmHandleByIdAndState('ch-1', CmHandleState.ADVISED, 'dmi-1'),
+                 cmHandleByIdAndState('ch-2', CmHandleState.ADVISED, 'dmi-2')]
+        and: 'module sync of a cm handle only completes when both cm handles are being synced'
+            def bothCmHandlesStarted = new CountDownLatch(2)
+            mockModuleSyncService.syncAndCreateSchemaSetAndAnchor(_) >> {
+                bothCmHandlesStarted.countDown()
+                assert bothCmHandlesStarted.await(5, TimeUnit.SECONDS)
+            }
+        when: 'module sync is executed'
+            objectUnderTest.performModuleSync(['ch-1', 'ch-2'])
+        then: 'both cm handles are set to READY in one batch update'
+            1 * mockLcmEventsCmHandleStateHandler.updateCmHandleStateBatch(_) >> { args ->
+                assertBatch(args, ['ch-1', 'ch-2'], CmHandleState.READY)
+            }
+        cleanup: 'shutdown the executor'
+            executor.shutdownNow()
+    }
+
+    def 'Module sync limits the number of concurrent cm handles per DMI plugin.'() {
+        given: 'an executor with more threads than allowed per DMI plugin'
+            def executor = Executors.newFixedThreadPool(8)
+            objectUnderTest = new ModuleSyncTasks(mockInventoryPersistence, mockSyncUtils, mockModuleSyncService,
+                mockLcmEventsCmHandleStateHandler, moduleSyncStartedOnCmHandles, new TaskExecutorAdapter(executor))
+            objectUnderTest.maxConcurrentRequestsPerDmi = 2
+        and: 'ten advised cm handles all registered with the same DMI plugin'
+            def cmHandleIds = (1..10).collect { 'ch-' + it }
+            mockInventoryPersistence.getYangModelCmHandles(cmHandleIds) >>
+                cmHandleIds.collect { cmHandleByIdAndState(it, CmHandleState.ADVISED, 'dmi-1') }
+        and: 'module sync keeps track of the number of cm handles being synced at the same time'
+            def active = new AtomicInteger()
+            def maximumActive = new AtomicInteger()
+            mockModuleSyncService.syncAndCreateSchemaSetAndAnchor(_) >> {
+                def currentlyActive = active.incrementAndGet()
+                maximumActive.accumulateAndGet(currentlyActive, { a, b -> a > b ? a : b } as IntBinaryOperator)
+                Thread.sleep(10)
+                active.decrementAndGet()
+            }
+        when: 'module sync is executed'
+            objectUnderTest.performModuleSync(cmHandleIds)
+        then: 'all cm handles are set to READY in one batch update'
+            1 * mockLcmEventsCmHandleStateHandler.updateCmHandleStateBatch(_) >> { args ->
+                assertBatch(args, cmHandleIds, CmHandleState.READY)
+            }
+        and: 'never more cm handles than allowed were synced at the same time'
+            assert maximumActive.get() == 2
+        cleanup: 'shutdown the executor'
+            executor.shutdownNow()
+    }
+
+    def 'Module sync of a slow DMI plugin does not hold up other DMI plugins.'() {
+        given: 'an executor with two threads'
+            def executor = Executors.newFixedThreadPool(2)
+            objectUnderTest = new ModuleSyncTasks(mockInventoryPersistence, mockSyncUtils, mockModuleSyncService,
+                mockLcmEventsCmHandleStateHandler, moduleSyncStartedOnCmHandles, new TaskExecutorAdapter(executor))
+            objectUnderTest.maxConcurrentRequestsPerDmi = 1
+        and: 'two batches each with an advised cm handle of a slow DMI plugin and a batch with a cm handle of another DMI plugin'
+            mockInventoryPersistence.getYangModelCmHandles(['slow-ch-1']) >> [cmHandleByIdAndState('slow-ch-1', CmHandleState.ADVISED, 'slow-dmi')]
+            mockInventoryPersistence.getYangModelCmHandles(['slow-ch-2']) >> [cmHandleByIdAndState('slow-ch-2', CmHandleState.ADVISED, 'slow-dmi')]
+            mockInventoryPersistence.getYangModelCmHandles(['other-ch']) >> [cmHandleByIdAndState('other-ch', CmHandleState.ADVISED, 'other-dmi')]
+        and: 'module sync of the slow DMI plugin only completes when the cm handle of the other DMI plugin is synced'
+            def otherCmHandleSynced = new CountDownLatch(1)
+            def slowCmHandleStarted = new CountDownLatch(1)
+            mockModuleSyncService.syncAndCreateSchemaSetAndAnchor(_) >> { args ->
+                if (args[0].id == 'other-ch') {
+                    otherCmHandleSynced.countDown()
+                } else {
+                    slowCmHandleStarted.countDown()
+                    assert otherCmHandleSynced.await(5, TimeUnit.SECONDS)
+                }
+            }
+        when: 'both batches of the slow DMI plugin are executed'
+            def slowBatch1 = CompletableFuture.runAsync { objectUnderTest.performModuleSync(['slow-ch-1']) }
+            def slowBatch2 = CompletableFuture.runAsync { objectUnderTest.performModuleSync(['slow-ch-2']) }
+            assert slowCmHandleStarted.await(5, TimeUnit.SECONDS)
+        and: 'the batch of the other DMI plugin is executed'
+            objectUnderTest.performModuleSync(['other-ch'])
+        then: 'the cm handle of the other DMI plugin is synced while the slow DMI plugin is still busy'
+            assert otherCmHandleSynced.count == 0
+        and: 'all batches complete'
+            CompletableFuture.allOf(slowBatch1, slowBatch2).get(5, TimeUnit.SECONDS)
+        cleanup: 'shutdown the executor'
+            executor.shutdownNow()
+    }
+
     def cmHandleByIdAndState(cmHandleId, cmHandleState) {
         return new YangModelCmHandle(id: cmHandleId, compositeState: new CompositeState(cmHandleState: cmHandleState))
     }
 
+    def cmHandleByIdAndState(cmHandleId, cmHandleState, dmiServiceName) {
+        return new YangModelCmHandle(id: cmHandleId, dmiServiceName: dmiServiceName,
+            compositeState: new CompositeState(cmHandleState: cmHandleState))
+    }
+
     def assertBatch(args, expectedCmHandleStatePerCmHandleIds, expectedCmHandleState) {
         {
             Map<YangModelCmHandle, CmHandleState> actualCmHandleStatePerCmHandle = args[0]
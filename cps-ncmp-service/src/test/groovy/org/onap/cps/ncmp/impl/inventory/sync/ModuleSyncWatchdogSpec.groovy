@@ -29,9 +29,14 @@ import com.hazelcast.map.IMap
 import org.onap.cps.init.actuator.ReadinessManager
 import org.onap.cps.ncmp.impl.inventory.models.YangModelCmHandle
 import org.slf4j.LoggerFactory
+import org.springframework.core.task.SyncTaskExecutor
+import org.springframework.core.task.support.TaskExecutorAdapter
 import spock.lang.Specification
 
 import java.util.concurrent.ArrayBlockingQueue
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
 
 class ModuleSyncWatchdogSpec extends Specification {
 
@@ -49,7 +54,7 @@ class ModuleSyncWatchdogSpec extends Specification {
 
     def mockReadinessManager = Mock(ReadinessManager)
 
-    def objectUnderTest = new ModuleSyncWatchdog(mockModuleOperationsUtils, moduleSyncWorkQueue , mockModuleSyncStartedOnCmHandles, mockModuleSyncTasks, mockCpsCommonLocks, mockReadinessManager)
+    def objectUnderTest = new ModuleSyncWatchdog(mockModuleOperationsUtils, moduleSyncWorkQueue , mockModuleSyncStartedOnCmHandles, mockModuleSyncTasks, mockCpsCommonLocks, mockReadinessManager, new SyncTaskExecutor())
 
     def logAppender = Spy(ListAppender<ILoggingEvent>)
 
@@ -58,6 +63,7 @@ class ModuleSyncWatchdogSpec extends Specification {
         logger.setLevel(Level.INFO)
         logger.addAppender(logAppender)
         logAppender.start()
+        objectUnderTest.maxConcurrentBatches = 2
     }
 
     void cleanup() {
@@ -140,6 +146,48 @@ class ModuleSyncWatchdogSpec extends Specification {
             1 * mockModuleSyncTasks.performModuleSync(*_)
     }
 
+    def 'Module sync processes batches concurrently.'() {
+        given: 'an executor with two threads'
+            def executor = Executors.newFixedThreadPool(2)
+            objectUnderTest = new ModuleSyncWatchdog(mockModuleOperationsUtils, moduleSyncWorkQueue,
+                mockModuleSyncStartedOnCmHandles, mockModuleSyncTasks, mockCpsCommonLocks, mockReadinessManager,
+                new TaskExecutorAdapter(executor))
+            objectUnderTest.maxConcurrentBatches = 2
+        and: 'module sync utilities returns enough advised cm handles for 2 batches'
+            mockModuleOperationsUtils.getAdvisedCmHandleIds() >> createCmHandleIds(2 * ModuleSyncWatchdog.MODULE_SYNC_BATCH_SIZE)
+        and: 'the work queue can be locked'
+            mockCpsCommonLocks.tryLock('workQueueLock') >> true
+        and: 'a batch only completes when both batches are being processed'
+            def bothBatchesStarted = new CountDownLatch(2)
+            mockModuleSyncTasks.performModuleSync(*_) >> {
+                bothBatchesStarted.countDown()
+                assert bothBatchesStarted.await(5, TimeUnit.SECONDS)
+            }
+        when: 'module sync is started'
+            objectUnderTest.moduleSyncAdvisedCmHandles()
+        then: 'both batches have been processed at the same time'
+            assert bothBatchesStarted.count == 0
+        and: 'no batch failed'
+            assert logAppender.list.findAll { it.level == Level.ERROR }.isEmpty()
+        cleanup: 'shutdown the executor'
+            executor.shutdownNow()
+    }
+
+    def 'Module sync continues when a batch fails.'() {
+        given: 'module sync utilities returns enough advised cm handles for 2 batches'
+            mockModuleOperationsUtils.getAdvisedCmHandleIds() >> createCmHandleIds(2 * ModuleSyncWatchdog.MODULE_SYNC_BATCH_SIZE)
+        and: 'the work queue can be locked'
+            mockCpsCommonLocks.tryLock('workQueueLock') >> true
+        when: 'module sync is started'
+            objectUnderTest.moduleSyncAdvisedCmHandles()
+        then: 'the first batch fails'
+            1 * mockModuleSyncTasks.performModuleSync(*_) >> { throw new RuntimeException('some exception') }
+        and: 'the second batch is still processed'
+            1 * mockModuleSyncTasks.performModuleSync(*_)
+        and: 'the failure is logged'
+            assert logAppender.list.any { it.level == Level.ERROR && it.formattedMessage == 'Processing module sync batch failed' }
+    }
+
     def 'Reset failed cm handles.'() {
         given: 'system is ready to accept traffic'
             mockReadinessManager.isReady() >> true
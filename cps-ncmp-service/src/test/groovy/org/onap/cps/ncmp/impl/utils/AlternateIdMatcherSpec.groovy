@@ -29,8 +29,10 @@ import spock.lang.Specification
 class AlternateIdMatcherSpec extends Specification {
 
     def mockCmHandleIdPerAlternateId = Mock(IMap)
+    def mockAlternateIdPerCmHandleId = Mock(IMap)
+    def alternateIdTrie = new AlternateIdTrie()
 
-    def objectUnderTest = new AlternateIdMatcher(mockCmHandleIdPerAlternateId)
+    def objectUnderTest = new AlternateIdMatcher(mockCmHandleIdPerAlternateId, mockAlternateIdPerCmHandleId, alternateIdTrie)
 
     def testYangModelCmHandle = new YangModelCmHandle(id:1)
 
@@ -51,6 +53,35 @@ class AlternateIdMatcherSpec extends Specification {
             'with attribute path component and additional slash match' | '/a/b/#q'
     }
 
+    def 'Finding longest alternate id match in the local trie.'() {
+        given: 'the local trie contains alternate id "/a/b"'
+            alternateIdTrie.put('/a/b', 'ch1')
+        when: 'finding the longest match for a child path'
+            def result = objectUnderTest.getCmHandleIdByLongestMatchingAlternateId('/a/b/c', '/')
+        then: 'the match from the trie is verified against the distributed cache'
+            1 * mockCmHandleIdPerAlternateId.get('/a/b') >> 'ch1'
+        and: 'the distributed cache is not walked'
+            0 * mockCmHandleIdPerAlternateId.get('/a/b/c')
+        and: 'the cm handle id from the trie is returned'
+            assert result == 'ch1'
+    }
+
+    def 'Finding longest alternate id match with an outdated local trie, scenario: #scenario.'() {
+        given: 'the local trie contains alternate id "/a/b" for cm handle "ch1"'
+            alternateIdTrie.put('/a/b', 'ch1')
+        and: 'the distributed cache has different cm handles'
+            mockCmHandleIdPerAlternateId.get('/a/b') >> cmHandleIdInCache
+            mockCmHandleIdPerAlternateId.get('/a') >> 'ch0'
+        when: 'finding the longest match for a child path'
+            def result = objectUnderTest.getCmHandleIdByLongestMatchingAlternateId('/a/b/c', '/')
+        then: 'the cm handle id from the distributed cache is returned'
+            assert result == expectedCmHandleId
+        where: 'the following cm handles are in the distributed cache'
+            scenario                          | cmHandleIdInCache || expectedCmHandleId
+            'alternate id moved to ch2'       | 'ch2'             || 'ch2'
+            'alternate id deleted, parent ok' | null              || 'ch0'
+    }
+
     def 'Finding longest alternate id matches for a batch.'() {
         given: 'a batch of alternate ids'
             def aBatchOfAlternateIds = ['content does','not matter']
@@ -62,6 +93,32 @@ class AlternateIdMatcherSpec extends Specification {
             assert result == ['ch1', 'ch2']
     }
 
+    def 'Finding longest alternate id matches for a batch partly resolved by the local trie.'() {
+        given: 'the local trie contains alternate id "/a/b"'
+            alternateIdTrie.put('/a/b', 'ch1')
+        when: 'getting the matches for a batch with one path under "/a/b" and one unknown to the trie'
+            def result = objectUnderTest.getCmHandleIdsByLongestMatchingAlternateIds(['/a/b/c', '/x/y'], '/')
+        then: 'the match from the trie is verified against the distributed cache'
+            1 * mockCmHandleIdPerAlternateId.getAll(['/a/b'] as Set) >> ['/a/b': 'ch1']
+        and: 'only the unresolved path is matched against the distributed cache'
+            1 * mockCmHandleIdPerAlternateId.getAll(['/x/y'] as Set) >> ['/x/y': 'ch2']
+        and: 'the result contains the cm handle ids from both'
+            assert result == ['ch1', 'ch2']
+    }
+
+    def 'Finding longest alternate id matches for a batch with an outdated local trie.'() {
+        given: 'the local trie contains alternate id "/a/b" which has been deleted'
+            alternateIdTrie.put('/a/b', 'ch1')
+            mockCmHandleIdPerAlternateId.getAll(['/a/b'] as Set) >> [:]
+        and: 'the distributed cache only contains the parent'
+            mockCmHandleIdPerAlternateId.getAll(['/a/b/c'] as Set) >> [:]
+            mockCmHandleIdPerAlternateId.getAll(['/a'] as Set) >> ['/a': 'ch0']
+        when: 'getting the matches for a batch with one path under "/a/b"'
+            def result = objectUnderTest.getCmHandleIdsByLongestMatchingAlternateIds(['/a/b/c'], '/')
+        then: 'the cm handle id is resolved from the distributed cache'
+            assert result == ['ch0']
+    }
+
     def 'Attempt to find longest alternate id match without any matches.'() {
         when: 'attempt to find alternateId'
             objectUnderTest.getCmHandleIdByLongestMatchingAlternateId(targetAlternateId, '/')
@@ -117,7 +174,8 @@ class AlternateIdMatcherSpec extends Specification {
     def 'Get cm handle id from a cm handle reference that is a #scenario id.' () {
         given: 'cmHandleIdPerAlternateId cache contains the given reference'
             mockCmHandleIdPerAlternateId.get(cmHandleReference) >> returnedCacheValue
-            mockCmHandleIdPerAlternateId.containsValue(cmHandleReference) >> true
+        and: 'alternateIdPerCmHandleId cache contains the given reference as cm handle id'
+            mockAlternateIdPerCmHandleId.containsKey(cmHandleReference) >> true
         when: 'getting a cm handle id from the reference'
             def result = objectUnderTest.getCmHandleId(cmHandleReference)
         then: 'the expected cm handle id is returned'
@@ -0,0 +1,126 @@
+/*
+ * ============LICENSE_START=======================================================
+ * Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.ncmp.impl.utils
+
+import spock.lang.Specification
+
+class AlternateIdTrieSpec extends Specification {
+
+    def objectUnderTest = new AlternateIdTrie()
+
+    def setup() {
+        objectUnderTest.put('/a=1', 'ch1')
+        objectUnderTest.put('/a=1/b=2', 'ch2')
+        objectUnderTest.put('/a=10', 'ch3')
+    }
+
+    def 'Longest match, scenario: #scenario.'() {
+        expect: 'the expected cm handle id is found'
+            assert objectUnderTest.getLongestMatch(path, '/') == expectedCmHandleId
+        where: 'the following paths are used'
+            scenario                                  | path                 || expectedCmHandleId
+            'exact match'                             | '/a=1/b=2'           || 'ch2'
+            'parent match'                            | '/a=1/b=2/c=3'       || 'ch2'
+            'grand parent match'                      | '/a=1/b=3/c=3'       || 'ch1'
+            'trailing separator match'                | '/a=1/b=2/'          || 'ch2'
+            'similar sibling'                         | '/a=10/b=2'          || 'ch3'
+            'partial element is not a match'          | '/a=100'             || null
+            'partial element of child is not a match' | '/a=1/b=22'          || 'ch1'
+            'with attribute path component'           | '/a=1/b=2/c=3#/attr' || 'ch2'
+            'hash in middle of element'               | '/a=1/b=2#x'         || 'ch2'
+            'no match at all'                         | '/x=1'               || null
+            'empty path'                              | ''                   || null
+    }
+
+    def 'Longest match including the matching alternate id, scenario: #scenario.'() {
+        when: 'the longest match is found for a path'
+            def result = objectUnderTest.findLongestMatch(path, '/')
+        then: 'the matching alternate id and its cm handle id are returned'
+            assert result == new AlternateIdTrie.Match(expectedAlternateId, expectedCmHandleId)
+        where: 'the following paths are used'
+            scenario                        | path                 || expectedAlternateId | expectedCmHandleId
+            'exact match'                   | '/a=1/b=2'           || '/a=1/b=2'          | 'ch2'
+            'grand parent match'            | '/a=1/b=3/c=3'       || '/a=1'              | 'ch1'
+            'with attribute path component' | '/a=1/b=2/c=3#/attr' || '/a=1/b=2'          | 'ch2'
+    }
+
+    def 'Longest match including the matching alternate id without a match.'() {
+        expect: 'no match is found'
+            assert objectUnderTest.findLongestMatch('/x=1', '/') == null
+    }
+
+    def 'Exact get.'() {
+        expect: 'only exact alternate ids are found'
+            assert objectUnderTest.get('/a=1') == 'ch1'
+            assert objectUnderTest.get('/a=1/b=2') == 'ch2'
+            assert objectUnderTest.get('/a=1/b') == null
+            assert objectUnderTest.get('/a=') == null
+    }
+
+    def 'Replace cm handle id of an existing alternate id.'() {
+        when: 'an existing alternate id is put again'
+            objectUnderTest.put('/a=1', 'ch9')
+        then: 'the new cm handle id is returned'
+            assert objectUnderTest.getLongestMatch('/a=1/x=1', '/') == 'ch9'
+        and: 'the size is unchanged'
+            assert objectUnderTest.size() == 3
+    }
+
+    def 'Remove alternate ids.'() {
+        when: 'a parent alternate id is removed'
+            objectUnderTest.remove('/a=1')
+        then: 'its children are still found'
+            assert objectUnderTest.getLongestMatch('/a=1/b=2/c=3', '/') == 'ch2'
+        and: 'the parent is not'
+            assert objectUnderTest.getLongestMatch('/a=1/c=3', '/') == null
+        and: 'a sibling with a common prefix is still found'
+            assert objectUnderTest.get('/a=10') == 'ch3'
+        and: 'the size is reduced'
+            assert objectUnderTest.size() == 2
+    }
+
+    def 'Remove an alternate id that does not exist.'() {
+        when: 'removing unknown alternate ids'
+            objectUnderTest.remove('/a=1/b')
+            objectUnderTest.remove('/a=1/b=2/c=3')
+            objectUnderTest.remove('/x')
+        then: 'all alternate ids are still present'
+            assert objectUnderTest.size() == 3
+            assert objectUnderTest.get('/a=1/b=2') == 'ch2'
+    }
+
+    def 'Clear all alternate ids.'() {
+        when: 'the trie is cleared'
+            objectUnderTest.clear()
+        then: 'nothing is found anymore'
+            assert objectUnderTest.size() == 0
+            assert objectUnderTest.getLongestMatch('/a=1/b=2', '/') == null
+    }
+
+    def 'Longest match with a multi character separator.'() {
+        given: 'an alternate id using a multi character separator'
+            objectUnderTest.put('x::y', 'ch4')
+        expect: 'the parent match uses the separator'
+            assert objectUnderTest.getLongestMatch('x::y::z', '::') == 'ch4'
+        and: 'a partial element is not a match'
+            assert objectUnderTest.getLongestMatch('x::yz', '::') == null
+    }
+}
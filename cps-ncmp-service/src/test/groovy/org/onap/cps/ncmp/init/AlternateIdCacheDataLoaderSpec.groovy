@@ -32,12 +32,14 @@ class AlternateIdCacheDataLoaderSpec extends Specification {
     def mockInventoryPersistence = Mock(InventoryPersistence)
     def mockCmHandleRegistrationService = Mock(CmHandleRegistrationService)
     def mockCmHandleIdPerAlternateId = Mock(IMap)
+    def mockAlternateIdPerCmHandleId = Mock(IMap)
 
-    def objectUnderTest = new AlternateIdCacheDataLoader(mockInventoryPersistence, mockCmHandleRegistrationService, mockCmHandleIdPerAlternateId)
+    def objectUnderTest = new AlternateIdCacheDataLoader(mockInventoryPersistence, mockCmHandleRegistrationService, mockCmHandleIdPerAlternateId, mockAlternateIdPerCmHandleId)
 
-    def 'Populate cm handle id per alternate id cache.'() {
-        given: 'cache is empty'
-            mockCmHandleIdPerAlternateId.isEmpty() >> true
+    def 'Populate cm handle id per alternate id cache when #scenario.'() {
+        given: '#scenario'
+            mockCmHandleIdPerAlternateId.isEmpty() >> cacheIsEmpty
+            mockAlternateIdPerCmHandleId.isEmpty() >> reverseCacheIsEmpty
         and: 'inventory persistence returns some data nodes'
             def childDataNodes = [new DataNode(xpath: "", leaves: ['id': 'ch-1', 'alternate-id': 'alt-1'])]
             mockInventoryPersistence.getDataNode(_, _) >> [new DataNode(childDataNodes:childDataNodes, leaves: ['id':''])]
@@ -45,5 +47,19 @@ class AlternateIdCacheDataLoaderSpec extends Specification {
             objectUnderTest.populateCmHandleIdPerAlternateIdMap(Mock(NcmpInventoryModelOnboardingFinishedEvent))
         then: 'the cm handle registration service is called once to add ids to cache'
             1 * mockCmHandleRegistrationService.addAlternateIdsToCache(_)
+        where: 'the following caches are empty'
+            scenario                    | cacheIsEmpty | reverseCacheIsEmpty
+            'both caches are empty'     | true         | true
+            'only reverse cache empty'  | false        | true
+    }
+
+    def 'Cache is not populated when both caches contain entries.'() {
+        given: 'both caches contain entries'
+            mockCmHandleIdPerAlternateId.isEmpty() >> false
+            mockAlternateIdPerCmHandleId.isEmpty() >> false
+        when: 'the method to populate the cache is invoked by the ncmp model onboarding event'
+            objectUnderTest.populateCmHandleIdPerAlternateIdMap(Mock(NcmpInventoryModelOnboardingFinishedEvent))
+        then: 'no ids are added to the cache'
+            0 * mockCmHandleRegistrationService.addAlternateIdsToCache(_)
     }
 }
@@ -24,6 +24,7 @@ package org.onap.cps.cpspath.parser;
 import static org.onap.cps.cpspath.parser.CpsPathPrefixType.DESCENDANT;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import org.onap.cps.cpspath.parser.antlr4.CpsPathBaseListener;
 import org.onap.cps.cpspath.parser.antlr4.CpsPathParser;
@@ -113,7 +114,7 @@ public class CpsPathBuilder extends CpsPathBaseListener {
     @Override
     public void exitMultipleLeafConditions(final MultipleLeafConditionsContext ctx) {
         normalizedXpathBuilder.append(CLOSE_BRACKET);
-        cpsPathQuery.setLeafConditions(leafConditions);
+        cpsPathQuery.setLeafConditions(Collections.unmodifiableList(leafConditions));
     }
 
     @Override
@@ -161,8 +162,8 @@ public class CpsPathBuilder extends CpsPathBaseListener {
 
     CpsPathQuery build() {
         cpsPathQuery.setNormalizedXpath(normalizedXpathBuilder.toString());
-        cpsPathQuery.setContainerNames(containerNames);
-        cpsPathQuery.setBooleanOperators(booleanOperators);
+        cpsPathQuery.setContainerNames(Collections.unmodifiableList(containerNames));
+        cpsPathQuery.setBooleanOperators(Collections.unmodifiableList(booleanOperators));
         return cpsPathQuery;
     }
 
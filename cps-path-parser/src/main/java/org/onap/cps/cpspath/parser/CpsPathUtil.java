@@ -21,6 +21,8 @@
 
 package org.onap.cps.cpspath.parser;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import java.util.List;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -43,6 +45,19 @@ public class CpsPathUtil {
     public static final String ROOT_NODE_XPATH = "/";
     public static final String NO_PARENT_PATH = "";
 
+    private static final int CPS_PATH_QUERY_CACHE_MAXIMUM_SIZE = 10_000;
+
+    /**
+     * Parsed cps path queries by cps path, only for paths that need the ANTLR based parser.
+     * Simple paths (see {@link SimpleXpathParser}) are cheap to parse and often contain unique ids
+     * (e.g. of cm handles), caching them would mainly evict the entries that do get reused.
+     * Cached queries are shared, they can't be modified outside this package.
+     */
+    private static final Cache<String, CpsPathQuery> CPS_PATH_QUERY_CACHE = Caffeine.newBuilder()
+            .maximumSize(CPS_PATH_QUERY_CACHE_MAXIMUM_SIZE)
+            .recordStats()
+            .build();
+
     /**
      * Returns a normalized xpath path query.
      *
@@ -53,7 +68,7 @@ public class CpsPathUtil {
         if (ROOT_NODE_XPATH.equals(xpathSource)) {
             return NO_PARENT_PATH;
         }
-        return getCpsPathBuilder(xpathSource).build().getNormalizedXpath();
+        return getCpsPathQuery(xpathSource).getNormalizedXpath();
     }
 
     /**
@@ -63,11 +78,11 @@ public class CpsPathUtil {
      * @return the parent xpath String.
      */
     public static String getNormalizedParentXpath(final String xpathSource) {
-        return getCpsPathBuilder(xpathSource).build().getNormalizedParentPath();
+        return getCpsPathQuery(xpathSource).getNormalizedParentPath();
     }
 
     public static List<String> getXpathNodeIdSequence(final String xpathSource) {
-        return getCpsPathBuilder(xpathSource).build().getContainerNames();
+        return getCpsPathQuery(xpathSource).getContainerNames();
     }
 
     /**
@@ -77,22 +92,34 @@ public class CpsPathUtil {
      * @return true if xpath is an absolute path to a list element
      */
     public static boolean isPathToListElement(final String xpathSource) {
-        final CpsPathQuery cpsPathQuery = getCpsPathBuilder(xpathSource).build();
-        return cpsPathQuery.isPathToListElement();
+        return getCpsPathQuery(xpathSource).isPathToListElement();
     }
 
     /**
-     * Returns a cps path query.
+     * Returns a cps path query. Simple paths are parsed directly, other queries are parsed once
+     * and then served from a bounded cache.
      *
      * @param cpsPathSource cps path
      * @return a CpsPathQuery object.
      */
-
     public static CpsPathQuery getCpsPathQuery(final String cpsPathSource) {
-        return getCpsPathBuilder(cpsPathSource).build();
+        final CpsPathQuery simpleCpsPathQuery = SimpleXpathParser.parse(cpsPathSource);
+        if (simpleCpsPathQuery != null) {
+            return simpleCpsPathQuery;
+        }
+        return CPS_PATH_QUERY_CACHE.get(cpsPathSource, CpsPathUtil::parseCpsPathUsingAntlr);
+    }
+
+    /**
+     * Returns the cache of parsed cps path queries, for monitoring purposes (e.g. its hit rate).
+     *
+     * @return the cps path query cache
+     */
+    public static Cache<String, CpsPathQuery> getCpsPathQueryCache() {
+        return CPS_PATH_QUERY_CACHE;
     }
 
-    private static CpsPathBuilder getCpsPathBuilder(final String cpsPathSource) {
+    static CpsPathQuery parseCpsPathUsingAntlr(final String cpsPathSource) {
         final CharStream inputStream = CharStreams.fromString(cpsPathSource);
         final CpsPathLexer cpsPathLexer = new CpsPathLexer(inputStream);
         final CpsPathParser cpsPathParser = new CpsPathParser(new CommonTokenStream(cpsPathLexer));
@@ -107,6 +134,6 @@ public class CpsPathUtil {
         final CpsPathBuilder cpsPathBuilder = new CpsPathBuilder();
         cpsPathParser.addParseListener(cpsPathBuilder);
         cpsPathParser.cpsPath();
-        return cpsPathBuilder;
+        return cpsPathBuilder.build();
     }
 }
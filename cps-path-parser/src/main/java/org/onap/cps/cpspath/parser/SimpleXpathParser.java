@@ -0,0 +1,226 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.cpspath.parser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Hand-written parser for the most common (simple) cps paths: absolute paths of which each step is a container
+ * name, optionally followed by a single leaf condition using '=' e.g. /dmi-registry/cm-handles[@id='my-cm-handle'].
+ * Only ASCII names without whitespace are recognized. The result is identical to the result of the ANTLR based
+ * parser, for all other paths null is returned, so that the ANTLR based parser can be used instead.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class SimpleXpathParser {
+
+    private static final int MAX_INTEGER_LITERAL_LENGTH = 9;
+    private static final int NOT_SIMPLE = -1;
+    private static final Set<String> KEYWORDS = Set.of("ancestor", "and", "contains", "or");
+
+    /**
+     * Parse the given path if it is a simple absolute path.
+     *
+     * @param cpsPath cps path
+     * @return the cps path query, or null if the path is not a simple absolute path
+     */
+    static CpsPathQuery parse(final String cpsPath) {
+        if (!isSimpleAbsolutePath(cpsPath)) {
+            return null;
+        }
+        final StringBuilder normalizedXpathBuilder = new StringBuilder(cpsPath.length() + 8);
+        final List<String> containerNames = new ArrayList<>();
+        String normalizedParentPath = CpsPathUtil.NO_PARENT_PATH;
+        String xpathPrefix = null;
+        List<CpsPathQuery.LeafCondition> leafConditions = null;
+        int index = 0;
+        while (index < cpsPath.length()) {
+            normalizedParentPath = normalizedXpathBuilder.toString();
+            final int endOfContainerName = endOfQName(cpsPath, index + 1);
+            final String containerName = cpsPath.substring(index + 1, endOfContainerName);
+            containerNames.add(containerName);
+            normalizedXpathBuilder.append('/').append(containerName);
+            xpathPrefix = normalizedXpathBuilder.toString();
+            leafConditions = null;
+            index = endOfContainerName;
+            if (index < cpsPath.length() && cpsPath.charAt(index) == '[') {
+                final int endOfLeafName = endOfQName(cpsPath, index + 2);
+                final String leafName = cpsPath.substring(index + 2, endOfLeafName);
+                final int startOfValue = endOfLeafName + 1;
+                final int endOfValue = endOfLiteral(cpsPath, startOfValue);
+                final Object value = toValue(cpsPath.substring(startOfValue, endOfValue));
+                leafConditions = Collections.singletonList(new CpsPathQuery.LeafCondition(leafName, "=", value));
+                normalizedXpathBuilder.append("[@").append(leafName).append("='")
+                    .append(value.toString().replace("'", "''")).append("']");
+                index = endOfValue + 1;
+            }
+        }
+        final CpsPathQuery cpsPathQuery = new CpsPathQuery();
+        cpsPathQuery.setXpathPrefix(xpathPrefix);
+        cpsPathQuery.setNormalizedParentPath(normalizedParentPath);
+        cpsPathQuery.setNormalizedXpath(normalizedXpathBuilder.toString());
+        cpsPathQuery.setContainerNames(Collections.unmodifiableList(containerNames));
+        cpsPathQuery.setLeafConditions(leafConditions);
+        cpsPathQuery.setBooleanOperators(Collections.emptyList());
+        return cpsPathQuery;
+    }
+
+    /**
+     * Recognize a simple absolute path without allocating any objects.
+     */
+    private static boolean isSimpleAbsolutePath(final String cpsPath) {
+        if (cpsPath.isEmpty()) {
+            return false;
+        }
+        int index = 0;
+        while (index < cpsPath.length()) {
+            if (cpsPath.charAt(index) != '/') {
+                return false;
+            }
+            index = endOfName(cpsPath, index + 1);
+            if (index == NOT_SIMPLE) {
+                return false;
+            }
+            if (index < cpsPath.length() && cpsPath.charAt(index) == '[') {
+                index = endOfLeafCondition(cpsPath, index + 1);
+                if (index == NOT_SIMPLE) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static int endOfLeafCondition(final String cpsPath, final int startIndex) {
+        if (startIndex >= cpsPath.length() || cpsPath.charAt(startIndex) != '@') {
+            return NOT_SIMPLE;
+        }
+        final int endOfLeafName = endOfName(cpsPath, startIndex + 1);
+        if (endOfLeafName == NOT_SIMPLE || endOfLeafName >= cpsPath.length() || cpsPath.charAt(endOfLeafName) != '=') {
+            return NOT_SIMPLE;
+        }
+        final int endOfValue = endOfLiteral(cpsPath, endOfLeafName + 1);
+        if (endOfValue == NOT_SIMPLE || endOfValue >= cpsPath.length() || cpsPath.charAt(endOfValue) != ']') {
+            return NOT_SIMPLE;
+        }
+        return endOfValue + 1;
+    }
+
+    /**
+     * Returns the end index of the (qualified) name starting at the given index, or NOT_SIMPLE if there is no such
+     * name or the name is a keyword of the cps path grammar.
+     */
+    private static int endOfName(final String cpsPath, final int startIndex) {
+        final int endIndex = endOfQName(cpsPath, startIndex);
+        if (endIndex == NOT_SIMPLE || isKeyword(cpsPath, startIndex, endIndex)) {
+            return NOT_SIMPLE;
+        }
+        return endIndex;
+    }
+
+    private static int endOfQName(final String cpsPath, final int startIndex) {
+        final int endOfPrefixOrLocalPart = endOfNcName(cpsPath, startIndex);
+        if (endOfPrefixOrLocalPart != NOT_SIMPLE && endOfPrefixOrLocalPart < cpsPath.length()
+                && cpsPath.charAt(endOfPrefixOrLocalPart) == ':') {
+            return endOfNcName(cpsPath, endOfPrefixOrLocalPart + 1);
+        }
+        return endOfPrefixOrLocalPart;
+    }
+
+    private static int endOfNcName(final String cpsPath, final int startIndex) {
+        if (startIndex >= cpsPath.length() || !isNcNameStartCharacter(cpsPath.charAt(startIndex))) {
+            return NOT_SIMPLE;
+        }
+        int index = startIndex + 1;
+        while (index < cpsPath.length() && isNcNameCharacter(cpsPath.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private static int endOfLiteral(final String cpsPath, final int startIndex) {
+        if (startIndex >= cpsPath.length()) {
+            return NOT_SIMPLE;
+        }
+        final char firstCharacter = cpsPath.charAt(startIndex);
+        if (firstCharacter == '\'' || firstCharacter == '"') {
+            return endOfStringLiteral(cpsPath, startIndex, firstCharacter);
+        }
+        int index = startIndex;
+        while (index < cpsPath.length() && isDigit(cpsPath.charAt(index))) {
+            index++;
+        }
+        final int length = index - startIndex;
+        if (length == 0 || length > MAX_INTEGER_LITERAL_LENGTH) {
+            return NOT_SIMPLE;
+        }
+        return index;
+    }
+
+    private static int endOfStringLiteral(final String cpsPath, final int startIndex, final char quote) {
+        int index = startIndex + 1;
+        while (index < cpsPath.length()) {
+            if (cpsPath.charAt(index) == quote) {
+                final boolean isEscapedQuote = index + 1 < cpsPath.length() && cpsPath.charAt(index + 1) == quote;
+                if (!isEscapedQuote) {
+                    return index + 1;
+                }
+                index++;
+            }
+            index++;
+        }
+        return NOT_SIMPLE;
+    }
+
+    private static Object toValue(final String literal) {
+        final char quote = literal.charAt(0);
+        if (quote == '\'' || quote == '"') {
+            final String escapedQuote = String.valueOf(quote) + quote;
+            return literal.substring(1, literal.length() - 1).replace(escapedQuote, String.valueOf(quote));
+        }
+        return Integer.valueOf(literal);
+    }
+
+    private static boolean isKeyword(final String cpsPath, final int startIndex, final int endIndex) {
+        for (final String keyword : KEYWORDS) {
+            if (keyword.length() == endIndex - startIndex && cpsPath.startsWith(keyword, startIndex)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isNcNameStartCharacter(final char character) {
+        return character >= 'a' && character <= 'z' || character >= 'A' && character <= 'Z' || character == '_';
+    }
+
+    private static boolean isNcNameCharacter(final char character) {
+        return isNcNameStartCharacter(character) || isDigit(character) || character == '-' || character == '.';
+    }
+
+    private static boolean isDigit(final char character) {
+        return character >= '0' && character <= '9';
+    }
+}
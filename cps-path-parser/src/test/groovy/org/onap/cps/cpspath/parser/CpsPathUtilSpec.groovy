@@ -114,4 +114,58 @@ class CpsPathUtilSpec extends Specification {
             thrown(PathParsingException)
     }
 
+    def 'Parsed cps path queries are cached.'() {
+        given: 'a cps path that needs the ANTLR based parser and has not been parsed before'
+            def cpsPath = '//cm-handles[@id="cached-cm-handle"]/ancestor::dmi-registry'
+            def missCountBefore = CpsPathUtil.cpsPathQueryCache.stats().missCount()
+            def hitCountBefore = CpsPathUtil.cpsPathQueryCache.stats().hitCount()
+        when: 'the cps path is parsed twice'
+            def firstResult = CpsPathUtil.getCpsPathQuery(cpsPath)
+            def secondResult = CpsPathUtil.getCpsPathQuery(cpsPath)
+        then: 'the same cps path query is returned both times'
+            assert firstResult.is(secondResult)
+        and: 'one cache miss and one cache hit are recorded'
+            assert CpsPathUtil.cpsPathQueryCache.stats().missCount() == missCountBefore + 1
+            assert CpsPathUtil.cpsPathQueryCache.stats().hitCount() == hitCountBefore + 1
+    }
+
+    def 'Simple cps paths are not cached.'() {
+        given: 'a simple cps path with a unique id'
+            def cpsPath = '/dmi-registry/cm-handles[@id="unique-cm-handle"]'
+            def requestCountBefore = CpsPathUtil.cpsPathQueryCache.stats().requestCount()
+        when: 'the cps path is parsed twice'
+            def firstResult = CpsPathUtil.getCpsPathQuery(cpsPath)
+            def secondResult = CpsPathUtil.getCpsPathQuery(cpsPath)
+        then: 'both results are the same query'
+            assert firstResult.normalizedXpath == "/dmi-registry/cm-handles[@id='unique-cm-handle']"
+            assert secondResult.normalizedXpath == firstResult.normalizedXpath
+        and: 'the cache is not used'
+            assert CpsPathUtil.cpsPathQueryCache.stats().requestCount() == requestCountBefore
+            assert CpsPathUtil.cpsPathQueryCache.getIfPresent(cpsPath) == null
+    }
+
+    def 'Cps path queries can not be modified: #scenario.'() {
+        given: 'a parsed cps path query'
+            def cpsPathQuery = CpsPathUtil.getCpsPathQuery(cpsPath)
+        when: 'a container name is added'
+            cpsPathQuery.containerNames.add('other')
+        then: 'the attempt is rejected'
+            thrown(UnsupportedOperationException)
+        where: 'the following cps paths are used'
+            scenario                 | cpsPath
+            'simple path'            | '/parent/child[@id=1]'
+            'cached (complex) path'  | '/parent/child[@id=1 and @name="x"]'
+    }
+
+    def 'Invalid cps paths are not cached.'() {
+        given: 'an invalid cps path'
+            def invalidCpsPath = '//invalid/['
+        when: 'the invalid cps path is parsed'
+            CpsPathUtil.getCpsPathQuery(invalidCpsPath)
+        then: 'a path parsing exception is thrown'
+            thrown(PathParsingException)
+        and: 'the cps path is not cached'
+            assert CpsPathUtil.cpsPathQueryCache.getIfPresent(invalidCpsPath) == null
+    }
+
 }
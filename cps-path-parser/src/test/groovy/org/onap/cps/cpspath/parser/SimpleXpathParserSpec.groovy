@@ -0,0 +1,143 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.cpspath.parser
+
+import spock.lang.Specification
+
+class SimpleXpathParserSpec extends Specification {
+
+    static final NAMES = ['parent', 'child', 'cm-handles', 'dmi-registry', 'my_list.v2', 'ns:container', 'A1', 'text']
+    static final UNSUPPORTED_NAMES = ['and', 'or', 'ancestor', 'contains', '1st', 'ü-name', 'x:', 'a b']
+    static final STRING_VALUES = ['value', 'my-cm-handle', '', 'with space', "it's", 'say "hi"', "a''b", 'a]b', 'a/b', '[@x=1]', '10% off']
+    static final INTEGER_VALUES = ['0', '5', '007', '123456789']
+    static final UNSUPPORTED_INTEGER_VALUES = ['1234567890', '99999999999', '1.5', '-1']
+    static final UNSUPPORTED_SUFFIXES = ['/', '//', ' ', '[', ']', '/@leaf', '/ancestor::parent', '/name[text()="x"]', '[contains(@name,"x")]', '[@a=1 and @b=2]', '[@a>1]',
+                                        '[@', '[@a', '[@a=', "[@a='x'", '[@a=1', '[a=1]']
+
+    def random
+
+    def 'Simple parser agrees with the ANTLR parser on generated corpus #run.'() {
+        given: 'a different (but reproducible) seed for each run'
+            random = new Random(20251017 + run)
+        and: 'a corpus of generated paths, both simple and not simple'
+            def cpsPaths = (1..500).collect { generatePath() }
+        when: 'the paths are parsed by the simple parser'
+            def simpleResults = cpsPaths.collectEntries { [(it): SimpleXpathParser.parse(it)] }.findAll { it.value != null }
+        then: 'a fair share of the paths is recognized as simple'
+            assert simpleResults.size() >= 100
+        and: 'every recognized path has the same result as when parsed by the ANTLR parser'
+            simpleResults.each { cpsPath, simpleResult ->
+                assert asMap(simpleResult) == asMap(CpsPathUtil.parseCpsPathUsingAntlr(cpsPath)), cpsPath
+            }
+        where: 'the corpus is generated several times'
+            run << (1..10)
+    }
+
+    def 'Simple parser recognizes simple absolute path: #cpsPath.'() {
+        when: 'the path is parsed by the simple parser'
+            def result = SimpleXpathParser.parse(cpsPath)
+        then: 'the path is recognized'
+            assert result != null
+        and: 'the result is the same as the result of the ANTLR parser'
+            assert asMap(result) == asMap(CpsPathUtil.parseCpsPathUsingAntlr(cpsPath))
+        where: 'the following simple paths are used'
+            cpsPath << ['/parent',
+                        '/parent/child',
+                        "/dmi-registry/cm-handles[@id='my-cm-handle']",
+                        '/dmi-registry/cm-handles[@id="my-cm-handle"]/additional-properties[@name="x"]',
+                        "/parent[@key='1']/child",
+                        '/parent/child[@id=5]',
+                        "/parent/child[@name='it''s']",
+                        '/ns:parent/ns:child[@ns:key="a""b"]']
+    }
+
+    def 'Simple parser declines path that is not simple: #scenario.'() {
+        expect: 'the simple parser declines the path'
+            assert SimpleXpathParser.parse(cpsPath) == null
+        where: 'the following paths are used'
+            scenario                   | cpsPath
+            'empty'                    | ''
+            'root'                     | '/'
+            'descendant'               | '//child'
+            'trailing slash'           | '/parent/'
+            'whitespace'               | '/parent/child[@id = 5]'
+            'multiple conditions'      | "/parent/child[@id=5 and @name='x']"
+            'comparison operator'      | '/parent/child[@id>5]'
+            'text function'            | '/parent/child/name[text()="x"]'
+            'contains function'        | '/parent/child[contains(@name,"x")]'
+            'ancestor axis'            | '/parent/child/ancestor::parent'
+            'attribute axis'           | '/parent/child/@name'
+            'keyword as name'          | '/parent/and'
+            'non ascii name'           | '/parënt'
+            'unterminated string'      | "/parent/child[@id='x]"
+            'too large integer'        | '/parent/child[@id=1234567890]'
+            'truncated condition'      | '/parent['
+            'condition without @'      | '/parent[id=5]'
+            'truncated leaf name'      | '/parent[@'
+            'truncated after leaf'     | '/parent[@id'
+            'truncated after ='        | '/parent[@id='
+            'missing value'            | '/parent[@id=]'
+            'unclosed string'          | "/parent[@id='x'"
+            'unclosed integer'         | '/parent[@id=5'
+            'unexpected after value'   | "/parent[@id='x'/child]"
+    }
+
+    def generatePath() {
+        def numberOfSteps = 1 + random.nextInt(4)
+        def steps = (1..numberOfSteps).collect { generateStep() }
+        return steps.join('') + (rarely() ? pick(UNSUPPORTED_SUFFIXES) : '')
+    }
+
+    def generateStep() {
+        def step = '/' + generateName()
+        if (random.nextBoolean()) {
+            step += '[@' + generateName() + '=' + generateLiteral() + ']'
+        }
+        return step
+    }
+
+    def generateName() {
+        return rarely() ? pick(UNSUPPORTED_NAMES) : pick(NAMES)
+    }
+
+    def generateLiteral() {
+        switch (random.nextInt(3)) {
+            case 0:
+                return rarely() ? pick(UNSUPPORTED_INTEGER_VALUES) : pick(INTEGER_VALUES)
+            case 1:
+                return "'" + pick(STRING_VALUES).replace("'", "''") + "'"
+            default:
+                return '"' + pick(STRING_VALUES).replace('"', '""') + '"'
+        }
+    }
+
+    def rarely() {
+        return random.nextInt(10) == 0
+    }
+
+    def pick(List values) {
+        return values[random.nextInt(values.size())]
+    }
+
+    static asMap(CpsPathQuery cpsPathQuery) {
+        return cpsPathQuery.properties.findAll { it.key != 'class' }
+    }
+}
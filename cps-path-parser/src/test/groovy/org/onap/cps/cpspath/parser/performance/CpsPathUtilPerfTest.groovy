@@ -39,4 +39,21 @@ class CpsPathUtilPerfTest extends Specification {
             assert stopWatch.getTotalTimeMillis() < 2100
     }
 
+    def 'CPS Path Processing of distinct cm handle paths does not fill the cache.'() {
+        given: 'the current size of the cps path query cache'
+            def cacheSizeBefore = CpsPathUtil.cpsPathQueryCache.estimatedSize()
+        when: '10,000 different cm handle paths are processed'
+            def stopWatch = new StopWatch()
+            stopWatch.start()
+            (1..10000).each {
+                CpsPathUtil.getNormalizedXpath("/dmi-registry/cm-handles[@id='distinct-ch-${it}']")
+            }
+            stopWatch.stop()
+        then: 'none of the paths are cached'
+            assert CpsPathUtil.cpsPathQueryCache.estimatedSize() == cacheSizeBefore
+        and: 'the time taken and the hit rate of the cache so far are reported'
+            println("Processing 10,000 distinct cm handle paths took ${stopWatch.totalTimeMillis} ms,"
+                + " cps path query cache hit rate: ${CpsPathUtil.cpsPathQueryCache.stats().hitRate()}")
+    }
+
 }
@@ -40,9 +40,11 @@ import org.onap.cps.rest.api.CpsDataApi;
 import org.onap.cps.utils.ContentType;
 import org.onap.cps.utils.JsonObjectMapper;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("${rest.api.cps-base-path}")
@@ -144,6 +146,17 @@ public class DataRestController implements CpsDataApi {
         return buildResponseEntity(dataNodesAsMap, contentType);
     }
 
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamNodeByDataspaceAndAnchorV3(
+            final String dataspaceName, final String anchorName, final String xpath,
+            final String fetchDescendantsOptionAsString) {
+        final FetchDescendantsOption fetchDescendantsOption =
+            FetchDescendantsOption.getFetchDescendantsOption(fetchDescendantsOptionAsString);
+        final StreamingResponseBody streamingResponseBody = outputStream ->
+            cpsFacade.streamDataNodesByAnchorV3(dataspaceName, anchorName, xpath, fetchDescendantsOption, outputStream);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(streamingResponseBody);
+    }
+
     @Override
     public ResponseEntity<Object> updateNodeLeaves(final String apiVersion, final String dataspaceName,
                                                    final String anchorName, final String nodeData,
@@ -25,25 +25,33 @@ package org.onap.cps.rest.controller;
 import static org.onap.cps.utils.XmlUtils.convertDataMapsToXml;
 
 import io.micrometer.core.annotation.Timed;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.onap.cps.api.CpsFacade;
+import org.onap.cps.api.exceptions.DataValidationException;
 import org.onap.cps.api.parameters.FetchDescendantsOption;
 import org.onap.cps.api.parameters.PaginationOption;
 import org.onap.cps.rest.api.CpsQueryApi;
 import org.onap.cps.utils.ContentType;
 import org.onap.cps.utils.JsonObjectMapper;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("${rest.api.cps-base-path}")
 @RequiredArgsConstructor
 public class QueryRestController implements CpsQueryApi {
 
+    private static final String ANCHOR_NAME_KEY = "anchorName";
+
     private final CpsFacade cpsFacade;
     private final JsonObjectMapper jsonObjectMapper;
 
@@ -82,17 +90,67 @@ public class QueryRestController implements CpsQueryApi {
                                                                 final String cpsPath,
                                                                 final String fetchDescendantsOptionAsString,
                                                                 final Integer pageIndex,
-                                                                final Integer pageSize) {
+                                                                final Integer pageSize,
+                                                                final String continuationToken) {
         final FetchDescendantsOption fetchDescendantsOption =
                 FetchDescendantsOption.getFetchDescendantsOption(fetchDescendantsOptionAsString);
-        final PaginationOption paginationOption = (pageIndex == null || pageSize == null)
-                ? PaginationOption.NO_PAGINATION : new PaginationOption(pageIndex, pageSize);
+        final PaginationOption paginationOption = getPaginationOption(pageIndex, pageSize, continuationToken);
         final List<Map<String, Object>> dataNodesAsMaps
             = cpsFacade.executeDataspaceQuery(dataspaceName, cpsPath, fetchDescendantsOption, paginationOption);
 
         final int totalPages = cpsFacade.countAnchorsInDataspaceQuery(dataspaceName, cpsPath, paginationOption);
-        return ResponseEntity.ok().header("total-pages", String.valueOf(totalPages))
-                .body(jsonObjectMapper.asJsonString(dataNodesAsMaps));
+        final ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok()
+                .header("total-pages", String.valueOf(totalPages));
+        // only pages in name order (requested with a continuation token) can be continued after their last anchor
+        if (paginationOption != PaginationOption.NO_PAGINATION && paginationOption.hasAfterAnchorName()
+                && dataNodesAsMaps.size() == paginationOption.getPageSize()) {
+            responseBuilder.header("continuation-token", toContinuationToken(dataNodesAsMaps));
+        }
+        return responseBuilder.body(jsonObjectMapper.asJsonString(dataNodesAsMaps));
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamNodesByDataspaceAndCpsPath(
+            final String dataspaceName, final String cpsPath, final String fetchDescendantsOptionAsString) {
+        final FetchDescendantsOption fetchDescendantsOption =
+                FetchDescendantsOption.getFetchDescendantsOption(fetchDescendantsOptionAsString);
+        final StreamingResponseBody streamingResponseBody = outputStream ->
+            cpsFacade.streamDataspaceQuery(dataspaceName, cpsPath, fetchDescendantsOption, outputStream);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(streamingResponseBody);
+    }
+
+    private static PaginationOption getPaginationOption(final Integer pageIndex, final Integer pageSize,
+                                                        final String continuationToken) {
+        if (pageSize == null) {
+            return PaginationOption.NO_PAGINATION;
+        }
+        if (continuationToken == null) {
+            return pageIndex == null ? PaginationOption.NO_PAGINATION : new PaginationOption(pageIndex, pageSize);
+        }
+        final int pageIndexAfterToken = pageIndex == null ? 1 : pageIndex;
+        return new PaginationOption(pageIndexAfterToken, pageSize, fromContinuationToken(continuationToken));
+    }
+
+    private static String toContinuationToken(final List<Map<String, Object>> dataNodesAsMaps) {
+        final String lastAnchorName = dataNodesAsMaps.stream()
+                .map(dataNodesAsMap -> (String) dataNodesAsMap.get(ANCHOR_NAME_KEY))
+                .max(QueryRestController::compareByCodePoints).orElseThrow();
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(lastAnchorName.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // anchors are paged in binary (UTF-8) order of their names, which is the order of their unicode code points
+    private static int compareByCodePoints(final String name1, final String name2) {
+        return Arrays.compare(name1.codePoints().toArray(), name2.codePoints().toArray());
+    }
+
+    private static String fromContinuationToken(final String continuationToken) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(continuationToken), StandardCharsets.UTF_8);
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            throw new DataValidationException("Pagination validation error.",
+                    "Invalid continuation token: " + continuationToken);
+        }
     }
 
     private ResponseEntity<Object> buildResponseEntity(final List<Map<String, Object>> dataNodesAsMaps,
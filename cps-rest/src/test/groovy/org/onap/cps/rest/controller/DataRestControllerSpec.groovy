@@ -41,6 +41,7 @@ import spock.lang.Specification
 
 import static org.onap.cps.api.parameters.FetchDescendantsOption.INCLUDE_ALL_DESCENDANTS
 import static org.onap.cps.api.parameters.FetchDescendantsOption.OMIT_DESCENDANTS
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch
@@ -326,6 +327,26 @@ class DataRestControllerSpec extends Specification {
             'JSON'   | MediaType.APPLICATION_JSON || '{"books":[{"title":"Book 1"},{"title":"Book 2"}]}'
     }
 
+    def 'Stream data node using V3.'() {
+        given: 'the endpoint to stream a data node'
+            def xpath = 'some xPath'
+            def endpoint = "$dataNodeBaseEndpointV3/anchors/$anchorName/node/stream"
+        when: 'stream request is performed through REST API'
+            def mvcResult = mvc.perform(get(endpoint)
+                    .param('xpath', xpath)
+                    .param('descendants', 'all'))
+                    .andReturn()
+        and: 'the streamed response is retrieved'
+            def response = mvc.perform(asyncDispatch(mvcResult)).andReturn().response
+        then: 'the cps service facade is called with the correct parameters and writes some data'
+            1 * mockCpsFacade.streamDataNodesByAnchorV3(dataspaceName, anchorName, xpath, INCLUDE_ALL_DESCENDANTS, _) >>
+                { args -> args[4].write('{"books":[{"title":"Book 1"}]}'.bytes) }
+        and: 'a success response is returned'
+            assert response.status == HttpStatus.OK.value()
+        and: 'the response contains the streamed data'
+            assert response.contentAsString == '{"books":[{"title":"Book 1"}]}'
+    }
+
     def 'Update data node leaves: #scenario.'() {
         given: 'endpoint to update a node '
             def endpoint = "$dataNodeBaseEndpointV1/anchors/$anchorName/nodes"
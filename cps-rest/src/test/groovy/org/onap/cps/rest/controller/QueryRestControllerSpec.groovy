@@ -39,6 +39,7 @@ import spock.lang.Specification
 import static org.onap.cps.api.parameters.FetchDescendantsOption.INCLUDE_ALL_DESCENDANTS
 import static org.onap.cps.api.parameters.FetchDescendantsOption.OMIT_DESCENDANTS
 import static org.onap.cps.api.parameters.PaginationOption.NO_PAGINATION
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get
 
 @WebMvcTest(QueryRestController)
@@ -149,4 +150,113 @@ class QueryRestControllerSpec extends Specification {
             'only page size'   | 'pageSize'
             'only page index'  | 'pageIndex'
     }
+
+    def 'Query data node across all anchors does not return a continuation token for a full page without token.'() {
+        given: 'the query endpoint'
+            def dataNodeEndpoint = "$basePath/v2/dataspaces/my_dataspace/nodes/query"
+        when: 'query data nodes API is invoked for a page of 2 anchors (in anchor id order)'
+            def response = mvc.perform(get(dataNodeEndpoint).param('cps-path', 'my/path').param('pageIndex', '1').param('pageSize', '2'))
+                .andReturn().response
+        then: 'the cps service facade returns data nodes of 2 anchors'
+            1 * mockCpsFacade.executeDataspaceQuery('my_dataspace', 'my/path', OMIT_DESCENDANTS, new PaginationOption(1, 2)) >>
+                [[anchorName: 'anchor2', dataNodes: []], [anchorName: 'anchor1', dataNodes: []]]
+        and: 'there is no continuation token'
+            assert response.status == HttpStatus.OK.value()
+            assert response.getHeaderValue('continuation-token') == null
+    }
+
+    def 'Query data node across all anchors returns a continuation token for a full page.'() {
+        given: 'the query endpoint'
+            def dataNodeEndpoint = "$basePath/v2/dataspaces/my_dataspace/nodes/query"
+        when: 'query data nodes API is invoked for a first page of 2 anchors (in name order) using an empty continuation token'
+            def response = mvc.perform(get(dataNodeEndpoint).param('cps-path', 'my/path').param('pageSize', '2').param('continuationToken', ''))
+                .andReturn().response
+        then: 'the cps service facade returns data nodes of 2 anchors'
+            1 * mockCpsFacade.executeDataspaceQuery('my_dataspace', 'my/path', OMIT_DESCENDANTS, new PaginationOption(1, 2, '')) >>
+                [[anchorName: 'anchor2', dataNodes: []], [anchorName: 'anchor1', dataNodes: []]]
+        and: 'the continuation token refers to the last anchor (in name order) of the page'
+            assert response.status == HttpStatus.OK.value()
+            assert response.getHeaderValue('continuation-token') == Base64.urlEncoder.withoutPadding().encodeToString('anchor2'.bytes)
+    }
+
+    def 'Query data node across all anchors returns a continuation token in code point order.'() {
+        given: 'the query endpoint'
+            def dataNodeEndpoint = "$basePath/v2/dataspaces/my_dataspace/nodes/query"
+        and: 'two anchor names of which the order by code points differs from the order by UTF-16 chars'
+            def anchorNameInBasicPlane = 'anchor\uFF61'
+            def anchorNameWithSurrogatePair = 'anchor\uD83D\uDE00'
+        when: 'query data nodes API is invoked for a first page of 2 anchors using an empty continuation token'
+            def response = mvc.perform(get(dataNodeEndpoint).param('cps-path', 'my/path').param('pageSize', '2').param('continuationToken', ''))
+                .andReturn().response
+        then: 'the cps service facade returns data nodes of both anchors'
+            1 * mockCpsFacade.executeDataspaceQuery('my_dataspace', 'my/path', OMIT_DESCENDANTS, new PaginationOption(1, 2, '')) >>
+                [[anchorName: anchorNameWithSurrogatePair, dataNodes: []], [anchorName: anchorNameInBasicPlane, dataNodes: []]]
+        and: 'the continuation token refers to the anchor that is last in binary (UTF-8) order as used by the database'
+            assert response.getHeaderValue('continuation-token') == Base64.urlEncoder.withoutPadding().encodeToString(anchorNameWithSurrogatePair.getBytes('UTF-8'))
+    }
+
+    def 'Query data node across all anchors does not return a continuation token for the last page.'() {
+        given: 'the query endpoint'
+            def dataNodeEndpoint = "$basePath/v2/dataspaces/my_dataspace/nodes/query"
+        when: 'query data nodes API is invoked for a first page of 2 anchors using an empty continuation token'
+            def response = mvc.perform(get(dataNodeEndpoint).param('cps-path', 'my/path').param('pageSize', '2').param('continuationToken', ''))
+                .andReturn().response
+        then: 'the cps service facade returns data nodes of only 1 anchor'
+            1 * mockCpsFacade.executeDataspaceQuery('my_dataspace', 'my/path', OMIT_DESCENDANTS, new PaginationOption(1, 2, '')) >> [dataNodeAsMap]
+        and: 'there is no continuation token'
+            assert response.status == HttpStatus.OK.value()
+            assert response.getHeaderValue('continuation-token') == null
+    }
+
+    def 'Query data node across all anchors with continuation token and #scenario.'() {
+        given: 'the query endpoint'
+            def dataNodeEndpoint = "$basePath/v2/dataspaces/my_dataspace/nodes/query"
+        and: 'a continuation token for anchor2'
+            def continuationToken = Base64.urlEncoder.withoutPadding().encodeToString('anchor2'.bytes)
+        when: 'query data nodes API is invoked with the continuation token'
+            def request = get(dataNodeEndpoint).param('cps-path', 'my/path').param('pageSize', '2').param('continuationToken', continuationToken)
+            if (pageIndex != null) {
+                request.param('pageIndex', pageIndex)
+            }
+            def response = mvc.perform(request).andReturn().response
+        then: 'the cps service facade is queried for the anchors after anchor2'
+            1 * mockCpsFacade.executeDataspaceQuery('my_dataspace', 'my/path', OMIT_DESCENDANTS, new PaginationOption(expectedPageIndex, 2, 'anchor2')) >> [dataNodeAsMap]
+        and: 'the total pages are counted for the anchors after anchor2'
+            1 * mockCpsFacade.countAnchorsInDataspaceQuery('my_dataspace', 'my/path', new PaginationOption(expectedPageIndex, 2, 'anchor2')) >> 4
+        and: 'the response is OK'
+            assert response.status == HttpStatus.OK.value()
+            assert response.getHeaderValue('total-pages') == '4'
+        where: 'the following page indexes are used'
+            scenario            | pageIndex || expectedPageIndex
+            'no page index'     | null      || 1
+            'a page index of 3' | '3'       || 3
+    }
+
+    def 'Query data node across all anchors with an invalid continuation token.'() {
+        given: 'the query endpoint'
+            def dataNodeEndpoint = "$basePath/v2/dataspaces/my_dataspace/nodes/query"
+        when: 'query data nodes API is invoked with a continuation token that is not base64'
+            def response = mvc.perform(get(dataNodeEndpoint).param('cps-path', 'my/path').param('pageSize', '2').param('continuationToken', '*invalid*'))
+                .andReturn().response
+        then: 'the cps service facade is not invoked'
+            0 * mockCpsFacade.executeDataspaceQuery(*_)
+        and: 'the response is a bad request'
+            assert response.status == HttpStatus.BAD_REQUEST.value()
+    }
+
+    def 'Stream data nodes by cps path for given dataspace across all anchors.'() {
+        given: 'the stream query endpoint'
+            def dataNodeStreamEndpoint = "$basePath/v2/dataspaces/my_dataspace/nodes/query/stream"
+        when: 'stream request is performed through REST API'
+            def mvcResult = mvc.perform(get(dataNodeStreamEndpoint).param('cps-path', 'my/path').param('descendants', 'all'))
+                .andReturn()
+        and: 'the streamed response is retrieved'
+            def response = mvc.perform(asyncDispatch(mvcResult)).andReturn().response
+        then: 'the cps service facade is called with the correct parameters and writes some data'
+            1 * mockCpsFacade.streamDataspaceQuery('my_dataspace', 'my/path', INCLUDE_ALL_DESCENDANTS, _) >>
+                { args -> args[3].write('[{"anchorName":"my_anchor","dataNodes":[]}]'.bytes) }
+        and: 'a success response is returned with the streamed data'
+            assert response.status == HttpStatus.OK.value()
+            assert response.contentAsString == '[{"anchorName":"my_anchor","dataNodes":[]}]'
+    }
 }
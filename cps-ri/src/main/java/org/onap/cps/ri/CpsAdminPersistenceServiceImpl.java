@@ -25,6 +25,7 @@ package org.onap.cps.ri;
 
 import jakarta.transaction.Transactional;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,13 +33,19 @@ import org.onap.cps.api.exceptions.AlreadyDefinedException;
 import org.onap.cps.api.exceptions.DataspaceInUseException;
 import org.onap.cps.api.model.Anchor;
 import org.onap.cps.api.model.Dataspace;
+import org.onap.cps.ri.cache.DataNodeCache;
+import org.onap.cps.ri.cache.DataspaceAndAnchorCache;
 import org.onap.cps.ri.models.AnchorEntity;
 import org.onap.cps.ri.models.DataspaceEntity;
 import org.onap.cps.ri.models.SchemaSetEntity;
 import org.onap.cps.ri.repository.AnchorRepository;
+import org.onap.cps.ri.repository.AnchorTombstoneRepository;
 import org.onap.cps.ri.repository.DataspaceRepository;
+import org.onap.cps.ri.repository.FragmentAttributeIndexRepository;
+import org.onap.cps.ri.repository.FragmentRepository;
 import org.onap.cps.ri.repository.SchemaSetRepository;
 import org.onap.cps.spi.CpsAdminPersistenceService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
 
@@ -50,6 +57,14 @@ public class CpsAdminPersistenceServiceImpl implements CpsAdminPersistenceServic
     private final DataspaceRepository dataspaceRepository;
     private final AnchorRepository anchorRepository;
     private final SchemaSetRepository schemaSetRepository;
+    private final DataspaceAndAnchorCache dataspaceAndAnchorCache;
+    private final FragmentRepository fragmentRepository;
+    private final AnchorTombstoneRepository anchorTombstoneRepository;
+    private final DataNodeCache dataNodeCache;
+    private final FragmentAttributeIndexRepository fragmentAttributeIndexRepository;
+
+    @Value("${app.cps.anchor-tombstone.enabled:false}")
+    private boolean anchorTombstoneEnabled = false;
 
     @Override
     public void createDataspace(final String dataspaceName) {
@@ -73,12 +88,14 @@ public class CpsAdminPersistenceServiceImpl implements CpsAdminPersistenceServic
             throw new DataspaceInUseException(dataspaceName,
                 String.format("Dataspace contains %d schema set(s)", numberOfAssociatedSchemaSets));
         }
+        anchorTombstoneRepository.deleteTombstonedAnchors(dataspaceEntity.getId());
         dataspaceRepository.delete(dataspaceEntity);
+        dataspaceAndAnchorCache.invalidateDataspace(dataspaceName);
     }
 
     @Override
     public Dataspace getDataspace(final String dataspaceName) {
-        final DataspaceEntity dataspaceEntity =  dataspaceRepository.getByName(dataspaceName);
+        final DataspaceEntity dataspaceEntity = dataspaceAndAnchorCache.getDataspaceEntity(dataspaceName);
         return toDataspace(dataspaceEntity);
     }
 
@@ -108,27 +125,27 @@ public class CpsAdminPersistenceServiceImpl implements CpsAdminPersistenceServic
 
     @Override
     public Anchor getAnchor(final String dataspaceName, final String anchorName) {
-        final AnchorEntity anchorEntity = getAnchorEntity(dataspaceName, anchorName);
+        final AnchorEntity anchorEntity = dataspaceAndAnchorCache.getAnchorEntity(dataspaceName, anchorName);
         return toAnchor(anchorEntity);
     }
 
     @Override
     public Collection<Anchor> getAnchors(final String dataspaceName) {
-        final DataspaceEntity dataspaceEntity = dataspaceRepository.getByName(dataspaceName);
+        final DataspaceEntity dataspaceEntity = dataspaceAndAnchorCache.getDataspaceEntity(dataspaceName);
         final Collection<AnchorEntity> anchorEntities = anchorRepository.findAllByDataspace(dataspaceEntity);
         return anchorEntities.stream().map(CpsAdminPersistenceServiceImpl::toAnchor).collect(Collectors.toSet());
     }
 
     @Override
     public Collection<Anchor> getAnchors(final String dataspaceName, final Collection<String> anchorNames) {
-        final DataspaceEntity dataspaceEntity = dataspaceRepository.getByName(dataspaceName);
+        final DataspaceEntity dataspaceEntity = dataspaceAndAnchorCache.getDataspaceEntity(dataspaceName);
         return anchorRepository.findAllByDataspaceAndNameIn(dataspaceEntity, anchorNames)
                 .stream().map(CpsAdminPersistenceServiceImpl::toAnchor).collect(Collectors.toSet());
     }
 
     @Override
     public Collection<Anchor> getAnchorsBySchemaSetName(final String dataspaceName, final String schemaSetName) {
-        final DataspaceEntity dataspaceEntity = dataspaceRepository.getByName(dataspaceName);
+        final DataspaceEntity dataspaceEntity = dataspaceAndAnchorCache.getDataspaceEntity(dataspaceName);
         final SchemaSetEntity schemaSetEntity = schemaSetRepository.getByDataspaceAndName(
             dataspaceEntity, schemaSetName);
         return anchorRepository.findAllBySchemaSet(schemaSetEntity)
@@ -139,14 +156,14 @@ public class CpsAdminPersistenceServiceImpl implements CpsAdminPersistenceServic
     @Override
     public Collection<Anchor> getAnchorsBySchemaSetNames(final String dataspaceName,
                                                          final Collection<String> schemaSetNames) {
-        final DataspaceEntity dataspaceEntity = dataspaceRepository.getByName(dataspaceName);
+        final DataspaceEntity dataspaceEntity = dataspaceAndAnchorCache.getDataspaceEntity(dataspaceName);
         return anchorRepository.findAllByDataspaceAndSchemaSetNameIn(dataspaceEntity, schemaSetNames)
             .stream().map(CpsAdminPersistenceServiceImpl::toAnchor).collect(Collectors.toSet());
     }
 
     @Override
     public Collection<String> queryAnchorNames(final String dataspaceName, final Collection<String> inputModuleNames) {
-        final DataspaceEntity dataspaceEntity = dataspaceRepository.getByName(dataspaceName);
+        final DataspaceEntity dataspaceEntity = dataspaceAndAnchorCache.getDataspaceEntity(dataspaceName);
         return anchorRepository.getAnchorNamesByDataspaceIdAndModuleNames(dataspaceEntity.getId(), inputModuleNames,
                 inputModuleNames.size());
     }
@@ -155,14 +172,28 @@ public class CpsAdminPersistenceServiceImpl implements CpsAdminPersistenceServic
     @Override
     public void deleteAnchor(final String dataspaceName, final String anchorName) {
         final AnchorEntity anchorEntity = getAnchorEntity(dataspaceName, anchorName);
-        anchorRepository.delete(anchorEntity);
+        if (anchorTombstoneEnabled) {
+            tombstoneAnchors(Collections.singletonList(anchorEntity));
+        } else {
+            deleteFragments(Collections.singletonList(anchorEntity));
+            anchorRepository.delete(anchorEntity);
+        }
+        dataspaceAndAnchorCache.invalidateAnchors(dataspaceName, Collections.singletonList(anchorName));
     }
 
     @Transactional
     @Override
     public void deleteAnchors(final String dataspaceName, final Collection<String> anchorNames) {
         final DataspaceEntity dataspaceEntity = dataspaceRepository.getByName(dataspaceName);
-        anchorRepository.deleteAllByDataspaceAndNameIn(dataspaceEntity, anchorNames);
+        final Collection<AnchorEntity> anchorEntities =
+            anchorRepository.findAllByDataspaceAndNameIn(dataspaceEntity, anchorNames);
+        if (anchorTombstoneEnabled) {
+            tombstoneAnchors(anchorEntities);
+        } else {
+            deleteFragments(anchorEntities);
+            anchorRepository.deleteAllByDataspaceAndNameIn(dataspaceEntity, anchorNames);
+        }
+        dataspaceAndAnchorCache.invalidateAnchors(dataspaceName, anchorNames);
     }
 
     @Transactional
@@ -175,6 +206,24 @@ public class CpsAdminPersistenceServiceImpl implements CpsAdminPersistenceServic
         final SchemaSetEntity schemaSetEntity = schemaSetRepository
                 .getByDataspaceAndName(dataspaceEntity, schemaSetName);
         anchorRepository.updateAnchorSchemaSetId(schemaSetEntity.getId(), anchorEntity.getId());
+        dataspaceAndAnchorCache.invalidateAnchors(dataspaceName, Collections.singletonList(anchorName));
+    }
+
+    private void deleteFragments(final Collection<AnchorEntity> anchorEntities) {
+        anchorEntities.forEach(dataNodeCache::invalidateAll);
+        fragmentAttributeIndexRepository.invalidateEnabledAnchors(getAnchorIds(anchorEntities));
+        fragmentRepository.deleteByAnchorIn(anchorEntities);
+    }
+
+    private void tombstoneAnchors(final Collection<AnchorEntity> anchorEntities) {
+        anchorEntities.forEach(dataNodeCache::invalidateAll);
+        final Collection<Long> anchorIds = getAnchorIds(anchorEntities);
+        fragmentAttributeIndexRepository.invalidateEnabledAnchors(anchorIds);
+        anchorTombstoneRepository.tombstoneAnchors(anchorIds);
+    }
+
+    private static Collection<Long> getAnchorIds(final Collection<AnchorEntity> anchorEntities) {
+        return anchorEntities.stream().map(AnchorEntity::getId).toList();
     }
 
     private AnchorEntity getAnchorEntity(final String dataspaceName, final String anchorName) {
@@ -26,23 +26,28 @@ package org.onap.cps.ri;
 import static org.onap.cps.api.CpsQueryService.NO_LIMIT;
 import static org.onap.cps.api.parameters.PaginationOption.NO_PAGINATION;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSet.Builder;
 import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.onap.cps.api.DataNodeVisitor;
 import org.onap.cps.api.exceptions.AlreadyDefinedException;
 import org.onap.cps.api.exceptions.ConcurrencyException;
 import org.onap.cps.api.exceptions.CpsAdminException;
@@ -56,29 +61,45 @@ import org.onap.cps.cpspath.parser.CpsPathQuery;
 import org.onap.cps.cpspath.parser.CpsPathUtil;
 import org.onap.cps.cpspath.parser.PathParsingException;
 import org.onap.cps.impl.DataNodeBuilder;
+import org.onap.cps.ri.cache.DataNodeCache;
+import org.onap.cps.ri.cache.DataspaceAndAnchorCache;
 import org.onap.cps.ri.models.AnchorEntity;
 import org.onap.cps.ri.models.DataspaceEntity;
 import org.onap.cps.ri.models.FragmentEntity;
 import org.onap.cps.ri.repository.AnchorRepository;
-import org.onap.cps.ri.repository.DataspaceRepository;
+import org.onap.cps.ri.repository.FragmentBatchDeleteRepository.ExistingXpaths;
 import org.onap.cps.ri.repository.FragmentRepository;
 import org.onap.cps.ri.utils.SessionManager;
 import org.onap.cps.spi.CpsDataPersistenceService;
 import org.onap.cps.utils.JsonObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class CpsDataPersistenceServiceImpl implements CpsDataPersistenceService {
 
-    private final DataspaceRepository dataspaceRepository;
+    // numbers are compared by value so e.g. a stored 1 equals a new leaf value 1L
+    private static final Comparator<JsonNode> LEAF_VALUE_COMPARATOR = (leafValue1, leafValue2) ->
+        leafValue1.isNumber() && leafValue2.isNumber()
+            ? leafValue1.decimalValue().compareTo(leafValue2.decimalValue())
+            : leafValue1.equals(leafValue2) ? 0 : 1;
+
     private final AnchorRepository anchorRepository;
     private final FragmentRepository fragmentRepository;
     private final JsonObjectMapper jsonObjectMapper;
     private final SessionManager sessionManager;
+    private final DataNodeCache dataNodeCache;
+    private final DataspaceAndAnchorCache dataspaceAndAnchorCache;
+
+    @Value("${app.cps.bulk-insert.min-fragments:1000}")
+    private int bulkInsertMinimumNumberOfFragments = 1000;
+
+    @Value("${app.cps.query-across-anchors.fetch-size:100}")
+    private int queryAcrossAnchorsFetchSize = 100;
 
     @Override
     public void storeDataNodes(final String dataspaceName, final String anchorName,
@@ -90,11 +111,13 @@ public class CpsDataPersistenceServiceImpl implements CpsDataPersistenceService
                 final FragmentEntity fragmentEntity = convertToFragmentWithAllDescendants(anchorEntity, dataNode);
                 fragmentEntities.add(fragmentEntity);
             }
-            fragmentRepository.saveAll(fragmentEntities);
+            saveAllWithDescendants(fragmentEntities);
         } catch (final DataIntegrityViolationException exception) {
             log.warn("Exception occurred : {} , While saving : {} data nodes, Retrying saving data nodes individually",
                 exception, dataNodes.size());
             storeDataNodesIndividually(anchorEntity, dataNodes);
+        } finally {
+            dataNodeCache.invalidate(anchorEntity, getXpaths(dataNodes));
         }
     }
 
@@ -128,29 +151,80 @@ public class CpsDataPersistenceServiceImpl implements CpsDataPersistenceService
     }
 
     @Override
+    @Transactional
     public void batchUpdateDataLeaves(final String dataspaceName, final String anchorName,
                                       final Map<String, Map<String, Serializable>> updatedLeavesPerXPath) {
         final AnchorEntity anchorEntity = getAnchorEntity(dataspaceName, anchorName);
-
         final Collection<String> xpathsOfUpdatedLeaves = updatedLeavesPerXPath.keySet();
-        final Collection<FragmentEntity> fragmentEntities = getFragmentEntities(anchorEntity, xpathsOfUpdatedLeaves);
-        if (fragmentEntities.isEmpty()) {
-            throw new DataNodeNotFoundExceptionBatch(dataspaceName, anchorName, xpathsOfUpdatedLeaves);
-        }
-        for (final FragmentEntity fragmentEntity : fragmentEntities) {
-            final Map<String, Serializable> updatedLeaves = updatedLeavesPerXPath.get(fragmentEntity.getXpath());
-            final String mergedLeaves = mergeLeaves(updatedLeaves, fragmentEntity.getAttributes());
-            fragmentEntity.setAttributes(mergedLeaves);
-        }
-
+        final Map<String, String> leavesToMergeAsJsonPerNormalizedXpath =
+            getLeavesAsJsonPerNormalizedXpath(updatedLeavesPerXPath);
         try {
-            fragmentRepository.saveAll(fragmentEntities);
-        } catch (final ObjectOptimisticLockingFailureException objectOptimisticLockingFailureException) {
-            retryUpdateDataNodesIndividually(anchorEntity, fragmentEntities);
+            final Collection<String> updatedXpaths = new HashSet<>(
+                fragmentRepository.mergeAttributes(anchorEntity.getId(), leavesToMergeAsJsonPerNormalizedXpath));
+            final Map<String, String> leavesToMergeAsJsonPerResolvedXpath = resolveListAndRootXpaths(anchorEntity,
+                leavesToMergeAsJsonPerNormalizedXpath, updatedXpaths);
+            if (!leavesToMergeAsJsonPerResolvedXpath.isEmpty()) {
+                updatedXpaths.addAll(
+                    fragmentRepository.mergeAttributes(anchorEntity.getId(), leavesToMergeAsJsonPerResolvedXpath));
+            }
+            if (updatedXpaths.isEmpty()) {
+                throw new DataNodeNotFoundExceptionBatch(dataspaceName, anchorName, xpathsOfUpdatedLeaves);
+            }
+        } finally {
+            dataNodeCache.invalidate(anchorEntity, xpathsOfUpdatedLeaves);
         }
     }
 
+    /**
+     * Normalize the xpaths of the leaves to merge. Like getNormalizedXpaths, xpaths that cannot be parsed are logged
+     * and skipped. Leaves of different xpaths with the same normalized xpath are combined.
+     */
+    private Map<String, String> getLeavesAsJsonPerNormalizedXpath(
+                                          final Map<String, Map<String, Serializable>> updatedLeavesPerXPath) {
+        final Map<String, Map<String, Serializable>> updatedLeavesPerNormalizedXpath =
+            new HashMap<>(updatedLeavesPerXPath.size());
+        updatedLeavesPerXPath.forEach((xpath, updatedLeaves) -> {
+            try {
+                updatedLeavesPerNormalizedXpath.computeIfAbsent(getNormalizedXpath(xpath), normalizedXpath ->
+                    new HashMap<>()).putAll(updatedLeaves);
+            } catch (final CpsPathException cpsPathException) {
+                log.warn("Error parsing xpath \"{}\": {}", xpath, cpsPathException.getMessage());
+            }
+        });
+        final Map<String, String> leavesAsJsonPerNormalizedXpath =
+            new HashMap<>(updatedLeavesPerNormalizedXpath.size());
+        updatedLeavesPerNormalizedXpath.forEach((normalizedXpath, updatedLeaves) ->
+            leavesAsJsonPerNormalizedXpath.put(normalizedXpath, jsonObjectMapper.asJsonString(updatedLeaves)));
+        return leavesAsJsonPerNormalizedXpath;
+    }
+
+    /**
+     * Resolve the xpaths that did not match a fragment the same way as getFragmentEntities does: the root xpath to
+     * all root fragments and an xpath of a whole list to all its list elements.
+     */
+    private Map<String, String> resolveListAndRootXpaths(final AnchorEntity anchorEntity,
+                                                         final Map<String, String> leavesAsJsonPerNormalizedXpath,
+                                                         final Collection<String> updatedXpaths) {
+        final Map<String, String> leavesAsJsonPerResolvedXpath = new HashMap<>();
+        leavesAsJsonPerNormalizedXpath.forEach((normalizedXpath, leavesAsJson) -> {
+            final Collection<FragmentEntity> resolvedFragmentEntities;
+            if (updatedXpaths.contains(normalizedXpath)) {
+                resolvedFragmentEntities = Collections.emptyList();
+            } else if (isRootXpath(normalizedXpath)) {
+                resolvedFragmentEntities = fragmentRepository.findRootsByAnchorId(anchorEntity.getId());
+            } else if (CpsPathUtil.isPathToListElement(normalizedXpath)) {
+                resolvedFragmentEntities = Collections.emptyList();
+            } else {
+                resolvedFragmentEntities = fragmentRepository.findListByAnchorAndXpath(anchorEntity, normalizedXpath);
+            }
+            resolvedFragmentEntities.forEach(fragmentEntity ->
+                leavesAsJsonPerResolvedXpath.put(fragmentEntity.getXpath(), leavesAsJson));
+        });
+        return leavesAsJsonPerResolvedXpath;
+    }
+
     @Override
+    @Transactional
     public void updateDataNodesAndDescendants(final String dataspaceName, final String anchorName,
                                               final Collection<DataNode> updatedDataNodes) {
         final AnchorEntity anchorEntity = getAnchorEntity(dataspaceName, anchorName);
@@ -166,33 +240,75 @@ public class CpsDataPersistenceServiceImpl implements CpsDataPersistenceService
         existingFragmentEntities = fragmentRepository.prefetchDescendantsOfFragmentEntities(
             FetchDescendantsOption.INCLUDE_ALL_DESCENDANTS, existingFragmentEntities);
 
+        final FragmentChanges fragmentChanges = new FragmentChanges();
         for (final FragmentEntity existingFragmentEntity : existingFragmentEntities) {
             final DataNode updatedDataNode = xpathToUpdatedDataNode.get(existingFragmentEntity.getXpath());
-            updateFragmentEntityAndDescendantsWithDataNode(existingFragmentEntity, updatedDataNode);
+            collectChanges(existingFragmentEntity, updatedDataNode, fragmentChanges);
         }
 
         try {
-            fragmentRepository.saveAll(existingFragmentEntities);
-        } catch (final ObjectOptimisticLockingFailureException objectOptimisticLockingFailureException) {
-            retryUpdateDataNodesIndividually(anchorEntity, existingFragmentEntities);
+            saveChanges(anchorEntity, fragmentChanges);
+        } finally {
+            dataNodeCache.invalidate(anchorEntity, xpaths);
         }
     }
 
-    private void retryUpdateDataNodesIndividually(final AnchorEntity anchorEntity,
-                                                  final Collection<FragmentEntity> fragmentEntities) {
-        final Collection<String> failedXpaths = new HashSet<>();
-        for (final FragmentEntity dataNodeFragment : fragmentEntities) {
-            try {
-                fragmentRepository.save(dataNodeFragment);
-            } catch (final ObjectOptimisticLockingFailureException objectOptimisticLockingFailureException) {
-                failedXpaths.add(dataNodeFragment.getXpath());
+    /**
+     * Compare the (detached) fragment entity and its descendants with the new data node and its descendants.
+     * Only fragments with changed leaves are updated, only fragments that no longer exist are deleted (with their
+     * descendants) and only fragments that did not exist yet are inserted. Unchanged fragments are not touched.
+     */
+    private void collectChanges(final FragmentEntity existingFragmentEntity, final DataNode newDataNode,
+                                final FragmentChanges fragmentChanges) {
+        if (!hasSameLeaves(existingFragmentEntity, newDataNode)) {
+            fragmentChanges.attributesPerFragmentId.put(existingFragmentEntity.getId(),
+                jsonObjectMapper.asJsonString(newDataNode.getLeaves()));
+            fragmentChanges.xpathPerFragmentId.put(existingFragmentEntity.getId(), existingFragmentEntity.getXpath());
+        }
+
+        final Map<String, FragmentEntity> existingChildrenByXpath = existingFragmentEntity.getChildFragments().stream()
+            .collect(Collectors.toMap(FragmentEntity::getXpath, childFragmentEntity -> childFragmentEntity));
+
+        for (final DataNode newDataNodeChild : newDataNode.getChildDataNodes()) {
+            final FragmentEntity existingChildFragment = existingChildrenByXpath.remove(newDataNodeChild.getXpath());
+            if (existingChildFragment == null) {
+                final FragmentEntity newChildFragment =
+                    convertToFragmentWithAllDescendants(existingFragmentEntity.getAnchor(), newDataNodeChild);
+                newChildFragment.setParentId(existingFragmentEntity.getId());
+                fragmentChanges.newFragmentEntities.add(newChildFragment);
+            } else {
+                collectChanges(existingChildFragment, newDataNodeChild, fragmentChanges);
             }
         }
-        if (!failedXpaths.isEmpty()) {
-            final String failedXpathsConcatenated = String.join(",", failedXpaths);
-            throw new ConcurrencyException("Concurrent Transactions", String.format(
-                "DataNodes : %s in Dataspace :'%s' with Anchor : '%s'  are updated by another transaction.",
-                failedXpathsConcatenated, anchorEntity.getDataspace().getName(), anchorEntity.getName()));
+
+        for (final FragmentEntity removedChildFragment : existingChildrenByXpath.values()) {
+            fragmentChanges.removedFragmentIds.add(removedChildFragment.getId());
+        }
+    }
+
+    /**
+     * Write the collected changes within the transaction of updateDataNodesAndDescendants.
+     * The attributes are replaced first, so a concurrently deleted fragment fails the update before anything else
+     * is written; any later failure rolls back the whole update.
+     */
+    private void saveChanges(final AnchorEntity anchorEntity, final FragmentChanges fragmentChanges) {
+        if (!fragmentChanges.attributesPerFragmentId.isEmpty()) {
+            final Collection<Long> updatedFragmentIds =
+                fragmentRepository.replaceAttributes(fragmentChanges.attributesPerFragmentId);
+            if (updatedFragmentIds.size() < fragmentChanges.attributesPerFragmentId.size()) {
+                final Map<Long, String> failedXpathPerFragmentId = new HashMap<>(fragmentChanges.xpathPerFragmentId);
+                failedXpathPerFragmentId.keySet().removeAll(updatedFragmentIds);
+                throw new ConcurrencyException("Concurrent Transactions", String.format(
+                    "DataNodes : %s in Dataspace :'%s' with Anchor : '%s'  are updated by another transaction.",
+                    String.join(",", failedXpathPerFragmentId.values()), anchorEntity.getDataspace().getName(),
+                    anchorEntity.getName()));
+            }
+        }
+        if (!fragmentChanges.removedFragmentIds.isEmpty()) {
+            fragmentRepository.deleteAllByIdInBatch(fragmentChanges.removedFragmentIds);
+        }
+        if (!fragmentChanges.newFragmentEntities.isEmpty()) {
+            saveAllWithDescendants(fragmentChanges.newFragmentEntities);
         }
     }
 
@@ -216,7 +332,8 @@ public class CpsDataPersistenceServiceImpl implements CpsDataPersistenceService
             updatedChildFragments.add(childFragment);
         }
 
-        existingFragmentEntity.getChildFragments().clear();
+        // only touch the child set when its content changes, to avoid re-associating all children
+        existingFragmentEntity.getChildFragments().retainAll(updatedChildFragments);
         existingFragmentEntity.getChildFragments().addAll(updatedChildFragments);
     }
 
@@ -254,7 +371,7 @@ public class CpsDataPersistenceServiceImpl implements CpsDataPersistenceService
     public List<DataNode> queryDataNodesAcrossAnchors(final String dataspaceName, final String cpsPath,
                                                       final FetchDescendantsOption fetchDescendantsOption,
                                                       final PaginationOption paginationOption) {
-        final DataspaceEntity dataspaceEntity = dataspaceRepository.getByName(dataspaceName);
+        final DataspaceEntity dataspaceEntity = dataspaceAndAnchorCache.getDataspaceEntity(dataspaceName);
         final CpsPathQuery cpsPathQuery = getCpsPathQuery(cpsPath);
         final List<Long> anchorIds;
         if (paginationOption == NO_PAGINATION) {
@@ -270,6 +387,24 @@ public class CpsDataPersistenceServiceImpl implements CpsDataPersistenceService
         return createDataNodesFromFragmentEntities(fetchDescendantsOption, fragmentEntities);
     }
 
+    @Override
+    @Transactional
+    @Timed(value = "cps.data.persistence.service.datanode.query.anchors.stream",
+            description = "Time taken to stream data nodes queried across all anchors")
+    public void streamDataNodesAcrossAnchors(final String dataspaceName, final String cpsPath,
+                                             final FetchDescendantsOption fetchDescendantsOption,
+                                             final Consumer<Collection<DataNode>> dataNodesPerAnchorConsumer) {
+        final DataspaceEntity dataspaceEntity = dataspaceAndAnchorCache.getDataspaceEntity(dataspaceName);
+        final CpsPathQuery cpsPathQuery = getCpsPathQuery(cpsPath);
+        fragmentRepository.streamByDataspaceAndCpsPath(dataspaceEntity, cpsPathQuery, queryAcrossAnchorsFetchSize,
+            fragmentEntities -> {
+                final Map<String, List<DataNode>> dataNodesPerAnchorName =
+                    createDataNodesFromFragmentEntities(fetchDescendantsOption, fragmentEntities).stream()
+                        .collect(Collectors.groupingBy(DataNode::getAnchorName));
+                dataNodesPerAnchorName.values().forEach(dataNodesPerAnchorConsumer);
+            });
+    }
+
     @Override
     public String startSession() {
         return sessionManager.startSession();
@@ -287,11 +422,12 @@ public class CpsDataPersistenceServiceImpl implements CpsDataPersistenceService
     }
 
     @Override
-    public Integer countAnchorsForDataspaceAndCpsPath(final String dataspaceName, final String cpsPath) {
-        final DataspaceEntity dataspaceEntity = dataspaceRepository.getByName(dataspaceName);
+    public Integer countAnchorsForDataspaceAndCpsPath(final String dataspaceName, final String cpsPath,
+                                                      final PaginationOption paginationOption) {
+        final DataspaceEntity dataspaceEntity = dataspaceAndAnchorCache.getDataspaceEntity(dataspaceName);
         final CpsPathQuery cpsPathQuery = getCpsPathQuery(cpsPath);
-        final List<Long> anchorIdList = getAnchorIdsForPagination(dataspaceEntity, cpsPathQuery, NO_PAGINATION);
-        return anchorIdList.size();
+        return (int) fragmentRepository.countAnchorsByDataspaceAndCpsPath(dataspaceEntity, cpsPathQuery,
+            paginationOption);
     }
 
     @Override
@@ -299,6 +435,7 @@ public class CpsDataPersistenceServiceImpl implements CpsDataPersistenceService
     public void replaceListContent(final String dataspaceName, final String anchorName, final String parentNodeXpath,
                                    final Collection<DataNode> newListElements) {
         final AnchorEntity anchorEntity = getAnchorEntity(dataspaceName, anchorName);
+        dataNodeCache.invalidate(anchorEntity, Collections.singletonList(parentNodeXpath));
         final FragmentEntity parentEntity = getFragmentEntity(anchorEntity, parentNodeXpath);
         final String listElementXpathPrefix = getListElementXpathPrefix(newListElements);
         final Map<String, FragmentEntity> existingListElementFragmentEntitiesByXPath =
@@ -319,17 +456,24 @@ public class CpsDataPersistenceServiceImpl implements CpsDataPersistenceService
     @Override
     @Transactional
     public void deleteDataNodes(final String dataspaceName, final String anchorName) {
-        final DataspaceEntity dataspaceEntity = dataspaceRepository.getByName(dataspaceName);
+        final DataspaceEntity dataspaceEntity = dataspaceAndAnchorCache.getDataspaceEntity(dataspaceName);
         anchorRepository.findByDataspaceAndName(dataspaceEntity, anchorName)
-            .ifPresent(anchorEntity -> fragmentRepository.deleteByAnchorIn(Collections.singletonList(anchorEntity)));
+            .ifPresent(anchorEntity -> {
+                dataNodeCache.invalidateAll(anchorEntity);
+                fragmentRepository.deleteByAnchorIn(Collections.singletonList(anchorEntity));
+            });
     }
 
     @Override
     @Transactional
     public void deleteDataNodes(final String dataspaceName, final Collection<String> anchorNames) {
-        final DataspaceEntity dataspaceEntity = dataspaceRepository.getByName(dataspaceName);
+        final DataspaceEntity dataspaceEntity = dataspaceAndAnchorCache.getDataspaceEntity(dataspaceName);
         final Collection<AnchorEntity> anchorEntities =
             anchorRepository.findAllByDataspaceAndNameIn(dataspaceEntity, anchorNames);
+        anchorEntities.forEach(dataNodeCache::invalidateAll);
+        // not tombstoned (even when anchor tombstones are enabled): the anchors remain in use, so their fragments
+        // can only be hidden by replacing each anchor with a new one, which would lose concurrent writes
+        // of instances still using the cached entity of the old anchor
         fragmentRepository.deleteByAnchorIn(anchorEntities);
     }
 
@@ -351,31 +495,26 @@ public class CpsDataPersistenceServiceImpl implements CpsDataPersistenceService
         final AnchorEntity anchorEntity = getAnchorEntity(dataspaceName, anchorName);
 
         final Collection<String> deleteChecklist = getNormalizedXpaths(xpathsToDelete);
-        final Collection<String> xpathsToExistingContainers =
-                fragmentRepository.findAllXpathByAnchorAndXpathIn(anchorEntity, deleteChecklist);
-        if (onlySupportListDeletion) {
-            final Collection<String> xpathsToExistingListElements = xpathsToExistingContainers.stream()
-                    .filter(CpsPathUtil::isPathToListElement).toList();
-            deleteChecklist.removeAll(xpathsToExistingListElements);
-        } else {
-            deleteChecklist.removeAll(xpathsToExistingContainers);
-        }
-
-        final Collection<String> xpathsToExistingLists = deleteChecklist.stream()
-                .filter(xpath -> fragmentRepository.existsByAnchorAndXpathStartsWith(anchorEntity, xpath + "["))
-                .toList();
-        deleteChecklist.removeAll(xpathsToExistingLists);
+        final ExistingXpaths existingXpaths =
+                fragmentRepository.findExistingXpaths(anchorEntity.getId(), deleteChecklist);
+        final Collection<String> xpathsToExistingDataNodes = onlySupportListDeletion
+                ? existingXpaths.fragmentXpaths().stream().filter(CpsPathUtil::isPathToListElement).toList()
+                : existingXpaths.fragmentXpaths();
+        deleteChecklist.removeAll(xpathsToExistingDataNodes);
+        deleteChecklist.removeAll(existingXpaths.listXpaths());
 
         if (!deleteChecklist.isEmpty()) {
             throw new DataNodeNotFoundExceptionBatch(dataspaceName, anchorName, deleteChecklist);
         }
 
-        if (!xpathsToExistingContainers.isEmpty()) {
-            fragmentRepository.deleteByAnchorIdAndXpaths(anchorEntity.getId(), xpathsToExistingContainers);
-        }
-        for (final String listXpath : xpathsToExistingLists) {
-            fragmentRepository.deleteListByAnchorIdAndXpath(anchorEntity.getId(), listXpath);
+        final Collection<String> xpathsToBeDeleted = new ArrayList<>(xpathsToExistingDataNodes);
+        xpathsToBeDeleted.addAll(existingXpaths.listXpaths());
+        dataNodeCache.invalidate(anchorEntity, xpathsToBeDeleted);
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            fragmentRepository.flush();
         }
+        fragmentRepository.deleteFragmentsByXpaths(anchorEntity.getId(), xpathsToExistingDataNodes);
+        fragmentRepository.deleteListsByXpaths(anchorEntity.getId(), existingXpaths.listXpaths());
     }
 
     @Override
@@ -424,10 +563,47 @@ public class CpsDataPersistenceServiceImpl implements CpsDataPersistenceService
                                                               final Collection<String> xpaths,
                                                               final FetchDescendantsOption fetchDescendantsOption) {
         final AnchorEntity anchorEntity = getAnchorEntity(dataspaceName, anchorName);
+        if (xpaths.size() == 1 && dataNodeCache.isEnabled(anchorEntity)) {
+            final Collection<String> normalizedXpaths = getNormalizedXpaths(xpaths);
+            if (!normalizedXpaths.isEmpty()) {
+                return dataNodeCache.getDataNodes(anchorEntity, normalizedXpaths.iterator().next(),
+                    fetchDescendantsOption, () -> createDataNodesFromFragmentEntities(fetchDescendantsOption,
+                        getFragmentEntities(anchorEntity, normalizedXpaths)));
+            }
+        }
         final Collection<FragmentEntity> fragmentEntities = getFragmentEntities(anchorEntity, xpaths);
         return createDataNodesFromFragmentEntities(fetchDescendantsOption, fragmentEntities);
     }
 
+    @Override
+    @Transactional
+    @Timed(value = "cps.data.persistence.service.datanode.stream",
+        description = "Time taken to stream data nodes")
+    public void streamDataNodes(final String dataspaceName, final String anchorName, final String xpath,
+                                final FetchDescendantsOption fetchDescendantsOption,
+                                final DataNodeVisitor dataNodeVisitor) {
+        final String targetXpath = getNormalizedXpath(xpath);
+        final AnchorEntity anchorEntity = getAnchorEntity(dataspaceName, anchorName);
+        final Collection<FragmentEntity> fragmentEntities =
+            getFragmentEntities(anchorEntity, Collections.singletonList(targetXpath));
+        if (fragmentEntities.isEmpty()) {
+            throw new DataNodeNotFoundException(dataspaceName, anchorName, xpath);
+        }
+        final Deque<VisitedFragment> ancestors = new ArrayDeque<>();
+        fragmentRepository.streamDescendantsOfFragmentEntities(fetchDescendantsOption, fragmentEntities,
+            fragmentEntity -> {
+                while (!ancestors.isEmpty() && !ancestors.peek().id().equals(fragmentEntity.getParentId())) {
+                    dataNodeVisitor.exitDataNode(ancestors.pop().dataNode());
+                }
+                final DataNode dataNode = toDataNode(fragmentEntity, FetchDescendantsOption.OMIT_DESCENDANTS);
+                dataNodeVisitor.enterDataNode(dataNode);
+                ancestors.push(new VisitedFragment(fragmentEntity.getId(), dataNode));
+            });
+        while (!ancestors.isEmpty()) {
+            dataNodeVisitor.exitDataNode(ancestors.pop().dataNode());
+        }
+    }
+
 
     private void addChildrenDataNodes(final AnchorEntity anchorEntity, final String parentNodeXpath,
                                       final Collection<DataNode> newChildren) {
@@ -440,11 +616,13 @@ public class CpsDataPersistenceServiceImpl implements CpsDataPersistenceService
                 newChildAsFragmentEntity.setParentId(parentFragmentEntity.getId());
                 fragmentEntities.add(newChildAsFragmentEntity);
             }
-            fragmentRepository.saveAll(fragmentEntities);
+            saveAllWithDescendants(fragmentEntities);
         } catch (final DataIntegrityViolationException dataIntegrityViolationException) {
             log.warn("Exception occurred : {} , While saving : {} children, retrying using individual save operations",
                     dataIntegrityViolationException, fragmentEntities.size());
             retrySavingEachChildIndividually(anchorEntity, parentNodeXpath, newChildren);
+        } finally {
+            dataNodeCache.invalidate(anchorEntity, getXpaths(newChildren));
         }
     }
 
@@ -476,6 +654,17 @@ public class CpsDataPersistenceServiceImpl implements CpsDataPersistenceService
         }
     }
 
+    private void saveAllWithDescendants(final Collection<FragmentEntity> fragmentEntities) {
+        if (countFragmentEntitiesWithDescendants(fragmentEntities) >= bulkInsertMinimumNumberOfFragments) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                fragmentRepository.flush();
+            }
+            fragmentRepository.bulkInsertWithDescendants(fragmentEntities);
+        } else {
+            fragmentRepository.saveAll(fragmentEntities);
+        }
+    }
+
     private FragmentEntity convertToFragmentWithAllDescendants(final AnchorEntity anchorEntity,
                                                                final DataNode dataNodeToBeConverted) {
         final FragmentEntity parentFragment = toFragmentEntity(anchorEntity, dataNodeToBeConverted);
@@ -534,8 +723,7 @@ public class CpsDataPersistenceServiceImpl implements CpsDataPersistenceService
     }
 
     private AnchorEntity getAnchorEntity(final String dataspaceName, final String anchorName) {
-        final DataspaceEntity dataspaceEntity = dataspaceRepository.getByName(dataspaceName);
-        return anchorRepository.getByDataspaceAndName(dataspaceEntity, anchorName);
+        return dataspaceAndAnchorCache.getAnchorEntity(dataspaceName, anchorName);
     }
 
     private List<Long> getAnchorIdsForPagination(final DataspaceEntity dataspaceEntity, final CpsPathQuery cpsPathQuery,
@@ -593,43 +781,19 @@ public class CpsDataPersistenceServiceImpl implements CpsDataPersistenceService
         return existingListElementEntity;
     }
 
-    @SuppressWarnings("unchecked")
-    private String mergeLeaves(final Map<String, Serializable> updateLeaves, final String currentLeavesAsString) {
-        Map<String, Serializable> currentLeavesAsMap = new HashMap<>();
-        if (currentLeavesAsString != null) {
-            currentLeavesAsMap = jsonObjectMapper.convertJsonString(currentLeavesAsString, Map.class);
-            currentLeavesAsMap.putAll(updateLeaves);
-        }
-
-        if (currentLeavesAsMap.isEmpty()) {
-            return "";
-        }
-        return jsonObjectMapper.asJsonString(currentLeavesAsMap);
-    }
-
     private void copyAttributesFromNewDataNode(final FragmentEntity existingFragmentEntity,
                                                final DataNode newDataNode) {
-        final String oldOrderedLeavesAsJson = getOrderedLeavesAsJson(existingFragmentEntity.getAttributes());
-        final String newOrderedLeavesAsJson = getOrderedLeavesAsJson(newDataNode.getLeaves());
-        if (!oldOrderedLeavesAsJson.equals(newOrderedLeavesAsJson)) {
+        if (!hasSameLeaves(existingFragmentEntity, newDataNode)) {
             existingFragmentEntity.setAttributes(jsonObjectMapper.asJsonString(newDataNode.getLeaves()));
         }
     }
 
-    private String getOrderedLeavesAsJson(final Map<String, Serializable> currentLeaves) {
-        final Map<String, Serializable> sortedLeaves = new TreeMap<>(String::compareTo);
-        sortedLeaves.putAll(currentLeaves);
-        return jsonObjectMapper.asJsonString(sortedLeaves);
-    }
-
-    private String getOrderedLeavesAsJson(final String currentLeavesAsString) {
-        if (currentLeavesAsString == null) {
-            return "{}";
-        }
-        @SuppressWarnings("unchecked")
-        final Map<String, Serializable> sortedLeaves = jsonObjectMapper.convertJsonString(currentLeavesAsString,
-            TreeMap.class);
-        return jsonObjectMapper.asJsonString(sortedLeaves);
+    private boolean hasSameLeaves(final FragmentEntity existingFragmentEntity, final DataNode newDataNode) {
+        final String existingAttributes = existingFragmentEntity.getAttributes();
+        final JsonNode existingLeaves = jsonObjectMapper.convertToJsonNode(
+            existingAttributes == null ? "{}" : existingAttributes);
+        final JsonNode newLeaves = jsonObjectMapper.convertToValueType(newDataNode.getLeaves(), JsonNode.class);
+        return existingLeaves.equals(LEAF_VALUE_COMPARATOR, newLeaves);
     }
 
     private static String getNormalizedXpath(final String xpathSource) {
@@ -655,6 +819,10 @@ public class CpsDataPersistenceServiceImpl implements CpsDataPersistenceService
         return normalizedXpaths;
     }
 
+    private static Collection<String> getXpaths(final Collection<DataNode> dataNodes) {
+        return dataNodes.stream().map(DataNode::getXpath).toList();
+    }
+
     private static String getListElementXpathPrefix(final Collection<DataNode> newListElements) {
         if (newListElements.isEmpty()) {
             throw new CpsAdminException("Invalid list replacement",
@@ -671,6 +839,14 @@ public class CpsDataPersistenceServiceImpl implements CpsDataPersistenceService
                 .collect(Collectors.toMap(FragmentEntity::getXpath, fragmentEntity -> fragmentEntity));
     }
 
+    private static long countFragmentEntitiesWithDescendants(final Collection<FragmentEntity> fragmentEntities) {
+        long count = fragmentEntities.size();
+        for (final FragmentEntity fragmentEntity : fragmentEntities) {
+            count += countFragmentEntitiesWithDescendants(fragmentEntity.getChildFragments());
+        }
+        return count;
+    }
+
     private static boolean isRootXpath(final String xpath) {
         return "/".equals(xpath) || "".equals(xpath);
     }
@@ -698,4 +874,14 @@ public class CpsDataPersistenceServiceImpl implements CpsDataPersistenceService
             log.warn("Cannot update data nodes: Target XPaths {} not found in DB.", missingXPaths);
         }
     }
+
+    private static final class FragmentChanges {
+        private final Map<Long, String> attributesPerFragmentId = new HashMap<>();
+        private final Map<Long, String> xpathPerFragmentId = new HashMap<>();
+        private final Collection<Long> removedFragmentIds = new ArrayList<>();
+        private final Collection<FragmentEntity> newFragmentEntities = new ArrayList<>();
+    }
+
+    private record VisitedFragment(Long id, DataNode dataNode) {
+    }
 }
@@ -36,11 +36,13 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.codec.digest.DigestUtils;
@@ -99,6 +101,11 @@ public class CpsModulePersistenceServiceImpl implements CpsModulePersistenceServ
             Collectors.toMap(YangResourceEntity::getFileName, YangResourceEntity::getContent));
     }
 
+    @Override
+    public String getSchemaSetVersion(final String dataspaceName, final String schemaSetName) {
+        return yangResourceRepository.getChecksumFingerprintByDataspaceAndSchemaSet(dataspaceName, schemaSetName);
+    }
+
     @Override
     public Collection<ModuleReference> getYangResourceModuleReferences(final String dataspaceName) {
         final Collection<YangResourceModuleReference> yangResourceModuleReferences =
@@ -208,6 +215,7 @@ public class CpsModulePersistenceServiceImpl implements CpsModulePersistenceServ
         synchronizeYangResources(newYangResourcesPerName);
         final Set<YangResourceEntity> allYangResourceEntities = getYangResourceEntities(allModuleReferences);
         schemaSetEntity.setYangResources(allYangResourceEntities);
+        schemaSetEntity.setModuleFingerprint(getModuleFingerprint(allYangResourceEntities));
         schemaSetRepository.save(schemaSetEntity);
     }
 
@@ -225,6 +233,16 @@ public class CpsModulePersistenceServiceImpl implements CpsModulePersistenceServ
         return moduleReferenceRepository.identifyNewModuleReferences(moduleReferencesToCheck);
     }
 
+    @Override
+    public Optional<String> findSchemaSetNameByModuleReferences(final String dataspaceName,
+                                                                final Collection<ModuleReference> moduleReferences) {
+        final DataspaceEntity dataspaceEntity = dataspaceRepository.getByName(dataspaceName);
+        final String moduleFingerprint = getModuleFingerprint(moduleReferences.stream().map(moduleReference ->
+            toModuleNameAndRevision(moduleReference.getModuleName(), moduleReference.getRevision())));
+        return schemaSetRepository.findFirstByDataspaceAndModuleFingerprint(dataspaceEntity, moduleFingerprint)
+            .map(SchemaSetEntity::getName);
+    }
+
     private Set<YangResourceEntity> synchronizeYangResources(final Map<String, String> yangResourceContentPerName) {
         final Map<String, YangResourceEntity> yangResourceEntitiesPerChecksum =
             getYangResourceEntityPerChecksum(yangResourceContentPerName);
@@ -280,6 +298,7 @@ public class CpsModulePersistenceServiceImpl implements CpsModulePersistenceServ
         schemaSetEntity.setName(schemaSetName);
         schemaSetEntity.setDataspace(dataspaceEntity);
         schemaSetEntity.setYangResources(yangResourceEntities);
+        schemaSetEntity.setModuleFingerprint(getModuleFingerprint(yangResourceEntities));
         try {
             schemaSetRepository.save(schemaSetEntity);
         } catch (final DataIntegrityViolationException e) {
@@ -287,6 +306,23 @@ public class CpsModulePersistenceServiceImpl implements CpsModulePersistenceServ
         }
     }
 
+    private static String getModuleFingerprint(final Collection<YangResourceEntity> yangResourceEntities) {
+        return getModuleFingerprint(yangResourceEntities.stream().filter(Objects::nonNull).map(yangResourceEntity ->
+            toModuleNameAndRevision(yangResourceEntity.getModuleName(), yangResourceEntity.getRevision())));
+    }
+
+    /**
+     * Calculates the fingerprint of a set of modules from their names and revisions only.
+     * This has to match the fingerprint calculated for existing schema sets by the database migration (changeset 28).
+     */
+    private static String getModuleFingerprint(final Stream<String> moduleNameAndRevisions) {
+        return DigestUtils.md5Hex(moduleNameAndRevisions.distinct().sorted().collect(Collectors.joining(",")));
+    }
+
+    private static String toModuleNameAndRevision(final String moduleName, final String revision) {
+        return Objects.toString(moduleName, "") + "@" + Objects.toString(revision, "");
+    }
+
     private static Map<String, String> createModuleNameAndRevisionMap(final String sourceName, final String source) {
         final Map<String, String> metaDataMap = new HashMap<>();
         final RevisionSourceIdentifier revisionSourceIdentifier =
@@ -0,0 +1,93 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.ri.attributeindex;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.onap.cps.ri.repository.FragmentAttributeIndexRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Enables the attribute index for the configured anchors in the background, so queries never write or lock anything.
+ * An anchor is first registered, which makes the trigger index all its fragments written from then on. After that
+ * its existing fragments are indexed in bounded chunks, each in its own transaction, with a pause between chunks.
+ * Only when all chunks are done the index is used for queries on the anchor.
+ * Progress is persisted, so indexing resumes after a restart.
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression(AttributeIndexSchedulingConfig.ATTRIBUTE_INDEX_CONFIGURED)
+@RequiredArgsConstructor
+public class AttributeIndexBackfiller {
+
+    private final FragmentAttributeIndexRepository fragmentAttributeIndexRepository;
+
+    @Value("${app.cps.attribute-index.backfill-chunk-size:1000}")
+    private int backfillChunkSize = 1000;
+
+    @Value("${app.cps.attribute-index.backfill-pause-ms:100}")
+    private long backfillPauseMs = 100;
+
+    /**
+     * Register the configured anchors that are not indexed yet and index the existing fragments of registered anchors.
+     */
+    @Scheduled(fixedDelayString = "${app.cps.attribute-index.backfill-interval-ms:10000}")
+    public void indexConfiguredAnchors() {
+        registerConfiguredAnchors();
+        for (final Long anchorId : fragmentAttributeIndexRepository.findAnchorIdsToBackfill()) {
+            if (!backfill(anchorId)) {
+                return;
+            }
+            fragmentAttributeIndexRepository.completeBackfill(anchorId);
+            log.info("Attribute index enabled for anchor with id {}", anchorId);
+        }
+    }
+
+    private void registerConfiguredAnchors() {
+        final List<Long> anchorIds = fragmentAttributeIndexRepository.findAnchorIdsToRegister();
+        if (!anchorIds.isEmpty()) {
+            try {
+                fragmentAttributeIndexRepository.registerAnchors(anchorIds);
+            } catch (final DataAccessException dataAccessException) {
+                log.warn("Registering {} anchor(s) for the attribute index failed, will retry: {}", anchorIds.size(),
+                    dataAccessException.getMessage());
+            }
+        }
+    }
+
+    private boolean backfill(final long anchorId) {
+        while (fragmentAttributeIndexRepository.backfillChunk(anchorId, backfillChunkSize)) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(backfillPauseMs);
+            } catch (final InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+}
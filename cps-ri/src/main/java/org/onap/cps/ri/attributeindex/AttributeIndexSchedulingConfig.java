@@ -0,0 +1,38 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.ri.attributeindex;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduling for {@link AttributeIndexBackfiller} when any anchor or schema set is configured to be indexed,
+ * independent of other modules (e.g. ncmp) enabling scheduling.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnExpression(AttributeIndexSchedulingConfig.ATTRIBUTE_INDEX_CONFIGURED)
+public class AttributeIndexSchedulingConfig {
+
+    static final String ATTRIBUTE_INDEX_CONFIGURED = "!'${app.cps.attribute-index.anchors:}'.isEmpty()"
+        + " or !'${app.cps.attribute-index.schema-sets:}'.isEmpty()";
+}
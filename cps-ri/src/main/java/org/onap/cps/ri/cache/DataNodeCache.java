@@ -0,0 +1,314 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.ri.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.onap.cps.api.model.DataNode;
+import org.onap.cps.api.parameters.FetchDescendantsOption;
+import org.onap.cps.cpspath.parser.CpsPathUtil;
+import org.onap.cps.cpspath.parser.PathParsingException;
+import org.onap.cps.impl.DataNodeBuilder;
+import org.onap.cps.ri.models.AnchorEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Optional (local) read cache of data nodes for the configured anchors.
+ * Data nodes are cached per anchor id, xpath and fetch depth. Any write to an anchor invalidates all cached entries
+ * of which the xpath is an ancestor or descendant of (or equal to) a modified xpath. Invalidations are broadcast to
+ * all cps instances using a Hazelcast topic and repeated after completion of the surrounding transaction (if any).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DataNodeCache implements MeterBinder {
+
+    private static final String METRIC_PREFIX = "cps.data.node.cache.";
+
+    private final ITopic<DataNodeCacheInvalidation> dataNodeCacheInvalidationTopic;
+
+    private final Map<Long, AnchorCache> anchorCachesPerAnchorId = new ConcurrentHashMap<>();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private Counter localInvalidationCounter;
+    private Counter remoteInvalidationCounter;
+
+    @Value("${app.cps.data-node-cache.anchors:}")
+    private Set<String> cachedAnchorNames = Collections.emptySet();
+
+    @Value("${app.cps.data-node-cache.max-entries-per-anchor:1000}")
+    private int maxEntriesPerAnchor = 1000;
+
+    @PostConstruct
+    void listenToRemoteInvalidations() {
+        dataNodeCacheInvalidationTopic.addMessageListener(this::onInvalidationMessage);
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry meterRegistry) {
+        FunctionCounter.builder(METRIC_PREFIX + "hits", hitCount, LongAdder::sum)
+            .description("Number of data node reads served from the cache").register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + "misses", missCount, LongAdder::sum)
+            .description("Number of data node reads loaded from the database").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "hit.ratio", this, DataNodeCache::getHitRatio)
+            .description("Ratio of data node reads served from the cache").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "size", this, DataNodeCache::getSize)
+            .description("Number of cached data node entries").register(meterRegistry);
+        localInvalidationCounter = Counter.builder(METRIC_PREFIX + "invalidations").tag("origin", "local")
+            .description("Number of data node cache invalidations").register(meterRegistry);
+        remoteInvalidationCounter = Counter.builder(METRIC_PREFIX + "invalidations").tag("origin", "remote")
+            .description("Number of data node cache invalidations").register(meterRegistry);
+    }
+
+    /**
+     * Check if data nodes of the given anchor are cached.
+     *
+     * @param anchorEntity the anchor
+     * @return true if the cache is enabled for the anchor
+     */
+    public boolean isEnabled(final AnchorEntity anchorEntity) {
+        return cachedAnchorNames.contains(anchorEntity.getName());
+    }
+
+    /**
+     * Get the data nodes for a single xpath from the cache, or load (and cache) them when not cached.
+     * Data nodes are copied into and out of the cache so callers can never modify cached data.
+     *
+     * @param anchorEntity           the anchor
+     * @param normalizedXpath        normalized xpath of the requested data node(s)
+     * @param fetchDescendantsOption defines the scope of the data nodes
+     * @param dataNodesLoader        loads the data nodes when they are not cached
+     * @return the data nodes
+     */
+    public List<DataNode> getDataNodes(final AnchorEntity anchorEntity, final String normalizedXpath,
+                                       final FetchDescendantsOption fetchDescendantsOption,
+                                       final Supplier<List<DataNode>> dataNodesLoader) {
+        if (!isEnabled(anchorEntity)) {
+            return dataNodesLoader.get();
+        }
+        final AnchorCache anchorCache = anchorCachesPerAnchorId.computeIfAbsent(anchorEntity.getId(),
+            anchorId -> new AnchorCache(maxEntriesPerAnchor));
+        final CacheKey cacheKey = new CacheKey(normalizedXpath, fetchDescendantsOption.getDepth());
+        final List<DataNode> cachedDataNodes = anchorCache.dataNodesPerKey.getIfPresent(cacheKey);
+        if (cachedDataNodes != null) {
+            hitCount.increment();
+            return copyOf(cachedDataNodes);
+        }
+        missCount.increment();
+        final long generationBeforeLoad = anchorCache.getGeneration();
+        final List<DataNode> loadedDataNodes = dataNodesLoader.get();
+        if (!loadedDataNodes.isEmpty()) {
+            anchorCache.putIfNotInvalidatedSince(generationBeforeLoad, cacheKey, copyOf(loadedDataNodes));
+        }
+        return loadedDataNodes;
+    }
+
+    /**
+     * Invalidate the cached data nodes affected by a write of the data nodes with the given xpaths.
+     * The invalidation is repeated after the surrounding transaction completes (if any), so no data read before the
+     * commit remains cached. Other cps instances are notified once the write is visible to them.
+     *
+     * @param anchorEntity the anchor
+     * @param xpaths       xpaths of the written data nodes
+     */
+    public void invalidate(final AnchorEntity anchorEntity, final Collection<String> xpaths) {
+        if (isEnabled(anchorEntity) && !xpaths.isEmpty()) {
+            invalidateAndPublish(new DataNodeCacheInvalidation(anchorEntity.getId(), normalizeForInvalidation(xpaths)));
+        }
+    }
+
+    /**
+     * Invalidate all cached data nodes of the given anchor.
+     *
+     * @param anchorEntity the anchor
+     */
+    public void invalidateAll(final AnchorEntity anchorEntity) {
+        if (isEnabled(anchorEntity)) {
+            invalidateAndPublish(new DataNodeCacheInvalidation(anchorEntity.getId(), Collections.emptyList()));
+        }
+    }
+
+    long getSize() {
+        return anchorCachesPerAnchorId.values().stream()
+            .mapToLong(anchorCache -> anchorCache.dataNodesPerKey.estimatedSize()).sum();
+    }
+
+    double getHitRatio() {
+        final long hits = hitCount.sum();
+        final long requests = hits + missCount.sum();
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    private void invalidateAndPublish(final DataNodeCacheInvalidation dataNodeCacheInvalidation) {
+        applyInvalidation(dataNodeCacheInvalidation);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(final int status) {
+                    applyInvalidation(dataNodeCacheInvalidation);
+                    publish(dataNodeCacheInvalidation);
+                }
+            });
+        } else {
+            publish(dataNodeCacheInvalidation);
+        }
+        if (localInvalidationCounter != null) {
+            localInvalidationCounter.increment();
+        }
+    }
+
+    private void onInvalidationMessage(final Message<DataNodeCacheInvalidation> message) {
+        if (message.getPublishingMember() != null && message.getPublishingMember().localMember()) {
+            return;
+        }
+        applyInvalidation(message.getMessageObject());
+        if (remoteInvalidationCounter != null) {
+            remoteInvalidationCounter.increment();
+        }
+    }
+
+    private void applyInvalidation(final DataNodeCacheInvalidation dataNodeCacheInvalidation) {
+        final AnchorCache anchorCache = anchorCachesPerAnchorId.get(dataNodeCacheInvalidation.anchorId());
+        if (anchorCache == null) {
+            return;
+        }
+        if (dataNodeCacheInvalidation.isForAllDataNodes()) {
+            anchorCache.invalidateAll();
+        } else {
+            anchorCache.invalidateRelatedXpaths(dataNodeCacheInvalidation.xpaths());
+        }
+    }
+
+    private void publish(final DataNodeCacheInvalidation dataNodeCacheInvalidation) {
+        try {
+            dataNodeCacheInvalidationTopic.publish(dataNodeCacheInvalidation);
+        } catch (final RuntimeException runtimeException) {
+            log.warn("Failed to publish data node cache invalidation for anchor id {}: {}",
+                dataNodeCacheInvalidation.anchorId(), runtimeException.getMessage());
+        }
+    }
+
+    private static Collection<String> normalizeForInvalidation(final Collection<String> xpaths) {
+        final Collection<String> normalizedXpaths = new ArrayList<>(xpaths.size());
+        for (final String xpath : xpaths) {
+            if (isRootXpath(xpath)) {
+                return Collections.emptyList();
+            }
+            try {
+                normalizedXpaths.add(CpsPathUtil.getNormalizedXpath(xpath));
+            } catch (final PathParsingException pathParsingException) {
+                return Collections.emptyList();
+            }
+        }
+        return normalizedXpaths;
+    }
+
+    private static boolean isRelated(final String cachedXpath, final String writtenXpath) {
+        return isRootXpath(cachedXpath) || cachedXpath.startsWith(writtenXpath) || writtenXpath.startsWith(cachedXpath);
+    }
+
+    private static boolean isRootXpath(final String xpath) {
+        return "/".equals(xpath) || "".equals(xpath);
+    }
+
+    private static List<DataNode> copyOf(final List<DataNode> dataNodes) {
+        final List<DataNode> copiedDataNodes = new ArrayList<>(dataNodes.size());
+        for (final DataNode dataNode : dataNodes) {
+            copiedDataNodes.add(copyOf(dataNode));
+        }
+        return Collections.unmodifiableList(copiedDataNodes);
+    }
+
+    private static DataNode copyOf(final DataNode dataNode) {
+        final Map<String, Serializable> leaves = new HashMap<>(dataNode.getLeaves());
+        final Collection<DataNode> childDataNodes = dataNode.getChildDataNodes() instanceof Set
+            ? new LinkedHashSet<>() : new ArrayList<>(dataNode.getChildDataNodes().size());
+        for (final DataNode childDataNode : dataNode.getChildDataNodes()) {
+            childDataNodes.add(copyOf(childDataNode));
+        }
+        return new DataNodeBuilder()
+            .withXpath(dataNode.getXpath())
+            .withLeaves(leaves)
+            .withDataspace(dataNode.getDataspace())
+            .withAnchor(dataNode.getAnchorName())
+            .withChildDataNodes(childDataNodes).build();
+    }
+
+    private record CacheKey(String normalizedXpath, int depth) {
+    }
+
+    private static final class AnchorCache {
+
+        private final Cache<CacheKey, List<DataNode>> dataNodesPerKey;
+        private long generation;
+
+        private AnchorCache(final int maximumSize) {
+            dataNodesPerKey = Caffeine.newBuilder().maximumSize(maximumSize).build();
+        }
+
+        private synchronized long getGeneration() {
+            return generation;
+        }
+
+        private synchronized void putIfNotInvalidatedSince(final long expectedGeneration, final CacheKey cacheKey,
+                                                           final List<DataNode> dataNodes) {
+            if (generation == expectedGeneration) {
+                dataNodesPerKey.put(cacheKey, dataNodes);
+            }
+        }
+
+        private synchronized void invalidateAll() {
+            generation++;
+            dataNodesPerKey.invalidateAll();
+        }
+
+        private synchronized void invalidateRelatedXpaths(final Collection<String> writtenXpaths) {
+            generation++;
+            dataNodesPerKey.asMap().keySet().removeIf(cacheKey -> writtenXpaths.stream()
+                .anyMatch(writtenXpath -> isRelated(cacheKey.normalizedXpath(), writtenXpath)));
+        }
+    }
+}
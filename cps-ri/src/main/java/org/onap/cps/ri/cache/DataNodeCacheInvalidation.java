@@ -0,0 +1,37 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.ri.cache;
+
+import java.io.Serializable;
+import java.util.Collection;
+
+/**
+ * Invalidation of cached data nodes of an anchor, broadcast to all cps instances.
+ *
+ * @param anchorId    id of the anchor
+ * @param xpaths      normalized xpaths of the modified data nodes, empty if all data nodes of the anchor are affected
+ */
+public record DataNodeCacheInvalidation(Long anchorId, Collection<String> xpaths) implements Serializable {
+
+    public boolean isForAllDataNodes() {
+        return xpaths.isEmpty();
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.cps.ri.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.onap.cps.ri.models.AnchorEntity;
+import org.onap.cps.ri.models.DataspaceEntity;
+import org.onap.cps.ri.repository.AnchorRepository;
+import org.onap.cps.ri.repository.DataspaceRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bounded (local) cache of dataspace and anchor entities by name, used to avoid looking up the same dataspace and
+ * anchor for every data operation. Entries are invalidated explicitly when anchors or dataspaces are deleted or when
+ * the schema set of an anchor is changed. Invalidations are repeated after completion of the surrounding transaction
+ * (if any) and broadcast to all cps instances using a Hazelcast topic.
+ */
+@Slf4j
+@Component
+public class DataspaceAndAnchorCache implements MeterBinder {
+
+    private final DataspaceRepository dataspaceRepository;
+    private final AnchorRepository anchorRepository;
+    private final ITopic<DataspaceAndAnchorCacheInvalidation> dataspaceAndAnchorCacheInvalidationTopic;
+    private final Cache<String, DataspaceEntity> dataspaceEntitiesPerName;
+    private final Cache<AnchorKey, AnchorEntity> anchorEntitiesPerKey;
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param dataspaceRepository                      dataspace repository
+     * @param anchorRepository                         anchor repository
+     * @param dataspaceAndAnchorCacheInvalidationTopic topic for cluster wide invalidations
+     * @param maximumSize                              maximum number of cached anchors (and dataspaces)
+     * @param timeToLive                               time after which entries are reloaded
+     */
+    public DataspaceAndAnchorCache(final DataspaceRepository dataspaceRepository,
+                                   final AnchorRepository anchorRepository,
+                                   final ITopic<DataspaceAndAnchorCacheInvalidation>
+                                       dataspaceAndAnchorCacheInvalidationTopic,
+                                   @Value("${app.cps.anchor-cache.max-entries:10000}") final long maximumSize,
+                                   @Value("${app.cps.anchor-cache.time-to-live:PT10M}") final Duration timeToLive) {
+        this.dataspaceRepository = dataspaceRepository;
+        this.anchorRepository = anchorRepository;
+        this.dataspaceAndAnchorCacheInvalidationTopic = dataspaceAndAnchorCacheInvalidationTopic;
+        dataspaceEntitiesPerName = Caffeine.newBuilder()
+            .maximumSize(maximumSize).expireAfterWrite(timeToLive).recordStats().build();
+        anchorEntitiesPerKey = Caffeine.newBuilder()
+            .maximumSize(maximumSize).expireAfterWrite(timeToLive).recordStats().build();
+    }
+
+    @PostConstruct
+    void listenToRemoteInvalidations() {
+        dataspaceAndAnchorCacheInvalidationTopic.addMessageListener(this::onInvalidationMessage);
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry meterRegistry) {
+        CaffeineCacheMetrics.monitor(meterRegistry, dataspaceEntitiesPerName, "dataspaceEntityCache");
+        CaffeineCacheMetrics.monitor(meterRegistry, anchorEntitiesPerKey, "anchorEntityCache");
+    }
+
+    /**
+     * Get a dataspace entity by name.
+     * throws a DataspaceNotFoundException if it does not exist
+     *
+     * @param dataspaceName the name of the dataspace
+     * @return the dataspace entity
+     */
+    public DataspaceEntity getDataspaceEntity(final String dataspaceName) {
+        return getOrLoad(dataspaceEntitiesPerName, dataspaceName,
+            () -> dataspaceRepository.getByName(dataspaceName));
+    }
+
+    /**
+     * Get an anchor entity by dataspace and anchor name.
+     * throws a DataspaceNotFoundException or AnchorNotFoundException if the dataspace or anchor does not exist
+     *
+     * @param dataspaceName the name of the dataspace
+     * @param anchorName    the name of the anchor
+     * @return the anchor entity, including its (initialized) dataspace and schema set
+     */
+    public AnchorEntity getAnchorEntity(final String dataspaceName, final String anchorName) {
+        return getOrLoad(anchorEntitiesPerKey, new AnchorKey(dataspaceName, anchorName), () -> {
+            final AnchorEntity anchorEntity =
+                anchorRepository.getByDataspaceAndName(getDataspaceEntity(dataspaceName), anchorName);
+            initializeAssociations(anchorEntity);
+            return anchorEntity;
+        });
+    }
+
+    /**
+     * Invalidate the cached entities of the given anchors.
+     *
+     * @param dataspaceName the name of the dataspace
+     * @param anchorNames   the names of the anchors
+     */
+    public void invalidateAnchors(final String dataspaceName, final Collection<String> anchorNames) {
+        if (!anchorNames.isEmpty()) {
+            invalidateAndPublish(new DataspaceAndAnchorCacheInvalidation(dataspaceName, anchorNames));
+        }
+    }
+
+    /**
+     * Invalidate the cached entities of the given dataspace and all its anchors.
+     *
+     * @param dataspaceName the name of the dataspace
+     */
+    public void invalidateDataspace(final String dataspaceName) {
+        invalidateAndPublish(new DataspaceAndAnchorCacheInvalidation(dataspaceName, Collections.emptyList()));
+    }
+
+    private <K, V> V getOrLoad(final Cache<K, V> cache, final K key, final Supplier<V> loader) {
+        final V cachedValue = cache.getIfPresent(key);
+        if (cachedValue != null) {
+            return cachedValue;
+        }
+        final long generationBeforeLoad = generation.get();
+        final V loadedValue = loader.get();
+        synchronized (this) {
+            if (generation.get() == generationBeforeLoad) {
+                cache.put(key, loadedValue);
+            }
+        }
+        return loadedValue;
+    }
+
+    private void invalidateAndPublish(final DataspaceAndAnchorCacheInvalidation invalidation) {
+        applyInvalidation(invalidation);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(final int status) {
+                    applyInvalidation(invalidation);
+                    publish(invalidation);
+                }
+            });
+        } else {
+            publish(invalidation);
+        }
+    }
+
+    private void onInvalidationMessage(final Message<DataspaceAndAnchorCacheInvalidation> message) {
+        if (message.getPublishingMember() == null || !message.getPublishingMember().localMember()) {
+            applyInvalidation(message.getMessageObject());
+        }
+    }
+
+    private synchronized void applyInvalidation(final DataspaceAndAnchorCacheInvalidation invalidation) {
+        generation.incrementAndGet();
+        final String dataspaceName = invalidation.dataspaceName();
+        if (invalidation.isForDataspace()) {
+            dataspaceEntitiesPerName.invalidate(dataspaceName);
+            anchorEntitiesPerKey.asMap().keySet()
+                .removeIf(anchorKey -> anchorKey.dataspaceName().equals(dataspaceName));
+        } else {
+            for (final String anchorName : invalidation.anchorNames()) {
+                anchorEntitiesPerKey.invalidate(new AnchorKey(dataspaceName, anchorName));
+            }
+        }
+    }
+
+    private void publish(final DataspaceAndAnchorCacheInvalidation invalidation) {
+        try {
+            dataspaceAndAnchorCacheInvalidationTopic.publish(invalidation);
+        } catch (final RuntimeException runtimeException) {
+            log.warn("Failed to publish cache invalidation for dataspace {}: {}", invalidation.dataspaceName(),
+                runtimeException.getMessage());
+        }
+    }
+
+    private static void initializeAssociations(final AnchorEntity anchorEntity) {
+        Hibernate.initialize(anchorEntity.getDataspace());
+        Hibernate.initialize(anchorEntity.getSchemaSet());
+    }
+
+    private record AnchorKey(String dataspaceName, String anchorName) {
+    }
+}
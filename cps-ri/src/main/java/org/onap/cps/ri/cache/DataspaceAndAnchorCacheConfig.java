@@ -0,0 +1,45 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.ri.cache;
+
+import com.hazelcast.config.TopicConfig;
+import com.hazelcast.topic.ITopic;
+import org.onap.cps.impl.cache.HazelcastCacheConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class DataspaceAndAnchorCacheConfig extends HazelcastCacheConfig {
+
+    private static final TopicConfig dataspaceAndAnchorCacheInvalidationTopicConfig =
+        createTopicConfig("dataspaceAndAnchorCacheInvalidationTopicConfig");
+
+    /**
+     * Distributed topic used to invalidate the (local) dataspace and anchor caches of all cps instances.
+     *
+     * @return topic for dataspace and anchor cache invalidations
+     */
+    @Bean
+    public ITopic<DataspaceAndAnchorCacheInvalidation> dataspaceAndAnchorCacheInvalidationTopic() {
+        return getOrCreateHazelcastInstance(dataspaceAndAnchorCacheInvalidationTopicConfig)
+            .getTopic("dataspaceAndAnchorCacheInvalidationTopic");
+    }
+}
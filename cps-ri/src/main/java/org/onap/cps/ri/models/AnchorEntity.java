@@ -39,9 +39,11 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.SQLRestriction;
 
 /**
  * Entity to store an anchor.
+ * Deleted (tombstoned) anchors of which the fragments are not reclaimed yet are never loaded as entity.
  */
 @Getter
 @Setter
@@ -50,6 +52,7 @@ import lombok.Setter;
 @Builder
 @Entity
 @Table(name = "anchor")
+@SQLRestriction("deleted_at IS NULL")
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class AnchorEntity implements Serializable {
 
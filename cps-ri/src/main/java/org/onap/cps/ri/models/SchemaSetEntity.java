@@ -65,6 +65,9 @@ public class SchemaSetEntity implements Serializable {
     @JoinColumn(name = "dataspace_id", referencedColumnName = "ID")
     private DataspaceEntity dataspace;
 
+    @Column
+    private String moduleFingerprint;
+
     @NotNull
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "schema_set_yang_resources",
@@ -0,0 +1,111 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.ri.profiling;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Database usage of a single persistence service operation, collected for the current thread.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+public class PersistenceOperationProfile {
+
+    private static final ThreadLocal<PersistenceOperationProfile> CURRENT_PROFILE = new ThreadLocal<>();
+
+    private long statementCount;
+    private long rowsRead;
+    private long rowsWritten;
+    private long connectionWaitNanos;
+    private long statementExecutionNanos;
+    private long connectionHeldNanos;
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Integer> executionCountPerSql = new HashMap<>();
+
+    /**
+     * Start profiling an operation on the current thread.
+     *
+     * @return the new profile, or null when an operation is already being profiled on this thread
+     */
+    static PersistenceOperationProfile start() {
+        if (CURRENT_PROFILE.get() != null) {
+            return null;
+        }
+        final PersistenceOperationProfile persistenceOperationProfile = new PersistenceOperationProfile();
+        CURRENT_PROFILE.set(persistenceOperationProfile);
+        return persistenceOperationProfile;
+    }
+
+    /**
+     * Stop profiling the operation on the current thread.
+     */
+    static void stop() {
+        CURRENT_PROFILE.remove();
+    }
+
+    /**
+     * Get the profile of the operation on the current thread.
+     *
+     * @return the profile, or null when no operation is being profiled on this thread
+     */
+    static PersistenceOperationProfile current() {
+        return CURRENT_PROFILE.get();
+    }
+
+    void recordConnectionWait(final long nanos) {
+        connectionWaitNanos += nanos;
+    }
+
+    void recordConnectionHeld(final long nanos) {
+        connectionHeldNanos += nanos;
+    }
+
+    void recordStatementExecution(final String sql, final long nanos) {
+        statementCount++;
+        statementExecutionNanos += nanos;
+        if (sql != null) {
+            executionCountPerSql.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void recordRowRead() {
+        rowsRead++;
+    }
+
+    void recordRowsWritten(final long rowCount) {
+        if (rowCount > 0) {
+            rowsWritten += rowCount;
+        }
+    }
+
+    /**
+     * Get the sql statement executed most often during the operation, typically the cause of an N+1 pattern.
+     *
+     * @return entry with the sql and its execution count, or null when no statements were executed
+     */
+    Map.Entry<String, Integer> getMostExecutedSql() {
+        return executionCountPerSql.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+    }
+}
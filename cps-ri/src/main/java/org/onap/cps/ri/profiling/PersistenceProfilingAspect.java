@@ -0,0 +1,139 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.ri.profiling;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Profiles the database usage of each call to the data and module persistence services.
+ * Metrics are tagged with the operation and the anchor class: the name of the anchor for anchors configured to be
+ * profiled individually, 'other' for any other operation.
+ * Runs before the transaction advice, so the transaction (and its connection) is part of the profiled operation.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@ConditionalOnProperty("app.cps.persistence-profiling.enabled")
+public class PersistenceProfilingAspect {
+
+    private static final String METRIC_PREFIX = "cps.persistence.";
+    private static final String OTHER_ANCHOR_CLASS = "other";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.cps.persistence-profiling.anchors:}")
+    private Set<String> profiledAnchorNames = Collections.emptySet();
+
+    @Value("${app.cps.persistence-profiling.statement-warning-threshold:0}")
+    private int statementWarningThreshold = 0;
+
+    /**
+     * Profile a persistence service operation, unless it is called from an operation that is already profiled.
+     *
+     * @param proceedingJoinPoint the persistence service operation
+     * @return the result of the operation
+     * @throws Throwable any exception thrown by the operation
+     */
+    @Around("execution(public * org.onap.cps.ri.CpsDataPersistenceServiceImpl.*(..))"
+        + " || execution(public * org.onap.cps.ri.CpsModulePersistenceServiceImpl.*(..))")
+    public Object profileOperation(final ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
+        final PersistenceOperationProfile persistenceOperationProfile = PersistenceOperationProfile.start();
+        if (persistenceOperationProfile == null) {
+            return proceedingJoinPoint.proceed();
+        }
+        try {
+            return proceedingJoinPoint.proceed();
+        } finally {
+            PersistenceOperationProfile.stop();
+            final String operation = proceedingJoinPoint.getSignature().getDeclaringType().getSimpleName()
+                + "." + proceedingJoinPoint.getSignature().getName();
+            final String anchorClass = getAnchorClass(proceedingJoinPoint.getArgs());
+            recordMetrics(persistenceOperationProfile, Tags.of("operation", operation, "anchor.class", anchorClass));
+            logExcessiveStatements(persistenceOperationProfile, operation, anchorClass);
+        }
+    }
+
+    private String getAnchorClass(final Object[] args) {
+        // the first argument of every operation is the dataspace name
+        for (int index = 1; index < args.length; index++) {
+            if (args[index] instanceof String argument && profiledAnchorNames.contains(argument)) {
+                return argument;
+            }
+        }
+        return OTHER_ANCHOR_CLASS;
+    }
+
+    private void recordMetrics(final PersistenceOperationProfile persistenceOperationProfile, final Tags tags) {
+        recordTime("connection.wait", "Time spent waiting for a database connection", tags,
+            persistenceOperationProfile.getConnectionWaitNanos());
+        recordTime("statement.execution", "Time spent executing sql statements", tags,
+            persistenceOperationProfile.getStatementExecutionNanos());
+        recordTime("transaction", "Time database connections were held, i.e. transaction duration", tags,
+            persistenceOperationProfile.getConnectionHeldNanos());
+        recordAmount("statements", "Number of sql statements executed", tags,
+            persistenceOperationProfile.getStatementCount());
+        recordAmount("rows.read", "Number of rows read", tags, persistenceOperationProfile.getRowsRead());
+        recordAmount("rows.written", "Number of rows inserted, updated or deleted", tags,
+            persistenceOperationProfile.getRowsWritten());
+    }
+
+    private void recordTime(final String name, final String description, final Tags tags, final long nanos) {
+        Timer.builder(METRIC_PREFIX + name).description(description).tags(tags).publishPercentileHistogram()
+            .register(meterRegistry).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void recordAmount(final String name, final String description, final Tags tags, final long amount) {
+        DistributionSummary.builder(METRIC_PREFIX + name).description(description).tags(tags)
+            .publishPercentileHistogram().register(meterRegistry).record(amount);
+    }
+
+    private void logExcessiveStatements(final PersistenceOperationProfile persistenceOperationProfile,
+                                        final String operation, final String anchorClass) {
+        if (statementWarningThreshold > 0 && persistenceOperationProfile.getStatementCount()
+                > statementWarningThreshold) {
+            final Map.Entry<String, Integer> mostExecutedSql = persistenceOperationProfile.getMostExecutedSql();
+            log.warn("{} (anchor class: {}) executed {} sql statements, possible N+1 pattern."
+                    + " Most executed ({} times): {}", operation, anchorClass,
+                persistenceOperationProfile.getStatementCount(),
+                mostExecutedSql == null ? 0 : mostExecutedSql.getValue(),
+                mostExecutedSql == null ? "" : mostExecutedSql.getKey());
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.ri.profiling;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Data source that records connection wait and hold times, executed statements and rows read and written
+ * in the {@link PersistenceOperationProfile} of the current thread (if any).
+ */
+public class ProfilingDataSource extends DelegatingDataSource {
+
+    public ProfilingDataSource(final DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        final long startTime = System.nanoTime();
+        return profileConnection(super.getConnection(), startTime);
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        final long startTime = System.nanoTime();
+        return profileConnection(super.getConnection(username, password), startTime);
+    }
+
+    private static Connection profileConnection(final Connection connection, final long startTime) {
+        final long acquiredTime = System.nanoTime();
+        final PersistenceOperationProfile persistenceOperationProfile = PersistenceOperationProfile.current();
+        if (persistenceOperationProfile != null) {
+            persistenceOperationProfile.recordConnectionWait(acquiredTime - startTime);
+        }
+        return createProxy(Connection.class, new ConnectionHandler(connection, acquiredTime));
+    }
+
+    private static <T> T createProxy(final Class<T> type, final InvocationHandler invocationHandler) {
+        return type.cast(Proxy.newProxyInstance(ProfilingDataSource.class.getClassLoader(),
+            new Class<?>[] {type}, invocationHandler));
+    }
+
+    @RequiredArgsConstructor
+    private abstract static class DelegatingHandler implements InvocationHandler {
+
+        private final Object target;
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+                return proxy == args[0];
+            }
+            return handle(method, args);
+        }
+
+        abstract Object handle(Method method, Object[] args) throws Throwable;
+
+        Object delegate(final Method method, final Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (final InvocationTargetException invocationTargetException) {
+                throw invocationTargetException.getCause();
+            }
+        }
+    }
+
+    private static class ConnectionHandler extends DelegatingHandler {
+
+        private final long acquiredTime;
+        private boolean closed;
+
+        ConnectionHandler(final Connection connection, final long acquiredTime) {
+            super(connection);
+            this.acquiredTime = acquiredTime;
+        }
+
+        @Override
+        Object handle(final Method method, final Object[] args) throws Throwable {
+            final Object result = delegate(method, args);
+            final String methodName = method.getName();
+            if ("close".equals(methodName)) {
+                recordConnectionHeld();
+            } else if ("prepareCall".equals(methodName)) {
+                return createProxy(CallableStatement.class, new StatementHandler(result, (String) args[0]));
+            } else if ("prepareStatement".equals(methodName)) {
+                return createProxy(PreparedStatement.class, new StatementHandler(result, (String) args[0]));
+            } else if ("createStatement".equals(methodName)) {
+                return createProxy(Statement.class, new StatementHandler(result, null));
+            }
+            return result;
+        }
+
+        private void recordConnectionHeld() {
+            final PersistenceOperationProfile persistenceOperationProfile = PersistenceOperationProfile.current();
+            if (!closed && persistenceOperationProfile != null) {
+                persistenceOperationProfile.recordConnectionHeld(System.nanoTime() - acquiredTime);
+            }
+            closed = true;
+        }
+    }
+
+    private static class StatementHandler extends DelegatingHandler {
+
+        private final String preparedSql;
+
+        StatementHandler(final Object statement, final String preparedSql) {
+            super(statement);
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        Object handle(final Method method, final Object[] args) throws Throwable {
+            final PersistenceOperationProfile persistenceOperationProfile = PersistenceOperationProfile.current();
+            if (persistenceOperationProfile == null) {
+                return delegate(method, args);
+            }
+            final String methodName = method.getName();
+            if (methodName.startsWith("execute")) {
+                final String sql = args != null && args.length > 0 && args[0] instanceof String executedSql
+                    ? executedSql : preparedSql;
+                final long startTime = System.nanoTime();
+                final Object result = delegate(method, args);
+                persistenceOperationProfile.recordStatementExecution(sql, System.nanoTime() - startTime);
+                recordRowsWritten(persistenceOperationProfile, result);
+                return result instanceof ResultSet resultSet ? profileResultSet(resultSet) : result;
+            }
+            final Object result = delegate(method, args);
+            return "getResultSet".equals(methodName) && result instanceof ResultSet resultSet
+                ? profileResultSet(resultSet) : result;
+        }
+
+        private static void recordRowsWritten(final PersistenceOperationProfile persistenceOperationProfile,
+                                              final Object result) {
+            if (result instanceof Number rowCount) {
+                persistenceOperationProfile.recordRowsWritten(rowCount.longValue());
+            } else if (result instanceof int[] rowCounts) {
+                for (final int rowCount : rowCounts) {
+                    persistenceOperationProfile.recordRowsWritten(rowCount);
+                }
+            } else if (result instanceof long[] rowCounts) {
+                for (final long rowCount : rowCounts) {
+                    persistenceOperationProfile.recordRowsWritten(rowCount);
+                }
+            }
+        }
+
+        private static ResultSet profileResultSet(final ResultSet resultSet) {
+            return createProxy(ResultSet.class, new ResultSetHandler(resultSet));
+        }
+    }
+
+    private static class ResultSetHandler extends DelegatingHandler {
+
+        ResultSetHandler(final ResultSet resultSet) {
+            super(resultSet);
+        }
+
+        @Override
+        Object handle(final Method method, final Object[] args) throws Throwable {
+            final Object result = delegate(method, args);
+            if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                final PersistenceOperationProfile persistenceOperationProfile = PersistenceOperationProfile.current();
+                if (persistenceOperationProfile != null) {
+                    persistenceOperationProfile.recordRowRead();
+                }
+            }
+            return result;
+        }
+    }
+}
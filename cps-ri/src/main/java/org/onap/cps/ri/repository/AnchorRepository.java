@@ -46,7 +46,8 @@ public interface AnchorRepository extends JpaRepository<AnchorEntity, Long> {
 
     Collection<AnchorEntity> findAllBySchemaSet(SchemaSetEntity schemaSetEntity);
 
-    @Query(value = "SELECT * FROM anchor WHERE dataspace_id = :dataspaceId AND name IN (:anchorNames)",
+    @Query(value = "SELECT * FROM anchor WHERE dataspace_id = :dataspaceId AND name IN (:anchorNames)"
+        + " AND deleted_at IS NULL",
         nativeQuery = true)
     Collection<AnchorEntity> findAllByDataspaceIdAndNameIn(@Param("dataspaceId") int dataspaceId,
                                                            @Param("anchorNames") Collection<String> anchorNames);
@@ -58,7 +59,7 @@ public interface AnchorRepository extends JpaRepository<AnchorEntity, Long> {
 
     @Query(value = "SELECT a.* FROM anchor a"
         + " LEFT OUTER JOIN schema_set s ON a.schema_set_id = s.id"
-        + " WHERE a.dataspace_id = :dataspaceId AND s.name IN (:schemaSetNames)",
+        + " WHERE a.dataspace_id = :dataspaceId AND s.name IN (:schemaSetNames) AND a.deleted_at IS NULL",
         nativeQuery = true)
     Collection<AnchorEntity> findAllByDataspaceIdAndSchemaSetNameIn(
             @Param("dataspaceId") int dataspaceId, @Param("schemaSetNames") Collection<String> schemaSetNames);
@@ -81,6 +82,7 @@ public interface AnchorRepository extends JpaRepository<AnchorEntity, Long> {
             WHERE
                     schema_set.dataspace_id = :dataspaceId
                 AND module_name IN (:moduleNames)
+                AND anchor.deleted_at IS NULL
             GROUP BY
                 anchor.id,
                 anchor.name,
@@ -94,7 +96,8 @@ public interface AnchorRepository extends JpaRepository<AnchorEntity, Long> {
                                                                  @Param("sizeOfModuleNames") int sizeOfModuleNames);
 
     @Modifying
-    @Query(value = "DELETE FROM anchor WHERE dataspace_id = :dataspaceId AND name IN (:anchorNames)",
+    @Query(value = "DELETE FROM anchor WHERE dataspace_id = :dataspaceId AND name IN (:anchorNames)"
+        + " AND deleted_at IS NULL",
         nativeQuery = true)
     void deleteAllByDataspaceIdAndNameIn(@Param("dataspaceId") int dataspaceId,
                                          @Param("anchorNames") Collection<String> anchorNames);
@@ -0,0 +1,110 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.ri.repository;
+
+import java.util.Collection;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Tombstones of deleted anchors: anchor rows marked as deleted of which the fragments still have to be removed.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AnchorTombstoneRepository {
+
+    // children normally have a higher id than their parent, so this mostly deletes leaves and keeps cascades small
+    private static final String DELETE_FRAGMENTS_SQL = """
+            DELETE FROM fragment WHERE id IN (
+                SELECT id FROM fragment WHERE anchor_id = ? ORDER BY id DESC LIMIT ? FOR UPDATE SKIP LOCKED
+            )
+            """;
+
+    // the schema set is released at once, so it can be deleted before the fragments of the anchor are reclaimed
+    private static final String TOMBSTONE_ANCHORS_SQL = """
+            UPDATE anchor SET deleted_at = now(), schema_set_id = NULL WHERE id = ANY(?) AND deleted_at IS NULL
+            """;
+
+    private static final String DELETE_TOMBSTONED_ANCHOR_SQL = """
+            DELETE FROM anchor WHERE id = ? AND deleted_at IS NOT NULL
+                AND NOT EXISTS (SELECT 1 FROM fragment WHERE anchor_id = ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Mark the given anchors as deleted (tombstoned).
+     *
+     * @param anchorIds ids of the anchors being deleted
+     */
+    public void tombstoneAnchors(final Collection<Long> anchorIds) {
+        if (!anchorIds.isEmpty()) {
+            jdbcTemplate.update(TOMBSTONE_ANCHORS_SQL, preparedStatement -> preparedStatement.setArray(1,
+                preparedStatement.getConnection().createArrayOf("bigint", anchorIds.toArray())));
+        }
+    }
+
+    /**
+     * Get the ids of all tombstoned anchors, oldest tombstone first.
+     *
+     * @return anchor ids
+     */
+    public List<Long> findTombstonedAnchorIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM anchor WHERE deleted_at IS NOT NULL ORDER BY deleted_at, id",
+            Long.class);
+    }
+
+    /**
+     * Delete a bounded number of fragments of a tombstoned anchor.
+     * Fragments locked by another instance reclaiming the same anchor are skipped.
+     *
+     * @param anchorId  id of the tombstoned anchor
+     * @param chunkSize maximum number of fragments to delete (excluding cascaded descendants)
+     * @return number of fragments deleted
+     */
+    public int deleteFragments(final long anchorId, final int chunkSize) {
+        return jdbcTemplate.update(DELETE_FRAGMENTS_SQL, anchorId, chunkSize);
+    }
+
+    /**
+     * Delete the row of a tombstoned anchor, provided all its fragments have been deleted.
+     *
+     * @param anchorId id of the tombstoned anchor
+     * @return true if the anchor row was deleted
+     */
+    public boolean deleteTombstonedAnchor(final long anchorId) {
+        return jdbcTemplate.update(DELETE_TOMBSTONED_ANCHOR_SQL, anchorId, anchorId) > 0;
+    }
+
+    /**
+     * Delete all tombstoned anchors of a dataspace including their fragments at once,
+     * so the dataspace itself can be deleted.
+     *
+     * @param dataspaceId id of the dataspace
+     */
+    public void deleteTombstonedAnchors(final int dataspaceId) {
+        jdbcTemplate.update("DELETE FROM fragment WHERE anchor_id IN"
+            + " (SELECT id FROM anchor WHERE dataspace_id = ? AND deleted_at IS NOT NULL)", dataspaceId);
+        jdbcTemplate.update("DELETE FROM anchor WHERE dataspace_id = ? AND deleted_at IS NOT NULL", dataspaceId);
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.ri.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.transaction.Transactional;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.onap.cps.ri.models.AnchorEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Opt-in index of the leaf attributes of the fragments of an anchor (table fragment_attribute_index).
+ * Once an anchor is registered, a trigger on the fragment table keeps the index in sync for every insert, update
+ * and (cascaded) delete of its fragments, so all write operations are covered. The trigger is guarded by the ids of
+ * the indexed anchors, writes to any other anchor do not execute it.
+ * The existing fragments of a registered anchor are indexed in the background,
+ * see {@link org.onap.cps.ri.attributeindex.AttributeIndexBackfiller}.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class FragmentAttributeIndexRepository {
+
+    /**
+     * Longer values are not indexed (see trigger function cps_index_fragment_attributes).
+     */
+    public static final int MAX_INDEXED_VALUE_LENGTH = 256;
+
+    /**
+     * Anchors found to be enabled are checked again after this time,
+     * to notice changes made by other instances (e.g. a deleted anchor).
+     */
+    static final Duration ENABLED_ANCHOR_RECHECK_INTERVAL = Duration.ofMinutes(1);
+
+    private static final String FIND_ANCHOR_IDS_TO_REGISTER_SQL = """
+            SELECT anchor.id FROM anchor
+                LEFT OUTER JOIN schema_set ON schema_set.id = anchor.schema_set_id
+            WHERE anchor.deleted_at IS NULL
+                AND (anchor.name = ANY (?) OR schema_set.name = ANY (?))
+                AND NOT EXISTS (SELECT 1 FROM attribute_indexed_anchor WHERE anchor_id = anchor.id)
+            """;
+
+    // fragments are locked so a concurrently deleted fragment is skipped rather than violating the foreign key;
+    // fragments written since the anchor was registered are indexed by the trigger already, hence ON CONFLICT
+    private static final String BACKFILL_CHUNK_SQL = """
+            WITH chunk AS (
+                SELECT fragment.id, fragment.anchor_id, fragment.xpath, fragment.attributes
+                FROM fragment
+                WHERE fragment.anchor_id = ? AND fragment.id >
+                    (SELECT backfilled_fragment_id FROM attribute_indexed_anchor WHERE anchor_id = ?)
+                ORDER BY fragment.id
+                LIMIT ?
+                FOR KEY SHARE
+            ), indexed_leaves AS (
+                INSERT INTO fragment_attribute_index
+                       (fragment_id, anchor_id, schema_node_path, leaf_name, text_value, numeric_value)
+                SELECT chunk.id, chunk.anchor_id, cps_schema_node_path(chunk.xpath), leaf.key, leaf.value,
+                       CASE WHEN leaf.value ~ '^\\s*[-+]?[0-9]+\\s*$' THEN leaf.value::NUMERIC END
+                FROM chunk, jsonb_each_text(chunk.attributes) AS leaf
+                WHERE length(leaf.value) <= ?
+                ON CONFLICT DO NOTHING
+            )
+            UPDATE attribute_indexed_anchor SET backfilled_fragment_id = (SELECT max(id) FROM chunk)
+            WHERE anchor_id = ? AND EXISTS (SELECT 1 FROM chunk)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Cache<Long, Boolean> enabledAnchorIds =
+            Caffeine.newBuilder().expireAfterWrite(ENABLED_ANCHOR_RECHECK_INTERVAL).build();
+
+    @Value("${app.cps.attribute-index.anchors:}")
+    private Set<String> indexedAnchorNames = Collections.emptySet();
+
+    @Value("${app.cps.attribute-index.schema-sets:}")
+    private Set<String> indexedSchemaSetNames = Collections.emptySet();
+
+    @Value("${app.cps.attribute-index.register-lock-timeout-ms:2000}")
+    private long registerLockTimeoutMs = 2000;
+
+    /**
+     * Check if the attribute index can be used for queries on the given anchor.
+     * This never changes any data: the index is only used once the existing fragments of the anchor are indexed.
+     * A positive result is cached, see {@link #ENABLED_ANCHOR_RECHECK_INTERVAL}.
+     *
+     * @param anchorEntity the anchor
+     * @return true if the attribute index for the anchor is complete and up-to-date
+     */
+    public boolean isAttributeIndexEnabled(final AnchorEntity anchorEntity) {
+        if (enabledAnchorIds.getIfPresent(anchorEntity.getId()) != null) {
+            return true;
+        }
+        if (!isConfiguredToBeIndexed(anchorEntity)) {
+            return false;
+        }
+        final boolean backfillCompleted = Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM attribute_indexed_anchor WHERE anchor_id = ? AND backfill_completed)",
+                Boolean.class, anchorEntity.getId()));
+        if (backfillCompleted) {
+            enabledAnchorIds.put(anchorEntity.getId(), Boolean.TRUE);
+        }
+        return backfillCompleted;
+    }
+
+    /**
+     * Find the anchors that are configured to be indexed but are not registered yet.
+     *
+     * @return anchor ids
+     */
+    public List<Long> findAnchorIdsToRegister() {
+        if (indexedAnchorNames.isEmpty() && indexedSchemaSetNames.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return jdbcTemplate.queryForList(FIND_ANCHOR_IDS_TO_REGISTER_SQL, Long.class,
+                indexedAnchorNames.toArray(String[]::new), indexedSchemaSetNames.toArray(String[]::new));
+    }
+
+    /**
+     * Register anchors to be indexed and (re)create the trigger so it covers their fragments from now on.
+     * Creating the trigger waits for ongoing writes to the fragment table; to not block new writes for long,
+     * this fails (and can be retried) when that takes longer than the configured lock timeout.
+     *
+     * @param anchorIds ids of the anchors to register
+     */
+    @Transactional
+    public void registerAnchors(final Collection<Long> anchorIds) {
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(hashtext('fragment_attribute_index_trigger'))");
+        jdbcTemplate.execute("SET LOCAL lock_timeout = " + registerLockTimeoutMs);
+        jdbcTemplate.update("INSERT INTO attribute_indexed_anchor (anchor_id) SELECT unnest(?) ON CONFLICT DO NOTHING",
+                preparedStatement -> preparedStatement.setArray(1,
+                        preparedStatement.getConnection().createArrayOf("bigint", anchorIds.toArray())));
+        jdbcTemplate.execute("SELECT cps_refresh_fragment_attribute_index_trigger()");
+        enabledAnchorIds.invalidateAll();
+    }
+
+    /**
+     * Forget that the attribute index is enabled for the given anchors, e.g. when they are deleted.
+     *
+     * @param anchorIds ids of the anchors
+     */
+    public void invalidateEnabledAnchors(final Collection<Long> anchorIds) {
+        enabledAnchorIds.invalidateAll(anchorIds);
+    }
+
+    /**
+     * Find the registered anchors of which the existing fragments are not all indexed yet.
+     *
+     * @return anchor ids
+     */
+    public List<Long> findAnchorIdsToBackfill() {
+        return jdbcTemplate.queryForList(
+                "SELECT anchor_id FROM attribute_indexed_anchor WHERE NOT backfill_completed ORDER BY anchor_id",
+                Long.class);
+    }
+
+    /**
+     * Index the leaves of the next chunk of (existing) fragments of a registered anchor.
+     * Each chunk is indexed in its own transaction and can safely be repeated.
+     *
+     * @param anchorId  id of the registered anchor
+     * @param chunkSize maximum number of fragments to index
+     * @return true if a chunk was indexed, false if all fragments have been indexed
+     */
+    public boolean backfillChunk(final long anchorId, final int chunkSize) {
+        return jdbcTemplate.update(BACKFILL_CHUNK_SQL, anchorId, anchorId, chunkSize, MAX_INDEXED_VALUE_LENGTH,
+                anchorId) > 0;
+    }
+
+    /**
+     * Mark the backfill of an anchor as completed, from now on queries on the anchor use the index.
+     *
+     * @param anchorId id of the registered anchor
+     */
+    public void completeBackfill(final long anchorId) {
+        jdbcTemplate.update("UPDATE attribute_indexed_anchor SET backfill_completed = TRUE WHERE anchor_id = ?",
+                anchorId);
+    }
+
+    private boolean isConfiguredToBeIndexed(final AnchorEntity anchorEntity) {
+        return indexedAnchorNames.contains(anchorEntity.getName())
+                || !indexedSchemaSetNames.isEmpty()
+                    && indexedSchemaSetNames.contains(anchorEntity.getSchemaSet().getName());
+    }
+}
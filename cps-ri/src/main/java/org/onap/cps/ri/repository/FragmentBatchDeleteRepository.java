@@ -0,0 +1,55 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.ri.repository;
+
+import java.util.Collection;
+
+public interface FragmentBatchDeleteRepository {
+
+    /**
+     * Find out, using a single query, which of the given xpaths refer to existing fragments and which to existing
+     * lists i.e. xpaths without a key predicate for which list elements exist.
+     *
+     * @param anchorId the id of the anchor
+     * @param xpaths   (normalized) xpaths to check
+     * @return the existing fragment and list xpaths, xpaths that refer to neither are omitted
+     */
+    ExistingXpaths findExistingXpaths(long anchorId, Collection<String> xpaths);
+
+    /**
+     * Delete the fragments (and their descendants) with the given xpaths using a single delete statement.
+     *
+     * @param anchorId the id of the anchor
+     * @param xpaths   (normalized) xpaths of the fragments to delete
+     */
+    void deleteFragmentsByXpaths(long anchorId, Collection<String> xpaths);
+
+    /**
+     * Delete all elements (and their descendants) of the lists with the given xpaths using a single delete statement.
+     *
+     * @param anchorId   the id of the anchor
+     * @param listXpaths (normalized) xpaths of the lists, without key predicate
+     */
+    void deleteListsByXpaths(long anchorId, Collection<String> listXpaths);
+
+    record ExistingXpaths(Collection<String> fragmentXpaths, Collection<String> listXpaths) {
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.ri.repository;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collection;
+import lombok.RequiredArgsConstructor;
+import org.onap.cps.ri.utils.EscapeUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class FragmentBatchDeleteRepositoryImpl implements FragmentBatchDeleteRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public ExistingXpaths findExistingXpaths(final long anchorId, final Collection<String> xpaths) {
+        final Collection<String> fragmentXpaths = new ArrayList<>();
+        final Collection<String> listXpaths = new ArrayList<>();
+        if (xpaths.isEmpty()) {
+            return new ExistingXpaths(fragmentXpaths, listXpaths);
+        }
+        // the list check is only done for xpaths that are not the xpath of a fragment
+        final String sql = """
+                SELECT xpath, is_fragment FROM (
+                    SELECT checked.xpath,
+                           CASE WHEN EXISTS (SELECT 1 FROM fragment
+                                             WHERE fragment.anchor_id = ? AND fragment.xpath = checked.xpath)
+                                THEN TRUE
+                                WHEN EXISTS (SELECT 1 FROM fragment
+                                             WHERE fragment.anchor_id = ? AND fragment.xpath LIKE checked.pattern)
+                                THEN FALSE
+                           END AS is_fragment
+                    FROM unnest(?, ?) AS checked(xpath, pattern)
+                ) classified
+                WHERE is_fragment IS NOT NULL
+                """;
+
+        final PreparedStatementSetter preparedStatementSetter = preparedStatement -> {
+            final Connection connection = preparedStatement.getConnection();
+            preparedStatement.setLong(1, anchorId);
+            preparedStatement.setLong(2, anchorId);
+            preparedStatement.setArray(3, connection.createArrayOf("text", xpaths.toArray()));
+            preparedStatement.setArray(4, connection.createArrayOf("text", toListElementPatterns(xpaths)));
+        };
+        final RowCallbackHandler rowCallbackHandler = resultSet -> {
+            if (resultSet.getBoolean("is_fragment")) {
+                fragmentXpaths.add(resultSet.getString("xpath"));
+            } else {
+                listXpaths.add(resultSet.getString("xpath"));
+            }
+        };
+        jdbcTemplate.query(sql, preparedStatementSetter, rowCallbackHandler);
+        return new ExistingXpaths(fragmentXpaths, listXpaths);
+    }
+
+    @Override
+    public void deleteFragmentsByXpaths(final long anchorId, final Collection<String> xpaths) {
+        if (!xpaths.isEmpty()) {
+            final String sql = "DELETE FROM fragment WHERE anchor_id = ? AND xpath = ANY (?)";
+            jdbcTemplate.update(sql, preparedStatement -> {
+                preparedStatement.setLong(1, anchorId);
+                preparedStatement.setArray(2,
+                    preparedStatement.getConnection().createArrayOf("text", xpaths.toArray()));
+            });
+        }
+    }
+
+    @Override
+    public void deleteListsByXpaths(final long anchorId, final Collection<String> listXpaths) {
+        if (!listXpaths.isEmpty()) {
+            final String sql = "DELETE FROM fragment WHERE anchor_id = ? AND xpath LIKE ANY (?)";
+            jdbcTemplate.update(sql, preparedStatement -> {
+                preparedStatement.setLong(1, anchorId);
+                preparedStatement.setArray(2,
+                    preparedStatement.getConnection().createArrayOf("text", toListElementPatterns(listXpaths)));
+            });
+        }
+    }
+
+    private static Object[] toListElementPatterns(final Collection<String> listXpaths) {
+        return listXpaths.stream().map(listXpath -> EscapeUtils.escapeForSqlLike(listXpath) + "[@%").toArray();
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.cps.ri.repository;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface FragmentBatchUpdateRepository {
+
+    /**
+     * Merge the given attributes into the existing attributes of the fragments with the given xpaths using a single
+     * update statement. Existing attributes with the same name are replaced, other existing attributes are retained.
+     * Within a transaction the persistence context is flushed before and cleared after the update.
+     *
+     * @param anchorId                    the id of the anchor of the fragments
+     * @param attributesToMergePerXpath   attributes (JSON objects) to merge per (normalized) xpath
+     * @return the xpaths of the fragments that have been updated, xpaths of fragments that do not exist are omitted
+     */
+    Collection<String> mergeAttributes(long anchorId, Map<String, String> attributesToMergePerXpath);
+
+    /**
+     * Replace the attributes of the fragments with the given ids using a single update statement.
+     * Within a transaction the persistence context is flushed before and cleared after the update.
+     *
+     * @param attributesPerFragmentId new attributes (JSON objects) per fragment id
+     * @return the ids of the fragments that have been updated, ids of fragments that do not exist are omitted
+     */
+    Collection<Long> replaceAttributes(Map<Long, String> attributesPerFragmentId);
+}
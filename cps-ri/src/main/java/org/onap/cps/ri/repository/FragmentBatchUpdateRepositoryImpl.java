@@ -0,0 +1,117 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.cps.ri.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.sql.Connection;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Repository
+@RequiredArgsConstructor
+public class FragmentBatchUpdateRepositoryImpl implements FragmentBatchUpdateRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Collection<String> mergeAttributes(final long anchorId,
+                                              final Map<String, String> attributesToMergePerXpath) {
+        if (attributesToMergePerXpath.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final String sql = """
+                UPDATE fragment
+                SET attributes = COALESCE(fragment.attributes, '{}'::jsonb) || patch.attributes::jsonb
+                FROM unnest(?, ?) AS patch(xpath, attributes)
+                WHERE fragment.anchor_id = ? AND fragment.xpath = patch.xpath
+                RETURNING fragment.xpath
+                """;
+
+        final PreparedStatementSetter preparedStatementSetter = preparedStatement -> {
+            final Connection connection = preparedStatement.getConnection();
+            preparedStatement.setArray(1,
+                connection.createArrayOf("text", attributesToMergePerXpath.keySet().toArray()));
+            preparedStatement.setArray(2,
+                connection.createArrayOf("text", attributesToMergePerXpath.values().toArray()));
+            preparedStatement.setLong(3, anchorId);
+        };
+        flushPersistenceContext();
+        final Collection<String> updatedXpaths =
+            jdbcTemplate.query(sql, preparedStatementSetter, (resultSet, rowNum) -> resultSet.getString(1));
+        clearPersistenceContext();
+        return updatedXpaths;
+    }
+
+    @Override
+    public Collection<Long> replaceAttributes(final Map<Long, String> attributesPerFragmentId) {
+        if (attributesPerFragmentId.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final String sql = """
+                UPDATE fragment
+                SET attributes = replacement.attributes::jsonb
+                FROM unnest(?, ?) AS replacement(id, attributes)
+                WHERE fragment.id = replacement.id
+                RETURNING fragment.id
+                """;
+
+        final PreparedStatementSetter preparedStatementSetter = preparedStatement -> {
+            final Connection connection = preparedStatement.getConnection();
+            preparedStatement.setArray(1,
+                connection.createArrayOf("bigint", attributesPerFragmentId.keySet().toArray()));
+            preparedStatement.setArray(2,
+                connection.createArrayOf("text", attributesPerFragmentId.values().toArray()));
+        };
+        flushPersistenceContext();
+        final Collection<Long> updatedFragmentIds =
+            jdbcTemplate.query(sql, preparedStatementSetter, (resultSet, rowNum) -> resultSet.getLong(1));
+        clearPersistenceContext();
+        return updatedFragmentIds;
+    }
+
+    /**
+     * The update statements bypass Hibernate. Pending changes are flushed before the statement, so they are not lost,
+     * and the persistence context is cleared after it, so no managed fragment entity keeps the old attributes
+     * (and writes them back when flushed later). Outside a transaction there is no persistence context to maintain.
+     */
+    private void flushPersistenceContext() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            entityManager.flush();
+        }
+    }
+
+    private void clearPersistenceContext() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            entityManager.clear();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.cps.ri.repository;
+
+import java.util.Collection;
+import org.onap.cps.ri.models.FragmentEntity;
+
+public interface FragmentBulkInsertRepository {
+
+    /**
+     * Insert new fragment entities and all their descendants (child fragments) using a single PostgreSQL COPY
+     * statement, bypassing the persistence context. The ids of the fragment entities are not updated.
+     * Throws a DataIntegrityViolationException if any of the fragments already exists (nothing is inserted).
+     *
+     * @param fragmentEntities new fragment entities, (top level) parent ids must already be set if required
+     * @return the number of inserted fragments
+     */
+    long bulkInsertWithDescendants(Collection<FragmentEntity> fragmentEntities);
+}
@@ -0,0 +1,288 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.cps.ri.repository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.onap.cps.ri.models.FragmentEntity;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Streams fragments into the fragment table using COPY in binary format.
+ * Fragment ids are pre-allocated in blocks from fragment_id_seq. Every sequence value is the upper bound of a block
+ * of FRAGMENT_ID_BLOCK_SIZE ids, the same interpretation as the (pooled) sequence generator of FragmentEntity,
+ * so ids never clash with ids allocated by Hibernate.
+ * When materialized paths are enabled, the path (path_ids) of every fragment is calculated here as well, so the
+ * database trigger does not need to look up the parent of every inserted fragment.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class FragmentBulkInsertRepositoryImpl implements FragmentBulkInsertRepository {
+
+    static final int FRAGMENT_ID_BLOCK_SIZE = 100;
+
+    private static final String COPY_SQL =
+        "COPY fragment (id, xpath, attributes, anchor_id, parent_id, path_ids) FROM STDIN (FORMAT binary)";
+    private static final String ALLOCATE_ID_BLOCKS_SQL =
+        "SELECT nextval('fragment_id_seq') FROM generate_series(1, ?)";
+    private static final String GET_PATH_IDS_SQL = "SELECT id, path_ids FROM fragment WHERE id = ANY(?)";
+    private static final byte[] COPY_BINARY_SIGNATURE =
+        {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+    private static final short NUMBER_OF_COLUMNS = 6;
+    private static final short END_OF_DATA = -1;
+    private static final int NULL_VALUE_LENGTH = -1;
+    private static final int BIGINT_LENGTH = 8;
+    private static final byte JSONB_FORMAT_VERSION = 1;
+    private static final int BIGINT_TYPE_OID = 20;
+    private static final int ARRAY_HEADER_LENGTH = 20;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.cps.fragment-path-ids.enabled:false}")
+    private boolean fragmentPathIdsEnabled;
+
+    @Override
+    public long bulkInsertWithDescendants(final Collection<FragmentEntity> fragmentEntities) {
+        final List<FragmentRow> fragmentRows = new ArrayList<>();
+        for (final FragmentEntity fragmentEntity : fragmentEntities) {
+            collectFragmentRows(fragmentEntity, null, fragmentRows);
+        }
+        final Long insertedCount = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            assignIds(connection, fragmentRows);
+            if (fragmentPathIdsEnabled) {
+                assignPathIds(connection, fragmentRows);
+            }
+            return copyIn(connection, fragmentRows);
+        });
+        log.debug("Bulk inserted {} fragments", insertedCount);
+        return insertedCount == null ? 0 : insertedCount;
+    }
+
+    private static void collectFragmentRows(final FragmentEntity fragmentEntity, final FragmentRow parentFragmentRow,
+                                            final List<FragmentRow> fragmentRows) {
+        final FragmentRow fragmentRow = new FragmentRow(fragmentEntity, parentFragmentRow);
+        fragmentRows.add(fragmentRow);
+        if (fragmentEntity.getChildFragments() != null) {
+            for (final FragmentEntity childFragmentEntity : fragmentEntity.getChildFragments()) {
+                collectFragmentRows(childFragmentEntity, fragmentRow, fragmentRows);
+            }
+        }
+    }
+
+    private static void assignIds(final Connection connection, final List<FragmentRow> fragmentRows)
+        throws SQLException {
+        final int numberOfBlocks = (fragmentRows.size() + FRAGMENT_ID_BLOCK_SIZE - 1) / FRAGMENT_ID_BLOCK_SIZE;
+        final List<Long> ids = new ArrayList<>(numberOfBlocks * FRAGMENT_ID_BLOCK_SIZE);
+        try (PreparedStatement preparedStatement = connection.prepareStatement(ALLOCATE_ID_BLOCKS_SQL)) {
+            preparedStatement.setInt(1, numberOfBlocks);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    final long upperBoundOfBlock = resultSet.getLong(1);
+                    for (long id = upperBoundOfBlock - FRAGMENT_ID_BLOCK_SIZE + 1; id <= upperBoundOfBlock; id++) {
+                        ids.add(id);
+                    }
+                }
+            }
+        }
+        for (int index = 0; index < fragmentRows.size(); index++) {
+            fragmentRows.get(index).id = ids.get(index);
+        }
+    }
+
+    private static void assignPathIds(final Connection connection, final List<FragmentRow> fragmentRows)
+        throws SQLException {
+        final Map<Long, long[]> pathIdsPerTopLevelParentId = new HashMap<>();
+        for (final FragmentRow fragmentRow : fragmentRows) {
+            if (fragmentRow.parentFragmentRow == null && fragmentRow.topLevelParentId != null) {
+                pathIdsPerTopLevelParentId.put(fragmentRow.topLevelParentId, null);
+            }
+        }
+        if (!pathIdsPerTopLevelParentId.isEmpty()) {
+            try (PreparedStatement preparedStatement = connection.prepareStatement(GET_PATH_IDS_SQL)) {
+                preparedStatement.setArray(1,
+                    connection.createArrayOf("bigint", pathIdsPerTopLevelParentId.keySet().toArray()));
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        final Array pathIds = resultSet.getArray(2);
+                        if (pathIds != null) {
+                            pathIdsPerTopLevelParentId.put(resultSet.getLong(1),
+                                Arrays.stream((Long[]) pathIds.getArray()).mapToLong(Long::longValue).toArray());
+                        }
+                    }
+                }
+            }
+        }
+        // parents always precede their children
+        for (final FragmentRow fragmentRow : fragmentRows) {
+            final long[] parentPathIds = fragmentRow.parentFragmentRow == null
+                ? pathIdsPerTopLevelParentId.getOrDefault(fragmentRow.topLevelParentId, new long[0])
+                : fragmentRow.parentFragmentRow.pathIds;
+            if (parentPathIds != null) {
+                fragmentRow.pathIds = Arrays.copyOf(parentPathIds, parentPathIds.length + 1);
+                fragmentRow.pathIds[parentPathIds.length] = fragmentRow.id;
+            }
+        }
+    }
+
+    private static long copyIn(final Connection connection, final Collection<FragmentRow> fragmentRows)
+        throws SQLException {
+        final CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+        try {
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream(COPY_BUFFER_SIZE + COPY_BUFFER_SIZE / 4);
+            final DataOutputStream dataOutputStream = new DataOutputStream(buffer);
+            dataOutputStream.write(COPY_BINARY_SIGNATURE);
+            dataOutputStream.writeInt(0);
+            dataOutputStream.writeInt(0);
+            for (final FragmentRow fragmentRow : fragmentRows) {
+                writeRow(dataOutputStream, fragmentRow);
+                if (buffer.size() >= COPY_BUFFER_SIZE) {
+                    copyIn.writeToCopy(buffer.toByteArray(), 0, buffer.size());
+                    buffer.reset();
+                }
+            }
+            dataOutputStream.writeShort(END_OF_DATA);
+            copyIn.writeToCopy(buffer.toByteArray(), 0, buffer.size());
+            return copyIn.endCopy();
+        } catch (final IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        } finally {
+            if (copyIn.isActive()) {
+                cancelCopy(copyIn);
+            }
+        }
+    }
+
+    private static void cancelCopy(final CopyIn copyIn) {
+        try {
+            copyIn.cancelCopy();
+        } catch (final SQLException sqlException) {
+            log.debug("Cancelling bulk insert of fragments failed: {}", sqlException.getMessage());
+        }
+    }
+
+    private static void writeRow(final DataOutputStream dataOutputStream, final FragmentRow fragmentRow)
+        throws IOException {
+        dataOutputStream.writeShort(NUMBER_OF_COLUMNS);
+        writeBigint(dataOutputStream, fragmentRow.id);
+        writeText(dataOutputStream, fragmentRow.xpath);
+        writeJsonb(dataOutputStream, fragmentRow.attributes);
+        writeBigint(dataOutputStream, fragmentRow.anchorId);
+        writeBigint(dataOutputStream, fragmentRow.getParentId());
+        writeBigintArray(dataOutputStream, fragmentRow.pathIds);
+    }
+
+    private static void writeBigint(final DataOutputStream dataOutputStream, final Long value) throws IOException {
+        if (value == null) {
+            dataOutputStream.writeInt(NULL_VALUE_LENGTH);
+        } else {
+            dataOutputStream.writeInt(BIGINT_LENGTH);
+            dataOutputStream.writeLong(value);
+        }
+    }
+
+    private static void writeBigintArray(final DataOutputStream dataOutputStream, final long[] values)
+        throws IOException {
+        if (values == null) {
+            dataOutputStream.writeInt(NULL_VALUE_LENGTH);
+        } else {
+            dataOutputStream.writeInt(ARRAY_HEADER_LENGTH + values.length * (4 + BIGINT_LENGTH));
+            dataOutputStream.writeInt(1);
+            dataOutputStream.writeInt(0);
+            dataOutputStream.writeInt(BIGINT_TYPE_OID);
+            dataOutputStream.writeInt(values.length);
+            dataOutputStream.writeInt(1);
+            for (final long value : values) {
+                dataOutputStream.writeInt(BIGINT_LENGTH);
+                dataOutputStream.writeLong(value);
+            }
+        }
+    }
+
+    private static void writeText(final DataOutputStream dataOutputStream, final String value) throws IOException {
+        if (value == null) {
+            dataOutputStream.writeInt(NULL_VALUE_LENGTH);
+        } else {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            dataOutputStream.writeInt(bytes.length);
+            dataOutputStream.write(bytes);
+        }
+    }
+
+    private static void writeJsonb(final DataOutputStream dataOutputStream, final String value) throws IOException {
+        if (value == null) {
+            dataOutputStream.writeInt(NULL_VALUE_LENGTH);
+        } else {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            dataOutputStream.writeInt(bytes.length + 1);
+            dataOutputStream.writeByte(JSONB_FORMAT_VERSION);
+            dataOutputStream.write(bytes);
+        }
+    }
+
+    /**
+     * A fragment to be inserted, children refer to the (pre-allocated) id of their parent.
+     */
+    private static final class FragmentRow {
+        private Long id;
+        private long[] pathIds;
+        private final String xpath;
+        private final String attributes;
+        private final Long anchorId;
+        private final Long topLevelParentId;
+        private final FragmentRow parentFragmentRow;
+
+        private FragmentRow(final FragmentEntity fragmentEntity, final FragmentRow parentFragmentRow) {
+            xpath = fragmentEntity.getXpath();
+            attributes = fragmentEntity.getAttributes();
+            anchorId = fragmentEntity.getAnchor().getId();
+            topLevelParentId = fragmentEntity.getParentId();
+            this.parentFragmentRow = parentFragmentRow;
+        }
+
+        private Long getParentId() {
+            return parentFragmentRow == null ? topLevelParentId : parentFragmentRow.id;
+        }
+    }
+}
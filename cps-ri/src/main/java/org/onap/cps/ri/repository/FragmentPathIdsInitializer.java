@@ -0,0 +1,52 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.ri.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Makes sure the materialized paths of all fragments (column path_ids) are maintained when queries are configured to
+ * use them. Without this setting no index or trigger is maintained for them, so writes do not pay for them.
+ * The first time this runs, all paths are calculated while writes to the fragment table are blocked.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.cps.fragment-path-ids.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class FragmentPathIdsInitializer implements InitializingBean {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterPropertiesSet() {
+        log.info("Enabling materialized paths of fragments");
+        final Boolean enabledNow =
+            jdbcTemplate.queryForObject("SELECT cps_enable_fragment_path_ids()", Boolean.class);
+        if (Boolean.TRUE.equals(enabledNow)) {
+            log.info("Calculated materialized paths of all fragments, they are maintained from now on");
+        }
+    }
+}
@@ -21,6 +21,7 @@
 package org.onap.cps.ri.repository;
 
 import java.util.Collection;
+import java.util.function.Consumer;
 import org.onap.cps.api.parameters.FetchDescendantsOption;
 import org.onap.cps.ri.models.FragmentEntity;
 
@@ -28,4 +29,9 @@ public interface FragmentPrefetchRepository {
     Collection<FragmentEntity> prefetchDescendantsOfFragmentEntities(
             final FetchDescendantsOption fetchDescendantsOption,
             final Collection<FragmentEntity> proxiedFragmentEntities);
+
+    void streamDescendantsOfFragmentEntities(
+            final FetchDescendantsOption fetchDescendantsOption,
+            final Collection<FragmentEntity> proxiedFragmentEntities,
+            final Consumer<FragmentEntity> fragmentEntityConsumer);
 }
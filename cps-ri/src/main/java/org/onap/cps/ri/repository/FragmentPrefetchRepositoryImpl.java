@@ -21,10 +21,12 @@
 package org.onap.cps.ri.repository;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -32,8 +34,11 @@ import lombok.RequiredArgsConstructor;
 import org.onap.cps.api.parameters.FetchDescendantsOption;
 import org.onap.cps.ri.models.AnchorEntity;
 import org.onap.cps.ri.models.FragmentEntity;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
 import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
@@ -41,8 +46,20 @@ import org.springframework.stereotype.Repository;
 @RequiredArgsConstructor
 public class FragmentPrefetchRepositoryImpl implements FragmentPrefetchRepository {
 
+    private static final int STREAMING_FETCH_SIZE = 1000;
+
+    // every descendant has the ids of all its ancestors in its materialized path (indexed)
+    private static final String ALL_DESCENDANTS_BY_PATH_IDS_SQL = """
+            SELECT id, anchor_id AS anchorId, xpath, parent_id AS parentId, attributes
+            FROM fragment
+            WHERE path_ids && ?
+            """;
+
     private final JdbcTemplate jdbcTemplate;
 
+    @Value("${app.cps.fragment-path-ids.enabled:false}")
+    private boolean fragmentPathIdsEnabled;
+
     @Override
     public Collection<FragmentEntity> prefetchDescendantsOfFragmentEntities(
             final FetchDescendantsOption fetchDescendantsOption,
@@ -54,13 +71,9 @@ public class FragmentPrefetchRepositoryImpl implements FragmentPrefetchRepositor
 
         final List<Long> fragmentEntityIds = proxiedFragmentEntities.stream().map(FragmentEntity::getId).toList();
 
-        final Map<Long, AnchorEntity> anchorEntityPerId = proxiedFragmentEntities.stream()
-                .map(FragmentEntity::getAnchor)
-                .collect(Collectors.toMap(AnchorEntity::getId, anchor -> anchor, (anchor1, anchor2) -> anchor1));
+        final Map<Long, AnchorEntity> anchorEntityPerId = getAnchorEntityPerId(proxiedFragmentEntities);
 
-        final int maxDepth = fetchDescendantsOption.equals(FetchDescendantsOption.INCLUDE_ALL_DESCENDANTS)
-                ? Integer.MAX_VALUE
-                : fetchDescendantsOption.getDepth();
+        final int maxDepth = getMaxDepth(fetchDescendantsOption);
         return findFragmentEntitiesWithDescendantsByIds(fragmentEntityIds, anchorEntityPerId, maxDepth);
     }
 
@@ -68,7 +81,9 @@ public class FragmentPrefetchRepositoryImpl implements FragmentPrefetchRepositor
             final Collection<Long> fragmentEntityIds,
             final Map<Long, AnchorEntity> anchorEntityPerId,
             final int maxDepth) {
-        final String sql = """
+        // the materialized path is only faster when all descendants are needed, a depth limit cannot use the index
+        final boolean useFragmentPathIds = fragmentPathIdsEnabled && maxDepth == Integer.MAX_VALUE;
+        final String sql = useFragmentPathIds ? ALL_DESCENDANTS_BY_PATH_IDS_SQL : """
                 WITH RECURSIVE fragment_hierarchy AS (
                     SELECT id, anchor_id, xpath, parent_id, attributes, 0 AS depth
                     FROM fragment
@@ -87,10 +102,81 @@ public class FragmentPrefetchRepositoryImpl implements FragmentPrefetchRepositor
             final Connection connection = preparedStatement.getConnection();
             final java.sql.Array idArray = connection.createArrayOf("bigint", fragmentEntityIds.toArray());
             preparedStatement.setArray(1, idArray);
+            if (!useFragmentPathIds) {
+                preparedStatement.setInt(2, maxDepth);
+            }
+        };
+
+        final RowMapper<FragmentEntity> fragmentEntityRowMapper = createFragmentEntityRowMapper(anchorEntityPerId);
+
+        final Map<Long, FragmentEntity> fragmentEntityPerId;
+        try (final Stream<FragmentEntity> fragmentEntityStream = jdbcTemplate.queryForStream(sql,
+                preparedStatementSetter, fragmentEntityRowMapper)) {
+            fragmentEntityPerId = fragmentEntityStream.collect(
+                    Collectors.toMap(FragmentEntity::getId, Function.identity()));
+        }
+        return reuniteChildrenWithTheirParents(fragmentEntityPerId);
+    }
+
+    @Override
+    public void streamDescendantsOfFragmentEntities(final FetchDescendantsOption fetchDescendantsOption,
+                                                    final Collection<FragmentEntity> proxiedFragmentEntities,
+                                                    final Consumer<FragmentEntity> fragmentEntityConsumer) {
+        final List<Long> fragmentEntityIds = proxiedFragmentEntities.stream().map(FragmentEntity::getId).toList();
+
+        final Map<Long, AnchorEntity> anchorEntityPerId = getAnchorEntityPerId(proxiedFragmentEntities);
+
+        final int maxDepth = getMaxDepth(fetchDescendantsOption);
+
+        // Sorting on the array of ancestor xpaths (byte order) returns every fragment directly after its parent
+        // and keeps subtrees and the elements of a list together i.e. a depth-first traversal of the tree
+        final String sql = """
+                WITH RECURSIVE fragment_hierarchy AS (
+                    SELECT id, anchor_id, xpath, parent_id, attributes, 0 AS depth, ARRAY[xpath] AS path
+                    FROM fragment
+                    WHERE id = ANY(?)
+                  UNION ALL
+                    SELECT child.id, child.anchor_id, child.xpath, child.parent_id, child.attributes, depth + 1,
+                           parent.path || child.xpath
+                    FROM fragment child
+                    INNER JOIN fragment_hierarchy parent ON child.parent_id = parent.id
+                    WHERE depth < ?
+                )
+                SELECT id, anchor_id AS anchorId, xpath, parent_id AS parentId, attributes
+                FROM fragment_hierarchy
+                ORDER BY path COLLATE "C";
+                """;
+
+        final PreparedStatementCreator preparedStatementCreator = connection -> {
+            final PreparedStatement preparedStatement = connection.prepareStatement(sql);
+            // a fetch size makes the driver use a server side cursor (within a transaction)
+            preparedStatement.setFetchSize(STREAMING_FETCH_SIZE);
+            preparedStatement.setArray(1, connection.createArrayOf("bigint", fragmentEntityIds.toArray()));
             preparedStatement.setInt(2, maxDepth);
+            return preparedStatement;
         };
 
-        final RowMapper<FragmentEntity> fragmentEntityRowMapper = (resultSet, rowNum) -> {
+        final RowMapper<FragmentEntity> fragmentEntityRowMapper = createFragmentEntityRowMapper(anchorEntityPerId);
+        final RowCallbackHandler rowCallbackHandler = resultSet ->
+                fragmentEntityConsumer.accept(fragmentEntityRowMapper.mapRow(resultSet, resultSet.getRow()));
+        jdbcTemplate.query(preparedStatementCreator, rowCallbackHandler);
+    }
+
+    private static Map<Long, AnchorEntity> getAnchorEntityPerId(final Collection<FragmentEntity> fragmentEntities) {
+        return fragmentEntities.stream()
+                .map(FragmentEntity::getAnchor)
+                .collect(Collectors.toMap(AnchorEntity::getId, anchor -> anchor, (anchor1, anchor2) -> anchor1));
+    }
+
+    private static int getMaxDepth(final FetchDescendantsOption fetchDescendantsOption) {
+        return fetchDescendantsOption.equals(FetchDescendantsOption.INCLUDE_ALL_DESCENDANTS)
+                ? Integer.MAX_VALUE
+                : fetchDescendantsOption.getDepth();
+    }
+
+    private static RowMapper<FragmentEntity> createFragmentEntityRowMapper(
+            final Map<Long, AnchorEntity> anchorEntityPerId) {
+        return (resultSet, rowNum) -> {
             final FragmentEntity fragmentEntity = new FragmentEntity();
             fragmentEntity.setId(resultSet.getLong("id"));
             fragmentEntity.setXpath(resultSet.getString("xpath"));
@@ -100,14 +186,6 @@ public class FragmentPrefetchRepositoryImpl implements FragmentPrefetchRepositor
             fragmentEntity.setChildFragments(new HashSet<>());
             return fragmentEntity;
         };
-
-        final Map<Long, FragmentEntity> fragmentEntityPerId;
-        try (final Stream<FragmentEntity> fragmentEntityStream = jdbcTemplate.queryForStream(sql,
-                preparedStatementSetter, fragmentEntityRowMapper)) {
-            fragmentEntityPerId = fragmentEntityStream.collect(
-                    Collectors.toMap(FragmentEntity::getId, Function.identity()));
-        }
-        return reuniteChildrenWithTheirParents(fragmentEntityPerId);
     }
 
     private static Collection<FragmentEntity> reuniteChildrenWithTheirParents(
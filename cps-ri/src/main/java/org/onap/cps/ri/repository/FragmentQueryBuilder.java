@@ -40,6 +40,7 @@ import org.onap.cps.ri.models.AnchorEntity;
 import org.onap.cps.ri.models.DataspaceEntity;
 import org.onap.cps.ri.models.FragmentEntity;
 import org.onap.cps.ri.utils.EscapeUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @SuppressWarnings("unused")
@@ -51,6 +52,11 @@ public class FragmentQueryBuilder {
     @PersistenceContext
     private EntityManager entityManager;
 
+    private final FragmentAttributeIndexRepository fragmentAttributeIndexRepository;
+
+    @Value("${app.cps.fragment-path-ids.enabled:false}")
+    private boolean fragmentPathIdsEnabled;
+
     /**
      * Create a sql query to retrieve by anchor(id) and cps path with an optional queryResultLimit on results.
      *
@@ -73,6 +79,9 @@ public class FragmentQueryBuilder {
             sqlStringBuilder.append(" AND jsonb_exists(fragment.attributes, :attributeName)");
         }
         addNodeSearchConditions(cpsPathQuery, sqlStringBuilder, queryParameters, false);
+        if (canUseAttributeIndex(anchorEntity, cpsPathQuery)) {
+            addAttributeIndexConditions(cpsPathQuery, sqlStringBuilder, queryParameters);
+        }
         addSearchSuffix(cpsPathQuery, sqlStringBuilder, queryParameters);
         addLimitClause(sqlStringBuilder, queryParameters, queryResultLimit);
         if (cpsPathQuery.hasAttributeAxis()) {
@@ -109,6 +118,7 @@ public class FragmentQueryBuilder {
 
     /**
      * Get query for dataspace, cps path, page index and page size.
+     * Anchors are paged in order of their id, or in binary order of their name when paging after an anchor name.
      * @param dataspaceEntity data space entity
      * @param cpsPathQuery cps path query
      * @param paginationOption pagination option
@@ -120,11 +130,39 @@ public class FragmentQueryBuilder {
         final StringBuilder sqlStringBuilder = new StringBuilder();
         final Map<String, Object> queryParameters = new HashMap<>();
 
-        sqlStringBuilder.append("SELECT distinct(fragment.anchor_id) FROM fragment");
+        if (paginationOption.hasAfterAnchorName()) {
+            sqlStringBuilder.append("SELECT fragment.anchor_id FROM fragment");
+            addWhereClauseForDataspace(dataspaceEntity, sqlStringBuilder, queryParameters);
+            addAfterAnchorNameCondition(sqlStringBuilder, queryParameters, paginationOption);
+            addNodeSearchConditions(cpsPathQuery, sqlStringBuilder, queryParameters, true);
+            sqlStringBuilder.append(" GROUP BY fragment.anchor_id, anchor.name ORDER BY anchor.name COLLATE \"C\"");
+        } else {
+            sqlStringBuilder.append("SELECT distinct(fragment.anchor_id) FROM fragment");
+            addWhereClauseForDataspace(dataspaceEntity, sqlStringBuilder, queryParameters);
+            addNodeSearchConditions(cpsPathQuery, sqlStringBuilder, queryParameters, true);
+            sqlStringBuilder.append(" ORDER BY fragment.anchor_id");
+        }
+        addPaginationCondition(sqlStringBuilder, queryParameters, paginationOption);
+
+        return getQuery(sqlStringBuilder.toString(), queryParameters, Long.class);
+    }
+
+    /**
+     * Get query to count the anchors in a dataspace that have data nodes matching a cps path.
+     * @param dataspaceEntity data space entity
+     * @param cpsPathQuery cps path query
+     * @param paginationOption pagination option, only anchors after its anchor name (if any) are counted
+     * @return query returning the number of distinct anchors
+     */
+    public Query getQueryForAnchorCount(final DataspaceEntity dataspaceEntity, final CpsPathQuery cpsPathQuery,
+                                        final PaginationOption paginationOption) {
+        final StringBuilder sqlStringBuilder = new StringBuilder();
+        final Map<String, Object> queryParameters = new HashMap<>();
+
+        sqlStringBuilder.append("SELECT COUNT(DISTINCT fragment.anchor_id) FROM fragment");
         addWhereClauseForDataspace(dataspaceEntity, sqlStringBuilder, queryParameters);
+        addAfterAnchorNameCondition(sqlStringBuilder, queryParameters, paginationOption);
         addNodeSearchConditions(cpsPathQuery, sqlStringBuilder, queryParameters, true);
-        sqlStringBuilder.append(" ORDER BY fragment.anchor_id");
-        addPaginationCondition(sqlStringBuilder, queryParameters, paginationOption);
 
         return getQuery(sqlStringBuilder.toString(), queryParameters, Long.class);
     }
@@ -152,7 +190,8 @@ public class FragmentQueryBuilder {
     private static void addWhereClauseForDataspace(final DataspaceEntity dataspaceEntity,
                                                    final StringBuilder sqlStringBuilder,
                                                    final Map<String, Object> queryParameters) {
-        sqlStringBuilder.append(" JOIN anchor ON anchor.id = fragment.anchor_id WHERE dataspace_id = :dataspaceId");
+        sqlStringBuilder.append(" JOIN anchor ON anchor.id = fragment.anchor_id WHERE dataspace_id = :dataspaceId"
+            + " AND anchor.deleted_at IS NULL");
         queryParameters.put("dataspaceId", dataspaceEntity.getId());
     }
 
@@ -221,6 +260,15 @@ public class FragmentQueryBuilder {
         }
     }
 
+    private static void addAfterAnchorNameCondition(final StringBuilder sqlStringBuilder,
+                                                    final Map<String, Object> queryParameters,
+                                                    final PaginationOption paginationOption) {
+        if (PaginationOption.NO_PAGINATION != paginationOption && paginationOption.hasAfterAnchorName()) {
+            sqlStringBuilder.append(" AND anchor.name COLLATE \"C\" > :afterAnchorName");
+            queryParameters.put("afterAnchorName", paginationOption.getAfterAnchorName());
+        }
+    }
+
     private static void addPaginationCondition(final StringBuilder sqlStringBuilder,
                                                final Map<String, Object> queryParameters,
                                                final PaginationOption paginationOption) {
@@ -279,6 +327,59 @@ public class FragmentQueryBuilder {
         }
     }
 
+    private boolean canUseAttributeIndex(final AnchorEntity anchorEntity, final CpsPathQuery cpsPathQuery) {
+        return cpsPathQuery.hasLeafConditions()
+                && cpsPathQuery.getLeafConditions().stream().allMatch(FragmentQueryBuilder::isCoveredByAttributeIndex)
+                && fragmentAttributeIndexRepository.isAttributeIndexEnabled(anchorEntity);
+    }
+
+    private static boolean isCoveredByAttributeIndex(final CpsPathQuery.LeafCondition leafCondition) {
+        return leafCondition.value() instanceof Integer
+                || "=".equals(leafCondition.operator())
+                    && leafCondition.value().toString().length()
+                        <= FragmentAttributeIndexRepository.MAX_INDEXED_VALUE_LENGTH;
+    }
+
+    /**
+     * Narrows down the candidate fragments using the attribute index. Each index condition matches a superset of
+     * the fragments matched by the corresponding leaf condition, so the (jsonb) leaf conditions still decide the
+     * final result.
+     */
+    private static void addAttributeIndexConditions(final CpsPathQuery cpsPathQuery,
+                                                    final StringBuilder sqlStringBuilder,
+                                                    final Map<String, Object> queryParameters) {
+        final boolean isAbsolutePath = CpsPathPrefixType.ABSOLUTE.equals(cpsPathQuery.getCpsPathPrefixType());
+        if (isAbsolutePath) {
+            queryParameters.put("indexXpathPrefix", cpsPathQuery.getXpathPrefix());
+        }
+        sqlStringBuilder.append(" AND (");
+        final Queue<String> booleanOperatorsQueue = new LinkedList<>(cpsPathQuery.getBooleanOperators());
+        int leafConditionIndex = 0;
+        for (final CpsPathQuery.LeafCondition leafCondition : cpsPathQuery.getLeafConditions()) {
+            final String leafNameParameterName = "indexLeafName" + leafConditionIndex;
+            final String leafValueParameterName = "indexLeafValue" + leafConditionIndex;
+            sqlStringBuilder.append("fragment.id IN (SELECT fragment_id FROM fragment_attribute_index"
+                    + " WHERE anchor_id = :anchorId AND leaf_name = :").append(leafNameParameterName);
+            if (isAbsolutePath) {
+                sqlStringBuilder.append(" AND schema_node_path = cps_schema_node_path(:indexXpathPrefix)");
+            }
+            if (leafCondition.value() instanceof Integer) {
+                sqlStringBuilder.append(" AND numeric_value ").append(leafCondition.operator());
+                queryParameters.put(leafValueParameterName, leafCondition.value());
+            } else {
+                sqlStringBuilder.append(" AND text_value =");
+                queryParameters.put(leafValueParameterName, leafCondition.value().toString());
+            }
+            sqlStringBuilder.append(" :").append(leafValueParameterName).append(")");
+            queryParameters.put(leafNameParameterName, leafCondition.name());
+            if (!booleanOperatorsQueue.isEmpty()) {
+                sqlStringBuilder.append(" ").append(booleanOperatorsQueue.poll()).append(" ");
+            }
+            leafConditionIndex++;
+        }
+        sqlStringBuilder.append(")");
+    }
+
     private static void addTextFunctionCondition(final CpsPathQuery cpsPathQuery,
                                                  final StringBuilder sqlStringBuilder,
                                                  final Map<String, Object> queryParameters) {
@@ -311,8 +412,15 @@ public class FragmentQueryBuilder {
         }
     }
 
-    private static void addSearchPrefix(final CpsPathQuery cpsPathQuery, final StringBuilder sqlStringBuilder) {
-        if (cpsPathQuery.hasAncestorAxis()) {
+    private void addSearchPrefix(final CpsPathQuery cpsPathQuery, final StringBuilder sqlStringBuilder) {
+        if (cpsPathQuery.hasAncestorAxis() && fragmentPathIdsEnabled) {
+            // the materialized path of a fragment contains the ids of all its ancestors, no recursion needed
+            sqlStringBuilder.append("""
+                WITH ancestors AS (
+                    SELECT ancestorFragment.* FROM fragment ancestorFragment
+                    WHERE ancestorFragment.id IN (
+                        SELECT unnest(path_ids[1:cardinality(path_ids) - 1]) FROM fragment""");
+        } else if (cpsPathQuery.hasAncestorAxis()) {
             sqlStringBuilder.append("""
                 WITH RECURSIVE ancestors AS (
                     SELECT parentFragment.* FROM fragment parentFragment
@@ -326,11 +434,17 @@ public class FragmentQueryBuilder {
         }
     }
 
-    private static void addSearchSuffix(final CpsPathQuery cpsPathQuery,
-                                        final StringBuilder sqlStringBuilder,
-                                        final Map<String, Object> queryParameters) {
+    private void addSearchSuffix(final CpsPathQuery cpsPathQuery,
+                                 final StringBuilder sqlStringBuilder,
+                                 final Map<String, Object> queryParameters) {
         if (cpsPathQuery.hasAncestorAxis()) {
-            sqlStringBuilder.append("""
+            if (fragmentPathIdsEnabled) {
+                sqlStringBuilder.append("""
+                          )
+                        )
+                        """);
+            } else {
+                sqlStringBuilder.append("""
                           )
                           UNION
                             SELECT fragment.*
@@ -338,6 +452,7 @@ public class FragmentQueryBuilder {
                             JOIN ancestors ON ancestors.parent_id = fragment.id
                         )
                         """);
+            }
             if (cpsPathQuery.hasAttributeAxis()) {
                 sqlStringBuilder.append("""
                          SELECT DISTINCT (attributes -> :attributeName) FROM ancestors WHERE
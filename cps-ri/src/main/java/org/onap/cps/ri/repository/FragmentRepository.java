@@ -36,7 +36,8 @@ import org.springframework.stereotype.Repository;
 
 @Repository
 public interface FragmentRepository extends JpaRepository<FragmentEntity, Long>, FragmentRepositoryCpsPathQuery,
-        FragmentPrefetchRepository {
+        FragmentPrefetchRepository, FragmentBulkInsertRepository, FragmentBatchUpdateRepository,
+        FragmentBatchDeleteRepository {
 
     @Query(value = "SELECT * FROM fragment WHERE anchor_id = :anchorId AND xpath = :xpath", nativeQuery = true)
     FragmentEntity findByAnchorIdAndXpath(@Param("anchorId") long anchorId, @Param("xpath") String xpath);
@@ -70,39 +71,6 @@ public interface FragmentRepository extends JpaRepository<FragmentEntity, Long>,
         deleteByAnchorIdIn(anchorEntities.stream().map(AnchorEntity::getId).toList());
     }
 
-    @Modifying
-    @Query(value = "DELETE FROM fragment WHERE anchor_id = :anchorId AND xpath IN (:xpaths)", nativeQuery = true)
-    void deleteByAnchorIdAndXpaths(@Param("anchorId") long anchorId, @Param("xpaths") Collection<String> xpaths);
-
-    @Modifying
-    @Query(value = "DELETE FROM fragment f WHERE anchor_id = :anchorId AND xpath LIKE :xpathPattern",
-        nativeQuery = true)
-    void deleteByAnchorIdAndXpathLike(@Param("anchorId") long anchorId, @Param("xpathPattern") String xpathPattern);
-
-    default void deleteListByAnchorIdAndXpath(final long anchorId, final String xpath) {
-        deleteByAnchorIdAndXpathLike(anchorId, EscapeUtils.escapeForSqlLike(xpath) + "[@%");
-    }
-
-    @Query(value = "SELECT xpath FROM fragment WHERE anchor_id = :anchorId AND xpath IN (:xpaths)",
-        nativeQuery = true)
-    List<String> findAllXpathByAnchorIdAndXpathIn(@Param("anchorId") long anchorId,
-                                                  @Param("xpaths") Collection<String> xpaths);
-
-    default List<String> findAllXpathByAnchorAndXpathIn(final AnchorEntity anchorEntity,
-                                                        final Collection<String> xpaths) {
-        return findAllXpathByAnchorIdAndXpathIn(anchorEntity.getId(), xpaths);
-    }
-
-    @Query(value = "SELECT EXISTS(SELECT 1 FROM fragment WHERE anchor_id = :anchorId"
-            + " AND xpath LIKE :xpathPattern LIMIT 1)", nativeQuery = true)
-    boolean existsByAnchorIdAndParentXpathAndXpathLike(@Param("anchorId") long anchorId,
-                                                       @Param("xpathPattern") String xpathPattern);
-
-    default boolean existsByAnchorAndXpathStartsWith(final AnchorEntity anchorEntity, final String xpath) {
-        return existsByAnchorIdAndParentXpathAndXpathLike(anchorEntity.getId(),
-                EscapeUtils.escapeForSqlLike(xpath) + "%");
-    }
-
     @Query(value = "SELECT * FROM fragment WHERE anchor_id = :anchorId AND parent_id IS NULL", nativeQuery = true)
     List<FragmentEntity> findRootsByAnchorId(@Param("anchorId") long anchorId);
 
@@ -23,6 +23,7 @@ package org.onap.cps.ri.repository;
 
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import org.onap.cps.api.parameters.PaginationOption;
 import org.onap.cps.cpspath.parser.CpsPathQuery;
 import org.onap.cps.ri.models.AnchorEntity;
@@ -43,4 +44,10 @@ public interface FragmentRepositoryCpsPathQuery {
     List<Long> findAnchorIdsForPagination(DataspaceEntity dataspaceEntity, CpsPathQuery cpsPathQuery,
                                           PaginationOption paginationOption);
 
+    long countAnchorsByDataspaceAndCpsPath(DataspaceEntity dataspaceEntity, CpsPathQuery cpsPathQuery,
+                                           PaginationOption paginationOption);
+
+    void streamByDataspaceAndCpsPath(DataspaceEntity dataspaceEntity, CpsPathQuery cpsPathQuery,
+                                     int anchorsPerChunk, Consumer<List<FragmentEntity>> fragmentEntitiesConsumer);
+
 }
@@ -21,13 +21,19 @@
 
 package org.onap.cps.ri.repository;
 
+import com.google.common.collect.Iterators;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
 import jakarta.transaction.Transactional;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
 import org.onap.cps.api.parameters.PaginationOption;
 import org.onap.cps.cpspath.parser.CpsPathQuery;
 import org.onap.cps.ri.models.AnchorEntity;
@@ -43,6 +49,9 @@ public class FragmentRepositoryCpsPathQueryImpl implements FragmentRepositoryCps
     private final FragmentQueryBuilder fragmentQueryBuilder;
     private final JsonObjectMapper jsonObjectMapper;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     @Transactional
     public List<FragmentEntity> findByAnchorAndCpsPath(final AnchorEntity anchorEntity,
@@ -98,4 +107,36 @@ public class FragmentRepositoryCpsPathQueryImpl implements FragmentRepositoryCps
         return query.getResultList();
     }
 
+    @Override
+    @Transactional
+    public long countAnchorsByDataspaceAndCpsPath(final DataspaceEntity dataspaceEntity,
+                                                  final CpsPathQuery cpsPathQuery,
+                                                  final PaginationOption paginationOption) {
+        final Query query = fragmentQueryBuilder.getQueryForAnchorCount(dataspaceEntity, cpsPathQuery,
+            paginationOption);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    @Transactional
+    public void streamByDataspaceAndCpsPath(final DataspaceEntity dataspaceEntity,
+                                            final CpsPathQuery cpsPathQuery,
+                                            final int anchorsPerChunk,
+                                            final Consumer<List<FragmentEntity>> fragmentEntitiesConsumer) {
+        final Query anchorIdsQuery = fragmentQueryBuilder.getQueryForAnchorIdsForPagination(
+                dataspaceEntity, cpsPathQuery, PaginationOption.NO_PAGINATION);
+        // a fetch size makes the driver use a server side cursor (within a transaction)
+        anchorIdsQuery.setHint(HibernateHints.HINT_FETCH_SIZE, anchorsPerChunk);
+        try (final Stream<Long> anchorIds = anchorIdsQuery.getResultStream()) {
+            Iterators.partition(anchorIds.iterator(), anchorsPerChunk).forEachRemaining(anchorIdsChunk -> {
+                final List<FragmentEntity> fragmentEntities =
+                        findByDataspaceAndCpsPath(dataspaceEntity, cpsPathQuery, anchorIdsChunk);
+                fragmentEntitiesConsumer.accept(fragmentEntities);
+                // only the current chunk is kept in the persistence context
+                fragmentEntities.forEach(entityManager::detach);
+            });
+        }
+    }
+
 }
@@ -20,16 +20,14 @@
 
 package org.onap.cps.ri.repository;
 
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.PersistenceContext;
-import java.util.ArrayList;
+import java.sql.Connection;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
-import java.util.List;
+import java.util.LinkedHashSet;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import org.onap.cps.api.model.ModuleReference;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
 import org.springframework.transaction.annotation.Transactional;
 
 @SuppressWarnings("unused")
@@ -37,13 +35,19 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class ModuleReferenceRepositoryImpl implements ModuleReferenceQuery {
 
-    @PersistenceContext
-    private EntityManager entityManager;
+    // the module references are bound as two arrays, so this is one prepared (cacheable) statement without any DDL
+    private static final String NEW_MODULE_REFERENCES_SQL = """
+            SELECT moduleReferenceToCheck.module_name, moduleReferenceToCheck.revision
+            FROM unnest(?, ?) AS moduleReferenceToCheck(module_name, revision)
+            LEFT JOIN yang_resource
+            ON yang_resource.module_name = moduleReferenceToCheck.module_name
+            AND yang_resource.revision = moduleReferenceToCheck.revision
+            WHERE yang_resource.module_name IS NULL
+            """;
 
-    private final TempTableCreator tempTableCreator;
+    private final JdbcTemplate jdbcTemplate;
 
     @Override
-    @SneakyThrows
     public Collection<ModuleReference> identifyNewModuleReferences(
             final Collection<ModuleReference> moduleReferencesToCheck) {
 
@@ -51,37 +55,22 @@ public class ModuleReferenceRepositoryImpl implements ModuleReferenceQuery {
             return Collections.emptyList();
         }
 
-        final Collection<List<String>> sqlData = new HashSet<>(moduleReferencesToCheck.size());
-        for (final ModuleReference moduleReference : moduleReferencesToCheck) {
-            final List<String> row = new ArrayList<>(2);
-            row.add(moduleReference.getModuleName());
-            row.add(moduleReference.getRevision());
-            sqlData.add(row);
+        final Collection<ModuleReference> distinctModuleReferences = new LinkedHashSet<>(moduleReferencesToCheck);
+        final String[] moduleNames = new String[distinctModuleReferences.size()];
+        final String[] revisions = new String[distinctModuleReferences.size()];
+        int index = 0;
+        for (final ModuleReference moduleReference : distinctModuleReferences) {
+            moduleNames[index] = moduleReference.getModuleName();
+            revisions[index] = moduleReference.getRevision();
+            index++;
         }
 
-        final String tempTableName = tempTableCreator.createTemporaryTable(
-            "moduleReferencesToCheckTemp", sqlData, List.of("module_name", "revision"));
-
-        return identifyNewModuleReferencesForCmHandle(tempTableName);
-    }
-
-    @SuppressWarnings("squid:S2077") // tempTableName is generated internally, not from user input
-    private Collection<ModuleReference> identifyNewModuleReferencesForCmHandle(final String tempTableName) {
-        final String sql = """
-                SELECT %1$s.module_name, %1$s.revision
-                FROM %1$s
-                LEFT JOIN yang_resource
-                ON yang_resource.module_name=%1$s.module_name AND yang_resource.revision=%1$s.revision
-                WHERE yang_resource.module_name IS NULL;
-                """.formatted(tempTableName);
-
-        @SuppressWarnings("unchecked")
-        final List<Object[]> resultsAsObjects = entityManager.createNativeQuery(sql).getResultList();
-
-        final List<ModuleReference> resultsAsModuleReferences = new ArrayList<>(resultsAsObjects.size());
-        for (final Object[] row : resultsAsObjects) {
-            resultsAsModuleReferences.add(new ModuleReference((String) row[0], (String) row[1]));
-        }
-        return resultsAsModuleReferences;
+        final PreparedStatementSetter preparedStatementSetter = preparedStatement -> {
+            final Connection connection = preparedStatement.getConnection();
+            preparedStatement.setArray(1, connection.createArrayOf("text", moduleNames));
+            preparedStatement.setArray(2, connection.createArrayOf("text", revisions));
+        };
+        return jdbcTemplate.query(NEW_MODULE_REFERENCES_SQL, preparedStatementSetter, (resultSet, rowNumber) ->
+                new ModuleReference(resultSet.getString("module_name"), resultSet.getString("revision")));
     }
 }
@@ -40,6 +40,9 @@ public interface SchemaSetRepository extends JpaRepository<SchemaSetEntity, Inte
 
     Optional<SchemaSetEntity> findByDataspaceAndName(DataspaceEntity dataspaceEntity, String schemaSetName);
 
+    Optional<SchemaSetEntity> findFirstByDataspaceAndModuleFingerprint(DataspaceEntity dataspaceEntity,
+                                                                       String moduleFingerprint);
+
     /**
      * Gets schema sets by dataspace.
      * @param dataspaceEntity dataspace entity
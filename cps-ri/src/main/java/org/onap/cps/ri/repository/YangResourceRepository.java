@@ -53,6 +53,21 @@ public interface YangResourceRepository extends JpaRepository<YangResourceEntity
             """, nativeQuery = true)
     Set<YangResourceModuleReference> findAllModuleReferencesByDataspace(@Param("dataspaceName") String dataspaceName);
 
+    @Query(value = """
+            SELECT
+                md5(string_agg(yang_resource.checksum, ',' ORDER BY yang_resource.checksum))
+            FROM
+                     dataspace
+                JOIN schema_set ON schema_set.dataspace_id = dataspace.id
+                JOIN schema_set_yang_resources ON schema_set_yang_resources.schema_set_id = schema_set.id
+                JOIN yang_resource ON yang_resource.id = schema_set_yang_resources.yang_resource_id
+            WHERE
+                    dataspace.name = :dataspaceName
+                AND schema_set.name = :schemaSetName
+            """, nativeQuery = true)
+    String getChecksumFingerprintByDataspaceAndSchemaSet(@Param("dataspaceName") String dataspaceName,
+                                                         @Param("schemaSetName") String schemaSetName);
+
     @Query(value = """
             SELECT DISTINCT
                 yang_resource.module_name AS module_name,
@@ -66,6 +81,7 @@ public interface YangResourceRepository extends JpaRepository<YangResourceEntity
             WHERE
                     dataspace.name = :dataspaceName
                 AND anchor.name = :anchorName
+                AND anchor.deleted_at IS NULL
             """, nativeQuery = true)
     Set<YangResourceModuleReference> findAllModuleReferencesByDataspaceAndAnchor(
         @Param("dataspaceName") String dataspaceName, @Param("anchorName") String anchorName);
@@ -82,6 +98,7 @@ public interface YangResourceRepository extends JpaRepository<YangResourceEntity
             WHERE
                     dataspace.name = :dataspaceName
                 AND anchor.name = :anchorName
+                AND anchor.deleted_at IS NULL
                 AND (:moduleName IS NULL OR yang_resource.module_name = :moduleName)
                 AND (:revision IS NULL OR yang_resource.revision = :revision)
             """, nativeQuery = true)
@@ -0,0 +1,139 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.ri.tombstone;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.onap.cps.ri.repository.AnchorTombstoneRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Removes the fragments of tombstoned (deleted) anchors in the background.
+ * Fragments are deleted in bounded chunks, each in its own transaction, with a pause between chunks to limit the
+ * load on the database. The row of a tombstoned anchor is only deleted once all its fragments are deleted.
+ * Tombstones are persisted, so reclaiming resumes after a restart.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.cps.anchor-tombstone.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class AnchorTombstoneReclaimer implements MeterBinder {
+
+    private static final String METRIC_PREFIX = "cps.anchor.tombstone.";
+
+    private final AnchorTombstoneRepository anchorTombstoneRepository;
+
+    private final AtomicInteger pendingTombstoneCount = new AtomicInteger();
+    private final LongAdder reclaimedFragmentCount = new LongAdder();
+    private final LongAdder reclaimedAnchorCount = new LongAdder();
+
+    // not a bean: reclaiming (and pausing between chunks) must not hold up the scheduler of other scheduled tasks
+    private final ThreadPoolTaskScheduler reclaimTaskScheduler = new ThreadPoolTaskScheduler();
+
+    @Value("${app.cps.anchor-tombstone.reclaim-interval-ms:10000}")
+    private long reclaimIntervalMs = 10000;
+
+    @Value("${app.cps.anchor-tombstone.reclaim-chunk-size:1000}")
+    private int reclaimChunkSize = 1000;
+
+    @Value("${app.cps.anchor-tombstone.reclaim-pause-ms:100}")
+    private long reclaimPauseMs = 100;
+
+    @Override
+    public void bindTo(final MeterRegistry meterRegistry) {
+        Gauge.builder(METRIC_PREFIX + "pending", pendingTombstoneCount, AtomicInteger::get)
+            .description("Number of deleted anchors of which the fragments are not reclaimed yet")
+            .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + "reclaimed.fragments", reclaimedFragmentCount, LongAdder::sum)
+            .description("Number of fragments of deleted anchors reclaimed").register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + "reclaimed.anchors", reclaimedAnchorCount, LongAdder::sum)
+            .description("Number of deleted anchors of which all fragments are reclaimed").register(meterRegistry);
+    }
+
+    /**
+     * Start reclaiming tombstoned anchors periodically, on a dedicated thread.
+     */
+    @PostConstruct
+    public void startReclaiming() {
+        reclaimTaskScheduler.setPoolSize(1);
+        reclaimTaskScheduler.setThreadNamePrefix("anchor-tombstone-reclaimer-");
+        reclaimTaskScheduler.initialize();
+        reclaimTaskScheduler.scheduleWithFixedDelay(this::reclaimTombstonedAnchors,
+            Duration.ofMillis(reclaimIntervalMs));
+    }
+
+    /**
+     * Stop reclaiming, an interrupted run continues with the next chunk on a next start.
+     */
+    @PreDestroy
+    public void stopReclaiming() {
+        reclaimTaskScheduler.shutdown();
+    }
+
+    /**
+     * Reclaim the fragments of all tombstoned anchors.
+     */
+    public void reclaimTombstonedAnchors() {
+        final List<Long> anchorIds = anchorTombstoneRepository.findTombstonedAnchorIds();
+        pendingTombstoneCount.set(anchorIds.size());
+        for (final Long anchorId : anchorIds) {
+            if (!reclaimFragments(anchorId)) {
+                return;
+            }
+            // fragments skipped because another instance is reclaiming them keep the anchor until the next run
+            if (anchorTombstoneRepository.deleteTombstonedAnchor(anchorId)) {
+                reclaimedAnchorCount.increment();
+                pendingTombstoneCount.decrementAndGet();
+                log.debug("Reclaimed all fragments of deleted anchor with id {}", anchorId);
+            }
+        }
+    }
+
+    private boolean reclaimFragments(final long anchorId) {
+        while (true) {
+            final int deletedFragmentCount = anchorTombstoneRepository.deleteFragments(anchorId, reclaimChunkSize);
+            if (deletedFragmentCount == 0) {
+                return true;
+            }
+            reclaimedFragmentCount.add(deletedFragmentCount);
+            try {
+                TimeUnit.MILLISECONDS.sleep(reclaimPauseMs);
+            } catch (final InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+   ============LICENSE_START=======================================================
+    Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+   ================================================================================
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+        http://www.apache.org/licenses/LICENSE-2.0
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+   SPDX-License-Identifier: Apache-2.0
+   ============LICENSE_END=========================================================
+*/
+
+-- Anchors for which the leaf attributes of all fragments are indexed (opt-in)
+-- The existing fragments of an anchor are indexed in chunks (by fragment id) after it has been registered,
+-- the index is only used for queries once that backfill is completed.
+CREATE TABLE attribute_indexed_anchor (
+    anchor_id              BIGINT PRIMARY KEY REFERENCES anchor (id) ON DELETE CASCADE,
+    backfilled_fragment_id BIGINT  NOT NULL DEFAULT 0,
+    backfill_completed     BOOLEAN NOT NULL DEFAULT FALSE
+);
+
+-- One row per leaf of each fragment of an indexed anchor.
+-- Only values up to 256 characters are indexed, longer values can never match an indexed query condition.
+CREATE TABLE fragment_attribute_index (
+    fragment_id      BIGINT NOT NULL REFERENCES fragment (id) ON DELETE CASCADE,
+    anchor_id        BIGINT NOT NULL,
+    schema_node_path TEXT   NOT NULL,
+    leaf_name        TEXT   NOT NULL,
+    text_value       TEXT   NOT NULL,
+    numeric_value    NUMERIC,
+    PRIMARY KEY (fragment_id, leaf_name)
+);
+
+CREATE INDEX idx_fragment_attribute_index_text_value
+    ON fragment_attribute_index (anchor_id, leaf_name, text_value, schema_node_path);
+
+CREATE INDEX idx_fragment_attribute_index_numeric_value
+    ON fragment_attribute_index (anchor_id, leaf_name, numeric_value)
+    WHERE numeric_value IS NOT NULL;
+
+-- Path of the schema node of a fragment i.e. its xpath without any list key predicates
+CREATE FUNCTION cps_schema_node_path(xpath TEXT) RETURNS TEXT
+    LANGUAGE sql IMMUTABLE STRICT PARALLEL SAFE
+AS $$
+    SELECT regexp_replace(xpath, '\[@([^]''"]|''[^'']*''|"[^"]*")*\]', '', 'g')
+$$;
+
+CREATE FUNCTION cps_index_fragment_attributes() RETURNS TRIGGER
+    LANGUAGE plpgsql
+AS $$
+BEGIN
+    IF TG_OP = 'UPDATE' THEN
+        IF OLD.attributes IS NOT DISTINCT FROM NEW.attributes AND OLD.xpath = NEW.xpath THEN
+            RETURN NULL;
+        END IF;
+        DELETE FROM fragment_attribute_index WHERE fragment_id = NEW.id;
+    END IF;
+    INSERT INTO fragment_attribute_index (fragment_id, anchor_id, schema_node_path, leaf_name, text_value, numeric_value)
+    SELECT NEW.id, NEW.anchor_id, cps_schema_node_path(NEW.xpath), leaf.key, leaf.value,
+           CASE WHEN leaf.value ~ '^\s*[-+]?[0-9]+\s*$' THEN leaf.value::NUMERIC END
+    FROM jsonb_each_text(NEW.attributes) AS leaf
+    WHERE length(leaf.value) <= 256;
+    RETURN NULL;
+END;
+$$;
+
+-- (Re)create the trigger maintaining the index, guarded by the ids of the indexed anchors.
+-- The guard is evaluated without calling the trigger function, so writes to other anchors are not affected.
+-- No trigger exists as long as no anchor is indexed.
+CREATE FUNCTION cps_refresh_fragment_attribute_index_trigger() RETURNS VOID
+    LANGUAGE plpgsql
+AS $$
+DECLARE
+    indexed_anchor_ids BIGINT[];
+BEGIN
+    SELECT array_agg(anchor_id ORDER BY anchor_id) INTO indexed_anchor_ids FROM attribute_indexed_anchor;
+    IF indexed_anchor_ids IS NOT NULL THEN
+        EXECUTE format('CREATE OR REPLACE TRIGGER fragment_attribute_index_trigger'
+                       ' AFTER INSERT OR UPDATE OF xpath, attributes ON fragment FOR EACH ROW'
+                       ' WHEN (NEW.anchor_id = ANY (%L::BIGINT[]))'
+                       ' EXECUTE FUNCTION cps_index_fragment_attributes()', indexed_anchor_ids);
+    END IF;
+END;
+$$;
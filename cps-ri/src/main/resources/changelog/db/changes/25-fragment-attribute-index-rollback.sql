@@ -0,0 +1,23 @@
+/*
+   ============LICENSE_START=======================================================
+    Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+   ================================================================================
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+        http://www.apache.org/licenses/LICENSE-2.0
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+   SPDX-License-Identifier: Apache-2.0
+   ============LICENSE_END=========================================================
+*/
+
+DROP TRIGGER IF EXISTS fragment_attribute_index_trigger ON fragment;
+DROP FUNCTION cps_refresh_fragment_attribute_index_trigger();
+DROP FUNCTION cps_index_fragment_attributes();
+DROP FUNCTION cps_schema_node_path(TEXT);
+DROP TABLE fragment_attribute_index;
+DROP TABLE attribute_indexed_anchor;
@@ -0,0 +1,95 @@
+/*
+   ============LICENSE_START=======================================================
+    Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+   ================================================================================
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+        http://www.apache.org/licenses/LICENSE-2.0
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+   SPDX-License-Identifier: Apache-2.0
+   ============LICENSE_END=========================================================
+*/
+
+-- Materialized path of each fragment: the ids of all its ancestors followed by its own id.
+-- The column is only maintained when app.cps.fragment-path-ids.enabled is set, see cps_enable_fragment_path_ids(),
+-- so deployments not using it do not pay for the index and triggers on every write.
+ALTER TABLE fragment ADD COLUMN path_ids BIGINT[];
+
+-- Parents are always inserted before their children, fragments inserted without parent and linked to their parent
+-- afterwards (JPA) are handled on update. Bulk inserts (COPY) provide the path ids of the inserted fragments.
+CREATE FUNCTION cps_set_fragment_path_ids() RETURNS TRIGGER
+    LANGUAGE plpgsql
+AS $$
+BEGIN
+    IF TG_OP = 'INSERT' AND NEW.path_ids IS NOT NULL THEN
+        RETURN NEW;
+    END IF;
+    IF NEW.parent_id IS NULL THEN
+        NEW.path_ids := ARRAY[NEW.id];
+    ELSE
+        NEW.path_ids := (SELECT path_ids FROM fragment WHERE id = NEW.parent_id) || NEW.id;
+    END IF;
+    RETURN NEW;
+END;
+$$;
+
+CREATE FUNCTION cps_update_descendant_path_ids() RETURNS TRIGGER
+    LANGUAGE plpgsql
+AS $$
+BEGIN
+    UPDATE fragment SET path_ids = NEW.path_ids || path_ids[array_position(path_ids, NEW.id) + 1:]
+    WHERE path_ids @> ARRAY[NEW.id] AND id <> NEW.id;
+    RETURN NULL;
+END;
+$$;
+
+-- Start maintaining the materialized paths, does nothing when they are maintained already.
+-- Writes are blocked while all paths are (re)calculated, as the column may be outdated after having been disabled.
+CREATE FUNCTION cps_enable_fragment_path_ids() RETURNS BOOLEAN
+    LANGUAGE plpgsql
+AS $$
+BEGIN
+    LOCK TABLE fragment IN SHARE ROW EXCLUSIVE MODE;
+    IF EXISTS (SELECT 1 FROM pg_trigger WHERE tgname = 'fragment_path_ids_trigger'
+                                          AND tgrelid = 'fragment'::regclass) THEN
+        RETURN FALSE;
+    END IF;
+    WITH RECURSIVE fragment_path AS (
+        SELECT id, ARRAY[id] AS path_ids
+        FROM fragment
+        WHERE parent_id IS NULL
+      UNION ALL
+        SELECT child.id, parent.path_ids || child.id
+        FROM fragment child
+        INNER JOIN fragment_path parent ON child.parent_id = parent.id
+    )
+    UPDATE fragment SET path_ids = fragment_path.path_ids
+    FROM fragment_path
+    WHERE fragment.id = fragment_path.id AND fragment.path_ids IS DISTINCT FROM fragment_path.path_ids;
+    CREATE INDEX IF NOT EXISTS idx_fragment_path_ids ON fragment USING GIN (path_ids);
+    CREATE TRIGGER fragment_path_ids_trigger
+        BEFORE INSERT OR UPDATE OF parent_id ON fragment
+        FOR EACH ROW EXECUTE FUNCTION cps_set_fragment_path_ids();
+    CREATE TRIGGER fragment_descendant_path_ids_trigger
+        AFTER UPDATE OF parent_id ON fragment
+        FOR EACH ROW WHEN (OLD.parent_id IS DISTINCT FROM NEW.parent_id)
+        EXECUTE FUNCTION cps_update_descendant_path_ids();
+    RETURN TRUE;
+END;
+$$;
+
+-- Stop maintaining the materialized paths. Only to be used when no cps instance has app.cps.fragment-path-ids enabled.
+CREATE FUNCTION cps_disable_fragment_path_ids() RETURNS VOID
+    LANGUAGE plpgsql
+AS $$
+BEGIN
+    DROP TRIGGER IF EXISTS fragment_descendant_path_ids_trigger ON fragment;
+    DROP TRIGGER IF EXISTS fragment_path_ids_trigger ON fragment;
+    DROP INDEX IF EXISTS idx_fragment_path_ids;
+END;
+$$;
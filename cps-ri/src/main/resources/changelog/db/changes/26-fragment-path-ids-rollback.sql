@@ -0,0 +1,23 @@
+/*
+   ============LICENSE_START=======================================================
+    Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+   ================================================================================
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+        http://www.apache.org/licenses/LICENSE-2.0
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+   SPDX-License-Identifier: Apache-2.0
+   ============LICENSE_END=========================================================
+*/
+
+SELECT cps_disable_fragment_path_ids();
+DROP FUNCTION cps_disable_fragment_path_ids();
+DROP FUNCTION cps_enable_fragment_path_ids();
+DROP FUNCTION cps_update_descendant_path_ids();
+DROP FUNCTION cps_set_fragment_path_ids();
+ALTER TABLE fragment DROP COLUMN path_ids;
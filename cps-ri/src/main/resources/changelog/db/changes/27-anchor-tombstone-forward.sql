@@ -0,0 +1,25 @@
+/*
+   ============LICENSE_START=======================================================
+    Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+   ================================================================================
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+        http://www.apache.org/licenses/LICENSE-2.0
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+   SPDX-License-Identifier: Apache-2.0
+   ============LICENSE_END=========================================================
+*/
+
+-- A deleted anchor is only marked as deleted (tombstoned) until its fragments are reclaimed, see AnchorTombstoneReclaimer
+ALTER TABLE anchor ADD COLUMN deleted_at TIMESTAMP WITH TIME ZONE;
+
+-- The name of a tombstoned anchor can be reused immediately, names only need to be unique among the existing anchors
+ALTER TABLE anchor DROP CONSTRAINT anchor_dataspace_id_name_key;
+CREATE UNIQUE INDEX anchor_dataspace_id_name_key ON anchor (dataspace_id, name) WHERE deleted_at IS NULL;
+
+CREATE INDEX idx_anchor_deleted_at ON anchor (deleted_at) WHERE deleted_at IS NOT NULL;
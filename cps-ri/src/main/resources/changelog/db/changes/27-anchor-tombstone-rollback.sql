@@ -0,0 +1,23 @@
+/*
+   ============LICENSE_START=======================================================
+    Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+   ================================================================================
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+        http://www.apache.org/licenses/LICENSE-2.0
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+   SPDX-License-Identifier: Apache-2.0
+   ============LICENSE_END=========================================================
+*/
+
+DELETE FROM fragment WHERE anchor_id IN (SELECT id FROM anchor WHERE deleted_at IS NOT NULL);
+DELETE FROM anchor WHERE deleted_at IS NOT NULL;
+DROP INDEX idx_anchor_deleted_at;
+DROP INDEX anchor_dataspace_id_name_key;
+ALTER TABLE anchor ADD CONSTRAINT anchor_dataspace_id_name_key UNIQUE (dataspace_id, name);
+ALTER TABLE anchor DROP COLUMN deleted_at;
@@ -0,0 +1,38 @@
+/*
+   ============LICENSE_START=======================================================
+    Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+   ================================================================================
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+        http://www.apache.org/licenses/LICENSE-2.0
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+   SPDX-License-Identifier: Apache-2.0
+   ============LICENSE_END=========================================================
+*/
+
+ALTER TABLE schema_set ADD COLUMN module_fingerprint TEXT;
+
+-- Same fingerprint as calculated by the application: md5 of the sorted, distinct 'module-name@revision' strings
+UPDATE schema_set
+SET module_fingerprint = schema_set_fingerprint.module_fingerprint
+FROM (
+    SELECT schema_set_id, md5(string_agg(DISTINCT module, ',' ORDER BY module)) AS module_fingerprint
+    FROM (
+        SELECT schema_set_yang_resources.schema_set_id,
+               (COALESCE(yang_resource.module_name, '') || '@' || COALESCE(yang_resource.revision, '')) COLLATE "C"
+                   AS module
+        FROM schema_set_yang_resources
+        JOIN yang_resource ON yang_resource.id = schema_set_yang_resources.yang_resource_id
+    ) AS schema_set_module
+    GROUP BY schema_set_id
+) AS schema_set_fingerprint
+WHERE schema_set.id = schema_set_fingerprint.schema_set_id;
+
+UPDATE schema_set SET module_fingerprint = md5('') WHERE module_fingerprint IS NULL;
+
+CREATE INDEX idx_schema_set_module_fingerprint ON schema_set (dataspace_id, module_fingerprint);
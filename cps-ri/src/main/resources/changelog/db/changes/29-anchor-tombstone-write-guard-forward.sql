@@ -0,0 +1,45 @@
+/*
+   ============LICENSE_START=======================================================
+    Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+   ================================================================================
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+        http://www.apache.org/licenses/LICENSE-2.0
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+   SPDX-License-Identifier: Apache-2.0
+   ============LICENSE_END=========================================================
+*/
+
+-- Fragments must not be added to a tombstoned anchor: another instance can still hold a cached entity of the anchor
+-- (until it receives the invalidation) and its writes would otherwise be accepted and silently reclaimed.
+-- The anchors are locked in share mode first, so an insert concurrent with tombstoning the anchor either waits for
+-- the tombstone (and is rejected) or completes before it (and its fragments are reclaimed with the anchor).
+CREATE FUNCTION cps_reject_fragments_of_tombstoned_anchors() RETURNS TRIGGER
+    LANGUAGE plpgsql
+AS $$
+DECLARE
+    tombstoned_anchor_id BIGINT;
+BEGIN
+    PERFORM 1 FROM anchor WHERE id IN (SELECT anchor_id FROM new_fragments) ORDER BY id FOR SHARE;
+    SELECT id INTO tombstoned_anchor_id
+    FROM anchor
+    WHERE id IN (SELECT anchor_id FROM new_fragments) AND deleted_at IS NOT NULL
+    LIMIT 1;
+    IF tombstoned_anchor_id IS NOT NULL THEN
+        -- not reported as an integrity violation, which would make a batch insert retry each data node on its own
+        RAISE EXCEPTION 'Anchor with id % has been deleted', tombstoned_anchor_id;
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+-- One check per statement (not per row), so bulk inserts (COPY) check each anchor only once
+CREATE TRIGGER fragment_tombstoned_anchor_trigger
+    AFTER INSERT ON fragment
+    REFERENCING NEW TABLE AS new_fragments
+    FOR EACH STATEMENT EXECUTE FUNCTION cps_reject_fragments_of_tombstoned_anchors();
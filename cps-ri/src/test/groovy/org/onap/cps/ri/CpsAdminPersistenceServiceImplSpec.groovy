@@ -0,0 +1,149 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.ri
+
+import org.onap.cps.ri.cache.DataNodeCache
+import org.onap.cps.ri.cache.DataspaceAndAnchorCache
+import org.onap.cps.ri.models.AnchorEntity
+import org.onap.cps.ri.models.DataspaceEntity
+import org.onap.cps.ri.repository.AnchorRepository
+import org.onap.cps.ri.repository.AnchorTombstoneRepository
+import org.onap.cps.ri.repository.DataspaceRepository
+import org.onap.cps.ri.repository.FragmentAttributeIndexRepository
+import org.onap.cps.ri.repository.FragmentRepository
+import org.onap.cps.ri.repository.SchemaSetRepository
+import spock.lang.Specification
+
+class CpsAdminPersistenceServiceImplSpec extends Specification {
+
+    def mockDataspaceRepository = Mock(DataspaceRepository)
+    def mockAnchorRepository = Mock(AnchorRepository)
+    def mockSchemaSetRepository = Mock(SchemaSetRepository)
+    def mockDataspaceAndAnchorCache = Mock(DataspaceAndAnchorCache)
+    def mockFragmentRepository = Mock(FragmentRepository)
+    def mockAnchorTombstoneRepository = Mock(AnchorTombstoneRepository)
+    def mockDataNodeCache = Mock(DataNodeCache)
+    def mockFragmentAttributeIndexRepository = Mock(FragmentAttributeIndexRepository)
+
+    def objectUnderTest = new CpsAdminPersistenceServiceImpl(mockDataspaceRepository, mockAnchorRepository,
+        mockSchemaSetRepository, mockDataspaceAndAnchorCache, mockFragmentRepository, mockAnchorTombstoneRepository,
+        mockDataNodeCache, mockFragmentAttributeIndexRepository)
+
+    def dataspaceEntity = new DataspaceEntity(id: 1, name: 'my dataspace')
+    def anchorEntity1 = new AnchorEntity(id: 11L, name: 'anchor1', dataspace: dataspaceEntity)
+    def anchorEntity2 = new AnchorEntity(id: 12L, name: 'anchor2', dataspace: dataspaceEntity)
+
+    def setup() {
+        mockDataspaceRepository.getByName('my dataspace') >> dataspaceEntity
+    }
+
+    def 'Delete anchor without tombstones.'() {
+        given: 'the anchor exists'
+            mockAnchorRepository.getByDataspaceAndName(dataspaceEntity, 'anchor1') >> anchorEntity1
+        when: 'the anchor is deleted'
+            objectUnderTest.deleteAnchor('my dataspace', 'anchor1')
+        then: 'the cached data nodes of the anchor are invalidated'
+            1 * mockDataNodeCache.invalidateAll(anchorEntity1)
+        and: 'the anchor is no longer known to have an enabled attribute index'
+            1 * mockFragmentAttributeIndexRepository.invalidateEnabledAnchors([11L])
+        and: 'the fragments of the anchor are deleted'
+            1 * mockFragmentRepository.deleteByAnchorIn([anchorEntity1])
+        and: 'the anchor itself is deleted'
+            1 * mockAnchorRepository.delete(anchorEntity1)
+        and: 'the anchor is not tombstoned'
+            0 * mockAnchorTombstoneRepository.tombstoneAnchors(*_)
+        and: 'the cached anchor is invalidated'
+            1 * mockDataspaceAndAnchorCache.invalidateAnchors('my dataspace', ['anchor1'])
+    }
+
+    def 'Delete anchor with tombstones.'() {
+        given: 'anchor tombstones are enabled'
+            objectUnderTest.anchorTombstoneEnabled = true
+        and: 'the anchor exists'
+            mockAnchorRepository.getByDataspaceAndName(dataspaceEntity, 'anchor1') >> anchorEntity1
+        when: 'the anchor is deleted'
+            objectUnderTest.deleteAnchor('my dataspace', 'anchor1')
+        then: 'the cached data nodes of the anchor are invalidated'
+            1 * mockDataNodeCache.invalidateAll(anchorEntity1)
+        and: 'the anchor is no longer known to have an enabled attribute index'
+            1 * mockFragmentAttributeIndexRepository.invalidateEnabledAnchors([11L])
+        and: 'the anchor is tombstoned'
+            1 * mockAnchorTombstoneRepository.tombstoneAnchors([11L])
+        and: 'its fragments and the anchor itself are not deleted (yet)'
+            0 * mockFragmentRepository.deleteByAnchorIn(*_)
+            0 * mockAnchorRepository.delete(*_)
+        and: 'the cached anchor is invalidated'
+            1 * mockDataspaceAndAnchorCache.invalidateAnchors('my dataspace', ['anchor1'])
+    }
+
+    def 'Delete multiple anchors without tombstones.'() {
+        given: 'the anchors exist'
+            mockAnchorRepository.findAllByDataspaceAndNameIn(dataspaceEntity, ['anchor1', 'anchor2']) >> [anchorEntity1, anchorEntity2]
+        when: 'the anchors are deleted'
+            objectUnderTest.deleteAnchors('my dataspace', ['anchor1', 'anchor2'])
+        then: 'the cached data nodes of both anchors are invalidated'
+            1 * mockDataNodeCache.invalidateAll(anchorEntity1)
+            1 * mockDataNodeCache.invalidateAll(anchorEntity2)
+        and: 'the anchors are no longer known to have an enabled attribute index'
+            1 * mockFragmentAttributeIndexRepository.invalidateEnabledAnchors([11L, 12L])
+        and: 'the fragments of the anchors are deleted'
+            1 * mockFragmentRepository.deleteByAnchorIn([anchorEntity1, anchorEntity2])
+        and: 'the anchors themselves are deleted'
+            1 * mockAnchorRepository.deleteAllByDataspaceAndNameIn(dataspaceEntity, ['anchor1', 'anchor2'])
+        and: 'the anchors are not tombstoned'
+            0 * mockAnchorTombstoneRepository.tombstoneAnchors(*_)
+        and: 'the cached anchors are invalidated'
+            1 * mockDataspaceAndAnchorCache.invalidateAnchors('my dataspace', ['anchor1', 'anchor2'])
+    }
+
+    def 'Delete multiple anchors with tombstones.'() {
+        given: 'anchor tombstones are enabled'
+            objectUnderTest.anchorTombstoneEnabled = true
+        and: 'the anchors exist'
+            mockAnchorRepository.findAllByDataspaceAndNameIn(dataspaceEntity, ['anchor1', 'anchor2']) >> [anchorEntity1, anchorEntity2]
+        when: 'the anchors are deleted'
+            objectUnderTest.deleteAnchors('my dataspace', ['anchor1', 'anchor2'])
+        then: 'the cached data nodes of both anchors are invalidated'
+            1 * mockDataNodeCache.invalidateAll(anchorEntity1)
+            1 * mockDataNodeCache.invalidateAll(anchorEntity2)
+        and: 'the anchors are no longer known to have an enabled attribute index'
+            1 * mockFragmentAttributeIndexRepository.invalidateEnabledAnchors([11L, 12L])
+        and: 'the anchors are tombstoned'
+            1 * mockAnchorTombstoneRepository.tombstoneAnchors([11L, 12L])
+        and: 'their fragments and the anchors themselves are not deleted (yet)'
+            0 * mockFragmentRepository.deleteByAnchorIn(*_)
+            0 * mockAnchorRepository.deleteAllByDataspaceAndNameIn(*_)
+        and: 'the cached anchors are invalidated'
+            1 * mockDataspaceAndAnchorCache.invalidateAnchors('my dataspace', ['anchor1', 'anchor2'])
+    }
+
+    def 'Delete dataspace with tombstoned anchors.'() {
+        given: 'the dataspace has no anchors and no schema sets'
+            mockAnchorRepository.countByDataspace(dataspaceEntity) >> 0
+            mockSchemaSetRepository.countByDataspace(dataspaceEntity) >> 0
+        when: 'the dataspace is deleted'
+            objectUnderTest.deleteDataspace('my dataspace')
+        then: 'any tombstoned anchors of the dataspace are deleted first'
+            1 * mockAnchorTombstoneRepository.deleteTombstonedAnchors(1)
+        then: 'the dataspace is deleted'
+            1 * mockDataspaceRepository.delete(dataspaceEntity)
+    }
+}
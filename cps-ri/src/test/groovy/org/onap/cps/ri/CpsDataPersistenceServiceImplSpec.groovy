@@ -21,42 +21,50 @@
 package org.onap.cps.ri
 
 import com.fasterxml.jackson.databind.ObjectMapper
+import jakarta.transaction.Transactional
+import org.onap.cps.api.DataNodeVisitor
+import org.onap.cps.api.exceptions.AlreadyDefinedException
 import org.onap.cps.api.exceptions.ConcurrencyException
+import org.onap.cps.api.exceptions.DataNodeNotFoundException
 import org.onap.cps.api.exceptions.DataNodeNotFoundExceptionBatch
 import org.onap.cps.api.exceptions.DataValidationException
 import org.onap.cps.api.model.DataNode
 import org.onap.cps.api.parameters.FetchDescendantsOption
 import org.onap.cps.impl.DataNodeBuilder
+import org.onap.cps.ri.cache.DataNodeCache
+import org.onap.cps.ri.cache.DataspaceAndAnchorCache
 import org.onap.cps.ri.models.AnchorEntity
 import org.onap.cps.ri.models.DataspaceEntity
 import org.onap.cps.ri.models.FragmentEntity
 import org.onap.cps.ri.repository.AnchorRepository
-import org.onap.cps.ri.repository.DataspaceRepository
 import org.onap.cps.ri.repository.FragmentRepository
 import org.onap.cps.ri.utils.SessionManager
 import org.onap.cps.utils.JsonObjectMapper
 import org.springframework.dao.DataIntegrityViolationException
 import org.springframework.orm.ObjectOptimisticLockingFailureException
+import org.springframework.test.util.ReflectionTestUtils
 import spock.lang.Specification
 
+import java.util.function.Consumer
 import java.util.stream.Collectors
 
 class CpsDataPersistenceServiceImplSpec extends Specification {
 
-    def mockDataspaceRepository = Mock(DataspaceRepository)
     def mockAnchorRepository = Mock(AnchorRepository)
     def mockFragmentRepository = Mock(FragmentRepository)
     def jsonObjectMapper = new JsonObjectMapper(new ObjectMapper())
     def mockSessionManager = Mock(SessionManager)
+    def mockDataNodeCache = Mock(DataNodeCache)
+    def mockDataspaceAndAnchorCache = Mock(DataspaceAndAnchorCache)
     def someCause = Mock(Throwable)
 
-    def objectUnderTest = Spy(new CpsDataPersistenceServiceImpl(mockDataspaceRepository, mockAnchorRepository,
-            mockFragmentRepository, jsonObjectMapper, mockSessionManager))
+    def objectUnderTest = Spy(new CpsDataPersistenceServiceImpl(mockAnchorRepository,
+            mockFragmentRepository, jsonObjectMapper, mockSessionManager, mockDataNodeCache, mockDataspaceAndAnchorCache))
 
     static def anchorEntity = new AnchorEntity(id: 123, dataspace: new DataspaceEntity(id: 1))
 
     def setup() {
-        mockAnchorRepository.getByDataspaceAndName(_, _) >> anchorEntity
+        mockDataspaceAndAnchorCache.getAnchorEntity(_, _) >> anchorEntity
         mockFragmentRepository.prefetchDescendantsOfFragmentEntities(_, _) >> { fetchDescendantsOption, fragmentEntities -> fragmentEntities }
         mockFragmentRepository.findListByAnchorAndXpath(_, [] as Set) >> []
     }
@@ -73,83 +81,206 @@ class CpsDataPersistenceServiceImplSpec extends Specification {
             2 * mockFragmentRepository.save(_)
     }
 
-    def 'Handling of ObjectOptimisticLockingFailureException (caused by concurrent updates) during patch operation for data nodes.'() {
-        given: 'the system can update one datanode and has two more datanodes that throw an exception while updating'
-            def dataNodes = createDataNodesAndMockRepositoryMethodSupportingThem([
-                    '/node1': 'OK',
-                    '/node2': 'EXCEPTION',
-                    '/node3': 'EXCEPTION'])
-            def updatedLeavesPerXPath = dataNodes.stream()
-                    .collect(Collectors.toMap(DataNode::getXpath, DataNode::getLeaves))
-        and: 'the batch update will therefore also fail'
-            mockFragmentRepository.saveAll(*_) >> { throw new ObjectOptimisticLockingFailureException('concurrent updates', someCause) }
-        when: 'attempt batch update data nodes'
-            objectUnderTest.batchUpdateDataLeaves('some-dataspace', 'some-anchor', updatedLeavesPerXPath)
-        then: 'concurrency exception is thrown'
-            def thrown = thrown(ConcurrencyException)
-            assert thrown.message == 'Concurrent Transactions'
-        and: 'it does not contain the successful datanode'
-            assert !thrown.details.contains('/node1')
-        and: 'it contains the failed datanodes'
-            assert thrown.details.contains('/node2')
-            assert thrown.details.contains('/node3')
+    def 'Storing data nodes with #numberOfChildren children uses #expectedSaveMethod.'() {
+        given: 'bulk insert is used from 3 fragments'
+            ReflectionTestUtils.setField(objectUnderTest, 'bulkInsertMinimumNumberOfFragments', 3)
+        and: 'a data node with some child data nodes'
+            def childDataNodes = (1..numberOfChildren).collect { new DataNodeBuilder().withXpath("/parent/child${it}").build() }
+            def dataNode = new DataNodeBuilder().withXpath('/parent').withChildDataNodes(childDataNodes).build()
+        when: 'the data node is stored'
+            objectUnderTest.storeDataNodes('dataSpaceName', 'anchorName', [dataNode])
+        then: 'the fragments are saved using the expected method'
+            expectedBulkInserts * mockFragmentRepository.bulkInsertWithDescendants({ it[0].xpath == '/parent' && it[0].childFragments.size() == numberOfChildren })
+            (1 - expectedBulkInserts) * mockFragmentRepository.saveAll(_)
+        where: 'the following number of children is used'
+            numberOfChildren || expectedSaveMethod | expectedBulkInserts
+            1                || 'saveAll'          | 0
+            2                || 'bulk insert'      | 1
     }
 
-    def 'Batch update data node leaves and descendants: #scenario'(){
-        given: 'the fragment repository returns fragment entities related to the xpath inputs'
-            mockFragmentRepository.findByAnchorAndXpathIn(_, ['/test/xpath'] as Set) >> [
-                    new FragmentEntity(1, '/test/xpath', null, "{\"id\":\"testId\"}", anchorEntity, [] as Set)
-            ]
-            mockFragmentRepository.findByAnchorAndXpathIn(_, ['/test/xpath1', '/test/xpath2'] as Set) >> [
-                    new FragmentEntity(1, '/test/xpath1', null, "{\"id\":\"testId1\"}", anchorEntity, [] as Set),
-                    new FragmentEntity(2, '/test/xpath2', null, "{\"id\":\"testId2\"}", anchorEntity, [] as Set)
-            ]
-        when: 'replace data node tree'
+    def 'Adding list elements with bulk insert.'() {
+        given: 'bulk insert is used from 1 fragment'
+            ReflectionTestUtils.setField(objectUnderTest, 'bulkInsertMinimumNumberOfFragments', 1)
+        and: 'an existing parent fragment'
+            mockFragmentRepository.findByAnchorIdAndXpath(_, '/parent') >> new FragmentEntity(id: 1, xpath: '/parent')
+        when: 'a list element is added'
+            objectUnderTest.addListElements('dataSpaceName', 'anchorName', '/parent', [new DataNodeBuilder().withXpath('/parent/list[@key=1]').build()])
+        then: 'the list element is inserted in bulk as a child of the parent fragment'
+            1 * mockFragmentRepository.bulkInsertWithDescendants({ it[0].parentId == 1 })
+    }
+
+    def 'Storing data nodes individually when bulk insert fails.'() {
+        given: 'bulk insert is used from 1 fragment'
+            ReflectionTestUtils.setField(objectUnderTest, 'bulkInsertMinimumNumberOfFragments', 1)
+        and: 'two data nodes'
+            def dataNode1 = createDataNodeAndMockRepositoryMethodSupportingIt('xpath1','OK')
+            def dataNode2 = createDataNodeAndMockRepositoryMethodSupportingIt('xpath2','OK')
+        and: 'the bulk insert will fail (e.g. because a data node already exists)'
+            mockFragmentRepository.bulkInsertWithDescendants(_) >> { throw new DataIntegrityViolationException('duplicate key') }
+        and: 'saving the second data node individually fails'
+            mockFragmentRepository.save({ it.xpath == 'xpath2' }) >> { throw new DataIntegrityViolationException('duplicate key') }
+        when: 'trying to store data nodes'
+            objectUnderTest.storeDataNodes('dataSpaceName', 'anchorName', [dataNode1, dataNode2])
+        then: 'an already defined exception is thrown for the second data node only'
+            def thrown = thrown(AlreadyDefinedException)
+            assert thrown.alreadyDefinedObjectNames == ['xpath2'] as Set
+    }
+
+    def 'Batch update data node leaves: #scenario'(){
+        when: 'batch update data node leaves'
             objectUnderTest.batchUpdateDataLeaves('dataspaceName', 'anchorName',
                     dataNodes.stream().collect(Collectors.toMap(DataNode::getXpath, DataNode::getLeaves)))
-        then: 'call fragment repository save all method'
-            1 * mockFragmentRepository.saveAll({fragmentEntities ->
-                assert fragmentEntities.sort() == expectedFragmentEntities.sort()
-                assert fragmentEntities.size() == expectedSize
-            })
-        where: 'the following Data Type is passed'
-            scenario                         | dataNodes                                                                                                                              | expectedSize || expectedFragmentEntities
-            'one data node in list'          | [new DataNode(xpath: '/test/xpath', leaves: ['id': 'testId'])]                                                                         | 1            || [new FragmentEntity(xpath: '/test/xpath', attributes: '{"id":"testId"}', anchor: anchorEntity)]
-            'multiple data nodes'            | [new DataNode(xpath: '/test/xpath1', leaves: ['id': 'newTestId1']), new DataNode(xpath: '/test/xpath2', leaves: ['id': 'newTestId2'])] | 2            || [new FragmentEntity(xpath: '/test/xpath2', attributes: '{"id":"newTestId2"}', anchor: anchorEntity), new FragmentEntity(xpath: '/test/xpath1', attributes: '{"id":"newTestId1"}', anchor: anchorEntity)]
+        then: 'the leaves of all data nodes are merged using a single repository call'
+            1 * mockFragmentRepository.mergeAttributes(_, expectedAttributesToMergePerXpath) >> expectedAttributesToMergePerXpath.keySet()
+        where: 'the following data nodes are updated'
+            scenario               | dataNodes                                                                                                                              || expectedAttributesToMergePerXpath
+            'one data node'        | [new DataNode(xpath: '/test/xpath', leaves: ['id': 'testId'])]                                                                         || ['/test/xpath': '{"id":"testId"}']
+            'multiple data nodes'  | [new DataNode(xpath: '/test/xpath1', leaves: ['id': 'newTestId1']), new DataNode(xpath: '/test/xpath2', leaves: ['id': 'newTestId2'])] || ['/test/xpath1': '{"id":"newTestId1"}', '/test/xpath2': '{"id":"newTestId2"}']
+            'non-normalized xpath' | [new DataNode(xpath: '/test/list[@key="A"]', leaves: ['id': 'testId'])]                                                                || ["/test/list[@key='A']": '{"id":"testId"}']
     }
 
-    def 'Batch update data node leaves and descendants fails when fragment entity is not found'() {
+    def 'Batch update data node leaves fails when no fragment is found.'() {
         given: 'leaf nodes to update'
             def leafNodes = ['/test/xpath': ['id': 'invalid-id']]
-        and: 'the fragment repository returns no fragment entities'
-            mockFragmentRepository.findByAnchorAndXpathIn(anchorEntity, ['/test/xpath'] as Set) >> []
-        and: 'the fragment repository returns no fragments for list nodes'
-            mockFragmentRepository.findListByAnchorAndXpath(anchorEntity, '/test/xpath') >> []
+        and: 'the fragment repository does not update any fragment'
+            mockFragmentRepository.mergeAttributes(*_) >> []
+        and: 'the xpath is not the xpath of a list'
+            mockFragmentRepository.findListByAnchorAndXpath(_, '/test/xpath') >> []
         when: 'attempt to batch update data node leaves'
             objectUnderTest.batchUpdateDataLeaves('dataspaceName', 'anchorName', leafNodes)
         then: 'expected exception is thrown with correct message'
             def thrown = thrown(DataNodeNotFoundExceptionBatch)
             assert thrown.message == 'DataNode not found'
+        and: 'the cache is still invalidated for the xpaths'
+            1 * mockDataNodeCache.invalidate(_, ['/test/xpath'] as Set)
+    }
+
+    def 'Batch update data node leaves skips xpaths that cannot be parsed.'() {
+        when: 'leaves are updated for a valid and an unparsable xpath'
+            objectUnderTest.batchUpdateDataLeaves('dataspaceName', 'anchorName', ['/test/xpath': ['id': 'testId'], '///': ['id': 'other']])
+        then: 'only the leaves of the valid xpath are merged'
+            1 * mockFragmentRepository.mergeAttributes(_, ['/test/xpath': '{"id":"testId"}']) >> ['/test/xpath']
+        and: 'no exception is thrown'
+            noExceptionThrown()
+    }
+
+    def 'Batch update data node leaves combines the leaves of xpaths with the same normalized xpath.'() {
+        when: 'leaves are updated for two different notations of the same xpath'
+            objectUnderTest.batchUpdateDataLeaves('dataspaceName', 'anchorName',
+                ['/test/list[@key="A"]': ['x': 1], "/test/list[@key='A']": ['y': 2]])
+        then: 'the leaves of both are merged into the fragment'
+            1 * mockFragmentRepository.mergeAttributes(_, ["/test/list[@key='A']": '{"x":1,"y":2}']) >> ["/test/list[@key='A']"]
+    }
+
+    def 'Batch update data node leaves of #scenario.'() {
+        given: 'the xpath does not match a fragment itself'
+            mockFragmentRepository.mergeAttributes(_, [(xpath): '{"x":1}']) >> []
+        and: 'it resolves to two fragments'
+            mockFragmentRepository.findListByAnchorAndXpath(_, xpath) >> [new FragmentEntity(xpath: "/list[@key='1']"), new FragmentEntity(xpath: "/list[@key='2']")]
+            mockFragmentRepository.findRootsByAnchorId(_) >> [new FragmentEntity(xpath: '/root1'), new FragmentEntity(xpath: '/root2')]
+        when: 'leaves are updated for the xpath'
+            objectUnderTest.batchUpdateDataLeaves('dataspaceName', 'anchorName', [(xpath): ['x': 1]])
+        then: 'the leaves are merged into both resolved fragments'
+            1 * mockFragmentRepository.mergeAttributes(_, expectedResolvedXpaths.collectEntries { [(it): '{"x":1}'] }) >> expectedResolvedXpaths
+        and: 'no exception is thrown'
+            noExceptionThrown()
+        where: 'the following xpaths are used'
+            scenario         | xpath   || expectedResolvedXpaths
+            'a whole list'   | '/list' || ["/list[@key='1']", "/list[@key='2']"]
+            'the root xpath' | '/'     || ['/root1', '/root2']
+    }
+
+    def 'Batch update data node leaves is transactional.'() {
+        expect: 'the leaves of resolved list and root xpaths are merged in the same transaction'
+            assert CpsDataPersistenceServiceImpl.getMethod('batchUpdateDataLeaves', String, String, Map).isAnnotationPresent(Transactional)
+    }
+
+    def 'Update data node and descendants only writes the changed fragments.'() {
+        given: 'an existing fragment with 3 child fragments'
+            def unchangedChild = new FragmentEntity(2, '/parent/unchanged', 1, '{"x":1}', anchorEntity, [] as Set)
+            def changedChild = new FragmentEntity(3, '/parent/changed', 1, '{"x":2}', anchorEntity, [] as Set)
+            def removedChild = new FragmentEntity(4, '/parent/removed', 1, '{"x":3}', anchorEntity, [] as Set)
+            def parent = new FragmentEntity(1, '/parent', null, '{"id":"p"}', anchorEntity, [unchangedChild, changedChild, removedChild] as Set)
+            mockFragmentRepository.findByAnchorAndXpathIn(_, ['/parent'] as Set) >> [parent]
+        and: 'a data node with the same leaves, one changed child, one unchanged child and one new child'
+            def dataNode = new DataNode(xpath: '/parent', leaves: ['id': 'p'], childDataNodes: [
+                new DataNode(xpath: '/parent/unchanged', leaves: ['x': 1]),
+                new DataNode(xpath: '/parent/changed', leaves: ['x': 22]),
+                new DataNode(xpath: '/parent/new', leaves: ['x': 4])])
+        when: 'the data node and descendants are updated'
+            objectUnderTest.updateDataNodesAndDescendants('dataspaceName', 'anchorName', [dataNode])
+        then: 'only the attributes of the changed child are replaced'
+            1 * mockFragmentRepository.replaceAttributes(_) >> { args -> assert args[0] == [3L: '{"x":22}']; [3L] }
+        and: 'only the removed child is deleted'
+            1 * mockFragmentRepository.deleteAllByIdInBatch([4L])
+        and: 'only the new child is inserted, under the existing parent'
+            1 * mockFragmentRepository.saveAll({ fragmentEntities ->
+                assert fragmentEntities.size() == 1
+                assert fragmentEntities[0].xpath == '/parent/new'
+                assert fragmentEntities[0].parentId == 1
+            })
     }
 
-    def 'Handling of ObjectOptimisticLockingFailureException (caused by concurrent updates) during update data nodes and descendants.'() {
-        given: 'the system can update one datanode and has two more datanodes that throw an exception while updating'
-            def dataNodes = createDataNodesAndMockRepositoryMethodSupportingThem([
-                '/node1': 'OK',
-                '/node2': 'EXCEPTION',
-                '/node3': 'EXCEPTION'])
-        and: 'the batch update will therefore also fail'
-            mockFragmentRepository.saveAll(*_) >> { throw new ObjectOptimisticLockingFailureException('concurrent updates', someCause) }
-        when: 'attempt batch update data nodes'
-            objectUnderTest.updateDataNodesAndDescendants('some-dataspace', 'some-anchor', dataNodes)
+    def 'Update data node and descendants without changes: #scenario.'() {
+        given: 'an existing fragment'
+            def fragmentEntity = new FragmentEntity(1, '/parent', null, existingAttributes, anchorEntity, [] as Set)
+            mockFragmentRepository.findByAnchorAndXpathIn(_, ['/parent'] as Set) >> [fragmentEntity]
+        when: 'the data node is updated with the same leaves'
+            objectUnderTest.updateDataNodesAndDescendants('dataspaceName', 'anchorName', [new DataNode(xpath: '/parent', leaves: newLeaves)])
+        then: 'nothing is written'
+            0 * mockFragmentRepository.replaceAttributes(*_)
+            0 * mockFragmentRepository.deleteAllByIdInBatch(*_)
+            0 * mockFragmentRepository.saveAll(*_)
+        where: 'the following leaves are used'
+            scenario                    | existingAttributes                || newLeaves
+            'same leaves'               | '{"a": "x", "b": 1}'              || ['a': 'x', 'b': 1]
+            'different order of leaves' | '{"b": 1, "a": "x"}'              || ['a': 'x', 'b': 1]
+            'different number type'     | '{"b": 1}'                        || ['b': 1L]
+            'leaf list'                 | '{"c": ["x", "y"]}'               || ['c': ['x', 'y']]
+            'no leaves'                 | null                              || [:]
+    }
+
+    def 'Update data nodes and descendants when fragments are deleted concurrently.'() {
+        given: 'two existing fragments'
+            mockFragmentRepository.findByAnchorAndXpathIn(_, ['/node1', '/node2'] as Set) >> [
+                new FragmentEntity(1, '/node1', null, '{}', anchorEntity, [] as Set),
+                new FragmentEntity(2, '/node2', null, '{}', anchorEntity, [] as Set)]
+        and: 'only the first fragment still exists when it is updated'
+            mockFragmentRepository.replaceAttributes(_) >> [1L]
+        when: 'attempt to update both data nodes'
+            objectUnderTest.updateDataNodesAndDescendants('some-dataspace', 'some-anchor', [
+                new DataNode(xpath: '/node1', leaves: ['x': 1]), new DataNode(xpath: '/node2', leaves: ['x': 2])])
         then: 'concurrency exception is thrown'
             def thrown = thrown(ConcurrencyException)
             assert thrown.message == 'Concurrent Transactions'
-        and: 'it does not contain the successful datanode'
+        and: 'it only contains the failed data node'
             assert !thrown.details.contains('/node1')
-        and: 'it contains the failed datanodes'
             assert thrown.details.contains('/node2')
-            assert thrown.details.contains('/node3')
+        and: 'the cache is still invalidated'
+            1 * mockDataNodeCache.invalidate(anchorEntity, ['/node1', '/node2'] as Set)
+    }
+
+    def 'Update data node and descendants writes nothing else when a fragment has been deleted concurrently.'() {
+        given: 'an existing fragment with a changed child and a removed child'
+            def changedChild = new FragmentEntity(2, '/parent/changed', 1, '{"x":1}', anchorEntity, [] as Set)
+            def removedChild = new FragmentEntity(3, '/parent/removed', 1, '{"x":2}', anchorEntity, [] as Set)
+            def parent = new FragmentEntity(1, '/parent', null, '{}', anchorEntity, [changedChild, removedChild] as Set)
+            mockFragmentRepository.findByAnchorAndXpathIn(_, ['/parent'] as Set) >> [parent]
+        and: 'the changed child no longer exists when its attributes are replaced'
+            mockFragmentRepository.replaceAttributes(_) >> []
+        when: 'the data node is updated with the changed child and a new child'
+            objectUnderTest.updateDataNodesAndDescendants('dataspaceName', 'anchorName', [new DataNode(xpath: '/parent', childDataNodes: [
+                new DataNode(xpath: '/parent/changed', leaves: ['x': 11]),
+                new DataNode(xpath: '/parent/new', leaves: ['x': 4])])])
+        then: 'a concurrency exception is thrown'
+            thrown(ConcurrencyException)
+        and: 'the removed child is not deleted and the new child is not inserted'
+            0 * mockFragmentRepository.deleteAllByIdInBatch(*_)
+            0 * mockFragmentRepository.saveAll(*_)
+            0 * mockFragmentRepository.bulkInsertWithDescendants(*_)
+        and: 'the update runs in a single transaction, so nothing written before the failure is committed'
+            assert CpsDataPersistenceServiceImpl.getMethod('updateDataNodesAndDescendants', String, String, Collection)
+                .isAnnotationPresent(Transactional)
     }
 
     def 'Retrieving a data node with a property JSON value of #scenario'() {
@@ -198,6 +329,94 @@ class CpsDataPersistenceServiceImplSpec extends Specification {
             assert result.size() == 2
     }
 
+    def 'Retrieving a data node of an anchor with data node cache enabled.'() {
+        given: 'the data node cache is enabled for the anchor'
+            mockDataNodeCache.isEnabled(anchorEntity) >> true
+        and: 'the cache returns a data node'
+            def cachedDataNode = new DataNodeBuilder().withXpath('/parent').build()
+            mockDataNodeCache.getDataNodes(anchorEntity, '/parent', FetchDescendantsOption.OMIT_DESCENDANTS, _) >> [cachedDataNode]
+        when: 'getting the data node'
+            def result = objectUnderTest.getDataNodes('some-dataspace', 'some-anchor', '/parent', FetchDescendantsOption.OMIT_DESCENDANTS)
+        then: 'the data node from the cache is returned'
+            assert result == [cachedDataNode]
+        and: 'the fragment repository is not used'
+            0 * mockFragmentRepository.findByAnchorAndXpathIn(*_)
+    }
+
+    def 'Writes invalidate the data node cache: #scenario.'() {
+        given: 'the fragment repository has a parent fragment'
+            mockFragmentRepository.findByAnchorIdAndXpath(_, '/parent') >> new FragmentEntity(id: 1, xpath: '/parent', anchor: anchorEntity, childFragments: [] as Set)
+        when: 'the write operation is executed'
+            writeOperation.call(objectUnderTest)
+        then: 'the data node cache is invalidated for the written xpaths'
+            1 * mockDataNodeCache.invalidate(anchorEntity, expectedXpaths)
+        where: 'the following write operations are used'
+            scenario             | writeOperation                                                                                                   || expectedXpaths
+            'store data nodes'   | { it.storeDataNodes('some-dataspace', 'some-anchor', [new DataNode(xpath: '/parent')]) }                        || ['/parent']
+            'add child'          | { it.addChildDataNodes('some-dataspace', 'some-anchor', '/parent', [new DataNode(xpath: '/parent/child')]) }    || ['/parent/child']
+            'replace list'       | { it.replaceListContent('some-dataspace', 'some-anchor', '/parent', [new DataNode(xpath: '/parent/l[@k=1]')]) } || ['/parent']
+    }
+
+    def 'Deleting all data nodes of an anchor invalidates the data node cache for the whole anchor.'() {
+        given: 'the anchor exists'
+            mockAnchorRepository.findByDataspaceAndName(_, 'some-anchor') >> Optional.of(anchorEntity)
+        when: 'all data nodes of the anchor are deleted'
+            objectUnderTest.deleteDataNodes('some-dataspace', 'some-anchor')
+        then: 'all cached data nodes of the anchor are invalidated'
+            1 * mockDataNodeCache.invalidateAll(anchorEntity)
+    }
+
+    def 'Streaming data nodes in depth-first order.'() {
+        given: 'fragment repository returns a root fragment'
+            def rootFragment = new FragmentEntity(1, '/parent', null, null, anchorEntity, [] as Set)
+            mockFragmentRepository.findByAnchorAndXpathIn(anchorEntity, ['/parent'] as Set) >> [rootFragment]
+        and: 'the descendants are streamed in depth-first order'
+            mockFragmentRepository.streamDescendantsOfFragmentEntities(FetchDescendantsOption.INCLUDE_ALL_DESCENDANTS, [rootFragment], _) >> { args ->
+                def consumer = args[2]
+                consumer.accept(new FragmentEntity(id: 1, xpath: '/parent', anchor: anchorEntity))
+                consumer.accept(new FragmentEntity(id: 2, parentId: 1, xpath: '/parent/child', anchor: anchorEntity))
+                consumer.accept(new FragmentEntity(id: 3, parentId: 2, xpath: '/parent/child/grand-child', anchor: anchorEntity))
+                consumer.accept(new FragmentEntity(id: 4, parentId: 1, xpath: '/parent/other-child', anchor: anchorEntity))
+            }
+        and: 'a visitor that records the events'
+            def events = []
+            def dataNodeVisitor = [enterDataNode: { events << "enter ${it.xpath}" }, exitDataNode: { events << "exit ${it.xpath}" }] as DataNodeVisitor
+        when: 'the data nodes are streamed'
+            objectUnderTest.streamDataNodes('some-dataspace', 'some-anchor', '/parent', FetchDescendantsOption.INCLUDE_ALL_DESCENDANTS, dataNodeVisitor)
+        then: 'every data node is entered and exited in depth-first order'
+            assert events == ['enter /parent', 'enter /parent/child', 'enter /parent/child/grand-child', 'exit /parent/child/grand-child',
+                              'exit /parent/child', 'enter /parent/other-child', 'exit /parent/other-child', 'exit /parent']
+    }
+
+    def 'Streaming a data node that does not exist.'() {
+        given: 'fragment repository does not find any fragment'
+            mockFragmentRepository.findByAnchorAndXpathIn(anchorEntity, ['/parent[@id=\'1\']'] as Set) >> []
+        when: 'the data nodes are streamed'
+            objectUnderTest.streamDataNodes('some-dataspace', 'some-anchor', '/parent[@id=\'1\']', FetchDescendantsOption.INCLUDE_ALL_DESCENDANTS, Mock(DataNodeVisitor))
+        then: 'a data node not found exception is thrown'
+            thrown(DataNodeNotFoundException)
+        and: 'no descendants are streamed'
+            0 * mockFragmentRepository.streamDescendantsOfFragmentEntities(*_)
+    }
+
+    def 'Streaming data nodes queried across anchors.'() {
+        given: 'a chunk of fragments of two anchors'
+            def anchor1 = new AnchorEntity(id: 1, name: 'anchor1', dataspace: anchorEntity.dataspace)
+            def anchor2 = new AnchorEntity(id: 2, name: 'anchor2', dataspace: anchorEntity.dataspace)
+            def fragmentEntities = [new FragmentEntity(1, '/parent', null, '{}', anchor1, [] as Set),
+                                    new FragmentEntity(2, '/parent', null, '{}', anchor2, [] as Set),
+                                    new FragmentEntity(3, '/other', null, '{}', anchor2, [] as Set)]
+        and: 'a consumer that collects the xpaths of the data nodes it receives per anchor'
+            def xpathsPerAnchor = [:]
+            def dataNodesPerAnchorConsumer = { dataNodes -> xpathsPerAnchor[dataNodes[0].anchorName] = dataNodes.xpath.toSet() } as Consumer
+        when: 'the data nodes are streamed'
+            objectUnderTest.streamDataNodesAcrossAnchors('some-dataspace', '//parent', FetchDescendantsOption.OMIT_DESCENDANTS, dataNodesPerAnchorConsumer)
+        then: 'the fragments are streamed using the default number of anchors per chunk'
+            1 * mockFragmentRepository.streamByDataspaceAndCpsPath(_, _, 100, _) >> { args -> args[3].accept(fragmentEntities) }
+        and: 'the consumer receives the data nodes of each anchor'
+            assert xpathsPerAnchor == ['anchor1': ['/parent'] as Set, 'anchor2': ['/parent', '/other'] as Set]
+    }
+
     def 'start session'() {
         when: 'start session'
             objectUnderTest.startSession()
@@ -221,42 +440,6 @@ class CpsDataPersistenceServiceImplSpec extends Specification {
             1 * mockSessionManager.lockAnchor('mySessionId', 'myDataspaceName', 'myAnchorName', 123L)
     }
 
-    def 'Replace data node and descendants: #scenario'(){
-        given: 'the fragment repository returns fragment entities related to the xpath inputs'
-            mockFragmentRepository.findByAnchorAndXpathIn(_, [] as Set) >> []
-            mockFragmentRepository.findByAnchorAndXpathIn(_, ['/test/xpath'] as Set) >> [
-                new FragmentEntity(1, '/test/xpath', null, '{"id":"testId"}', anchorEntity, [] as Set)
-            ]
-        when: 'replace data node tree'
-            objectUnderTest.updateDataNodesAndDescendants('dataspaceName', 'anchorName', dataNodes)
-        then: 'call fragment repository save all method'
-            1 * mockFragmentRepository.saveAll({fragmentEntities -> assert fragmentEntities as List == expectedFragmentEntities})
-        where: 'the following Data Type is passed'
-            scenario                         | dataNodes                                                                          || expectedFragmentEntities
-            'empty data node list'           | []                                                                                 || []
-            'one data node in list'          | [new DataNode(xpath: '/test/xpath', leaves: ['id': 'testId'], childDataNodes: [])] || [new FragmentEntity(xpath: '/test/xpath', attributes: '{"id":"testId"}', anchor: anchorEntity, childFragments: [])]
-    }
-
-    def 'Replace data nodes and descendants'() {
-        given: 'the fragment repository returns fragment entities related to the xpath inputs'
-            mockFragmentRepository.findByAnchorAndXpathIn(_, ['/test/xpath1', '/test/xpath2'] as Set) >> [
-                new FragmentEntity(1, '/test/xpath1', null, null, anchorEntity, [] as Set),
-                new FragmentEntity(2, '/test/xpath2', null, null, anchorEntity, [] as Set)
-            ]
-        and: 'some data nodes with descendants'
-            def dataNode1 = new DataNode(xpath: '/test/xpath1', leaves: ['id': 'testId1'], childDataNodes: [new DataNode(xpath: '/test/xpath1/child', leaves: ['id': 'childTestId1'])])
-            def dataNode2 = new DataNode(xpath: '/test/xpath2', leaves: ['id': 'testId2'], childDataNodes: [new DataNode(xpath: '/test/xpath2/child', leaves: ['id': 'childTestId2'])])
-        when: 'the fragment entities are update by the data nodes'
-            objectUnderTest.updateDataNodesAndDescendants('dataspace', 'anchor', [dataNode1, dataNode2])
-        then: 'call fragment repository save all method is called with the updated fragments'
-            1 * mockFragmentRepository.saveAll({fragmentEntities -> {
-                assert fragmentEntities.size() == 2
-                def fragmentEntityPerXpath = fragmentEntities.collectEntries { [it.xpath, it] }
-                assert fragmentEntityPerXpath.get('/test/xpath1').childFragments.first().attributes == '{"id":"childTestId1"}'
-                assert fragmentEntityPerXpath.get('/test/xpath2').childFragments.first().attributes == '{"id":"childTestId2"}'
-            }})
-    }
-
     def createDataNodeAndMockRepositoryMethodSupportingIt(xpath, scenario) {
         def dataNode = new DataNodeBuilder().withXpath(xpath).build()
         def fragmentEntity = new FragmentEntity(xpath: xpath, childFragments: [])
@@ -267,26 +450,6 @@ class CpsDataPersistenceServiceImplSpec extends Specification {
         return dataNode
     }
 
-    def createDataNodesAndMockRepositoryMethodSupportingThem(Map<String, String> xpathToScenarioMap) {
-        def dataNodes = []
-        def fragmentEntities = []
-        def fragmentId = 1
-        xpathToScenarioMap.each {
-            def xpath = it.key
-            def scenario = it.value
-            def dataNode = new DataNodeBuilder().withXpath(xpath).build()
-            dataNodes.add(dataNode)
-            def fragmentEntity = new FragmentEntity(id: fragmentId, anchor: anchorEntity, xpath: xpath, childFragments: [])
-            fragmentEntities.add(fragmentEntity)
-            if ('EXCEPTION' == scenario) {
-                mockFragmentRepository.save(fragmentEntity) >> { throw new ObjectOptimisticLockingFailureException('concurrent updates', someCause) }
-            }
-            fragmentId++
-        }
-        mockFragmentRepository.findByAnchorAndXpathIn(_, xpathToScenarioMap.keySet()) >> fragmentEntities
-        return dataNodes
-    }
-
     def mockFragmentWithJson(json) {
         def fragmentEntity = new FragmentEntity(456, '/parent-01', null, json, anchorEntity, [] as Set)
         mockFragmentRepository.findByAnchorAndXpathIn(_, ['/parent-01'] as Set) >> [fragmentEntity]
@@ -22,6 +22,7 @@ package org.onap.cps.ri
 import org.hibernate.exception.ConstraintViolationException
 import org.onap.cps.ri.models.DataspaceEntity
 import org.onap.cps.ri.models.SchemaSetEntity
+import org.onap.cps.ri.models.YangResourceEntity
 import org.onap.cps.ri.repository.DataspaceRepository
 import org.onap.cps.ri.repository.ModuleReferenceRepository
 import org.onap.cps.ri.repository.SchemaSetRepository
@@ -101,6 +102,34 @@ class CpsModulePersistenceServiceImplSpec extends Specification {
             noExceptionThrown()
     }
 
+    def 'Find schema set by module references with #scenario.'() {
+        given: 'two existing yang resources'
+            mockYangResourceRepository.findAllByChecksumIn(_ as Collection<String>) >> []
+            mockYangResourceRepository.findByModuleNameAndRevision('module-a', '2020-01-01') >> new YangResourceEntity(moduleName: 'module-a', revision: '2020-01-01')
+            mockYangResourceRepository.findByModuleNameAndRevision('module-b', null) >> new YangResourceEntity(moduleName: 'module-b', revision: null)
+        and: 'the schema set repository finds the saved schema set only by its module fingerprint'
+            def savedSchemaSetEntity = null
+            mockSchemaSetRepository.save(_) >> { args -> savedSchemaSetEntity = args[0] }
+            mockSchemaSetRepository.findFirstByDataspaceAndModuleFingerprint(_, _) >> { args ->
+                Optional.ofNullable(savedSchemaSetEntity?.moduleFingerprint == args[1] ? savedSchemaSetEntity : null)
+            }
+        and: 'a schema set created from the modules of those yang resources'
+            objectUnderTest.createSchemaSetFromNewAndExistingModules('my-dataspace', 'my-schema-set', [:],
+                [new ModuleReference('module-a', '2020-01-01'), new ModuleReference('module-b', null)])
+        when: 'a schema set is searched for by module references'
+            def result = objectUnderTest.findSchemaSetNameByModuleReferences('my-dataspace', moduleReferences)
+        then: 'the schema set is only found when the module names and revisions are the same'
+            assert result == Optional.ofNullable(expectedSchemaSetName)
+        where: 'the following module references are used'
+            scenario                    | moduleReferences                                                                       || expectedSchemaSetName
+            'the same modules'          | [new ModuleReference('module-a', '2020-01-01'), new ModuleReference('module-b', null)] || 'my-schema-set'
+            'another order'             | [new ModuleReference('module-b', ''), new ModuleReference('module-a', '2020-01-01')]   || 'my-schema-set'
+            'a different revision'      | [new ModuleReference('module-a', '2021-01-01'), new ModuleReference('module-b', null)] || null
+            'a subset of the modules'   | [new ModuleReference('module-a', '2020-01-01')]                                        || null
+            'an additional module'      | [new ModuleReference('module-a', '2020-01-01'), new ModuleReference('module-b', null),
+                                           new ModuleReference('module-c', '2020-01-01')]                                        || null
+    }
+
     def 'Get yang schema resources.' () {
         given: 'mocked methods for dataspace and schema set repositories'
             mockDataspaceRepository.getByName('someDataspaceName') >> new DataspaceEntity()
@@ -111,6 +140,13 @@ class CpsModulePersistenceServiceImplSpec extends Specification {
             assert result.isEmpty()
     }
 
+    def 'Get schema set version.' () {
+        given: 'the yang resource repository returns a checksum fingerprint for the schema set'
+            mockYangResourceRepository.getChecksumFingerprintByDataspaceAndSchemaSet('someDataspaceName', 'someSchemaSetName') >> 'some fingerprint'
+        expect: 'the fingerprint is returned as the schema set version'
+            assert objectUnderTest.getSchemaSetVersion('someDataspaceName', 'someSchemaSetName') == 'some fingerprint'
+    }
+
     def 'Get yang module references with just dataspace name.' () {
         given: 'mocked method return yang resource repository'
             mockYangResourceRepository.findAllModuleReferencesByDataspace('someDataspaceName') >> []
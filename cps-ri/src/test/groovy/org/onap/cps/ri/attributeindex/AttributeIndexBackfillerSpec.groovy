@@ -0,0 +1,89 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.ri.attributeindex
+
+import org.onap.cps.ri.repository.FragmentAttributeIndexRepository
+import org.springframework.dao.CannotAcquireLockException
+import spock.lang.Specification
+
+class AttributeIndexBackfillerSpec extends Specification {
+
+    def mockFragmentAttributeIndexRepository = Mock(FragmentAttributeIndexRepository)
+    def objectUnderTest = new AttributeIndexBackfiller(mockFragmentAttributeIndexRepository)
+
+    def setup() {
+        objectUnderTest.backfillChunkSize = 2
+        objectUnderTest.backfillPauseMs = 0
+    }
+
+    def 'Configured anchors are registered before the registered anchors are backfilled.'() {
+        given: 'an anchor to register'
+            mockFragmentAttributeIndexRepository.findAnchorIdsToRegister() >> [1L]
+        when: 'configured anchors are indexed'
+            objectUnderTest.indexConfiguredAnchors()
+        then: 'the anchor is registered'
+            1 * mockFragmentAttributeIndexRepository.registerAnchors([1L])
+        then: 'the registered anchors are backfilled'
+            1 * mockFragmentAttributeIndexRepository.findAnchorIdsToBackfill() >> []
+    }
+
+    def 'Nothing is registered when all configured anchors are registered already.'() {
+        given: 'no anchors to register and no anchors to backfill'
+            mockFragmentAttributeIndexRepository.findAnchorIdsToRegister() >> []
+            mockFragmentAttributeIndexRepository.findAnchorIdsToBackfill() >> []
+        when: 'configured anchors are indexed'
+            objectUnderTest.indexConfiguredAnchors()
+        then: 'no anchors are registered'
+            0 * mockFragmentAttributeIndexRepository.registerAnchors(*_)
+    }
+
+    def 'Backfill of registered anchors continues when registering other anchors fails.'() {
+        given: 'an anchor to register'
+            mockFragmentAttributeIndexRepository.findAnchorIdsToRegister() >> [1L]
+        and: 'registering fails because the fragment table could not be locked in time'
+            mockFragmentAttributeIndexRepository.registerAnchors([1L]) >> { throw new CannotAcquireLockException('lock timeout') }
+        and: 'an anchor registered before with all fragments already indexed'
+            mockFragmentAttributeIndexRepository.findAnchorIdsToBackfill() >> [2L]
+            mockFragmentAttributeIndexRepository.backfillChunk(2L, 2) >> false
+        when: 'configured anchors are indexed'
+            objectUnderTest.indexConfiguredAnchors()
+        then: 'the backfill of the registered anchor is completed'
+            1 * mockFragmentAttributeIndexRepository.completeBackfill(2L)
+    }
+
+    def 'Registered anchors are backfilled chunk by chunk and then completed.'() {
+        given: 'two registered anchors to backfill'
+            mockFragmentAttributeIndexRepository.findAnchorIdsToRegister() >> []
+            mockFragmentAttributeIndexRepository.findAnchorIdsToBackfill() >> [1L, 2L]
+        when: 'configured anchors are indexed'
+            objectUnderTest.indexConfiguredAnchors()
+        then: 'the first anchor is backfilled in two chunks and then completed'
+            2 * mockFragmentAttributeIndexRepository.backfillChunk(1L, 2) >> true
+            1 * mockFragmentAttributeIndexRepository.backfillChunk(1L, 2) >> false
+        then:
+            1 * mockFragmentAttributeIndexRepository.completeBackfill(1L)
+        then: 'the second anchor is backfilled in one chunk and then completed'
+            1 * mockFragmentAttributeIndexRepository.backfillChunk(2L, 2) >> true
+            1 * mockFragmentAttributeIndexRepository.backfillChunk(2L, 2) >> false
+        then:
+            1 * mockFragmentAttributeIndexRepository.completeBackfill(2L)
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.ri.cache
+
+import com.hazelcast.cluster.Member
+import com.hazelcast.topic.ITopic
+import com.hazelcast.topic.Message
+import com.hazelcast.topic.MessageListener
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.onap.cps.api.parameters.FetchDescendantsOption
+import org.onap.cps.impl.DataNodeBuilder
+import org.onap.cps.ri.models.AnchorEntity
+import org.springframework.transaction.support.TransactionSynchronization
+import org.springframework.transaction.support.TransactionSynchronizationManager
+import spock.lang.Specification
+
+class DataNodeCacheSpec extends Specification {
+
+    def mockTopic = Mock(ITopic)
+    def objectUnderTest = new DataNodeCache(mockTopic)
+    def meterRegistry = new SimpleMeterRegistry()
+
+    def cachedAnchor = new AnchorEntity(id: 1, name: 'cached anchor')
+    def otherAnchor = new AnchorEntity(id: 2, name: 'other anchor')
+    def loadCount = 0
+
+    def setup() {
+        objectUnderTest.cachedAnchorNames = ['cached anchor'] as Set
+        objectUnderTest.bindTo(meterRegistry)
+    }
+
+    def 'Data nodes of an anchor without cache are always loaded.'() {
+        when: 'the same data node is retrieved twice'
+            2.times { objectUnderTest.getDataNodes(otherAnchor, '/parent', FetchDescendantsOption.OMIT_DESCENDANTS, this::loadDataNodes) }
+        then: 'the data node is loaded twice'
+            assert loadCount == 2
+        and: 'nothing is cached'
+            assert objectUnderTest.getSize() == 0
+    }
+
+    def 'Data nodes of a cached anchor are loaded only once.'() {
+        when: 'the same data node is retrieved twice'
+            def firstResult = objectUnderTest.getDataNodes(cachedAnchor, '/parent', FetchDescendantsOption.OMIT_DESCENDANTS, this::loadDataNodes)
+            def secondResult = objectUnderTest.getDataNodes(cachedAnchor, '/parent', FetchDescendantsOption.OMIT_DESCENDANTS, this::loadDataNodes)
+        then: 'the data node is loaded only once'
+            assert loadCount == 1
+        and: 'both results are equal'
+            assert firstResult == secondResult
+        and: 'the metrics reflect one hit and one miss'
+            assert meterRegistry.get('cps.data.node.cache.hits').functionCounter().count() == 1
+            assert meterRegistry.get('cps.data.node.cache.misses').functionCounter().count() == 1
+            assert meterRegistry.get('cps.data.node.cache.hit.ratio').gauge().value() == 0.5
+            assert meterRegistry.get('cps.data.node.cache.size').gauge().value() == 1
+    }
+
+    def 'Data nodes are cached per fetch depth.'() {
+        when: 'the same data node is retrieved with different fetch descendant options'
+            objectUnderTest.getDataNodes(cachedAnchor, '/parent', FetchDescendantsOption.OMIT_DESCENDANTS, this::loadDataNodes)
+            objectUnderTest.getDataNodes(cachedAnchor, '/parent', FetchDescendantsOption.INCLUDE_ALL_DESCENDANTS, this::loadDataNodes)
+        then: 'the data node is loaded for each option'
+            assert loadCount == 2
+    }
+
+    def 'Modifying returned data nodes does not affect cached data nodes.'() {
+        given: 'a data node is retrieved and modified'
+            def dataNode = objectUnderTest.getDataNodes(cachedAnchor, '/parent', FetchDescendantsOption.INCLUDE_ALL_DESCENDANTS, this::loadDataNodes)[0]
+            dataNode.leaves.put('leaf', 'modified')
+            dataNode.childDataNodes[0].leaves.put('leaf', 'modified')
+        when: 'the data node is retrieved again'
+            def result = objectUnderTest.getDataNodes(cachedAnchor, '/parent', FetchDescendantsOption.INCLUDE_ALL_DESCENDANTS, this::loadDataNodes)[0]
+        then: 'the cached data node is unchanged'
+            assert result.leaves.leaf == 'original'
+            assert result.childDataNodes[0].leaves.leaf == 'original'
+    }
+
+    def 'Empty results are not cached.'() {
+        when: 'a data node that does not exist is retrieved twice'
+            2.times { objectUnderTest.getDataNodes(cachedAnchor, '/parent', FetchDescendantsOption.OMIT_DESCENDANTS, { loadCount++; [] }) }
+        then: 'the data node is loaded each time'
+            assert loadCount == 2
+    }
+
+    def 'Invalidation for written xpath #writtenXpath.'() {
+        given: 'a data node is cached'
+            objectUnderTest.getDataNodes(cachedAnchor, '/parent/child', FetchDescendantsOption.OMIT_DESCENDANTS, this::loadDataNodes)
+        when: 'the cache is invalidated for the written xpath'
+            objectUnderTest.invalidate(cachedAnchor, [writtenXpath])
+        and: 'the data node is retrieved again'
+            objectUnderTest.getDataNodes(cachedAnchor, '/parent/child', FetchDescendantsOption.OMIT_DESCENDANTS, this::loadDataNodes)
+        then: 'the data node is loaded again only when affected by the write'
+            assert loadCount == expectedLoadCount
+        where: 'the following xpaths are written'
+            writtenXpath                  || expectedLoadCount
+            '/parent/child'               || 2
+            '/parent'                     || 2
+            '/parent/child/grand-child'   || 2
+            '/'                           || 2
+            'invalid xpath'               || 2
+            '/other'                      || 1
+            '/parent/sibling'             || 1
+    }
+
+    def 'Invalidation of all data nodes of an anchor.'() {
+        given: 'a data node is cached'
+            objectUnderTest.getDataNodes(cachedAnchor, '/parent', FetchDescendantsOption.OMIT_DESCENDANTS, this::loadDataNodes)
+        when: 'the cache is invalidated for the whole anchor'
+            objectUnderTest.invalidateAll(cachedAnchor)
+        then: 'nothing is cached anymore'
+            assert objectUnderTest.getSize() == 0
+        and: 'the invalidation is published'
+            1 * mockTopic.publish({ it.anchorId() == 1 && it.isForAllDataNodes() })
+        and: 'the local invalidation is counted'
+            assert meterRegistry.get('cps.data.node.cache.invalidations').tag('origin', 'local').counter().count() == 1
+    }
+
+    def 'Invalidation of an anchor without cache.'() {
+        when: 'the cache is invalidated for an anchor without cache'
+            objectUnderTest.invalidate(otherAnchor, ['/parent'])
+        then: 'no invalidation is published'
+            0 * mockTopic.publish(_)
+    }
+
+    def 'Data nodes loaded while invalidated are not cached.'() {
+        when: 'a data node is retrieved and the data node is written (and invalidated) during loading'
+            objectUnderTest.getDataNodes(cachedAnchor, '/parent', FetchDescendantsOption.OMIT_DESCENDANTS, {
+                objectUnderTest.invalidate(cachedAnchor, ['/parent'])
+                loadDataNodes()
+            })
+        then: 'the loaded data node is not cached'
+            assert objectUnderTest.getSize() == 0
+    }
+
+    def 'Invalidation within a transaction is repeated and published after completion.'() {
+        given: 'transaction synchronization is active'
+            TransactionSynchronizationManager.initSynchronization()
+        and: 'a data node is cached'
+            objectUnderTest.getDataNodes(cachedAnchor, '/parent', FetchDescendantsOption.OMIT_DESCENDANTS, this::loadDataNodes)
+        when: 'the cache is invalidated'
+            objectUnderTest.invalidate(cachedAnchor, ['/parent'])
+        then: 'the invalidation is not yet published'
+            0 * mockTopic.publish(_)
+        when: 'the stale data node is cached again before the transaction completes'
+            objectUnderTest.getDataNodes(cachedAnchor, '/parent', FetchDescendantsOption.OMIT_DESCENDANTS, this::loadDataNodes)
+        and: 'the transaction completes'
+            TransactionSynchronizationManager.synchronizations.each { it.afterCompletion(TransactionSynchronization.STATUS_COMMITTED) }
+        then: 'the invalidation is published'
+            1 * mockTopic.publish({ it.xpaths() == ['/parent'] })
+        and: 'nothing is cached anymore'
+            assert objectUnderTest.getSize() == 0
+        cleanup: 'transaction synchronization is cleared'
+            TransactionSynchronizationManager.clearSynchronization()
+    }
+
+    def 'Handling invalidation messages published by #publisher member.'() {
+        given: 'the cache listens to invalidation messages'
+            MessageListener messageListener
+            mockTopic.addMessageListener(_) >> { args -> messageListener = args[0]; null }
+            objectUnderTest.listenToRemoteInvalidations()
+        and: 'a data node is cached'
+            objectUnderTest.getDataNodes(cachedAnchor, '/parent', FetchDescendantsOption.OMIT_DESCENDANTS, this::loadDataNodes)
+        and: 'an invalidation message for the data node'
+            def member = Mock(Member) { localMember() >> isLocalMember }
+            def message = Mock(Message) {
+                getPublishingMember() >> member
+                getMessageObject() >> new DataNodeCacheInvalidation(1, ['/parent'])
+            }
+        when: 'the message is received'
+            messageListener.onMessage(message)
+        then: 'the data node is only invalidated when published by another member'
+            assert objectUnderTest.getSize() == expectedSize
+        and: 'only invalidations by other members are counted as remote invalidations'
+            assert meterRegistry.get('cps.data.node.cache.invalidations').tag('origin', 'remote').counter().count() == 1 - expectedSize
+        where: 'the following publishers are used'
+            publisher | isLocalMember || expectedSize
+            'local'   | true          || 1
+            'another' | false         || 0
+    }
+
+    def 'Publishing invalidation fails.'() {
+        given: 'publishing invalidations fails'
+            mockTopic.publish(_) >> { throw new IllegalStateException('hazelcast is down') }
+        and: 'a data node is cached'
+            objectUnderTest.getDataNodes(cachedAnchor, '/parent', FetchDescendantsOption.OMIT_DESCENDANTS, this::loadDataNodes)
+        when: 'the cache is invalidated'
+            objectUnderTest.invalidate(cachedAnchor, ['/parent'])
+        then: 'no exception is thrown'
+            noExceptionThrown()
+        and: 'the local cache is still invalidated'
+            assert objectUnderTest.getSize() == 0
+    }
+
+    def loadDataNodes() {
+        loadCount++
+        def child = new DataNodeBuilder().withXpath('/parent/child').withLeaves([leaf: 'original']).build()
+        return [new DataNodeBuilder().withXpath('/parent').withLeaves([leaf: 'original']).withChildDataNodes([child]).build()]
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.cps.ri.cache
+
+import com.hazelcast.cluster.Member
+import com.hazelcast.topic.ITopic
+import com.hazelcast.topic.Message
+import com.hazelcast.topic.MessageListener
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.onap.cps.api.exceptions.AnchorNotFoundException
+import org.onap.cps.ri.models.AnchorEntity
+import org.onap.cps.ri.models.DataspaceEntity
+import org.onap.cps.ri.models.SchemaSetEntity
+import org.onap.cps.ri.repository.AnchorRepository
+import org.onap.cps.ri.repository.DataspaceRepository
+import org.springframework.transaction.support.TransactionSynchronization
+import org.springframework.transaction.support.TransactionSynchronizationManager
+import spock.lang.Specification
+
+import java.time.Duration
+
+class DataspaceAndAnchorCacheSpec extends Specification {
+
+    def mockDataspaceRepository = Mock(DataspaceRepository)
+    def mockAnchorRepository = Mock(AnchorRepository)
+    def mockTopic = Mock(ITopic)
+    def objectUnderTest = new DataspaceAndAnchorCache(mockDataspaceRepository, mockAnchorRepository, mockTopic, 100, Duration.ofMinutes(10))
+
+    def dataspace1 = new DataspaceEntity(id: 1, name: 'ds1')
+    def dataspace2 = new DataspaceEntity(id: 2, name: 'ds2')
+
+    def setup() {
+        mockDataspaceRepository.getByName('ds1') >> dataspace1
+        mockDataspaceRepository.getByName('ds2') >> dataspace2
+        mockAnchorRepository.getByDataspaceAndName(_, _) >> { dataspace, anchorName -> buildAnchorEntity(dataspace, anchorName) }
+    }
+
+    def 'Get anchor entity twice.'() {
+        when: 'the same anchor is retrieved twice'
+            def firstResult = objectUnderTest.getAnchorEntity('ds1', 'anchor1')
+            def secondResult = objectUnderTest.getAnchorEntity('ds1', 'anchor1')
+        then: 'the anchor and its dataspace are only read from the repositories once'
+            1 * mockAnchorRepository.getByDataspaceAndName(dataspace1, 'anchor1') >> buildAnchorEntity(dataspace1, 'anchor1')
+            1 * mockDataspaceRepository.getByName('ds1') >> dataspace1
+        and: 'the same entity is returned both times'
+            assert secondResult.is(firstResult)
+    }
+
+    def 'Get dataspace entity twice.'() {
+        when: 'the same dataspace is retrieved twice'
+            2.times { objectUnderTest.getDataspaceEntity('ds1') }
+        then: 'the dataspace is read from the repository only once'
+            1 * mockDataspaceRepository.getByName('ds1') >> dataspace1
+    }
+
+    def 'Get anchor that does not exist.'() {
+        given: 'the anchor does not exist'
+            mockAnchorRepository.getByDataspaceAndName(dataspace1, 'unknown') >> { throw new AnchorNotFoundException('unknown', 'ds1') }
+        when: 'the anchor is retrieved twice'
+            2.times {
+                try {
+                    objectUnderTest.getAnchorEntity('ds1', 'unknown')
+                } catch (AnchorNotFoundException ignored) {
+                }
+            }
+        then: 'the anchor is looked up each time (not found is not cached)'
+            2 * mockAnchorRepository.getByDataspaceAndName(dataspace1, 'unknown') >> { throw new AnchorNotFoundException('unknown', 'ds1') }
+    }
+
+    def 'Invalidate anchors.'() {
+        given: 'two anchors are cached'
+            objectUnderTest.getAnchorEntity('ds1', 'anchor1')
+            objectUnderTest.getAnchorEntity('ds1', 'anchor2')
+        when: 'one anchor is invalidated'
+            objectUnderTest.invalidateAnchors('ds1', ['anchor1'])
+        and: 'both anchors are retrieved again'
+            objectUnderTest.getAnchorEntity('ds1', 'anchor1')
+            objectUnderTest.getAnchorEntity('ds1', 'anchor2')
+        then: 'only the invalidated anchor is read from the repository again'
+            1 * mockAnchorRepository.getByDataspaceAndName(dataspace1, 'anchor1') >> buildAnchorEntity(dataspace1, 'anchor1')
+            0 * mockAnchorRepository.getByDataspaceAndName(dataspace1, 'anchor2')
+        and: 'the invalidation is published'
+            1 * mockTopic.publish(new DataspaceAndAnchorCacheInvalidation('ds1', ['anchor1']))
+    }
+
+    def 'Invalidate dataspace.'() {
+        given: 'anchors of two dataspaces are cached'
+            objectUnderTest.getAnchorEntity('ds1', 'anchor1')
+            objectUnderTest.getAnchorEntity('ds2', 'anchor1')
+        when: 'the first dataspace is invalidated'
+            objectUnderTest.invalidateDataspace('ds1')
+        and: 'both anchors are retrieved again'
+            objectUnderTest.getAnchorEntity('ds1', 'anchor1')
+            objectUnderTest.getAnchorEntity('ds2', 'anchor1')
+        then: 'only the dataspace and anchor of the invalidated dataspace are read again'
+            1 * mockDataspaceRepository.getByName('ds1') >> dataspace1
+            1 * mockAnchorRepository.getByDataspaceAndName(dataspace1, 'anchor1') >> buildAnchorEntity(dataspace1, 'anchor1')
+            0 * mockDataspaceRepository.getByName('ds2')
+            0 * mockAnchorRepository.getByDataspaceAndName(dataspace2, _)
+    }
+
+    def 'Invalidate no anchors.'() {
+        when: 'an empty collection of anchors is invalidated'
+            objectUnderTest.invalidateAnchors('ds1', [])
+        then: 'nothing is published'
+            0 * mockTopic.publish(_)
+    }
+
+    def 'Anchor loaded while invalidated is not cached.'() {
+        when: 'the anchor is retrieved twice'
+            2.times { objectUnderTest.getAnchorEntity('ds1', 'anchor1') }
+        then: 'the anchor is read twice because it is invalidated while being loaded'
+            2 * mockAnchorRepository.getByDataspaceAndName(dataspace1, 'anchor1') >> {
+                objectUnderTest.invalidateAnchors('ds1', ['anchor1'])
+                buildAnchorEntity(dataspace1, 'anchor1')
+            }
+    }
+
+    def 'Invalidation within a transaction is repeated and published after completion.'() {
+        given: 'transaction synchronization is active'
+            TransactionSynchronizationManager.initSynchronization()
+        when: 'an anchor is invalidated'
+            objectUnderTest.invalidateAnchors('ds1', ['anchor1'])
+        then: 'the invalidation is not yet published'
+            0 * mockTopic.publish(_)
+        when: 'the stale anchor is cached again before the transaction completes'
+            objectUnderTest.getAnchorEntity('ds1', 'anchor1')
+        and: 'the transaction completes'
+            TransactionSynchronizationManager.synchronizations.each { it.afterCompletion(TransactionSynchronization.STATUS_COMMITTED) }
+        and: 'the anchor is retrieved again'
+            objectUnderTest.getAnchorEntity('ds1', 'anchor1')
+        then: 'the invalidation is published'
+            1 * mockTopic.publish(_)
+        and: 'the anchor cached during the transaction is read from the repository again after completion'
+            2 * mockAnchorRepository.getByDataspaceAndName(dataspace1, 'anchor1') >> buildAnchorEntity(dataspace1, 'anchor1')
+        cleanup: 'transaction synchronization is cleared'
+            TransactionSynchronizationManager.clearSynchronization()
+    }
+
+    def 'Handling invalidation messages published by #publisher member.'() {
+        given: 'the cache listens to invalidation messages'
+            MessageListener messageListener
+            mockTopic.addMessageListener(_) >> { args -> messageListener = args[0]; null }
+            objectUnderTest.listenToRemoteInvalidations()
+        and: 'an anchor is cached'
+            objectUnderTest.getAnchorEntity('ds1', 'anchor1')
+        when: 'an invalidation message for the anchor is received'
+            def member = Mock(Member) { localMember() >> isLocalMember }
+            messageListener.onMessage(Mock(Message) {
+                getPublishingMember() >> member
+                getMessageObject() >> new DataspaceAndAnchorCacheInvalidation('ds1', ['anchor1'])
+            })
+        and: 'the anchor is retrieved again'
+            objectUnderTest.getAnchorEntity('ds1', 'anchor1')
+        then: 'the anchor is only read again when invalidated by another member'
+            expectedReads * mockAnchorRepository.getByDataspaceAndName(dataspace1, 'anchor1') >> buildAnchorEntity(dataspace1, 'anchor1')
+        where: 'the following publishers are used'
+            publisher | isLocalMember || expectedReads
+            'local'   | true          || 0
+            'another' | false         || 1
+    }
+
+    def 'Publishing invalidation fails.'() {
+        given: 'publishing invalidations fails'
+            mockTopic.publish(_) >> { throw new IllegalStateException('hazelcast is down') }
+        when: 'an anchor is invalidated'
+            objectUnderTest.invalidateAnchors('ds1', ['anchor1'])
+        then: 'no exception is thrown'
+            noExceptionThrown()
+    }
+
+    def 'Cache metrics.'() {
+        given: 'a meter registry'
+            def meterRegistry = new SimpleMeterRegistry()
+        when: 'the cache metrics are bound to the registry'
+            objectUnderTest.bindTo(meterRegistry)
+        and: 'an anchor is retrieved twice'
+            2.times { objectUnderTest.getAnchorEntity('ds1', 'anchor1') }
+        then: 'the cache metrics reflect one hit and one miss'
+            assert meterRegistry.get('cache.gets').tag('cache', 'anchorEntityCache').tag('result', 'hit').functionCounter().count() == 1
+            assert meterRegistry.get('cache.gets').tag('cache', 'anchorEntityCache').tag('result', 'miss').functionCounter().count() == 1
+    }
+
+    def buildAnchorEntity(dataspace, anchorName) {
+        return new AnchorEntity(id: 10, name: anchorName, dataspace: dataspace, schemaSet: new SchemaSetEntity(name: 'my schema set'))
+    }
+}
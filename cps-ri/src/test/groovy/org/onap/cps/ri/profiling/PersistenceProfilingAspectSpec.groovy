@@ -0,0 +1,130 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.ri.profiling
+
+import ch.qos.logback.classic.Level
+import ch.qos.logback.classic.Logger
+import ch.qos.logback.classic.spi.ILoggingEvent
+import ch.qos.logback.core.read.ListAppender
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.aspectj.lang.ProceedingJoinPoint
+import org.aspectj.lang.Signature
+import org.onap.cps.ri.CpsDataPersistenceServiceImpl
+import org.slf4j.LoggerFactory
+import spock.lang.Specification
+
+class PersistenceProfilingAspectSpec extends Specification {
+
+    def meterRegistry = new SimpleMeterRegistry()
+    def objectUnderTest = new PersistenceProfilingAspect(meterRegistry)
+    def mockProceedingJoinPoint = Mock(ProceedingJoinPoint)
+    def mockSignature = Mock(Signature)
+    def logAppender = Spy(ListAppender<ILoggingEvent>)
+
+    def setup() {
+        objectUnderTest.profiledAnchorNames = ['profiled anchor'] as Set
+        mockSignature.getDeclaringType() >> CpsDataPersistenceServiceImpl
+        mockSignature.getName() >> 'getDataNodes'
+        mockProceedingJoinPoint.getSignature() >> mockSignature
+        def logger = (Logger) LoggerFactory.getLogger(PersistenceProfilingAspect)
+        logger.setLevel(Level.WARN)
+        logger.addAppender(logAppender)
+        logAppender.start()
+    }
+
+    def cleanup() {
+        ((Logger) LoggerFactory.getLogger(PersistenceProfilingAspect)).detachAndStopAllAppenders()
+    }
+
+    def 'Profile an operation on #scenario.'() {
+        given: 'an operation that executes 2 statements, reading 5 rows'
+            mockProceedingJoinPoint.getArgs() >> (['some dataspace', anchorName, '/some/xpath'] as Object[])
+            mockProceedingJoinPoint.proceed() >> {
+                def persistenceOperationProfile = PersistenceOperationProfile.current()
+                2.times { persistenceOperationProfile.recordStatementExecution('some sql', 1000) }
+                5.times { persistenceOperationProfile.recordRowRead() }
+                return 'some result'
+            }
+        when: 'the operation is profiled'
+            def result = objectUnderTest.profileOperation(mockProceedingJoinPoint)
+        then: 'the result of the operation is returned'
+            assert result == 'some result'
+        and: 'the metrics are tagged with the operation and expected anchor class'
+            def statements = meterRegistry.get('cps.persistence.statements')
+                .tag('operation', 'CpsDataPersistenceServiceImpl.getDataNodes')
+                .tag('anchor.class', expectedAnchorClass).summary()
+            assert statements.totalAmount() == 2
+            assert meterRegistry.get('cps.persistence.rows.read').summary().totalAmount() == 5
+            assert meterRegistry.get('cps.persistence.statement.execution').timer().count() == 1
+        and: 'no profile remains on the thread'
+            assert PersistenceOperationProfile.current() == null
+        where: 'the following anchors are used'
+            scenario                  | anchorName        || expectedAnchorClass
+            'a profiled anchor'       | 'profiled anchor' || 'profiled anchor'
+            'any other anchor'        | 'other anchor'    || 'other'
+    }
+
+    def 'Nested operations are part of the outer operation.'() {
+        given: 'an operation being profiled already'
+            def outerProfile = PersistenceOperationProfile.start()
+        when: 'a nested operation is invoked'
+            objectUnderTest.profileOperation(mockProceedingJoinPoint)
+        then: 'the nested operation is executed'
+            1 * mockProceedingJoinPoint.proceed()
+        and: 'no metrics are recorded for it'
+            assert meterRegistry.find('cps.persistence.statements').summary() == null
+        and: 'the outer profile is still active'
+            assert PersistenceOperationProfile.current() == outerProfile
+        cleanup: 'stop profiling the outer operation'
+            PersistenceOperationProfile.stop()
+    }
+
+    def 'Log operations executing more statements than the threshold (#threshold).'() {
+        given: 'a statement warning threshold'
+            objectUnderTest.statementWarningThreshold = threshold
+        and: 'an operation that executes the same statement 3 times'
+            mockProceedingJoinPoint.getArgs() >> (['some dataspace'] as Object[])
+            mockProceedingJoinPoint.proceed() >> {
+                3.times { PersistenceOperationProfile.current().recordStatementExecution('some sql', 1) }
+            }
+        when: 'the operation is profiled'
+            objectUnderTest.profileOperation(mockProceedingJoinPoint)
+        then: 'a warning is logged only when the threshold is exceeded'
+            assert logAppender.list.size() == expectedNumberOfWarnings
+        where: 'the following thresholds are used'
+            threshold || expectedNumberOfWarnings
+            0         || 0
+            2         || 1
+            3         || 0
+    }
+
+    def 'Metrics are recorded for operations that fail.'() {
+        given: 'an operation that fails'
+            mockProceedingJoinPoint.getArgs() >> ([] as Object[])
+            mockProceedingJoinPoint.proceed() >> { throw new IllegalStateException() }
+        when: 'the operation is profiled'
+            objectUnderTest.profileOperation(mockProceedingJoinPoint)
+        then: 'the exception is thrown'
+            thrown(IllegalStateException)
+        and: 'the metrics are recorded'
+            assert meterRegistry.get('cps.persistence.transaction').timer().count() == 1
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.ri.profiling
+
+import java.sql.Connection
+import java.sql.PreparedStatement
+import java.sql.ResultSet
+import java.sql.Statement
+import javax.sql.DataSource
+import spock.lang.Specification
+
+class ProfilingDataSourceSpec extends Specification {
+
+    def mockDataSource = Mock(DataSource)
+    def mockConnection = Mock(Connection)
+    def mockPreparedStatement = Mock(PreparedStatement)
+    def mockResultSet = Mock(ResultSet)
+    def objectUnderTest = new ProfilingDataSource(mockDataSource)
+
+    def setup() {
+        mockDataSource.getConnection() >> mockConnection
+        mockConnection.prepareStatement('some sql') >> mockPreparedStatement
+    }
+
+    def cleanup() {
+        PersistenceOperationProfile.stop()
+    }
+
+    def 'Database usage is recorded in the profile of the current thread.'() {
+        given: 'an operation being profiled'
+            def persistenceOperationProfile = PersistenceOperationProfile.start()
+        and: 'a query returning 2 rows, an update of 3 rows and a batch updating 1 and 2 rows'
+            mockPreparedStatement.executeQuery() >> mockResultSet
+            mockResultSet.next() >>> [true, true, false]
+            mockPreparedStatement.executeUpdate() >> 3
+            mockPreparedStatement.executeBatch() >> ([1, 2] as int[])
+        when: 'the statements are executed on a connection of the data source'
+            def connection = objectUnderTest.getConnection()
+            def preparedStatement = connection.prepareStatement('some sql')
+            def resultSet = preparedStatement.executeQuery()
+            while (resultSet.next()) { }
+            preparedStatement.executeUpdate()
+            preparedStatement.executeBatch()
+            connection.close()
+        then: 'the statements and rows are recorded'
+            assert persistenceOperationProfile.statementCount == 3
+            assert persistenceOperationProfile.rowsRead == 2
+            assert persistenceOperationProfile.rowsWritten == 6
+        and: 'the same sql is reported as most executed'
+            assert persistenceOperationProfile.mostExecutedSql.key == 'some sql'
+            assert persistenceOperationProfile.mostExecutedSql.value == 3
+        and: 'the time the connection was held is recorded'
+            assert persistenceOperationProfile.connectionHeldNanos > 0
+        and: 'the connection is closed'
+            1 * mockConnection.close()
+    }
+
+    def 'Statements created without sql record the executed sql.'() {
+        given: 'an operation being profiled'
+            def persistenceOperationProfile = PersistenceOperationProfile.start()
+        and: 'a plain statement'
+            def mockStatement = Mock(Statement)
+            mockConnection.createStatement() >> mockStatement
+        when: 'sql is executed on the statement'
+            objectUnderTest.getConnection().createStatement().execute('other sql')
+        then: 'the sql is executed'
+            1 * mockStatement.execute('other sql') >> true
+        and: 'the executed sql is recorded'
+            assert persistenceOperationProfile.statementCount == 1
+            assert persistenceOperationProfile.mostExecutedSql.key == 'other sql'
+    }
+
+    def 'Statements are executed without recording when no operation is profiled.'() {
+        given: 'an update'
+            mockPreparedStatement.executeUpdate() >> 1
+        when: 'the update is executed on a connection of the data source'
+            def result = objectUnderTest.getConnection().prepareStatement('some sql').executeUpdate()
+        then: 'the result of the update is returned'
+            assert result == 1
+        and: 'no profile exists'
+            assert PersistenceOperationProfile.current() == null
+    }
+
+    def 'Proxies are only equal to themselves.'() {
+        given: 'a connection of the data source'
+            def connection = objectUnderTest.getConnection()
+        expect: 'the connection is equal to itself but not to the connection it wraps'
+            assert connection.equals(connection)
+            assert !connection.equals(mockConnection)
+    }
+
+    def 'Exceptions of the wrapped statement are rethrown.'() {
+        given: 'an update that fails'
+            def exception = new java.sql.SQLException('some error')
+            mockPreparedStatement.executeUpdate() >> { throw exception }
+        and: 'an operation being profiled'
+            PersistenceOperationProfile.start()
+        when: 'the update is executed'
+            objectUnderTest.getConnection().prepareStatement('some sql').executeUpdate()
+        then: 'the original exception is thrown'
+            def thrown = thrown(java.sql.SQLException)
+            assert thrown == exception
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.ri.repository
+
+import org.onap.cps.ri.models.AnchorEntity
+import org.onap.cps.ri.models.SchemaSetEntity
+import org.springframework.jdbc.core.JdbcTemplate
+import spock.lang.Specification
+
+class FragmentAttributeIndexRepositorySpec extends Specification {
+
+    def mockJdbcTemplate = Mock(JdbcTemplate)
+
+    def objectUnderTest = new FragmentAttributeIndexRepository(mockJdbcTemplate)
+
+    def anchorEntity = new AnchorEntity(id: 123, name: 'my anchor', schemaSet: new SchemaSetEntity(name: 'my schema set'))
+
+    def 'Attribute index is not used for an anchor that is not configured: #scenario.'() {
+        given: 'the configured anchors and schema sets'
+            objectUnderTest.indexedAnchorNames = anchorNames as Set
+            objectUnderTest.indexedSchemaSetNames = schemaSetNames as Set
+        when: 'checking the attribute index'
+            def result = objectUnderTest.isAttributeIndexEnabled(anchorEntity)
+        then: 'the attribute index is not enabled'
+            assert result == false
+        and: 'the database is not accessed'
+            0 * mockJdbcTemplate._
+        where: 'the following configuration is used'
+            scenario             | anchorNames      | schemaSetNames
+            'nothing configured' | []               | []
+            'other anchor'       | ['other anchor'] | []
+            'other schema set'   | []               | ['other schema set']
+    }
+
+    def 'Attribute index is used for an anchor configured by #scenario once its backfill is completed.'() {
+        given: 'the configured anchors and schema sets'
+            objectUnderTest.indexedAnchorNames = anchorNames as Set
+            objectUnderTest.indexedSchemaSetNames = schemaSetNames as Set
+        and: 'the backfill of the anchor is completed'
+            mockJdbcTemplate.queryForObject({ it.contains('backfill_completed') }, Boolean, 123) >> true
+        when: 'checking the attribute index'
+            def result = objectUnderTest.isAttributeIndexEnabled(anchorEntity)
+        then: 'the attribute index is enabled'
+            assert result
+        and: 'no data is written'
+            0 * mockJdbcTemplate.update(*_)
+            0 * mockJdbcTemplate.execute(*_)
+        where: 'the following configuration is used'
+            scenario     | anchorNames   | schemaSetNames
+            'name'       | ['my anchor'] | []
+            'schema set' | []            | ['my schema set']
+    }
+
+    def 'Attribute index is not used for a configured anchor while its backfill is not completed.'() {
+        given: 'the anchor is configured to be indexed'
+            objectUnderTest.indexedAnchorNames = ['my anchor'] as Set
+        and: 'the backfill of the anchor is only completed the second time it is checked'
+            mockJdbcTemplate.queryForObject({ it.contains('backfill_completed') }, Boolean, 123) >>> [false, true]
+        when: 'checking the attribute index three times'
+            def results = (1..3).collect { objectUnderTest.isAttributeIndexEnabled(anchorEntity) }
+        then: 'the index is only used once the backfill is completed'
+            assert results == [false, true, true]
+        and: 'no data is written'
+            0 * mockJdbcTemplate.update(*_)
+            0 * mockJdbcTemplate.execute(*_)
+    }
+
+    def 'Attribute index of an enabled anchor is checked again after #scenario.'() {
+        given: 'the anchor is configured to be indexed'
+            objectUnderTest.indexedAnchorNames = ['my anchor'] as Set
+        and: 'the backfill of the anchor is completed'
+            mockJdbcTemplate.queryForObject({ it.contains('backfill_completed') }, Boolean, 123) >>> [true, false]
+        and: 'the attribute index is found to be enabled'
+            assert objectUnderTest.isAttributeIndexEnabled(anchorEntity)
+        when: 'the enabled anchors are invalidated'
+            if (registerOtherAnchors) {
+                objectUnderTest.registerAnchors([456L])
+            } else {
+                objectUnderTest.invalidateEnabledAnchors([123L])
+            }
+        and: 'checking the attribute index again'
+            def result = objectUnderTest.isAttributeIndexEnabled(anchorEntity)
+        then: 'the result reflects the database again'
+            assert result == false
+        where: 'the following invalidations are used'
+            scenario                       | registerOtherAnchors
+            'the anchor is invalidated'    | false
+            'other anchors are registered' | true
+    }
+
+    def 'Attribute index of an enabled anchor is not checked again when another anchor is invalidated.'() {
+        given: 'the anchor is configured to be indexed and its backfill is completed'
+            objectUnderTest.indexedAnchorNames = ['my anchor'] as Set
+            mockJdbcTemplate.queryForObject({ it.contains('backfill_completed') }, Boolean, 123) >> true
+            objectUnderTest.isAttributeIndexEnabled(anchorEntity)
+        when: 'another anchor is invalidated'
+            objectUnderTest.invalidateEnabledAnchors([456L])
+        and: 'checking the attribute index again'
+            def result = objectUnderTest.isAttributeIndexEnabled(anchorEntity)
+        then: 'the attribute index is still enabled'
+            assert result
+        and: 'the database is not accessed again'
+            0 * mockJdbcTemplate.queryForObject(*_)
+    }
+
+    def 'Find anchors to register when #scenario.'() {
+        given: 'the configured anchors and schema sets'
+            objectUnderTest.indexedAnchorNames = anchorNames as Set
+            objectUnderTest.indexedSchemaSetNames = schemaSetNames as Set
+        and: 'the database returns an anchor to register'
+            mockJdbcTemplate.queryForList({ it.contains('NOT EXISTS') }, Long, *_) >> [123L]
+        when: 'finding the anchors to register'
+            def result = objectUnderTest.findAnchorIdsToRegister()
+        then: 'the expected anchor ids are returned'
+            assert result == expectedResult
+        where: 'the following configuration is used'
+            scenario                | anchorNames   | schemaSetNames    || expectedResult
+            'nothing is configured' | []            | []                || []
+            'an anchor is named'    | ['my anchor'] | []                || [123L]
+            'a schema set is named' | []            | ['my schema set'] || [123L]
+    }
+
+    def 'Register anchors to be indexed.'() {
+        when: 'registering anchors'
+            objectUnderTest.registerAnchors([1L, 2L])
+        then: 'registration is serialized across instances'
+            1 * mockJdbcTemplate.execute({ it.contains('pg_advisory_xact_lock') })
+        then: 'waiting for the lock on the fragment table is limited'
+            1 * mockJdbcTemplate.execute('SET LOCAL lock_timeout = 2000')
+        then: 'the anchors are registered'
+            1 * mockJdbcTemplate.update({ it.contains('INSERT INTO attribute_indexed_anchor') }, _)
+        then: 'the trigger is refreshed to cover the registered anchors'
+            1 * mockJdbcTemplate.execute('SELECT cps_refresh_fragment_attribute_index_trigger()')
+    }
+
+    def 'Backfill a chunk of fragments when #scenario.'() {
+        given: 'the database updates the backfill progress of #updateCount anchor(s)'
+            mockJdbcTemplate.update({ it.contains('INSERT INTO fragment_attribute_index') }, 123L, 123L, 50, 256, 123L) >> updateCount
+        expect: 'a chunk is reported as indexed only when the progress was updated'
+            assert objectUnderTest.backfillChunk(123L, 50) == expectedResult
+        where: 'the following scenarios are used'
+            scenario                       | updateCount || expectedResult
+            'fragments remain'             | 1           || true
+            'all fragments are backfilled' | 0           || false
+    }
+
+    def 'Complete the backfill of an anchor.'() {
+        when: 'completing the backfill'
+            objectUnderTest.completeBackfill(123L)
+        then: 'the anchor is marked as completed'
+            1 * mockJdbcTemplate.update({ it.contains('SET backfill_completed = TRUE') }, 123L)
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.cps.ri.repository
+
+import jakarta.persistence.EntityManager
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.jdbc.core.PreparedStatementSetter
+import org.springframework.jdbc.core.RowMapper
+import org.springframework.transaction.support.TransactionSynchronizationManager
+import spock.lang.Specification
+
+class FragmentBatchUpdateRepositoryImplSpec extends Specification {
+
+    def mockJdbcTemplate = Mock(JdbcTemplate)
+    def mockEntityManager = Mock(EntityManager)
+
+    def objectUnderTest = new FragmentBatchUpdateRepositoryImpl(mockJdbcTemplate)
+
+    def setup() {
+        objectUnderTest.entityManager = mockEntityManager
+    }
+
+    def cleanup() {
+        TransactionSynchronizationManager.setActualTransactionActive(false)
+    }
+
+    def 'Merge attributes within a transaction flushes before and clears the persistence context after the update.'() {
+        given: 'a transaction is active'
+            TransactionSynchronizationManager.setActualTransactionActive(true)
+        when: 'attributes are merged'
+            def result = objectUnderTest.mergeAttributes(3, ['/a': '{"x":1}', '/missing': '{}'])
+        then: 'pending changes are flushed first'
+            1 * mockEntityManager.flush()
+        then: 'the update statement is executed, returning the xpaths of the updated fragments'
+            1 * mockJdbcTemplate.query(_ as String, _ as PreparedStatementSetter, _ as RowMapper) >> ['/a']
+        then: 'the persistence context is cleared, so no managed fragment entity keeps the old attributes'
+            1 * mockEntityManager.clear()
+        and: 'the xpaths of the updated fragments are returned'
+            assert result == ['/a']
+    }
+
+    def 'Replace attributes within a transaction flushes before and clears the persistence context after the update.'() {
+        given: 'a transaction is active'
+            TransactionSynchronizationManager.setActualTransactionActive(true)
+        when: 'attributes are replaced'
+            def result = objectUnderTest.replaceAttributes([2L: '{"x":1}', 5L: '{"y":2}'])
+        then: 'pending changes are flushed first'
+            1 * mockEntityManager.flush()
+        then: 'the update statement is executed, returning the ids of the updated fragments'
+            1 * mockJdbcTemplate.query(_ as String, _ as PreparedStatementSetter, _ as RowMapper) >> [2L]
+        then: 'the persistence context is cleared'
+            1 * mockEntityManager.clear()
+        and: 'the ids of the updated fragments are returned'
+            assert result == [2L]
+    }
+
+    def 'Batch update outside a transaction does not use the persistence context.'() {
+        given: 'the update statement returns fragment id 1'
+            mockJdbcTemplate.query(_ as String, _ as PreparedStatementSetter, _ as RowMapper) >> [1L]
+        when: 'attributes are replaced without an active transaction'
+            objectUnderTest.replaceAttributes([1L: '{"x":1}'])
+        then: 'the persistence context is neither flushed nor cleared'
+            0 * mockEntityManager._
+    }
+
+    def 'Batch update without any attributes does not access the database.'() {
+        when: 'empty attribute maps are merged and replaced'
+            def mergeResult = objectUnderTest.mergeAttributes(3, [:])
+            def replaceResult = objectUnderTest.replaceAttributes([:])
+        then: 'nothing is updated'
+            assert mergeResult.isEmpty()
+            assert replaceResult.isEmpty()
+        and: 'the database is not accessed'
+            0 * mockJdbcTemplate._
+            0 * mockEntityManager._
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.ri.repository
+
+import org.onap.cps.ri.models.AnchorEntity
+import org.onap.cps.ri.models.FragmentEntity
+import org.postgresql.PGConnection
+import org.postgresql.copy.CopyIn
+import org.postgresql.copy.CopyManager
+import org.springframework.jdbc.core.ConnectionCallback
+import org.springframework.jdbc.core.JdbcTemplate
+import spock.lang.Specification
+
+import java.nio.ByteBuffer
+import java.sql.Array
+import java.sql.Connection
+import java.sql.PreparedStatement
+import java.sql.ResultSet
+
+class FragmentBulkInsertRepositoryImplSpec extends Specification {
+
+    def mockJdbcTemplate = Mock(JdbcTemplate)
+    def mockConnection = Mock(Connection)
+    def mockCopyIn = Mock(CopyIn)
+
+    def objectUnderTest = new FragmentBulkInsertRepositoryImpl(mockJdbcTemplate)
+
+    def copiedBytes = new ByteArrayOutputStream()
+
+    def anchorEntity = new AnchorEntity(id: 3)
+
+    def setup() {
+        mockJdbcTemplate.execute(_ as ConnectionCallback) >> { args -> args[0].doInConnection(mockConnection) }
+        mockConnection.prepareStatement({ it.contains('nextval') }) >> mockPreparedStatement([[1000L]])
+        def mockPgConnection = Mock(PGConnection)
+        def mockCopyManager = Mock(CopyManager)
+        mockConnection.unwrap(PGConnection) >> mockPgConnection
+        mockPgConnection.getCopyAPI() >> mockCopyManager
+        mockCopyManager.copyIn({ it.startsWith('COPY fragment') }) >> mockCopyIn
+        mockCopyIn.writeToCopy(_, _, _) >> { byte[] bytes, int offset, int length -> copiedBytes.write(bytes, offset, length) }
+        mockCopyIn.endCopy() >> 3L
+    }
+
+    def 'Bulk insert a parent with two children below an existing fragment with path ids #scenario.'() {
+        given: 'materialized paths are enabled or not'
+            objectUnderTest.fragmentPathIdsEnabled = pathIdsEnabled
+        and: 'the existing fragment (id 500) has a materialized path'
+            mockConnection.prepareStatement({ it.contains('path_ids FROM fragment') }) >> mockPreparedStatement([[500L, mockArray([7L, 500L])]])
+        when: 'a parent with two children is bulk inserted'
+            def result = objectUnderTest.bulkInsertWithDescendants([createParentWithTwoChildren(500L)])
+        then: 'the number of inserted fragments is returned'
+            assert result == 3
+        and: 'the rows are copied with pre-allocated ids and the expected (binary encoded) path ids'
+            def rows = parseCopiedRows()
+            assert rows.collect { it.id } == [901L, 902L, 903L]
+            assert rows.collect { it.parentId } == [500L, 901L, 901L]
+            assert rows.collect { it.pathIds } == expectedPathIds
+        where: 'the following settings are used'
+            scenario   | pathIdsEnabled || expectedPathIds
+            'enabled'  | true           || [[7L, 500L, 901L], [7L, 500L, 901L, 902L], [7L, 500L, 901L, 903L]]
+            'disabled' | false          || [null, null, null]
+    }
+
+    def 'Bulk insert of root fragments with path ids enabled.'() {
+        given: 'materialized paths are enabled'
+            objectUnderTest.fragmentPathIdsEnabled = true
+        when: 'a root fragment with two children is bulk inserted'
+            objectUnderTest.bulkInsertWithDescendants([createParentWithTwoChildren(null)])
+        then: 'no existing paths are looked up'
+            0 * mockConnection.prepareStatement({ it.contains('path_ids FROM fragment') })
+        and: 'the paths start at the root fragment'
+            assert parseCopiedRows().collect { it.pathIds } == [[901L], [901L, 902L], [901L, 903L]]
+    }
+
+    def 'Bulk insert below an existing fragment without path ids, with path ids enabled.'() {
+        given: 'materialized paths are enabled'
+            objectUnderTest.fragmentPathIdsEnabled = true
+        and: 'the existing fragment has no materialized path'
+            mockConnection.prepareStatement({ it.contains('path_ids FROM fragment') }) >> mockPreparedStatement([[500L, null]])
+        when: 'a parent with two children is bulk inserted'
+            objectUnderTest.bulkInsertWithDescendants([createParentWithTwoChildren(500L)])
+        then: 'no paths are copied, so the database trigger calculates them'
+            assert parseCopiedRows().collect { it.pathIds } == [null, null, null]
+    }
+
+    def createParentWithTwoChildren(parentId) {
+        def children = ['/parent/child[@id=1]', '/parent/child[@id=2]'].collect {
+            new FragmentEntity(xpath: it, attributes: '{}', anchor: anchorEntity, childFragments: [] as Set)
+        }
+        return new FragmentEntity(xpath: '/parent', parentId: parentId, attributes: '{"leaf":1}', anchor: anchorEntity,
+            childFragments: new LinkedHashSet(children))
+    }
+
+    def mockPreparedStatement(rows) {
+        def mockPreparedStatement = Mock(PreparedStatement)
+        def mockResultSet = Mock(ResultSet)
+        def rowIndex = -1
+        mockResultSet.next() >> { ++rowIndex < rows.size() }
+        mockResultSet.getLong(_) >> { int column -> rows[rowIndex][column - 1] }
+        mockResultSet.getArray(_) >> { int column -> rows[rowIndex][column - 1] }
+        mockPreparedStatement.executeQuery() >> mockResultSet
+        return mockPreparedStatement
+    }
+
+    def mockArray(values) {
+        def mockArray = Mock(Array)
+        mockArray.getArray() >> (values as Long[])
+        return mockArray
+    }
+
+    def parseCopiedRows() {
+        def buffer = ByteBuffer.wrap(copiedBytes.toByteArray())
+        buffer.position(11 + 4 + 4)
+        def rows = []
+        while (true) {
+            def numberOfColumns = buffer.getShort()
+            if (numberOfColumns == -1) {
+                return rows
+            }
+            assert numberOfColumns == 6
+            def columns = (1..numberOfColumns).collect {
+                def length = buffer.getInt()
+                if (length == -1) {
+                    return null
+                }
+                def bytes = new byte[length]
+                buffer.get(bytes)
+                return ByteBuffer.wrap(bytes)
+            }
+            rows.add([id: columns[0].getLong(), parentId: columns[4]?.getLong(), pathIds: parseBigintArray(columns[5])])
+        }
+    }
+
+    def static parseBigintArray(ByteBuffer encodedArray) {
+        if (encodedArray == null) {
+            return null
+        }
+        assert encodedArray.getInt() == 1 // dimensions
+        assert encodedArray.getInt() == 0 // no nulls
+        assert encodedArray.getInt() == 20 // bigint
+        def numberOfElements = encodedArray.getInt()
+        assert encodedArray.getInt() == 1 // lower bound
+        def values = (1..numberOfElements).collect {
+            assert encodedArray.getInt() == 8
+            encodedArray.getLong()
+        }
+        assert !encodedArray.hasRemaining()
+        return values
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.ri.tombstone
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.onap.cps.ri.repository.AnchorTombstoneRepository
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+
+class AnchorTombstoneReclaimerSpec extends Specification {
+
+    def mockAnchorTombstoneRepository = Mock(AnchorTombstoneRepository)
+    def objectUnderTest = new AnchorTombstoneReclaimer(mockAnchorTombstoneRepository)
+    def meterRegistry = new SimpleMeterRegistry()
+
+    def setup() {
+        objectUnderTest.reclaimChunkSize = 2
+        objectUnderTest.reclaimPauseMs = 0
+        objectUnderTest.bindTo(meterRegistry)
+    }
+
+    def 'Reclaim fragments of tombstoned anchors in chunks.'() {
+        given: 'two tombstoned anchors'
+            mockAnchorTombstoneRepository.findTombstonedAnchorIds() >> [1L, 2L]
+        and: 'fragments of the first anchor are deleted in two chunks'
+            mockAnchorTombstoneRepository.deleteFragments(1L, 2) >>> [2, 1, 0]
+        and: 'the second anchor has no fragments left'
+            mockAnchorTombstoneRepository.deleteFragments(2L, 2) >> 0
+        when: 'tombstoned anchors are reclaimed'
+            objectUnderTest.reclaimTombstonedAnchors()
+        then: 'the rows of both anchors are deleted'
+            1 * mockAnchorTombstoneRepository.deleteTombstonedAnchor(1L) >> true
+            1 * mockAnchorTombstoneRepository.deleteTombstonedAnchor(2L) >> true
+        and: 'the metrics reflect the reclaimed fragments and anchors'
+            assert meterRegistry.get('cps.anchor.tombstone.reclaimed.fragments').functionCounter().count() == 3
+            assert meterRegistry.get('cps.anchor.tombstone.reclaimed.anchors').functionCounter().count() == 2
+            assert meterRegistry.get('cps.anchor.tombstone.pending').gauge().value() == 0
+    }
+
+    def 'Reclaiming only pauses after chunks with deleted fragments.'() {
+        given: 'a pause of 200 ms between chunks'
+            objectUnderTest.reclaimPauseMs = 200
+        and: 'two tombstoned anchors, the first with fragments deleted in two chunks, the second without fragments'
+            mockAnchorTombstoneRepository.findTombstonedAnchorIds() >> [1L, 2L]
+            mockAnchorTombstoneRepository.deleteFragments(1L, 2) >>> [2, 1, 0]
+            mockAnchorTombstoneRepository.deleteFragments(2L, 2) >> 0
+        when: 'tombstoned anchors are reclaimed'
+            def startTime = System.nanoTime()
+            objectUnderTest.reclaimTombstonedAnchors()
+            def elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)
+        then: 'it only paused after the two non-empty chunks (not after the empty chunks)'
+            assert elapsedMs >= 400
+            assert elapsedMs < 600
+    }
+
+    def 'Reclaiming runs on its own thread.'() {
+        given: 'the thread reclaiming tombstoned anchors is recorded'
+            def reclaimingThreadName = new CompletableFuture<String>()
+            mockAnchorTombstoneRepository.findTombstonedAnchorIds() >> { reclaimingThreadName.complete(Thread.currentThread().name); [] }
+        when: 'reclaiming is started'
+            objectUnderTest.startReclaiming()
+        then: 'tombstoned anchors are reclaimed on the dedicated reclaimer thread'
+            assert reclaimingThreadName.get(5, TimeUnit.SECONDS).startsWith('anchor-tombstone-reclaimer-')
+        cleanup: 'reclaiming is stopped'
+            objectUnderTest.stopReclaiming()
+    }
+
+    def 'Tombstoned anchor is kept when fragments remain (e.g. locked by another instance).'() {
+        given: 'a tombstoned anchor'
+            mockAnchorTombstoneRepository.findTombstonedAnchorIds() >> [1L]
+        and: 'no (unlocked) fragments can be deleted'
+            mockAnchorTombstoneRepository.deleteFragments(1L, 2) >> 0
+        and: 'the anchor row is not deleted because fragments remain'
+            mockAnchorTombstoneRepository.deleteTombstonedAnchor(1L) >> false
+        when: 'tombstoned anchors are reclaimed'
+            objectUnderTest.reclaimTombstonedAnchors()
+        then: 'the anchor is still pending'
+            assert meterRegistry.get('cps.anchor.tombstone.pending').gauge().value() == 1
+            assert meterRegistry.get('cps.anchor.tombstone.reclaimed.anchors').functionCounter().count() == 0
+    }
+}
@@ -124,6 +124,20 @@ public interface CpsDataService {
                                                        Collection<String> xpaths,
                                                        FetchDescendantsOption fetchDescendantsOption);
 
+    /**
+     * Streams all the data nodes by XPath for given dataspace and anchor to a visitor, in depth-first order.
+     * Unlike getDataNodes the data tree is never held in memory as a whole.
+     *
+     * @param dataspaceName           dataspace name
+     * @param anchorName              anchor name
+     * @param xpath                   xpath
+     * @param fetchDescendantsOption  defines the scope of data to fetch: either single node or all the descendant nodes
+     *                                (recursively) as well
+     * @param dataNodeVisitor         visitor receiving the data nodes
+     */
+    void streamDataNodes(String dataspaceName, String anchorName, String xpath,
+                         FetchDescendantsOption fetchDescendantsOption, DataNodeVisitor dataNodeVisitor);
+
     /**
      * Updates multiple data nodes for given dataspace and anchor using xpath to parent node.
      *
@@ -21,6 +21,7 @@
 
 package org.onap.cps.api;
 
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 import org.onap.cps.api.parameters.FetchDescendantsOption;
@@ -78,6 +79,23 @@ public interface CpsFacade {
                                                String xpath,
                                                FetchDescendantsOption fetchDescendantsOption);
 
+    /**
+     * Stream data nodes for a given dataspace, anchor and xpath as JSON to an output stream.
+     * The JSON has the same structure as the map returned by getDataNodesByAnchorV3, but the data tree is
+     * never held in memory as a whole, so this is suitable for anchors with very large amounts of data.
+     *
+     * @param dataspaceName          the name of the dataspace
+     * @param anchorName             the name of the anchor
+     * @param xpath                  the xpath
+     * @param fetchDescendantsOption control what level of descendants should be returned
+     * @param outputStream           the output stream the JSON is written to
+     */
+    void streamDataNodesByAnchorV3(String dataspaceName,
+                                   String anchorName,
+                                   String xpath,
+                                   FetchDescendantsOption fetchDescendantsOption,
+                                   OutputStream outputStream);
+
     /**
      * Query the given anchor using a cps path expression.
      *
@@ -105,6 +123,21 @@ public interface CpsFacade {
                                                     FetchDescendantsOption fetchDescendantsOption,
                                                     PaginationOption paginationOption);
 
+    /**
+     * Query the given dataspace (all anchors) using a cps path expression and write the result, a JSON array with
+     * the same structure as executeDataspaceQuery, to an output stream while the anchors are being read.
+     * The complete result is never held in memory, so this is suitable for queries matching many anchors.
+     *
+     * @param dataspaceName          the name of the dataspace
+     * @param cpsPath                the xpath i.e. query
+     * @param fetchDescendantsOption control what level of descendants should be returned
+     * @param outputStream           the output stream the JSON is written to
+     */
+    void streamDataspaceQuery(String dataspaceName,
+                              String cpsPath,
+                              FetchDescendantsOption fetchDescendantsOption,
+                              OutputStream outputStream);
+
     /**
      * Query how many anchors wil be returned for the given dataspace and a cps path query.
      *
@@ -24,6 +24,7 @@ package org.onap.cps.api;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.Optional;
 import org.onap.cps.api.exceptions.DataInUseException;
 import org.onap.cps.api.model.ModuleDefinition;
 import org.onap.cps.api.model.ModuleReference;
@@ -163,6 +164,17 @@ public interface CpsModuleService {
      */
     Collection<ModuleReference> identifyNewModuleReferences(Collection<ModuleReference> moduleReferencesToCheck);
 
+    /**
+     * Find a schema set in the given dataspace that consists of exactly the given modules.
+     * Schema sets are matched on the names and revisions of their modules, the content of the modules is not needed.
+     *
+     * @param dataspaceName     dataspace name
+     * @param moduleReferences  the module references (name and revision) the schema set should consist of
+     * @return the name of a matching schema set, or an empty optional if there is no such schema set
+     */
+    Optional<String> findSchemaSetNameByModuleReferences(String dataspaceName,
+                                                         Collection<ModuleReference> moduleReferences);
+
     /**
      * Remove any Yang Resource Modules and Schema Sets from the given dataspace that are no longer referenced
      * by any anchor.
@@ -23,6 +23,7 @@ package org.onap.cps.api;
 
 import java.util.Collection;
 import java.util.Set;
+import java.util.function.Consumer;
 import org.onap.cps.api.model.DataNode;
 import org.onap.cps.api.parameters.FetchDescendantsOption;
 import org.onap.cps.api.parameters.PaginationOption;
@@ -87,11 +88,28 @@ public interface CpsQueryService {
                                                      FetchDescendantsOption fetchDescendantsOption,
                                                      PaginationOption paginationOption);
 
+    /**
+     * Stream data nodes for the given dataspace across all anchors by cps path.
+     * The data nodes are passed to the consumer per anchor while they are being read, the complete result is never
+     * held in memory.
+     *
+     * @param dataspaceName              dataspace name
+     * @param cpsPath                    CPS path
+     * @param fetchDescendantsOption     defines whether the descendants of the node(s) found by the query should be
+     *                                   included in the output
+     * @param dataNodesPerAnchorConsumer consumer receiving the data nodes found, one call per anchor
+     */
+    void streamDataNodesAcrossAnchors(String dataspaceName, String cpsPath,
+                                      FetchDescendantsOption fetchDescendantsOption,
+                                      Consumer<Collection<DataNode>> dataNodesPerAnchorConsumer);
+
     /**
      * Query total number of anchors for given dataspace name and cps path.
      * @param dataspaceName dataspace name
      * @param cpsPath cps path
+     * @param paginationOption pagination option, only anchors after its anchor name (if any) are counted
      * @return total number of anchors for given dataspace name and cps path.
      */
-    Integer countAnchorsForDataspaceAndCpsPath(String dataspaceName, String cpsPath);
+    Integer countAnchorsForDataspaceAndCpsPath(String dataspaceName, String cpsPath,
+                                               PaginationOption paginationOption);
 }
@@ -0,0 +1,45 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.api;
+
+import org.onap.cps.api.model.DataNode;
+
+/**
+ * Receives data nodes one at a time, in depth-first order, while a data tree is being streamed.
+ * The data nodes passed to the visitor only contain their own leaves; descendants are visited separately
+ * between the enter and exit calls of their parent.
+ */
+public interface DataNodeVisitor {
+
+    /**
+     * Called before any of the descendants of the data node are visited.
+     *
+     * @param dataNode data node (without child data nodes)
+     */
+    void enterDataNode(DataNode dataNode);
+
+    /**
+     * Called after all descendants of the data node have been visited.
+     *
+     * @param dataNode data node (without child data nodes)
+     */
+    void exitDataNode(DataNode dataNode);
+}
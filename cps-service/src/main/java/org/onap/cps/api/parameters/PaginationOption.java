@@ -30,9 +30,23 @@ public class PaginationOption {
 
     private int pageSize;
 
+    /**
+     * Name of the last anchor of a previously returned page (keyset pagination).
+     * When set, pages are counted from the first anchor (in binary name order) after this anchor.
+     */
+    private String afterAnchorName;
+
     public static final PaginationOption NO_PAGINATION = null;
 
+    public PaginationOption(final int pageIndex, final int pageSize) {
+        this(pageIndex, pageSize, null);
+    }
+
     public boolean isValidPaginationOption() {
         return this.pageIndex > 0 && this.pageSize > 0;
     }
+
+    public boolean hasAfterAnchorName() {
+        return this.afterAnchorName != null;
+    }
 }
@@ -19,11 +19,25 @@
 
 package org.onap.cps.config;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.onap.cps.cpspath.parser.CpsPathUtil;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    /**
+     * Expose hit, miss and eviction metrics of the (static) cache of parsed cps path queries.
+     *
+     * @return meter binder for the cps path query cache
+     */
+    @Bean
+    public MeterBinder cpsPathQueryCacheMetrics() {
+        return meterRegistry -> CaffeineCacheMetrics.monitor(meterRegistry, CpsPathUtil.getCpsPathQueryCache(),
+                "cpsPathQueryCache");
+    }
 }
\ No newline at end of file
@@ -25,7 +25,6 @@ import lombok.RequiredArgsConstructor;
 import org.onap.cps.api.CpsAnchorService;
 import org.onap.cps.api.model.Anchor;
 import org.onap.cps.spi.CpsAdminPersistenceService;
-import org.onap.cps.spi.CpsDataPersistenceService;
 import org.onap.cps.utils.CpsValidator;
 import org.springframework.stereotype.Service;
 
@@ -34,7 +33,6 @@ import org.springframework.stereotype.Service;
 public class CpsAnchorServiceImpl implements CpsAnchorService {
 
     private final CpsAdminPersistenceService cpsAdminPersistenceService;
-    private final CpsDataPersistenceService cpsDataPersistenceService;
     private final CpsValidator cpsValidator;
 
     @Override
@@ -78,7 +76,6 @@ public class CpsAnchorServiceImpl implements CpsAnchorService {
     @Override
     public void deleteAnchor(final String dataspaceName, final String anchorName) {
         cpsValidator.validateNameCharacters(dataspaceName, anchorName);
-        cpsDataPersistenceService.deleteDataNodes(dataspaceName, anchorName);
         cpsAdminPersistenceService.deleteAnchor(dataspaceName, anchorName);
     }
 
@@ -86,7 +83,6 @@ public class CpsAnchorServiceImpl implements CpsAnchorService {
     public void deleteAnchors(final String dataspaceName, final Collection<String> anchorNames) {
         cpsValidator.validateNameCharacters(dataspaceName);
         cpsValidator.validateNameCharacters(anchorNames);
-        cpsDataPersistenceService.deleteDataNodes(dataspaceName, anchorNames);
         cpsAdminPersistenceService.deleteAnchors(dataspaceName, anchorNames);
     }
 
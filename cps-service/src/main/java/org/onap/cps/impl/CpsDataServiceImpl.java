@@ -45,6 +45,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.onap.cps.api.CpsAnchorService;
 import org.onap.cps.api.CpsDataService;
 import org.onap.cps.api.DataNodeFactory;
+import org.onap.cps.api.DataNodeVisitor;
 import org.onap.cps.api.model.Anchor;
 import org.onap.cps.api.model.DataNode;
 import org.onap.cps.api.model.DeltaReport;
@@ -161,6 +162,16 @@ public class CpsDataServiceImpl implements CpsDataService {
                 fetchDescendantsOption);
     }
 
+    @Override
+    @Timed(value = "cps.data.service.datanode.stream", description = "Time taken to stream data nodes for an xpath")
+    public void streamDataNodes(final String dataspaceName, final String anchorName, final String xpath,
+                                final FetchDescendantsOption fetchDescendantsOption,
+                                final DataNodeVisitor dataNodeVisitor) {
+        cpsValidator.validateNameCharacters(dataspaceName, anchorName);
+        cpsDataPersistenceService.streamDataNodes(dataspaceName, anchorName, xpath, fetchDescendantsOption,
+            dataNodeVisitor);
+    }
+
     @Override
     @Timed(value = "cps.data.service.datanode.leaves.update",
         description = "Time taken to update a batch of leaf data nodes")
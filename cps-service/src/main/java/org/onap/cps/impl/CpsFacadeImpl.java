@@ -21,6 +21,10 @@
 
 package org.onap.cps.impl;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +39,8 @@ import org.onap.cps.api.parameters.PaginationOption;
 import org.onap.cps.cpspath.parser.CpsPathQuery;
 import org.onap.cps.cpspath.parser.CpsPathUtil;
 import org.onap.cps.utils.DataMapper;
+import org.onap.cps.utils.DataNodeJsonStreamWriter;
+import org.onap.cps.utils.JsonObjectMapper;
 import org.springframework.stereotype.Service;
 
 @RequiredArgsConstructor
@@ -44,6 +50,7 @@ public class CpsFacadeImpl implements CpsFacade {
     private final CpsDataService cpsDataService;
     private final CpsQueryService cpsQueryService;
     private final DataMapper dataMapper;
+    private final JsonObjectMapper jsonObjectMapper;
 
     @Override
     public Map<String, Object> getFirstDataNodeByAnchor(final String dataspaceName,
@@ -75,6 +82,21 @@ public class CpsFacadeImpl implements CpsFacade {
         return dataMapper.toDataMapForApiV3(dataspaceName, anchorName, dataNodes);
     }
 
+    @Override
+    public void streamDataNodesByAnchorV3(final String dataspaceName,
+                                          final String anchorName,
+                                          final String xpath,
+                                          final FetchDescendantsOption fetchDescendantsOption,
+                                          final OutputStream outputStream) {
+        final JsonGenerator jsonGenerator = jsonObjectMapper.createJsonGenerator(outputStream);
+        final DataNodeJsonStreamWriter dataNodeJsonStreamWriter =
+            dataMapper.toJsonStreamWriterForApiV3(dataspaceName, anchorName, jsonGenerator);
+        dataNodeJsonStreamWriter.writeStartOfDocument();
+        cpsDataService.streamDataNodes(dataspaceName, anchorName, xpath, fetchDescendantsOption,
+            dataNodeJsonStreamWriter);
+        dataNodeJsonStreamWriter.writeEndOfDocument();
+    }
+
     @Override
     public List<Map<String, Object>> executeAnchorQuery(final String dataspaceName,
                                                         final String anchorName,
@@ -102,6 +124,23 @@ public class CpsFacadeImpl implements CpsFacade {
         return dataMapper.toDataMaps(dataspaceName, dataNodes);
     }
 
+    @Override
+    public void streamDataspaceQuery(final String dataspaceName,
+                                     final String cpsPath,
+                                     final FetchDescendantsOption fetchDescendantsOption,
+                                     final OutputStream outputStream) {
+        final JsonGenerator jsonGenerator = jsonObjectMapper.createJsonGenerator(outputStream);
+        try {
+            jsonGenerator.writeStartArray();
+            cpsQueryService.streamDataNodesAcrossAnchors(dataspaceName, cpsPath, fetchDescendantsOption,
+                dataNodes -> writeDataMaps(jsonGenerator, dataMapper.toDataMaps(dataspaceName, dataNodes)));
+            jsonGenerator.writeEndArray();
+            jsonGenerator.flush();
+        } catch (final IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+    }
+
     @Override
     public int countAnchorsInDataspaceQuery(final String dataspaceName,
                                             final String cpsPath,
@@ -109,10 +148,21 @@ public class CpsFacadeImpl implements CpsFacade {
         if (paginationOption == PaginationOption.NO_PAGINATION) {
             return 1;
         }
-        final int totalAnchors =  cpsQueryService.countAnchorsForDataspaceAndCpsPath(dataspaceName, cpsPath);
+        final int totalAnchors =  cpsQueryService.countAnchorsForDataspaceAndCpsPath(dataspaceName, cpsPath,
+            paginationOption);
         return totalAnchors <= paginationOption.getPageSize() ? 1
             : (int) Math.ceil((double) totalAnchors / paginationOption.getPageSize());
     }
 
-}
+    private static void writeDataMaps(final JsonGenerator jsonGenerator, final List<Map<String, Object>> dataMaps) {
+        try {
+            for (final Map<String, Object> dataMap : dataMaps) {
+                jsonGenerator.writeObject(dataMap);
+            }
+            jsonGenerator.flush();
+        } catch (final IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+    }
 
+}
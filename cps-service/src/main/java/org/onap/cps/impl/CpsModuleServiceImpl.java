@@ -26,6 +26,7 @@ package org.onap.cps.impl;
 import io.micrometer.core.annotation.Timed;
 import java.util.Collection;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.onap.cps.api.CpsAnchorService;
@@ -64,7 +65,8 @@ public class CpsModuleServiceImpl implements CpsModuleService {
         cpsModulePersistenceService.createSchemaSet(dataspaceName, schemaSetName, yangResourceContentPerName);
         final YangTextSchemaSourceSet yangTextSchemaSourceSet =
             timedYangTextSchemaSourceSetBuilder.getYangTextSchemaSourceSet(yangResourceContentPerName);
-        yangTextSchemaSourceSetCache.updateCache(dataspaceName, schemaSetName, yangTextSchemaSourceSet);
+        yangTextSchemaSourceSetCache.updateCache(dataspaceName, schemaSetName, yangTextSchemaSourceSet,
+            yangResourceContentPerName);
     }
 
     @Override
@@ -175,6 +177,13 @@ public class CpsModuleServiceImpl implements CpsModuleService {
         return cpsModulePersistenceService.identifyNewModuleReferences(moduleReferencesToCheck);
     }
 
+    @Override
+    public Optional<String> findSchemaSetNameByModuleReferences(final String dataspaceName,
+                                                                final Collection<ModuleReference> moduleReferences) {
+        cpsValidator.validateNameCharacters(dataspaceName);
+        return cpsModulePersistenceService.findSchemaSetNameByModuleReferences(dataspaceName, moduleReferences);
+    }
+
     @Override
     public void deleteAllUnusedYangModuleData(final String dataspaceName) {
         cpsValidator.validateNameCharacters(dataspaceName);
@@ -23,14 +23,20 @@ package org.onap.cps.impl;
 
 import static org.onap.cps.api.parameters.FetchDescendantsOption.INCLUDE_ALL_DESCENDANTS;
 
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import jakarta.annotation.PostConstruct;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.onap.cps.api.CpsAnchorService;
 import org.onap.cps.api.CpsNotificationService;
-import org.onap.cps.api.exceptions.DataNodeNotFoundException;
 import org.onap.cps.api.model.Anchor;
 import org.onap.cps.api.model.DataNode;
 import org.onap.cps.cpspath.parser.CpsPathUtil;
@@ -40,6 +46,8 @@ import org.onap.cps.utils.DataMapper;
 import org.onap.cps.utils.YangParser;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 @Slf4j
@@ -54,12 +62,20 @@ public class CpsNotificationServiceImpl implements CpsNotificationService {
 
     private final DataMapper dataMapper;
 
+    private final ITopic<String> notificationSubscriptionChangesTopic;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile NotificationSubscriptions notificationSubscriptions;
+
     private static final String ADMIN_DATASPACE = "CPS-Admin";
     private static final String CPS_SUBSCRIPTION_ANCHOR_NAME = "cps-notification-subscriptions";
-    private static final String DATASPACE_SUBSCRIPTION_XPATH_FORMAT = "/dataspaces/dataspace[@name='%s']";
-    private static final String ANCHORS_SUBSCRIPTION_XPATH_FORMAT = "/dataspaces/dataspace[@name='%s']/anchors";
-    private static final String ANCHOR_SUBSCRIPTION_XPATH_FORMAT =
-            "/dataspaces/dataspace[@name='%s']/anchors/anchor[@name='%s']";
+    private static final String DATASPACES_XPATH = "/dataspaces";
+
+    @PostConstruct
+    void listenToNotificationSubscriptionChanges() {
+        notificationSubscriptionChangesTopic.addMessageListener(this::onNotificationSubscriptionChange);
+    }
 
     @Override
     public void createNotificationSubscription(final String notificationSubscriptionAsJson, final String xpath) {
@@ -67,12 +83,21 @@ public class CpsNotificationServiceImpl implements CpsNotificationService {
         final Anchor anchor = cpsAnchorService.getAnchor(ADMIN_DATASPACE, CPS_SUBSCRIPTION_ANCHOR_NAME);
         final Collection<DataNode> dataNodes =
             buildDataNodesWithParentNodeXpath(anchor, xpath, notificationSubscriptionAsJson);
-        cpsDataPersistenceService.addListElements(ADMIN_DATASPACE, CPS_SUBSCRIPTION_ANCHOR_NAME, xpath, dataNodes);
+        try {
+            cpsDataPersistenceService.addListElements(ADMIN_DATASPACE, CPS_SUBSCRIPTION_ANCHOR_NAME, xpath,
+                dataNodes);
+        } finally {
+            invalidateAndPublishNotificationSubscriptionChange(xpath);
+        }
     }
 
     @Override
     public void deleteNotificationSubscription(final String xpath) {
-        cpsDataPersistenceService.deleteDataNode(ADMIN_DATASPACE, CPS_SUBSCRIPTION_ANCHOR_NAME, xpath);
+        try {
+            cpsDataPersistenceService.deleteDataNode(ADMIN_DATASPACE, CPS_SUBSCRIPTION_ANCHOR_NAME, xpath);
+        } finally {
+            invalidateAndPublishNotificationSubscriptionChange(xpath);
+        }
     }
 
     @Override
@@ -84,34 +109,86 @@ public class CpsNotificationServiceImpl implements CpsNotificationService {
 
     @Override
     public boolean isNotificationEnabled(final String dataspaceName, final String anchorName) {
-        return (isNotificationEnabledForAnchor(dataspaceName, anchorName)
-            || notificationEnabledForAllAnchors(dataspaceName));
+        return getNotificationSubscriptions().isNotificationEnabled(dataspaceName, anchorName);
     }
 
-    private boolean isNotificationEnabledForAnchor(final String dataspaceName, final String anchorName) {
-        final String xpath = String.format(ANCHOR_SUBSCRIPTION_XPATH_FORMAT, dataspaceName, anchorName);
-        return isNotificationEnabledForXpath(xpath);
+    private NotificationSubscriptions getNotificationSubscriptions() {
+        final NotificationSubscriptions cachedNotificationSubscriptions = notificationSubscriptions;
+        if (cachedNotificationSubscriptions != null) {
+            return cachedNotificationSubscriptions;
+        }
+        final long generationBeforeLoad = generation.get();
+        final NotificationSubscriptions loadedNotificationSubscriptions = loadNotificationSubscriptions();
+        synchronized (this) {
+            if (generation.get() == generationBeforeLoad) {
+                notificationSubscriptions = loadedNotificationSubscriptions;
+            }
+        }
+        return loadedNotificationSubscriptions;
     }
 
-    private boolean isNotificationEnabledForXpath(final String xpath) {
-        try {
-            cpsDataPersistenceService
-                .getDataNodes(ADMIN_DATASPACE, CPS_SUBSCRIPTION_ANCHOR_NAME, xpath, INCLUDE_ALL_DESCENDANTS);
-        } catch (final DataNodeNotFoundException e) {
-            return false;
+    private NotificationSubscriptions loadNotificationSubscriptions() {
+        final Collection<DataNode> dataspacesDataNodes = cpsDataPersistenceService.getDataNodesForMultipleXpaths(
+            ADMIN_DATASPACE, CPS_SUBSCRIPTION_ANCHOR_NAME, List.of(DATASPACES_XPATH), INCLUDE_ALL_DESCENDANTS);
+        final Set<String> subscribedDataspaceNames = new HashSet<>();
+        final Map<String, Set<String>> subscribedAnchorNamesPerDataspaceName = new HashMap<>();
+        for (final DataNode dataspacesDataNode : dataspacesDataNodes) {
+            for (final DataNode dataspaceDataNode : dataspacesDataNode.getChildDataNodes()) {
+                final String dataspaceName = String.valueOf(dataspaceDataNode.getLeaves().get("name"));
+                subscribedDataspaceNames.add(dataspaceName);
+                for (final DataNode anchorsDataNode : dataspaceDataNode.getChildDataNodes()) {
+                    final Set<String> subscribedAnchorNames = subscribedAnchorNamesPerDataspaceName
+                        .computeIfAbsent(dataspaceName, name -> new HashSet<>());
+                    for (final DataNode anchorDataNode : anchorsDataNode.getChildDataNodes()) {
+                        subscribedAnchorNames.add(String.valueOf(anchorDataNode.getLeaves().get("name")));
+                    }
+                }
+            }
         }
-        return true;
+        return new NotificationSubscriptions(subscribedDataspaceNames, subscribedAnchorNamesPerDataspaceName);
     }
 
-    private boolean notificationEnabledForAllAnchors(final String dataspaceName) {
-        final String dataspaceSubscriptionXpath = String.format(DATASPACE_SUBSCRIPTION_XPATH_FORMAT, dataspaceName);
-        return isNotificationEnabledForXpath(dataspaceSubscriptionXpath)
-            && noIndividualAnchorEnabledInDataspace(dataspaceName);
+    /**
+     * Invalidate the cached notification subscriptions (locally and on all other instances).
+     * Within a transaction the invalidation is repeated after its completion, so a concurrent reload cannot cache
+     * the notification subscriptions as they were before the change was committed.
+     */
+    private void invalidateAndPublishNotificationSubscriptionChange(final String xpath) {
+        invalidateNotificationSubscriptions();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(final int status) {
+                    invalidateNotificationSubscriptions();
+                    publishNotificationSubscriptionChange(xpath);
+                }
+            });
+        } else {
+            publishNotificationSubscriptionChange(xpath);
+        }
+    }
+
+    private void invalidateNotificationSubscriptions() {
+        synchronized (this) {
+            generation.incrementAndGet();
+            notificationSubscriptions = null;
+        }
+    }
+
+    private void onNotificationSubscriptionChange(final Message<String> message) {
+        if (!message.getPublishingMember().localMember()) {
+            log.debug("Notification subscription {} changed by another instance", message.getMessageObject());
+            invalidateNotificationSubscriptions();
+        }
     }
 
-    private boolean noIndividualAnchorEnabledInDataspace(final String dataspaceName) {
-        final String xpathForAnchors = String.format(ANCHORS_SUBSCRIPTION_XPATH_FORMAT, dataspaceName);
-        return !isNotificationEnabledForXpath(xpathForAnchors);
+    private void publishNotificationSubscriptionChange(final String xpath) {
+        try {
+            notificationSubscriptionChangesTopic.publish(xpath);
+        } catch (final RuntimeException runtimeException) {
+            log.warn("Failed to publish notification subscription change for {}: {}", xpath,
+                runtimeException.getMessage());
+        }
     }
 
     private Collection<DataNode> buildDataNodesWithParentNodeXpath(final Anchor anchor,
@@ -125,4 +202,21 @@ public class CpsNotificationServiceImpl implements CpsNotificationService {
                 .withContainerNode(containerNode)
                 .buildCollection();
     }
+
+    /**
+     * In-memory view of the notification subscriptions.
+     * Notifications are enabled for an anchor when it is subscribed to explicitly, or when its dataspace is
+     * subscribed to without subscribing to any individual anchors of that dataspace.
+     */
+    private record NotificationSubscriptions(Set<String> subscribedDataspaceNames,
+                                             Map<String, Set<String>> subscribedAnchorNamesPerDataspaceName) {
+
+        boolean isNotificationEnabled(final String dataspaceName, final String anchorName) {
+            final Set<String> subscribedAnchorNames = subscribedAnchorNamesPerDataspaceName.get(dataspaceName);
+            if (subscribedAnchorNames == null) {
+                return subscribedDataspaceNames.contains(dataspaceName);
+            }
+            return subscribedAnchorNames.contains(anchorName);
+        }
+    }
 }
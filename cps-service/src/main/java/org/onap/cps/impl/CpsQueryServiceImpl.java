@@ -24,6 +24,7 @@ package org.onap.cps.impl;
 import io.micrometer.core.annotation.Timed;
 import java.util.Collection;
 import java.util.Set;
+import java.util.function.Consumer;
 import lombok.RequiredArgsConstructor;
 import org.onap.cps.api.CpsQueryService;
 import org.onap.cps.api.model.DataNode;
@@ -82,8 +83,19 @@ public class CpsQueryServiceImpl implements CpsQueryService {
     }
 
     @Override
-    public Integer countAnchorsForDataspaceAndCpsPath(final String dataspaceName, final String cpsPath) {
+    public void streamDataNodesAcrossAnchors(final String dataspaceName, final String cpsPath,
+                                             final FetchDescendantsOption fetchDescendantsOption,
+                                             final Consumer<Collection<DataNode>> dataNodesPerAnchorConsumer) {
         cpsValidator.validateNameCharacters(dataspaceName);
-        return cpsDataPersistenceService.countAnchorsForDataspaceAndCpsPath(dataspaceName, cpsPath);
+        cpsDataPersistenceService.streamDataNodesAcrossAnchors(dataspaceName, cpsPath, fetchDescendantsOption,
+                dataNodesPerAnchorConsumer);
+    }
+
+    @Override
+    public Integer countAnchorsForDataspaceAndCpsPath(final String dataspaceName, final String cpsPath,
+                                                      final PaginationOption paginationOption) {
+        cpsValidator.validateNameCharacters(dataspaceName);
+        return cpsDataPersistenceService.countAnchorsForDataspaceAndCpsPath(dataspaceName, cpsPath,
+            paginationOption);
     }
 }
@@ -29,8 +29,8 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.stream.Collectors;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.onap.cps.api.exceptions.DataValidationException;
 import org.onap.cps.api.model.DataNode;
@@ -193,15 +193,15 @@ public class DataNodeBuilder {
     }
 
     private Collection<DataNode> buildCollectionFromContainerNode() {
-        final DataNode parentDataNode = new DataNodeBuilder().withXpath(parentNodeXpath).build();
+        final DataNodeUnderConstruction parentDataNode = new DataNodeUnderConstruction(parentNodeXpath);
         for (final NormalizedNode normalizedNode : containerNode.body()) {
             addDataNodeFromNormalizedNode(parentDataNode, normalizedNode);
         }
-        return parentDataNode.getChildDataNodes();
+        return parentDataNode.build().getChildDataNodes();
     }
 
-    private static void addDataNodeFromNormalizedNode(final DataNode currentDataNode,
-        final NormalizedNode normalizedNode) {
+    private static void addDataNodeFromNormalizedNode(final DataNodeUnderConstruction currentDataNode,
+                                                      final NormalizedNode normalizedNode) {
 
         if (normalizedNode instanceof ChoiceNode choiceNode) {
             addChoiceNode(currentDataNode, choiceNode);
@@ -210,7 +210,7 @@ public class DataNodeBuilder {
         } else if (normalizedNode instanceof MapNode mapNode) {
             addDataNodeForEachListElement(currentDataNode, mapNode);
         } else if (normalizedNode instanceof ValueNode<?> valueNode) {
-            addYangLeaf(currentDataNode, valueNode.getIdentifier().getNodeType().getLocalName(),
+            currentDataNode.addLeaf(valueNode.getIdentifier().getNodeType().getLocalName(),
                     (Serializable) valueNode.body());
         } else if (normalizedNode instanceof LeafSetNode<?> leafSetNode) {
             addYangLeafList(currentDataNode, leafSetNode);
@@ -219,27 +219,25 @@ public class DataNodeBuilder {
         }
     }
 
-    private static void addYangContainer(final DataNode currentDataNode, final DataContainerNode dataContainerNode) {
-        final DataNode dataContainerDataNode =
-            (dataContainerNode.getIdentifier() instanceof YangInstanceIdentifier.AugmentationIdentifier)
+    private static void addYangContainer(final DataNodeUnderConstruction currentDataNode,
+                                         final DataContainerNode dataContainerNode) {
+        final boolean isAugmentation =
+            dataContainerNode.getIdentifier() instanceof YangInstanceIdentifier.AugmentationIdentifier;
+        final DataNodeUnderConstruction dataContainerDataNode = isAugmentation
                 ? currentDataNode
-                : createAndAddChildDataNode(currentDataNode, YangUtils.buildXpath(dataContainerNode.getIdentifier()));
+                : new DataNodeUnderConstruction(
+                        currentDataNode.getXpath() + YangUtils.buildXpath(dataContainerNode.getIdentifier()));
         final Collection<DataContainerChild> normalizedChildNodes = dataContainerNode.body();
         for (final NormalizedNode normalizedNode : normalizedChildNodes) {
             addDataNodeFromNormalizedNode(dataContainerDataNode, normalizedNode);
         }
+        if (!isAugmentation) {
+            currentDataNode.addChildDataNode(dataContainerDataNode.build());
+        }
     }
 
-    private static void addYangLeaf(final DataNode currentDataNode, final String leafName,
-                                    final Serializable leafValue) {
-        final Map<String, Serializable> leaves = new ImmutableMap.Builder<String, Serializable>()
-            .putAll(currentDataNode.getLeaves())
-            .put(leafName, leafValue)
-            .build();
-        currentDataNode.setLeaves(leaves);
-    }
-
-    private static void addYangLeafList(final DataNode currentDataNode, final LeafSetNode<?> leafSetNode) {
+    private static void addYangLeafList(final DataNodeUnderConstruction currentDataNode,
+                                        final LeafSetNode<?> leafSetNode) {
         final String leafListName = leafSetNode.getIdentifier().getNodeType().getLocalName();
         List<?> leafListValues = (leafSetNode.body())
                 .stream()
@@ -251,30 +249,18 @@ public class DataNodeBuilder {
             log.trace("Maintaining user order");
         }
         leafListValues = Collections.unmodifiableList(leafListValues);
-        addYangLeaf(currentDataNode, leafListName, (Serializable) leafListValues);
+        currentDataNode.addLeaf(leafListName, (Serializable) leafListValues);
     }
 
-    private static void addDataNodeForEachListElement(final DataNode currentDataNode, final MapNode mapNode) {
+    private static void addDataNodeForEachListElement(final DataNodeUnderConstruction currentDataNode,
+                                                      final MapNode mapNode) {
         final Collection<MapEntryNode> mapEntryNodes = mapNode.body();
         for (final MapEntryNode mapEntryNode : mapEntryNodes) {
             addDataNodeFromNormalizedNode(currentDataNode, mapEntryNode);
         }
     }
 
-    private static DataNode createAndAddChildDataNode(final DataNode parentDataNode, final String childXpath) {
-
-        final var newChildDataNode = new DataNodeBuilder()
-            .withXpath(parentDataNode.getXpath() + childXpath)
-            .build();
-        final Set<DataNode> allChildDataNodes = new ImmutableSet.Builder<DataNode>()
-            .addAll(parentDataNode.getChildDataNodes())
-            .add(newChildDataNode)
-            .build();
-        parentDataNode.setChildDataNodes(allChildDataNodes);
-        return newChildDataNode;
-    }
-
-    private static void addChoiceNode(final DataNode currentDataNode, final ChoiceNode choiceNode) {
+    private static void addChoiceNode(final DataNodeUnderConstruction currentDataNode, final ChoiceNode choiceNode) {
 
         final Collection<DataContainerChild> normalizedChildNodes = choiceNode.body();
         for (final NormalizedNode normalizedNode : normalizedChildNodes) {
@@ -282,4 +268,43 @@ public class DataNodeBuilder {
         }
     }
 
+    /**
+     * Collects the leaves and child data nodes of a data node while converting normalized nodes, so the
+     * (immutable) leaves and child data nodes are only created once, when all of them are known.
+     */
+    private static final class DataNodeUnderConstruction {
+
+        @Getter
+        private final String xpath;
+        private final ImmutableMap.Builder<String, Serializable> leavesBuilder = ImmutableMap.builder();
+        private final ImmutableSet.Builder<DataNode> childDataNodesBuilder = ImmutableSet.builder();
+        private boolean hasLeaves = false;
+        private boolean hasChildDataNodes = false;
+
+        private DataNodeUnderConstruction(final String xpath) {
+            this.xpath = xpath;
+        }
+
+        private void addLeaf(final String leafName, final Serializable leafValue) {
+            leavesBuilder.put(leafName, leafValue);
+            hasLeaves = true;
+        }
+
+        private void addChildDataNode(final DataNode childDataNode) {
+            childDataNodesBuilder.add(childDataNode);
+            hasChildDataNodes = true;
+        }
+
+        private DataNode build() {
+            final DataNodeBuilder dataNodeBuilder = new DataNodeBuilder().withXpath(xpath);
+            if (hasLeaves) {
+                dataNodeBuilder.withLeaves(leavesBuilder.buildOrThrow());
+            }
+            if (hasChildDataNodes) {
+                dataNodeBuilder.withChildDataNodes(childDataNodesBuilder.build());
+            }
+            return dataNodeBuilder.build();
+        }
+    }
+
 }
@@ -22,79 +22,249 @@
 
 package org.onap.cps.impl;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.onap.cps.spi.CpsModulePersistenceService;
 import org.onap.cps.utils.CpsValidator;
 import org.onap.cps.yang.YangTextSchemaSourceSet;
 import org.onap.cps.yang.YangTextSchemaSourceSetBuilder;
-import org.springframework.cache.annotation.CacheConfig;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
 /**
  * Provides cached YangTextSchemaSourceSet.
+ * For each schema set only the version of the stored schema set it was built from is cached,
+ * so a cached schema set only needs to be rebuilt when the stored schema set has really changed.
+ * The version is derived from the checksums of the yang resources of the schema set, so it also identifies the
+ * content of the schema set: all schema sets with the same yang resources share one (expensive) schema context.
+ * The shared schema contexts are only held by a cache that is bounded by the total size of their yang resources.
+ * Schema sets without a version (i.e. without yang resources) are not cached.
  */
+@Slf4j
 @Service
-@CacheConfig(cacheNames = {"yangSchema"})
-@RequiredArgsConstructor
 public class YangTextSchemaSourceSetCache {
 
+    static final String CACHE_NAME = "yangSchema";
+
+    private static final int ONE_KILOBYTE = 1024;
+
     private final CpsModulePersistenceService cpsModulePersistenceService;
     private final CpsValidator cpsValidator;
+    private final CacheManager cacheManager;
+    private final com.github.benmanes.caffeine.cache.Cache<String, SharedYangTextSchemaSourceSet>
+        sharedYangTextSchemaSourceSetPerSchemaSetVersion;
 
     private final AtomicInteger yangSchemaCacheCounter = Metrics.gauge("cps.yang.schema.cache.gauge",
                                                                         new AtomicInteger(0));
 
+    private final Timer rebuildOnCacheMissTimer = createRebuildTimer("cache-miss");
+    private final Timer rebuildOnSchemaSetChangeTimer = createRebuildTimer("schema-set-changed");
+    private final Counter unchangedSchemaSetCounter = createVersionCheckCounter("unchanged");
+    private final Counter changedSchemaSetCounter = createVersionCheckCounter("changed");
+
+    /**
+     * Built schema set and the version of the stored schema set it was built from (null if it is not shared).
+     */
+    private record VersionedYangTextSchemaSourceSet(String schemaSetVersion,
+                                                    YangTextSchemaSourceSet yangTextSchemaSourceSet) {
+    }
+
+    /**
+     * Schema set shared by all schema sets with the same version and the size of its yang resources in kilobytes.
+     */
+    record SharedYangTextSchemaSourceSet(YangTextSchemaSourceSet yangTextSchemaSourceSet, int yangResourcesSizeInKb) {
+    }
+
     /**
-     * Cache YangTextSchemaSourceSet.
+     * Constructor.
+     *
+     * @param cpsModulePersistenceService        module persistence service
+     * @param cpsValidator                       cps validator
+     * @param cacheManager                       cache manager providing the yangSchema cache
+     * @param maximumSharedYangResourcesSizeInMb maximum total size of the yang resources of the shared schema sets
+     */
+    public YangTextSchemaSourceSetCache(final CpsModulePersistenceService cpsModulePersistenceService,
+                                        final CpsValidator cpsValidator,
+                                        final CacheManager cacheManager,
+                                        @Value("${app.cps.yang-schema-cache.max-shared-yang-resources-size-in-mb:256}")
+                                        final long maximumSharedYangResourcesSizeInMb) {
+        this.cpsModulePersistenceService = cpsModulePersistenceService;
+        this.cpsValidator = cpsValidator;
+        this.cacheManager = cacheManager;
+        sharedYangTextSchemaSourceSetPerSchemaSetVersion = Caffeine.newBuilder()
+            .maximumWeight(maximumSharedYangResourcesSizeInMb * ONE_KILOBYTE)
+            .weigher((final String schemaSetVersion, final SharedYangTextSchemaSourceSet shared) ->
+                shared.yangResourcesSizeInKb())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(Metrics.globalRegistry, sharedYangTextSchemaSourceSetPerSchemaSetVersion,
+            "sharedYangSchema");
+    }
+
+    /**
+     * Get YangTextSchemaSourceSet, it is built and cached on a cache miss.
      *
      * @param dataspaceName dataspace name
      * @param schemaSetName schema set name
      * @return YangTextSchemaSourceSet
      */
-    @Cacheable(key = "#p0.concat('-').concat(#p1)")
     public YangTextSchemaSourceSet get(final String dataspaceName, final String schemaSetName) {
         cpsValidator.validateNameCharacters(dataspaceName);
-        final Map<String, String> yangResourceNameToContent =
-                cpsModulePersistenceService.getYangSchemaResources(dataspaceName, schemaSetName);
-        return YangTextSchemaSourceSetBuilder.of(yangResourceNameToContent);
+        final String cacheKey = toCacheKey(dataspaceName, schemaSetName);
+        final String cachedSchemaSetVersion = getCache().get(cacheKey, String.class);
+        if (cachedSchemaSetVersion != null) {
+            final SharedYangTextSchemaSourceSet sharedYangTextSchemaSourceSet =
+                sharedYangTextSchemaSourceSetPerSchemaSetVersion.getIfPresent(cachedSchemaSetVersion);
+            if (sharedYangTextSchemaSourceSet != null) {
+                return sharedYangTextSchemaSourceSet.yangTextSchemaSourceSet();
+            }
+        }
+        final VersionedYangTextSchemaSourceSet builtValue =
+                rebuildOnCacheMissTimer.record(() -> build(dataspaceName, schemaSetName));
+        putSchemaSetVersion(cacheKey, builtValue.schemaSetVersion());
+        return builtValue.yangTextSchemaSourceSet();
+    }
+
+    /**
+     * Get YangTextSchemaSourceSet only if the stored schema set has changed since it was cached,
+     * i.e. the cached YangTextSchemaSourceSet is stale. The cache is updated with the rebuilt schema set.
+     * Checking the version of the stored schema set is cheap compared to rebuilding the schema set.
+     *
+     * @param dataspaceName dataspace name
+     * @param schemaSetName schema set name
+     * @return the rebuilt YangTextSchemaSourceSet, or empty if the cached YangTextSchemaSourceSet is up-to-date
+     */
+    public Optional<YangTextSchemaSourceSet> getIfSchemaSetChanged(final String dataspaceName,
+                                                                   final String schemaSetName) {
+        cpsValidator.validateNameCharacters(dataspaceName);
+        final String cacheKey = toCacheKey(dataspaceName, schemaSetName);
+        final String cachedSchemaSetVersion = getCache().get(cacheKey, String.class);
+        if (cachedSchemaSetVersion != null && cachedSchemaSetVersion.equals(
+                cpsModulePersistenceService.getSchemaSetVersion(dataspaceName, schemaSetName))) {
+            unchangedSchemaSetCounter.increment();
+            return Optional.empty();
+        }
+        changedSchemaSetCounter.increment();
+        log.info("Schema set {} in dataspace {} has changed, rebuilding schema context", schemaSetName,
+                dataspaceName);
+        final VersionedYangTextSchemaSourceSet rebuiltValue =
+                rebuildOnSchemaSetChangeTimer.record(() -> build(dataspaceName, schemaSetName));
+        putSchemaSetVersion(cacheKey, rebuiltValue.schemaSetVersion());
+        return Optional.of(rebuiltValue.yangTextSchemaSourceSet());
     }
 
     /**
      * Updates cache YangTextSchemaSourceSet.
+     * If a schema set with the same version is cached already, that (shared) schema set is used instead.
      *
-     * @param dataspaceName           dataspace name
-     * @param schemaSetName           schema set name
-     * @param yangTextSchemaSourceSet yangTextSchemaSourceSet
+     * @param dataspaceName              dataspace name
+     * @param schemaSetName              schema set name
+     * @param yangTextSchemaSourceSet    yangTextSchemaSourceSet
+     * @param yangResourceContentPerName the yang resources the yangTextSchemaSourceSet was built from
      * @return YangTextSchemaSourceSet
      */
-    @SuppressWarnings("unused")
-    @CachePut(key = "#p0.concat('-').concat(#p1)")
     @CanIgnoreReturnValue
     public YangTextSchemaSourceSet updateCache(final String dataspaceName, final String schemaSetName,
-            final YangTextSchemaSourceSet yangTextSchemaSourceSet) {
+            final YangTextSchemaSourceSet yangTextSchemaSourceSet,
+            final Map<String, String> yangResourceContentPerName) {
         cpsValidator.validateNameCharacters(dataspaceName);
+        final String schemaSetVersion = cpsModulePersistenceService.getSchemaSetVersion(dataspaceName, schemaSetName);
+        if (schemaSetVersion == null) {
+            return yangTextSchemaSourceSet;
+        }
+        final SharedYangTextSchemaSourceSet sharedYangTextSchemaSourceSet =
+            sharedYangTextSchemaSourceSetPerSchemaSetVersion.get(schemaSetVersion, version ->
+                new SharedYangTextSchemaSourceSet(yangTextSchemaSourceSet, toSizeInKb(yangResourceContentPerName)));
+        putSchemaSetVersion(toCacheKey(dataspaceName, schemaSetName), schemaSetVersion);
         yangSchemaCacheCounter.incrementAndGet();
-        return yangTextSchemaSourceSet;
+        return sharedYangTextSchemaSourceSet.yangTextSchemaSourceSet();
     }
 
     /**
      * Remove the cached value for the given dataspace and schema-set.
+     * The shared schema set is kept (as long as the size bound allows), it may be used by other schema sets.
      *
      * @param dataspaceName dataspace name
      * @param schemaSetName schema set name
      */
-    @SuppressWarnings("unused")
-    @CacheEvict(key = "#p0.concat('-').concat(#p1)")
     public void removeFromCache(final String dataspaceName, final String schemaSetName) {
         cpsValidator.validateNameCharacters(dataspaceName);
+        getCache().evict(toCacheKey(dataspaceName, schemaSetName));
         yangSchemaCacheCounter.decrementAndGet();
     }
 
+    private VersionedYangTextSchemaSourceSet build(final String dataspaceName, final String schemaSetName) {
+        final String schemaSetVersion = cpsModulePersistenceService.getSchemaSetVersion(dataspaceName, schemaSetName);
+        if (schemaSetVersion != null) {
+            final SharedYangTextSchemaSourceSet sharedYangTextSchemaSourceSet =
+                sharedYangTextSchemaSourceSetPerSchemaSetVersion.get(schemaSetVersion,
+                    version -> buildShared(dataspaceName, schemaSetName, version));
+            if (sharedYangTextSchemaSourceSet != null) {
+                return new VersionedYangTextSchemaSourceSet(schemaSetVersion,
+                    sharedYangTextSchemaSourceSet.yangTextSchemaSourceSet());
+            }
+        }
+        // schema set without yang resources, or changed while building: not cached, the next request rebuilds it
+        final Map<String, String> yangResourceNameToContent =
+                cpsModulePersistenceService.getYangSchemaResources(dataspaceName, schemaSetName);
+        return new VersionedYangTextSchemaSourceSet(null, YangTextSchemaSourceSetBuilder.of(yangResourceNameToContent));
+    }
+
+    private SharedYangTextSchemaSourceSet buildShared(final String dataspaceName, final String schemaSetName,
+                                                      final String schemaSetVersion) {
+        final Map<String, String> yangResourceNameToContent =
+                cpsModulePersistenceService.getYangSchemaResources(dataspaceName, schemaSetName);
+        if (!schemaSetVersion.equals(cpsModulePersistenceService.getSchemaSetVersion(dataspaceName, schemaSetName))) {
+            return null;
+        }
+        return new SharedYangTextSchemaSourceSet(YangTextSchemaSourceSetBuilder.of(yangResourceNameToContent),
+            toSizeInKb(yangResourceNameToContent));
+    }
+
+    private void putSchemaSetVersion(final String cacheKey, final String schemaSetVersion) {
+        if (schemaSetVersion == null) {
+            getCache().evict(cacheKey);
+        } else {
+            getCache().put(cacheKey, schemaSetVersion);
+        }
+    }
+
+    private Cache getCache() {
+        return Objects.requireNonNull(cacheManager.getCache(CACHE_NAME), "Cache " + CACHE_NAME + " is not configured");
+    }
+
+    private static int toSizeInKb(final Map<String, String> yangResourceContentPerName) {
+        final long yangResourcesSize = yangResourceContentPerName.values().stream().mapToLong(String::length).sum();
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, yangResourcesSize / ONE_KILOBYTE));
+    }
+
+    private static String toCacheKey(final String dataspaceName, final String schemaSetName) {
+        return dataspaceName + "-" + schemaSetName;
+    }
+
+    private static Timer createRebuildTimer(final String reason) {
+        return Timer.builder("cps.yang.schema.cache.rebuild")
+                .description("Time taken to rebuild a cached schema set (schema context)")
+                .tag("reason", reason)
+                .register(Metrics.globalRegistry);
+    }
+
+    private static Counter createVersionCheckCounter(final String outcome) {
+        return Counter.builder("cps.yang.schema.cache.version.check")
+                .description("Number of schema set version checks after a data validation failure")
+                .tag("outcome", outcome)
+                .register(Metrics.globalRegistry);
+    }
+
 }
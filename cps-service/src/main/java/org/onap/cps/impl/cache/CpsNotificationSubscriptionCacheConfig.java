@@ -0,0 +1,45 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.impl.cache;
+
+import com.hazelcast.config.TopicConfig;
+import com.hazelcast.topic.ITopic;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CpsNotificationSubscriptionCacheConfig extends HazelcastCacheConfig {
+
+    private static final TopicConfig notificationSubscriptionChangesTopicConfig =
+        createTopicConfig("notificationSubscriptionChangesTopicConfig");
+
+    /**
+     * Distributed topic used to let all cps instances know the notification subscriptions have changed.
+     * The message is the xpath of the created or deleted subscription.
+     *
+     * @return topic for notification subscription changes
+     */
+    @Bean
+    public ITopic<String> notificationSubscriptionChangesTopic() {
+        return getOrCreateHazelcastInstance(notificationSubscriptionChangesTopicConfig)
+            .getTopic("notificationSubscriptionChangesTopic");
+    }
+}
@@ -25,6 +25,7 @@ import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.NamedConfig;
 import com.hazelcast.config.QueueConfig;
 import com.hazelcast.config.SetConfig;
+import com.hazelcast.config.TopicConfig;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import lombok.extern.slf4j.Slf4j;
@@ -72,6 +73,9 @@ public class HazelcastCacheConfig {
         if (namedConfig instanceof SetConfig) {
             config.addSetConfig((SetConfig) namedConfig);
         }
+        if (namedConfig instanceof TopicConfig) {
+            config.addTopicConfig((TopicConfig) namedConfig);
+        }
     }
 
     private Config getHazelcastInstanceConfig(final String instanceConfigName) {
@@ -100,6 +104,10 @@ public class HazelcastCacheConfig {
         return commonSetConfig;
     }
 
+    protected static TopicConfig createTopicConfig(final String configName) {
+        return new TopicConfig(configName);
+    }
+
     protected void updateDiscoveryMode(final Config config) {
         if (cacheKubernetesEnabled) {
             log.info("Enabling kubernetes mode with service-name : {}", cacheKubernetesServiceName);
@@ -128,7 +128,7 @@ public interface CpsAdminPersistenceService {
     Collection<String> queryAnchorNames(String dataspaceName, Collection<String> moduleNames);
 
     /**
-     * Delete anchor by name in given dataspace.
+     * Delete anchor by name in given dataspace, including all its data nodes.
      *
      * @param dataspaceName dataspace name
      * @param anchorName anchor name
@@ -136,7 +136,7 @@ public interface CpsAdminPersistenceService {
     void deleteAnchor(String dataspaceName, String anchorName);
 
     /**
-     * Delete anchors by name in given dataspace.
+     * Delete anchors by name in given dataspace, including all their data nodes.
      *
      * @param dataspaceName dataspace name
      * @param anchorNames   anchor names
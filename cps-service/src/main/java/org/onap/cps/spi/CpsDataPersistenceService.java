@@ -28,6 +28,8 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
+import org.onap.cps.api.DataNodeVisitor;
 import org.onap.cps.api.model.DataNode;
 import org.onap.cps.api.parameters.FetchDescendantsOption;
 import org.onap.cps.api.parameters.PaginationOption;
@@ -98,6 +100,20 @@ public interface CpsDataPersistenceService {
                                                        Collection<String> xpaths,
                                                        FetchDescendantsOption fetchDescendantsOption);
 
+    /**
+     * Streams the data nodes for a single XPath, given a dataspace and anchor, to a visitor.
+     * Data nodes are visited in depth-first order without building the complete data tree in memory.
+     *
+     * @param dataspaceName          dataspace name
+     * @param anchorName             anchor name
+     * @param xpath                  one xpath
+     * @param fetchDescendantsOption defines the scope of data to fetch: either single node or all the descendant nodes
+     *                               (recursively) as well
+     * @param dataNodeVisitor        visitor receiving the data nodes
+     */
+    void streamDataNodes(String dataspaceName, String anchorName, String xpath,
+                         FetchDescendantsOption fetchDescendantsOption, DataNodeVisitor dataNodeVisitor);
+
     /**
      * Updates data leaves for multiple data nodes.
      *
@@ -215,6 +231,20 @@ public interface CpsDataPersistenceService {
                                   String cpsPath, FetchDescendantsOption fetchDescendantsOption,
                                   PaginationOption paginationOption);
 
+    /**
+     * Streams the data nodes found by a cps path query across all anchors of a dataspace.
+     * Anchors are read in chunks, so only the data nodes of one chunk of anchors are held in memory at a time.
+     *
+     * @param dataspaceName              dataspace name
+     * @param cpsPath                    cps path
+     * @param fetchDescendantsOption     defines whether the descendants of the node(s) found by the query should be
+     *                                   included in the output
+     * @param dataNodesPerAnchorConsumer consumer receiving the data nodes found, one call per anchor
+     */
+    void streamDataNodesAcrossAnchors(String dataspaceName, String cpsPath,
+                                      FetchDescendantsOption fetchDescendantsOption,
+                                      Consumer<Collection<DataNode>> dataNodesPerAnchorConsumer);
+
     /**
      * Starts a session which allows use of locks and batch interaction with the persistence service.
      *
@@ -244,7 +274,9 @@ public interface CpsDataPersistenceService {
      * Query total anchors for dataspace name and cps path.
      * @param dataspaceName dataspace name
      * @param cpsPath cps path
+     * @param paginationOption pagination option, only anchors after its anchor name (if any) are counted
      * @return total anchors for dataspace name and cps path
      */
-    Integer countAnchorsForDataspaceAndCpsPath(String dataspaceName, String cpsPath);
+    Integer countAnchorsForDataspaceAndCpsPath(String dataspaceName, String cpsPath,
+                                               PaginationOption paginationOption);
 }
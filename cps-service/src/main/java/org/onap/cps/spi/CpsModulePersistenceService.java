@@ -24,6 +24,7 @@ package org.onap.cps.spi;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.Optional;
 import org.onap.cps.api.model.ModuleDefinition;
 import org.onap.cps.api.model.ModuleReference;
 import org.onap.cps.api.model.SchemaSet;
@@ -110,6 +111,16 @@ public interface CpsModulePersistenceService {
      */
     Map<String, String> getYangSchemaResources(String dataspaceName, String schemaSetName);
 
+    /**
+     * Returns a version of the given schema set, derived from the checksums of its YANG resources.
+     * The version only changes when the YANG resources of the schema set change.
+     *
+     * @param dataspaceName dataspace name
+     * @param schemaSetName schema set name
+     * @return the schema set version, or null if the schema set has no YANG resources (or does not exist)
+     */
+    String getSchemaSetVersion(String dataspaceName, String schemaSetName);
+
     /**
      * Returns YANG resources module references for the given dataspace name.
      *
@@ -165,4 +176,14 @@ public interface CpsModulePersistenceService {
      */
     Collection<ModuleReference> identifyNewModuleReferences(Collection<ModuleReference> moduleReferencesToCheck);
 
+    /**
+     * Find a schema set in the given dataspace whose modules have exactly the given names and revisions.
+     *
+     * @param dataspaceName     dataspace name
+     * @param moduleReferences  the module references to match
+     * @return the name of a matching schema set, or an empty optional if there is no such schema set
+     */
+    Optional<String> findSchemaSetNameByModuleReferences(String dataspaceName,
+                                                         Collection<ModuleReference> moduleReferences);
+
 }
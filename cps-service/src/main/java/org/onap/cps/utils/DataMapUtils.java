@@ -128,7 +128,7 @@ public class DataMapUtils {
         return xpath.substring(fromIndex);
     }
 
-    private static String getNodeIdentifierWithPrefix(final String xpath, final String moduleNamePrefix) {
+    static String getNodeIdentifierWithPrefix(final String xpath, final String moduleNamePrefix) {
         if (moduleNamePrefix != null) {
             return moduleNamePrefix + ":" + getNodeIdentifier(xpath);
         }
@@ -143,7 +143,7 @@ public class DataMapUtils {
         return !isListElement(xpath);
     }
 
-    private static boolean isListElement(final String xpath) {
+    static boolean isListElement(final String xpath) {
         return xpath.endsWith("]");
     }
 }
@@ -21,6 +21,7 @@
 
 package org.onap.cps.utils;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -132,6 +133,20 @@ public class DataMapper {
         return DataMapUtils.toDataMap(containerNode);
     }
 
+    /**
+     * Create a visitor that writes streamed data nodes as JSON, in the same structure as toDataMapForApiV3.
+     *
+     * @param dataspaceName the name dataspace name
+     * @param anchorName    the name of the anchor
+     * @param jsonGenerator the JSON generator to write to
+     * @return a stream writer for the data nodes of the given anchor
+     */
+    public DataNodeJsonStreamWriter toJsonStreamWriterForApiV3(final String dataspaceName, final String anchorName,
+                                                               final JsonGenerator jsonGenerator) {
+        final Anchor anchor = cpsAnchorService.getAnchor(dataspaceName, anchorName);
+        return new DataNodeJsonStreamWriter(jsonGenerator, anchor, prefixResolver);
+    }
+
     /**
      * Converts list of attributes values to a list of data maps.
      * @param attributeName   attribute name
@@ -0,0 +1,123 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.onap.cps.api.DataNodeVisitor;
+import org.onap.cps.api.model.Anchor;
+import org.onap.cps.api.model.DataNode;
+
+/**
+ * Writes data nodes, visited in depth-first order, directly to a JSON generator using the same structure
+ * as DataMapper.toDataMapForApiV3: list elements are grouped under their list name and only top level
+ * data nodes are prefixed with their module name.
+ * Memory use is bounded by the depth of the data tree.
+ */
+@RequiredArgsConstructor
+public class DataNodeJsonStreamWriter implements DataNodeVisitor {
+
+    private static final String NO_OPEN_LIST = "";
+
+    private final JsonGenerator jsonGenerator;
+    private final Anchor anchor;
+    private final PrefixResolver prefixResolver;
+
+    // For each open JSON object: the name of the list (JSON array) currently open inside it, if any
+    private final Deque<String> openListNamePerLevel = new ArrayDeque<>();
+
+    /**
+     * Start the (virtual) top level JSON object that will contain the visited data nodes.
+     */
+    public void writeStartOfDocument() {
+        try {
+            jsonGenerator.writeStartObject();
+        } catch (final IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+        openListNamePerLevel.push(NO_OPEN_LIST);
+    }
+
+    /**
+     * Close the top level JSON object and flush everything written so far.
+     */
+    public void writeEndOfDocument() {
+        try {
+            closeOpenList(openListNamePerLevel.pop());
+            jsonGenerator.writeEndObject();
+            jsonGenerator.flush();
+        } catch (final IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+    }
+
+    @Override
+    public void enterDataNode(final DataNode dataNode) {
+        final String xpath = dataNode.getXpath();
+        final boolean isTopLevelDataNode = openListNamePerLevel.size() == 1;
+        final String moduleNamePrefix = isTopLevelDataNode ? prefixResolver.getPrefix(anchor, xpath) : null;
+        final String nodeIdentifier = DataMapUtils.getNodeIdentifierWithPrefix(xpath, moduleNamePrefix);
+        final String openListName = openListNamePerLevel.pop();
+        try {
+            if (DataMapUtils.isListElement(xpath)) {
+                if (!nodeIdentifier.equals(openListName)) {
+                    closeOpenList(openListName);
+                    jsonGenerator.writeArrayFieldStart(nodeIdentifier);
+                }
+                openListNamePerLevel.push(nodeIdentifier);
+                jsonGenerator.writeStartObject();
+            } else {
+                closeOpenList(openListName);
+                openListNamePerLevel.push(NO_OPEN_LIST);
+                jsonGenerator.writeObjectFieldStart(nodeIdentifier);
+            }
+            for (final Map.Entry<String, Serializable> leaf : dataNode.getLeaves().entrySet()) {
+                jsonGenerator.writeObjectField(leaf.getKey(), leaf.getValue());
+            }
+        } catch (final IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+        openListNamePerLevel.push(NO_OPEN_LIST);
+    }
+
+    @Override
+    public void exitDataNode(final DataNode dataNode) {
+        try {
+            closeOpenList(openListNamePerLevel.pop());
+            jsonGenerator.writeEndObject();
+        } catch (final IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+    }
+
+    private void closeOpenList(final String openListName) throws IOException {
+        if (!NO_OPEN_LIST.equals(openListName)) {
+            jsonGenerator.writeEndArray();
+        }
+    }
+
+}
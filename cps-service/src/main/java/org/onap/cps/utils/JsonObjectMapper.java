@@ -21,10 +21,14 @@
 
 package org.onap.cps.utils;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.type.CollectionType;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -143,4 +147,20 @@ public class JsonObjectMapper {
                 e.getLocation().getLineNr(), e.getLocation().getColumnNr()), e.getOriginalMessage());
         }
     }
+
+    /**
+     * Create a JSON generator, using the configuration of this mapper, that writes to the given output stream.
+     * The output stream is not closed when the generator is closed.
+     *
+     * @param outputStream output stream to write JSON to
+     * @return a json generator
+     */
+    public JsonGenerator createJsonGenerator(final OutputStream outputStream) {
+        try {
+            return objectMapper.getFactory().createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        } catch (final IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+    }
 }
@@ -27,6 +27,7 @@ import static org.onap.cps.utils.YangParserHelper.VALIDATE_ONLY;
 
 import io.micrometer.core.annotation.Timed;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
@@ -35,6 +36,7 @@ import org.onap.cps.api.exceptions.DataValidationException;
 import org.onap.cps.api.model.Anchor;
 import org.onap.cps.impl.YangTextSchemaSourceSetCache;
 import org.onap.cps.yang.TimedYangTextSchemaSourceSetBuilder;
+import org.onap.cps.yang.YangTextSchemaSourceSet;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.springframework.stereotype.Service;
@@ -64,9 +66,10 @@ public class YangParser {
             return yangParserHelper.parseData(contentType, nodeData, schemaContext, parentNodeXpath,
                     VALIDATE_AND_PARSE);
         } catch (final DataValidationException e) {
-            invalidateCache(anchor);
+            final SchemaContext changedSchemaContext = getChangedSchemaContext(anchor).orElseThrow(() -> e);
+            return yangParserHelper.parseData(contentType, nodeData, changedSchemaContext, parentNodeXpath,
+                    VALIDATE_AND_PARSE);
         }
-        return yangParserHelper.parseData(contentType, nodeData, schemaContext, parentNodeXpath, VALIDATE_AND_PARSE);
     }
 
     /**
@@ -99,11 +102,11 @@ public class YangParser {
         try {
             yangParserHelper.parseData(contentType, nodeData, schemaContext, parentNodeXpath, VALIDATE_ONLY);
         } catch (final DataValidationException e) {
-            invalidateCache(anchor);
             log.error("Data validation failed for anchor: {}, xpath: {}, details: {}", anchor, parentNodeXpath,
                     e.getMessage());
+            final SchemaContext changedSchemaContext = getChangedSchemaContext(anchor).orElseThrow(() -> e);
+            yangParserHelper.parseData(contentType, nodeData, changedSchemaContext, parentNodeXpath, VALIDATE_ONLY);
         }
-        yangParserHelper.parseData(contentType, nodeData, schemaContext, parentNodeXpath, VALIDATE_ONLY);
     }
 
     /**
@@ -145,8 +148,13 @@ public class YangParser {
                        .schemaContext();
     }
 
-    private void invalidateCache(final Anchor anchor) {
-        yangTextSchemaSourceSetCache.removeFromCache(anchor.getDataspaceName(), anchor.getSchemaSetName());
+    /**
+     * Data validation can fail because the cached schema context is stale (the schema set was changed by another
+     * instance). Only in that case a rebuilt schema context is returned, invalid data never evicts a valid one.
+     */
+    private Optional<SchemaContext> getChangedSchemaContext(final Anchor anchor) {
+        return yangTextSchemaSourceSetCache.getIfSchemaSetChanged(anchor.getDataspaceName(),
+                anchor.getSchemaSetName()).map(YangTextSchemaSourceSet::schemaContext);
     }
 
 }
@@ -39,4 +39,13 @@ class PaginationOptionSpec extends Specification {
             'zero index'       | 0         | 1        || false
             'zero size'        | 1         | 0        || false
     }
+
+    def 'Pagination option #scenario after anchor name.'() {
+        expect: 'the pagination option reports whether it continues after an anchor'
+            assert paginationOption.hasAfterAnchorName() == expectedHasAfterAnchorName
+        where: 'following pagination options are used'
+            scenario  | paginationOption                        || expectedHasAfterAnchorName
+            'without' | new PaginationOption(1, 10)             || false
+            'with'    | new PaginationOption(1, 10, 'anchor-1') || true
+    }
 }
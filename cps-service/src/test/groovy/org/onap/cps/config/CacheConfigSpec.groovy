@@ -20,6 +20,7 @@
 
 package org.onap.cps.config
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
 import spock.lang.Specification
 
 class CacheConfigSpec extends Specification {
@@ -29,4 +30,15 @@ class CacheConfigSpec extends Specification {
             new CacheConfig() != null
     }
 
+    def 'Binding cps path query cache metrics.'() {
+        given: 'a meter registry'
+            def meterRegistry = new SimpleMeterRegistry()
+        when: 'the cps path query cache metrics are bound to the registry'
+            new CacheConfig().cpsPathQueryCacheMetrics().bindTo(meterRegistry)
+        then: 'cache hit, miss and eviction metrics are registered for the cps path query cache'
+            assert meterRegistry.find('cache.gets').tag('cache', 'cpsPathQueryCache').tag('result', 'hit').functionCounter() != null
+            assert meterRegistry.find('cache.gets').tag('cache', 'cpsPathQueryCache').tag('result', 'miss').functionCounter() != null
+            assert meterRegistry.find('cache.evictions').tag('cache', 'cpsPathQueryCache').functionCounter() != null
+    }
+
 }
@@ -22,7 +22,6 @@ package org.onap.cps.impl
 
 import org.onap.cps.utils.CpsValidator
 import org.onap.cps.spi.CpsAdminPersistenceService
-import org.onap.cps.spi.CpsDataPersistenceService
 import org.onap.cps.api.exceptions.ModuleNamesNotFoundException
 import org.onap.cps.api.model.Anchor
 import spock.lang.Specification
@@ -30,10 +29,9 @@ import spock.lang.Specification
 class CpsAnchorServiceImplSpec extends Specification {
 
     def mockCpsAdminPersistenceService = Mock(CpsAdminPersistenceService)
-    def mockCpsDataPersistenceService = Mock(CpsDataPersistenceService)
     def mockCpsValidator = Mock(CpsValidator)
 
-    def objectUnderTest = new CpsAnchorServiceImpl(mockCpsAdminPersistenceService, mockCpsDataPersistenceService, mockCpsValidator)
+    def objectUnderTest = new CpsAnchorServiceImpl(mockCpsAdminPersistenceService, mockCpsValidator)
 
     def 'Create anchor method invokes persistence service.'() {
         when: 'create anchor method is invoked'
@@ -110,9 +108,7 @@ class CpsAnchorServiceImplSpec extends Specification {
     def 'Delete anchor.'() {
         when: 'delete anchor is invoked'
             objectUnderTest.deleteAnchor('someDataspace','someAnchor')
-        then: 'delete data nodes is invoked on the data service with expected parameters'
-            1 * mockCpsDataPersistenceService.deleteDataNodes('someDataspace','someAnchor')
-        and: 'the persistence service method is invoked with same parameters to delete anchor'
+        then: 'the persistence service method is invoked with same parameters to delete anchor (and its data)'
             1 * mockCpsAdminPersistenceService.deleteAnchor('someDataspace','someAnchor')
         and: 'the CpsValidator is called on the dataspaceName, anchorName'
             1 * mockCpsValidator.validateNameCharacters('someDataspace', 'someAnchor')
@@ -123,9 +119,7 @@ class CpsAnchorServiceImplSpec extends Specification {
             def anchorNames = ['anchor1', 'anchor2']
         when: 'delete anchors is invoked'
             objectUnderTest.deleteAnchors('someDataspace', anchorNames)
-        then: 'delete data nodes is invoked on the data service with expected parameters'
-            1 * mockCpsDataPersistenceService.deleteDataNodes('someDataspace', anchorNames)
-        and: 'the persistence service method is invoked with same parameters to delete anchor'
+        then: 'the persistence service method is invoked with same parameters to delete anchors (and their data)'
             1 * mockCpsAdminPersistenceService.deleteAnchors('someDataspace', anchorNames)
         and: 'the CpsValidator is called on the dataspace name and anchor names'
             1 * mockCpsValidator.validateNameCharacters('someDataspace')
@@ -27,6 +27,7 @@ import ch.qos.logback.classic.Logger
 import ch.qos.logback.core.read.ListAppender
 import org.onap.cps.TestUtils
 import org.onap.cps.api.CpsAnchorService
+import org.onap.cps.api.DataNodeVisitor
 import org.onap.cps.api.exceptions.ConcurrencyException
 import org.onap.cps.api.exceptions.DataNodeNotFoundExceptionBatch
 import org.onap.cps.api.exceptions.DataValidationException
@@ -54,7 +55,7 @@ import java.time.OffsetDateTime
 class CpsDataServiceImplSpec extends Specification {
     def mockCpsDataPersistenceService = Mock(CpsDataPersistenceService)
     def mockCpsAnchorService = Mock(CpsAnchorService)
-    def mockYangTextSchemaSourceSetCache = Mock(YangTextSchemaSourceSetCache)
+    def mockYangTextSchemaSourceSetCache = Mock(YangTextSchemaSourceSetCache) { getIfSchemaSetChanged(*_) >> Optional.empty() }
     def mockCpsValidator = Mock(CpsValidator)
     def mockTimedYangTextSchemaSourceSetBuilder = Mock(TimedYangTextSchemaSourceSetBuilder)
     def yangParser = new YangParser(new YangParserHelper(), mockYangTextSchemaSourceSetCache, mockTimedYangTextSchemaSourceSetBuilder)
@@ -226,6 +227,17 @@ class CpsDataServiceImplSpec extends Specification {
             fetchDescendantsOption << [FetchDescendantsOption.OMIT_DESCENDANTS, FetchDescendantsOption.INCLUDE_ALL_DESCENDANTS]
     }
 
+    def 'Stream data nodes.'() {
+        given: 'a data node visitor'
+            def dataNodeVisitor = Mock(DataNodeVisitor)
+        when: 'data nodes are streamed'
+            objectUnderTest.streamDataNodes(dataspaceName, anchorName, '/xpath', FetchDescendantsOption.INCLUDE_ALL_DESCENDANTS, dataNodeVisitor)
+        then: 'the persistence service streams the data nodes to the same visitor'
+            1 * mockCpsDataPersistenceService.streamDataNodes(dataspaceName, anchorName, '/xpath', FetchDescendantsOption.INCLUDE_ALL_DESCENDANTS, dataNodeVisitor)
+        and: 'the CpsValidator is called on the dataspaceName and AnchorName'
+            1 * mockCpsValidator.validateNameCharacters(dataspaceName, anchorName)
+    }
+
     def 'Update data node leaves: #scenario.'() {
         given: 'schema set for given anchor and dataspace references test-tree model'
             setupSchemaSetMocks('test-tree.yang')
@@ -24,12 +24,14 @@ package org.onap.cps.impl
 import static org.onap.cps.api.parameters.FetchDescendantsOption.OMIT_DESCENDANTS
 import static org.onap.cps.api.parameters.PaginationOption.NO_PAGINATION
 
+import com.fasterxml.jackson.databind.ObjectMapper
 import org.onap.cps.api.CpsAnchorService
 import org.onap.cps.api.CpsDataService
 import org.onap.cps.api.CpsQueryService
 import org.onap.cps.api.model.DataNode
 import org.onap.cps.api.parameters.PaginationOption
 import org.onap.cps.utils.DataMapper
+import org.onap.cps.utils.JsonObjectMapper
 import org.onap.cps.utils.PrefixResolver
 import spock.lang.Specification
 
@@ -44,7 +46,9 @@ class CpsFacadeImplSpec extends Specification {
     def myFetchDescendantsOption = OMIT_DESCENDANTS
     def myPaginationOption = NO_PAGINATION
 
-    def objectUnderTest = new CpsFacadeImpl(mockCpsDataService, mockCpsQueryService , dataMapper)
+    def jsonObjectMapper = new JsonObjectMapper(new ObjectMapper())
+
+    def objectUnderTest = new CpsFacadeImpl(mockCpsDataService, mockCpsQueryService , dataMapper, jsonObjectMapper)
 
     def dataNode1 = new DataNode(xpath:'/path1', anchorName: 'my anchor')
     def dataNode2 = new DataNode(xpath:'/path2', anchorName: 'my anchor')
@@ -92,6 +96,19 @@ class CpsFacadeImplSpec extends Specification {
             assert result.size() == 2
     }
 
+    def 'Stream multiple data nodes V3.'() {
+        given: 'an output stream'
+            def outputStream = new ByteArrayOutputStream()
+        when: 'stream data nodes by dataspace and anchor'
+            objectUnderTest.streamDataNodesByAnchorV3('my dataspace', 'my anchor', 'my path', myFetchDescendantsOption, outputStream)
+        then: 'the data service streams two data nodes to the visitor'
+            1 * mockCpsDataService.streamDataNodes('my dataspace', 'my anchor', 'my path', myFetchDescendantsOption, _) >> {
+                args -> [dataNode1, dataNode2].each { args[4].enterDataNode(it); args[4].exitDataNode(it) }
+            }
+        and: 'both nodes are written as json with their prefix'
+            assert outputStream.toString() == '{"prefix1:path1":{},"prefix2:path2":{}}'
+    }
+
     def 'Execute anchor query with attribute-axis.'() {
         given: 'the cps query service returns two attribute values'
             mockCpsQueryService.queryDataLeaf('my dataspace', 'my anchor', '/my/path/@myAttribute', Object) >> ['value1', 'value2']
@@ -114,9 +131,50 @@ class CpsFacadeImplSpec extends Specification {
             assert result[1].toString() == '{anchorName=other anchor, dataNodes=[{prefix3:path3={}}]}'
     }
 
+    def 'Stream dataspace query.'() {
+        given: 'an output stream'
+            def outputStream = new ByteArrayOutputStream()
+        when: 'stream the data nodes queried across anchors'
+            objectUnderTest.streamDataspaceQuery('my dataspace', 'my cps path', myFetchDescendantsOption, outputStream)
+        then: 'the cps query service streams the data nodes of two anchors to the consumer'
+            1 * mockCpsQueryService.streamDataNodesAcrossAnchors('my dataspace', 'my cps path', myFetchDescendantsOption, _) >> {
+                args -> [[dataNode1, dataNode2], [dataNode3]].each { args[3].accept(it) }
+            }
+        and: 'a json array with the nodes grouped by anchor is written'
+            assert outputStream.toString() == '[{"anchorName":"my anchor","dataNodes":[{"prefix1:path1":{}},{"prefix1:path2":{}}]},' +
+                                              '{"anchorName":"other anchor","dataNodes":[{"prefix3:path3":{}}]}]'
+    }
+
+    def 'Stream dataspace query without results.'() {
+        given: 'an output stream'
+            def outputStream = new ByteArrayOutputStream()
+        when: 'stream the data nodes queried across anchors (none found)'
+            objectUnderTest.streamDataspaceQuery('my dataspace', 'my cps path', myFetchDescendantsOption, outputStream)
+        then: 'an empty json array is written'
+            assert outputStream.toString() == '[]'
+    }
+
+    def 'Stream dataspace query to a failing output stream with #scenario.'() {
+        given: 'an output stream that cannot be written to'
+            def failingOutputStream = Mock(OutputStream)
+            failingOutputStream.write(*_) >> { throw new IOException('some io problem') }
+        and: 'the cps query service streams #scenario'
+            mockCpsQueryService.streamDataNodesAcrossAnchors('my dataspace', 'my cps path', myFetchDescendantsOption, _) >> {
+                args -> dataNodesPerAnchor.each { args[3].accept(it) }
+            }
+        when: 'stream the data nodes queried across anchors'
+            objectUnderTest.streamDataspaceQuery('my dataspace', 'my cps path', myFetchDescendantsOption, failingOutputStream)
+        then: 'an unchecked io exception is thrown'
+            thrown(UncheckedIOException)
+        where: 'the following data nodes are streamed'
+            scenario     | dataNodesPerAnchor
+            'no results' | []
+            'results'    | [[new DataNode(xpath: '/path1', anchorName: 'my anchor')]]
+    }
+
     def 'How many pages (anchors) could be in the output with #scenario.'() {
         given: 'the query service says there are 10 anchors for the given query'
-            mockCpsQueryService.countAnchorsForDataspaceAndCpsPath('my dataspace', 'my cps path') >> 10
+            mockCpsQueryService.countAnchorsForDataspaceAndCpsPath('my dataspace', 'my cps path', paginationOption) >> 10
         expect: 'the correct number of pages is returned'
             assert objectUnderTest.countAnchorsInDataspaceQuery('my dataspace', 'my cps path', paginationOption) == expectedNumberOfPages
         where: 'the following pagination options are used'
@@ -125,6 +183,7 @@ class CpsFacadeImplSpec extends Specification {
             '1 anchor per page'             | new PaginationOption(1,1)   || 10
             '1 anchor per page, start at 2' | new PaginationOption(2,1)   || 10
             '2 anchors per page'            | new PaginationOption(1,2)   || 5
+            'after an anchor name'          | new PaginationOption(1,2,'a') || 5
             '3 anchors per page'            | new PaginationOption(1,3)   || 4
             '10 anchors per page'           | new PaginationOption(1,10)  || 1
             '100 anchors per page'          | new PaginationOption(1,100) || 1
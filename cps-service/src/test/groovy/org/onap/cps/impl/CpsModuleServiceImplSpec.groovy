@@ -231,6 +231,19 @@ class CpsModuleServiceImplSpec extends Specification {
             1 * mockCpsModulePersistenceService.identifyNewModuleReferences(moduleReferencesToCheck)
     }
 
+    def 'Find schema set by module references.'() {
+        given: 'module references from cm handle'
+            def moduleReferences = getModuleReferences()
+        and: 'the persistence service finds a schema set with those modules'
+            mockCpsModulePersistenceService.findSchemaSetNameByModuleReferences('some-dataspace-name', moduleReferences) >> Optional.of('some-schema-set')
+        when: 'a schema set is searched for by module references'
+            def result = objectUnderTest.findSchemaSetNameByModuleReferences('some-dataspace-name', moduleReferences)
+        then: 'the schema set found by the persistence service is returned'
+            assert result == Optional.of('some-schema-set')
+        and: 'the dataspace name is validated'
+            1 * mockCpsValidator.validateNameCharacters('some-dataspace-name')
+    }
+
 
     def 'Getting module definitions with module name'() {
         given: 'module persistence service returns module definitions for module name'
@@ -22,9 +22,12 @@
 package org.onap.cps.impl
 
 import com.fasterxml.jackson.databind.ObjectMapper
+import com.hazelcast.cluster.Member
+import com.hazelcast.topic.ITopic
+import com.hazelcast.topic.Message
+import com.hazelcast.topic.MessageListener
 import org.onap.cps.TestUtils
 import org.onap.cps.api.CpsAnchorService
-import org.onap.cps.api.exceptions.DataNodeNotFoundException
 import org.onap.cps.api.exceptions.DataValidationException
 import org.onap.cps.api.model.Anchor
 import org.onap.cps.api.parameters.FetchDescendantsOption
@@ -38,6 +41,8 @@ import org.onap.cps.yang.TimedYangTextSchemaSourceSetBuilder
 import org.onap.cps.yang.YangTextSchemaSourceSet
 import org.onap.cps.yang.YangTextSchemaSourceSetBuilder
 import org.springframework.test.context.ContextConfiguration
+import org.springframework.transaction.support.TransactionSynchronization
+import org.springframework.transaction.support.TransactionSynchronizationManager
 import spock.lang.Specification
 
 @ContextConfiguration(classes = [ObjectMapper, JsonObjectMapper])
@@ -51,12 +56,14 @@ class CpsNotificationServiceImplSpec extends Specification {
 
     def mockCpsDataPersistenceService = Mock(CpsDataPersistenceService)
     def mockCpsAnchorService = Mock(CpsAnchorService)
-    def mockYangTextSchemaSourceSetCache = Mock(YangTextSchemaSourceSetCache)
+    def mockYangTextSchemaSourceSetCache = Mock(YangTextSchemaSourceSetCache) { getIfSchemaSetChanged(*_) >> Optional.empty() }
     def mockTimedYangTextSchemaSourceSetBuilder = Mock(TimedYangTextSchemaSourceSetBuilder)
     def yangParser = new YangParser(new YangParserHelper(), mockYangTextSchemaSourceSetCache, mockTimedYangTextSchemaSourceSetBuilder)
     def dataMapper = new DataMapper(mockCpsAnchorService, Mock(PrefixResolver))
 
-    def objectUnderTest = new CpsNotificationServiceImpl(mockCpsAnchorService, mockCpsDataPersistenceService, yangParser, dataMapper)
+    def mockNotificationSubscriptionChangesTopic = Mock(ITopic)
+
+    def objectUnderTest = new CpsNotificationServiceImpl(mockCpsAnchorService, mockCpsDataPersistenceService, yangParser, dataMapper, mockNotificationSubscriptionChangesTopic)
 
     def 'add notification subscription for list of dataspaces'() {
         given: 'details for notification subscription and subscription root node xpath'
@@ -113,72 +120,115 @@ class CpsNotificationServiceImplSpec extends Specification {
             assert result.get(0).toString() == '{path={leaf=dataspace, leafList=[ds01, ds02]}}'
     }
 
-    def 'is notification enabled for given anchor'() {
-        given: 'data nodes available for given anchor'
-            mockCpsDataPersistenceService.getDataNodes(dataspaceName, anchorName, "/dataspaces", FetchDescendantsOption.INCLUDE_ALL_DESCENDANTS) >> [someDataNode]
+    def 'is notification enabled for #scenario'() {
+        given: 'the persistence service returns the notification subscriptions'
+            mockCpsDataPersistenceService.getDataNodesForMultipleXpaths(dataspaceName, anchorName, ['/dataspaces'], FetchDescendantsOption.INCLUDE_ALL_DESCENDANTS) >> subscriptions
         when: 'is notification enabled is called'
-            boolean isNotificationEnabled = objectUnderTest.isNotificationEnabled(dataspaceName, anchorName)
-        then: 'the notification is enabled'
-            assert isNotificationEnabled
+            def result = objectUnderTest.isNotificationEnabled('ds01', 'anchor-01')
+        then: 'the notification is enabled as expected'
+            assert result == expectedResult
+        where: 'the following subscriptions are used'
+            scenario                                               | subscriptions                                           || expectedResult
+            'no subscriptions'                                     | []                                                      || false
+            'subscription for given anchor'                        | [buildSubscriptions(['ds01': ['anchor-01']])]           || true
+            'subscription for other anchor in dataspace'           | [buildSubscriptions(['ds01': ['anchor-02']])]           || false
+            'subscription for all anchors in dataspace'            | [buildSubscriptions(['ds01': null])]                    || true
+            'subscription for anchors container without anchors'   | [buildSubscriptions(['ds01': []])]                      || false
+            'subscription for other dataspace only'                | [buildSubscriptions(['ds02': null])]                    || false
     }
 
-    def 'is notification disabled for given anchor'() {
-        given: 'data nodes not available for given anchor'
-            mockCpsDataPersistenceService.getDataNodes(dataspaceName, anchorName, "/dataspaces/dataspace[@name='ds01']/anchors/anchor[@name='anchor-01']", FetchDescendantsOption.INCLUDE_ALL_DESCENDANTS) >>
-                    {  throw new DataNodeNotFoundException(dataspaceName, anchorName) }
-        when: 'is notification enabled is called'
-            boolean isNotificationEnabled = objectUnderTest.isNotificationEnabled('ds01', 'anchor-01')
-        then: 'the notification is disabled'
-            assert !isNotificationEnabled
+    def 'notification subscriptions are read only once'() {
+        when: 'is notification enabled is called twice'
+            2.times { objectUnderTest.isNotificationEnabled('ds01', 'anchor-01') }
+        then: 'the subscriptions are read from the persistence service only once'
+            1 * mockCpsDataPersistenceService.getDataNodesForMultipleXpaths(*_) >> [buildSubscriptions(['ds01': null])]
     }
 
-    def 'is notification enabled for given anchor because all anchors are enabled'() {
-        given: 'data nodes not available for given anchor'
-            mockCpsDataPersistenceService.getDataNodes(dataspaceName, anchorName, "/dataspaces/dataspace[@name='ds01']/anchors/anchor[@name='anchor-01']", FetchDescendantsOption.INCLUDE_ALL_DESCENDANTS) >>
-                {  throw new DataNodeNotFoundException(dataspaceName, anchorName) }
-        and: 'data nodes not available for any specific anchor'
-            mockCpsDataPersistenceService.getDataNodes(dataspaceName, anchorName, "/dataspaces/dataspace[@name='ds01']/anchors", FetchDescendantsOption.INCLUDE_ALL_DESCENDANTS) >>
-                { throw new DataNodeNotFoundException(dataspaceName, anchorName) }
-        when: 'is notification enabled is called'
-            boolean isNotificationEnabled = objectUnderTest.isNotificationEnabled('ds01', 'anchor-01')
-        then: 'the notification is enabled'
-            assert isNotificationEnabled
+    def 'notification subscriptions are read again after #scenario'() {
+        given: 'the subscription model and anchor are available'
+            setupSchemaSetMocks('cps-notification-subscriptions@2024-07-03.yang')
+            mockCpsAnchorService.getAnchor(dataspaceName, anchorName) >> anchor
+        and: 'the subscriptions are read once'
+            mockCpsDataPersistenceService.getDataNodesForMultipleXpaths(*_) >> []
+            objectUnderTest.isNotificationEnabled('ds01', 'anchor-01')
+        when: 'the subscriptions are changed'
+            changeSubscriptions.call(objectUnderTest)
+        and: 'is notification enabled is called again'
+            objectUnderTest.isNotificationEnabled('ds01', 'anchor-01')
+        then: 'the subscriptions are read from the persistence service again'
+            1 * mockCpsDataPersistenceService.getDataNodesForMultipleXpaths(*_) >> []
+        and: 'the change is published to other instances'
+            1 * mockNotificationSubscriptionChangesTopic.publish('/dataspaces')
+        where: 'the following changes are made'
+            scenario                   | changeSubscriptions
+            'creating a subscription'  | { it.createNotificationSubscription('{"dataspace":[{"name":"ds01"}]}', '/dataspaces') }
+            'deleting a subscription'  | { it.deleteNotificationSubscription('/dataspaces') }
     }
 
-    def 'is notification enabled for all anchors in a dataspace'() {
-        given: 'data nodes available for given dataspace'
-            mockCpsDataPersistenceService.getDataNodes(dataspaceName, anchorName, "/dataspaces/dataspace[@name='ds01']", FetchDescendantsOption.INCLUDE_ALL_DESCENDANTS) >>
-                    [someDataNode]
-        and: 'data nodes not available for any specific anchor'
-            mockCpsDataPersistenceService.getDataNodes(dataspaceName, anchorName, "/dataspaces/dataspace[@name='ds01']/anchors", FetchDescendantsOption.INCLUDE_ALL_DESCENDANTS) >>
-                    { throw new DataNodeNotFoundException(dataspaceName, anchorName) }
-        when: 'is notification enabled is called'
-            boolean isNotificationEnabled = objectUnderTest.notificationEnabledForAllAnchors('ds01')
-        then: 'the notification is enabled'
-            assert isNotificationEnabled
+    def 'notification subscriptions changed within a transaction are invalidated again after completion'() {
+        given: 'transaction synchronization is active'
+            TransactionSynchronizationManager.initSynchronization()
+        and: 'the subscriptions are read from the persistence service'
+            mockCpsDataPersistenceService.getDataNodesForMultipleXpaths(*_) >> []
+        when: 'a subscription is deleted'
+            objectUnderTest.deleteNotificationSubscription('/dataspaces')
+        then: 'the change is not yet published'
+            0 * mockNotificationSubscriptionChangesTopic.publish(_)
+        when: 'the subscriptions are read again before the transaction completes'
+            objectUnderTest.isNotificationEnabled('ds01', 'anchor-01')
+        and: 'the transaction completes'
+            TransactionSynchronizationManager.synchronizations.each { it.afterCompletion(TransactionSynchronization.STATUS_COMMITTED) }
+        and: 'is notification enabled is called again'
+            objectUnderTest.isNotificationEnabled('ds01', 'anchor-01')
+        then: 'the subscriptions read during the transaction are read again after completion'
+            2 * mockCpsDataPersistenceService.getDataNodesForMultipleXpaths(*_) >> []
+        and: 'the change is published to other instances'
+            1 * mockNotificationSubscriptionChangesTopic.publish('/dataspaces')
+        cleanup: 'transaction synchronization is cleared'
+            TransactionSynchronizationManager.clearSynchronization()
     }
 
-    def 'is notification disabled for a dataspace'() {
-        given: 'No data nodes available for given dataspace'
-            mockCpsDataPersistenceService.getDataNodes(dataspaceName, anchorName, "/dataspaces/dataspace[@name='ds01']", FetchDescendantsOption.INCLUDE_ALL_DESCENDANTS) >>
-                { throw new DataNodeNotFoundException(dataspaceName, anchorName) }
-        when: 'is notification enabled is called'
-            boolean isNotificationEnabled = objectUnderTest.notificationEnabledForAllAnchors('ds01')
-        then: 'the notification is disabled'
-            assert !isNotificationEnabled
+    def 'notification subscriptions are read again after change by #publisher instance: #expectRead'() {
+        given: 'the service listens to subscription changes'
+            MessageListener messageListener
+            mockNotificationSubscriptionChangesTopic.addMessageListener(_) >> { args -> messageListener = args[0]; null }
+            objectUnderTest.listenToNotificationSubscriptionChanges()
+        and: 'the subscriptions are read once'
+            mockCpsDataPersistenceService.getDataNodesForMultipleXpaths(*_) >> []
+            objectUnderTest.isNotificationEnabled('ds01', 'anchor-01')
+        when: 'a subscription change message is received'
+            def member = Mock(Member) { localMember() >> isLocalMember }
+            messageListener.onMessage(Mock(Message) { getPublishingMember() >> member })
+        and: 'is notification enabled is called again'
+            objectUnderTest.isNotificationEnabled('ds01', 'anchor-01')
+        then: 'the subscriptions are only read again when changed by another instance'
+            (expectRead ? 1 : 0) * mockCpsDataPersistenceService.getDataNodesForMultipleXpaths(*_) >> []
+        where: 'the following publishers are used'
+            publisher | isLocalMember || expectRead
+            'this'    | true          || false
+            'another' | false         || true
     }
 
-    def 'is notification disabled for some anchors in a dataspace'() {
-        given: 'data nodes available for given dataspace'
-            mockCpsDataPersistenceService.getDataNodes(dataspaceName, anchorName, "/dataspaces/dataspace[@name='ds01']", FetchDescendantsOption.INCLUDE_ALL_DESCENDANTS) >>
-                [someDataNode]
-        and: 'data nodes also available for any specific anchor'
-            mockCpsDataPersistenceService.getDataNodes(dataspaceName, anchorName, "/dataspaces/dataspace[@name='ds01']/anchors", FetchDescendantsOption.INCLUDE_ALL_DESCENDANTS) >>
-                    [someDataNode]
-        when: 'is notification enabled is called'
-            boolean isNotificationEnabled = objectUnderTest.notificationEnabledForAllAnchors('ds01')
-        then: 'the notification is disabled'
-            assert !isNotificationEnabled
+    def 'publishing a subscription change fails'() {
+        given: 'publishing subscription changes fails'
+            mockNotificationSubscriptionChangesTopic.publish(_) >> { throw new IllegalStateException('hazelcast is down') }
+        when: 'a subscription is deleted'
+            objectUnderTest.deleteNotificationSubscription('/some/path')
+        then: 'no exception is thrown'
+            noExceptionThrown()
+    }
+
+    def buildSubscriptions(Map<String, List<String>> anchorNamesPerDataspaceName) {
+        def dataspaceDataNodes = anchorNamesPerDataspaceName.collect { dataspaceName, anchorNames ->
+            def dataspaceXpath = "/dataspaces/dataspace[@name='${dataspaceName}']"
+            def anchorsDataNodes = []
+            if (anchorNames != null) {
+                def anchorDataNodes = anchorNames.collect { new DataNodeBuilder().withXpath("${dataspaceXpath}/anchors/anchor[@name='${it}']").withLeaves([name: it]).build() }
+                anchorsDataNodes << new DataNodeBuilder().withXpath("${dataspaceXpath}/anchors").withChildDataNodes(anchorDataNodes).build()
+            }
+            new DataNodeBuilder().withXpath(dataspaceXpath).withLeaves([name: dataspaceName]).withChildDataNodes(anchorsDataNodes).build()
+        }
+        return new DataNodeBuilder().withXpath('/dataspaces').withChildDataNodes(dataspaceDataNodes).build()
     }
 
     def setupSchemaSetMocks(String... yangResources) {
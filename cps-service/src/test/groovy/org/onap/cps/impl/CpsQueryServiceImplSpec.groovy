@@ -28,6 +28,8 @@ import org.onap.cps.api.parameters.FetchDescendantsOption
 import org.onap.cps.api.parameters.PaginationOption
 import spock.lang.Specification
 
+import java.util.function.Consumer
+
 class CpsQueryServiceImplSpec extends Specification {
     def mockCpsDataPersistenceService = Mock(CpsDataPersistenceService)
     def mockCpsValidator = Mock(CpsValidator)
@@ -82,10 +84,23 @@ class CpsQueryServiceImplSpec extends Specification {
     }
 
     def 'Query total anchors for dataspace and cps path.'() {
+        given: 'a pagination option'
+            def myPaginationOption = new PaginationOption(1, 2, 'some-anchor')
         when: 'query total anchors is invoked'
-            objectUnderTest.countAnchorsForDataspaceAndCpsPath("some-dataspace", "/cps-path")
+            objectUnderTest.countAnchorsForDataspaceAndCpsPath("some-dataspace", "/cps-path", myPaginationOption)
         then: 'the persistence service is called once with the correct parameters'
-            1 * mockCpsDataPersistenceService.countAnchorsForDataspaceAndCpsPath("some-dataspace", "/cps-path")
+            1 * mockCpsDataPersistenceService.countAnchorsForDataspaceAndCpsPath("some-dataspace", "/cps-path", myPaginationOption)
+    }
+
+    def 'Stream data nodes across anchors.'() {
+        given: 'a consumer for the data nodes'
+            def dataNodesPerAnchorConsumer = { dataNodes -> } as Consumer
+        when: 'a stream query across anchors is executed'
+            objectUnderTest.streamDataNodesAcrossAnchors('some-dataspace', '/cps-path', FetchDescendantsOption.OMIT_DESCENDANTS, dataNodesPerAnchorConsumer)
+        then: 'the dataspace name is validated'
+            1 * mockCpsValidator.validateNameCharacters('some-dataspace')
+        and: 'the persistence service is called once with the correct parameters'
+            1 * mockCpsDataPersistenceService.streamDataNodesAcrossAnchors('some-dataspace', '/cps-path', FetchDescendantsOption.OMIT_DESCENDANTS, dataNodesPerAnchorConsumer)
     }
 
     def 'Query data leaf.'() {
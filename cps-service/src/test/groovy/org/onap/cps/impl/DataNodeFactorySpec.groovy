@@ -39,7 +39,7 @@ import spock.lang.Specification
 class DataNodeFactorySpec extends Specification {
 
     def mockCpsAnchorService = Mock(CpsAnchorService)
-    def mockYangTextSchemaSourceSetCache = Mock(YangTextSchemaSourceSetCache)
+    def mockYangTextSchemaSourceSetCache = Mock(YangTextSchemaSourceSetCache) { getIfSchemaSetChanged(*_) >> Optional.empty() }
     def mockTimedYangTextSchemaSourceSetBuilder = Mock(TimedYangTextSchemaSourceSetBuilder)
     def yangParser = new YangParser(new YangParserHelper(), mockYangTextSchemaSourceSetCache, mockTimedYangTextSchemaSourceSetBuilder)
     def objectUnderTest = new DataNodeFactoryImpl(yangParser)
@@ -21,10 +21,11 @@
 
 package org.onap.cps.impl
 
+import io.micrometer.core.instrument.Metrics
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
 import org.onap.cps.TestUtils
 import org.onap.cps.utils.CpsValidator
 import org.onap.cps.spi.CpsModulePersistenceService
-import org.onap.cps.yang.YangTextSchemaSourceSet
 import org.onap.cps.yang.YangTextSchemaSourceSetBuilder
 import org.spockframework.spring.SpringBean
 import org.springframework.beans.factory.annotation.Autowired
@@ -58,6 +59,7 @@ class YangTextSchemaSourceSetCacheSpec extends Specification {
     def setup() {
         yangResourceCacheImpl = cacheManager.getCache('yangSchema')
         yangResourceCacheImpl.clear()
+        objectUnderTest.sharedYangTextSchemaSourceSetPerSchemaSetVersion.invalidateAll()
     }
 
 
@@ -72,9 +74,11 @@ class YangTextSchemaSourceSetCacheSpec extends Specification {
         then: 'information fetched from cps module persistence'
             1 * mockModuleStoreService.getYangSchemaResources('my-dataspace', 'my-schemaset')
                     >> yangResourceContentPerName
-        and: 'stored in the cache'
+        and: 'stored in the cache together with the schema set version (checked before and after reading the resources)'
+            2 * mockModuleStoreService.getSchemaSetVersion('my-dataspace', 'my-schemaset') >> 'version 1'
             def cachedValue = getCachedValue('my-dataspace', 'my-schemaset')
             assert cachedValue.getModuleReferences() == expectedYangTextSchemaSourceSet.getModuleReferences()
+            assert getCachedVersion('my-dataspace', 'my-schemaset') == 'version 1'
         and: 'the response is as expected'
             assert result.getModuleReferences() == expectedYangTextSchemaSourceSet.getModuleReferences()
         and: 'the CpsValidator is called on the dataspaceName'
@@ -86,7 +90,7 @@ class YangTextSchemaSourceSetCacheSpec extends Specification {
             def yangResourceContentPerName = TestUtils.getYangResourcesAsMap('bookstore.yang')
             def expectedYangTextSchemaSourceSet = YangTextSchemaSourceSetBuilder.of(yangResourceContentPerName)
         and: 'stored in cache'
-            yangResourceCacheImpl.put(getCacheKey('my-dataspace', 'my-schemaset'), expectedYangTextSchemaSourceSet)
+            putInCache('my-dataspace', 'my-schemaset', expectedYangTextSchemaSourceSet)
         when: 'schema-set information is asked'
             def result = objectUnderTest.get('my-dataspace', 'my-schemaset')
         then: 'expected value is returned'
@@ -100,19 +104,36 @@ class YangTextSchemaSourceSetCacheSpec extends Specification {
             def yangResourceContentPerName = TestUtils.getYangResourcesAsMap('bookstore.yang')
             def yangTextSchemaSourceSet = YangTextSchemaSourceSetBuilder.of(yangResourceContentPerName)
         when: 'cache is updated'
-            objectUnderTest.updateCache('my-dataspace', 'my-schemaset', yangTextSchemaSourceSet)
+            objectUnderTest.updateCache('my-dataspace', 'my-schemaset', yangTextSchemaSourceSet, yangResourceContentPerName)
         then: 'cached value is same as expected'
             def cachedValue = getCachedValue('my-dataspace', 'my-schemaset')
             cachedValue.getModuleReferences() == yangTextSchemaSourceSet.getModuleReferences()
+        and: 'the version of the stored schema set is cached too'
+            1 * mockModuleStoreService.getSchemaSetVersion('my-dataspace', 'my-schemaset') >> 'version 1'
+            assert getCachedVersion('my-dataspace', 'my-schemaset') == 'version 1'
         and: 'the CpsValidator is called on the dataspaceName'
             1 * mockCpsValidator.validateNameCharacters('my-dataspace')
     }
 
+    def 'Cache Update: for a schema set without version (no yang resources)'() {
+        given: 'an empty schema set'
+            def yangTextSchemaSourceSet = YangTextSchemaSourceSetBuilder.of([:])
+        and: 'the stored schema set has no version'
+            mockModuleStoreService.getSchemaSetVersion('my-dataspace', 'my-schemaset') >> null
+        when: 'cache is updated'
+            def result = objectUnderTest.updateCache('my-dataspace', 'my-schemaset', yangTextSchemaSourceSet, [:])
+        then: 'the given schema source set is returned'
+            assert result.is(yangTextSchemaSourceSet)
+        and: 'it is not cached'
+            assert getCachedVersion('my-dataspace', 'my-schemaset') == null
+            assert getCachedValue('my-dataspace', 'my-schemaset') == null
+    }
+
     def 'Cache Evict:with invalid #scenario'() {
         given: 'a schema set exists in cache'
             def yangResourceContentPerName = TestUtils.getYangResourcesAsMap('bookstore.yang')
             def yangTextSchemaSourceSet = YangTextSchemaSourceSetBuilder.of(yangResourceContentPerName)
-            yangResourceCacheImpl.put(getCacheKey('my-dataspace', 'my-schemaset'), yangTextSchemaSourceSet)
+            putInCache('my-dataspace', 'my-schemaset', yangTextSchemaSourceSet)
             def cachedValue = getCachedValue('my-dataspace', 'my-schemaset')
             assert cachedValue.getModuleReferences() == yangTextSchemaSourceSet.getModuleReferences()
         when: 'cache is evicted for schemaset'
@@ -134,8 +155,110 @@ class YangTextSchemaSourceSetCacheSpec extends Specification {
             1 * mockCpsValidator.validateNameCharacters('my-dataspace')
     }
 
+    def 'Get schema set if changed: #scenario.'() {
+        given: 'a schema set of version 1 in cache'
+            def yangTextSchemaSourceSet = YangTextSchemaSourceSetBuilder.of(TestUtils.getYangResourcesAsMap('bookstore.yang'))
+            putInCache('my-dataspace', 'my-schemaset', yangTextSchemaSourceSet)
+        and: 'the stored schema set has the given version'
+            mockModuleStoreService.getSchemaSetVersion('my-dataspace', 'my-schemaset') >> storedVersion
+        and: 'the stored schema set resources'
+            def yangResourceContentPerName = TestUtils.getYangResourcesAsMap('bookstore.yang', 'test-tree.yang')
+        and: 'metrics are recorded'
+            def meterRegistry = new SimpleMeterRegistry()
+            Metrics.addRegistry(meterRegistry)
+        when: 'the schema set is requested if it has changed'
+            def result = objectUnderTest.getIfSchemaSetChanged('my-dataspace', 'my-schemaset')
+        then: 'the schema set resources are only read (and rebuilt) if the schema set has changed'
+            expectedRebuildCount * mockModuleStoreService.getYangSchemaResources('my-dataspace', 'my-schemaset') >> yangResourceContentPerName
+        and: 'a rebuilt schema set is returned only if the schema set has changed'
+            assert result.isPresent() == (expectedRebuildCount == 1)
+        and: 'the cached schema set (version) is as expected'
+            assert getCachedVersion('my-dataspace', 'my-schemaset') == storedVersion
+            assert getCachedValue('my-dataspace', 'my-schemaset').getModuleReferences().size() == expectedNumberOfModules
+        and: 'the rebuild is recorded in the metrics'
+            assert meterRegistry.get('cps.yang.schema.cache.rebuild').tag('reason', 'schema-set-changed').timer().count() == expectedRebuildCount
+        cleanup: 'remove the metrics registry'
+            Metrics.removeRegistry(meterRegistry)
+        where: 'the following versions are stored'
+            scenario    | storedVersion || expectedRebuildCount | expectedNumberOfModules
+            'unchanged' | 'version 1'   || 0                    | 1
+            'changed'   | 'version 2'   || 1                    | 2
+    }
+
+    def 'Get schema set if changed when it is not cached.'() {
+        given: 'cache is empty'
+            yangResourceCacheImpl.clear()
+        and: 'a schema set exists'
+            mockModuleStoreService.getSchemaSetVersion('my-dataspace', 'my-schemaset') >> 'version 1'
+            mockModuleStoreService.getYangSchemaResources('my-dataspace', 'my-schemaset') >> TestUtils.getYangResourcesAsMap('bookstore.yang')
+        when: 'the schema set is requested if it has changed'
+            def result = objectUnderTest.getIfSchemaSetChanged('my-dataspace', 'my-schemaset')
+        then: 'the schema set is built and returned'
+            assert result.isPresent()
+        and: 'stored in the cache'
+            assert getCachedValue('my-dataspace', 'my-schemaset') == result.get()
+    }
+
+    def 'Schema sets with the same version share one schema set.'() {
+        given: 'cache is empty'
+            yangResourceCacheImpl.clear()
+        and: 'two schema sets with the same yang resources (version)'
+            mockModuleStoreService.getSchemaSetVersion('my-dataspace', _) >> 'shared version'
+        when: 'both schema sets are retrieved'
+            def result1 = objectUnderTest.get('my-dataspace', 'schema-set-1')
+            def result2 = objectUnderTest.get('my-dataspace', 'schema-set-2')
+        then: 'the yang resources are read (and the schema set is built) only once'
+            1 * mockModuleStoreService.getYangSchemaResources('my-dataspace', _) >> TestUtils.getYangResourcesAsMap('bookstore.yang')
+        and: 'both schema sets share the same schema set'
+            assert result1.is(result2)
+        and: 'a schema set created with the same version also uses the shared schema set'
+            def newYangTextSchemaSourceSet = YangTextSchemaSourceSetBuilder.of(TestUtils.getYangResourcesAsMap('bookstore.yang'))
+            assert objectUnderTest.updateCache('my-dataspace', 'schema-set-3', newYangTextSchemaSourceSet, TestUtils.getYangResourcesAsMap('bookstore.yang')).is(result1)
+            assert getCachedValue('my-dataspace', 'schema-set-3').is(result1)
+    }
+
+    def 'Schema set that changes while it is built is not shared.'() {
+        given: 'cache is empty'
+            yangResourceCacheImpl.clear()
+        and: 'the schema set version changes between reading the version and reading the yang resources'
+            mockModuleStoreService.getSchemaSetVersion('my-dataspace', 'my-schemaset') >>> ['version 1', 'version 2']
+            mockModuleStoreService.getYangSchemaResources('my-dataspace', 'my-schemaset') >> TestUtils.getYangResourcesAsMap('bookstore.yang')
+        when: 'the schema set is retrieved'
+            def result = objectUnderTest.get('my-dataspace', 'my-schemaset')
+        then: 'the schema set is built'
+            assert result.getModuleReferences().size() == 1
+        and: 'it is not cached, so it will be rebuilt on the next request'
+            assert getCachedVersion('my-dataspace', 'my-schemaset') == null
+    }
+
+    def 'Schema set is rebuilt when its shared schema set has been evicted.'() {
+        given: 'a schema set that has been retrieved (and cached) before'
+            mockModuleStoreService.getSchemaSetVersion('my-dataspace', 'my-schemaset') >> 'version 1'
+            mockModuleStoreService.getYangSchemaResources('my-dataspace', 'my-schemaset') >> TestUtils.getYangResourcesAsMap('bookstore.yang')
+            def originalResult = objectUnderTest.get('my-dataspace', 'my-schemaset')
+        and: 'the shared schema set is evicted from the size bounded cache'
+            objectUnderTest.sharedYangTextSchemaSourceSetPerSchemaSetVersion.invalidateAll()
+        when: 'the schema set is retrieved again'
+            def result = objectUnderTest.get('my-dataspace', 'my-schemaset')
+        then: 'it is rebuilt i.e. the schema set cache itself holds no schema set'
+            assert !result.is(originalResult)
+            assert result.getModuleReferences() == originalResult.getModuleReferences()
+        and: 'the rebuilt schema set is shared again'
+            assert getCachedValue('my-dataspace', 'my-schemaset').is(result)
+    }
+
     def getCachedValue(dataSpace, schemaSet) {
-        yangResourceCacheImpl.get(getCacheKey(dataSpace, schemaSet), YangTextSchemaSourceSet)
+        def schemaSetVersion = getCachedVersion(dataSpace, schemaSet)
+        return schemaSetVersion == null ? null : objectUnderTest.sharedYangTextSchemaSourceSetPerSchemaSetVersion.getIfPresent(schemaSetVersion)?.yangTextSchemaSourceSet()
+    }
+
+    def getCachedVersion(dataSpace, schemaSet) {
+        yangResourceCacheImpl.get(getCacheKey(dataSpace, schemaSet), String)
+    }
+
+    def putInCache(dataSpace, schemaSet, yangTextSchemaSourceSet) {
+        yangResourceCacheImpl.put(getCacheKey(dataSpace, schemaSet), 'version 1')
+        objectUnderTest.sharedYangTextSchemaSourceSetPerSchemaSetVersion.put('version 1', new YangTextSchemaSourceSetCache.SharedYangTextSchemaSourceSet(yangTextSchemaSourceSet, 1))
     }
 
     def getCacheKey(dataSpace, schemaSet) {
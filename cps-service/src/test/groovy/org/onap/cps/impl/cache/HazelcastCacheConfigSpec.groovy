@@ -51,11 +51,16 @@ class HazelcastCacheConfigSpec extends Specification {
             if (expectSetConfig) {
                 assert result.config.setConfigs.values()[0].name == 'my set config'
             }
+        and: 'if applicable it has a topic config with the expected name'
+            if (expectTopicConfig) {
+                assert result.config.topicConfigs.values()[0].name == 'my topic config'
+            }
         where: 'the following configs are used'
-            scenario       | config                                                       || expectMapConfig | expectQueueConfig | expectSetConfig
-            'Map Config'   | HazelcastCacheConfig.createGenericMapConfig('my map config') || true            | false             | false
-            'Queue Config' | HazelcastCacheConfig.createQueueConfig('my queue config')    || false           | true              | false
-            'Set Config'   | HazelcastCacheConfig.createSetConfig('my set config')        || false           | false             | true
+            scenario       | config                                                       || expectMapConfig | expectQueueConfig | expectSetConfig | expectTopicConfig
+            'Map Config'   | HazelcastCacheConfig.createGenericMapConfig('my map config') || true            | false             | false           | false
+            'Queue Config' | HazelcastCacheConfig.createQueueConfig('my queue config')    || false           | true              | false           | false
+            'Set Config'   | HazelcastCacheConfig.createSetConfig('my set config')        || false           | false             | true            | false
+            'Topic Config' | HazelcastCacheConfig.createTopicConfig('my topic config')    || false           | false             | false           | true
     }
 
 }
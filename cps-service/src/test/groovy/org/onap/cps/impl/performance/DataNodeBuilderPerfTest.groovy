@@ -0,0 +1,69 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.impl.performance
+
+import org.onap.cps.TestUtils
+import org.onap.cps.impl.DataNodeBuilder
+import org.onap.cps.utils.ContentType
+import org.onap.cps.utils.YangParserHelper
+import org.onap.cps.yang.YangTextSchemaSourceSetBuilder
+import org.springframework.util.StopWatch
+import spock.lang.Shared
+import spock.lang.Specification
+
+class DataNodeBuilderPerfTest extends Specification {
+
+    @Shared
+    def schemaContext = YangTextSchemaSourceSetBuilder.of(TestUtils.getYangResourcesAsMap('test-tree.yang')).schemaContext()
+
+    def yangParserHelper = new YangParserHelper()
+
+    def 'Converting large lists to data nodes scales linearly.'() {
+        given: 'container nodes with 10,000 and 100,000 list elements'
+            def smallContainerNode = createContainerNodeWithListElements(10_000)
+            def largeContainerNode = createContainerNodeWithListElements(100_000)
+        and: 'the conversion has been warmed up'
+            new DataNodeBuilder().withContainerNode(smallContainerNode).build()
+        when: 'both container nodes are converted to data nodes'
+            def stopWatch = new StopWatch()
+            stopWatch.start('10,000 list elements')
+            def smallResult = new DataNodeBuilder().withContainerNode(smallContainerNode).build()
+            stopWatch.stop()
+            stopWatch.start('100,000 list elements')
+            def largeResult = new DataNodeBuilder().withContainerNode(largeContainerNode).build()
+            stopWatch.stop()
+        then: 'all list elements are converted'
+            assert smallResult.childDataNodes.size() == 10_000
+            assert largeResult.childDataNodes.size() == 100_000
+        and: 'converting 10 times more list elements takes less than 20 times longer (quadratic would be ~100 times)'
+            def smallTimeInNanos = stopWatch.taskInfo[0].timeNanos
+            def largeTimeInNanos = stopWatch.taskInfo[1].timeNanos
+            assert largeTimeInNanos < 20 * smallTimeInNanos
+    }
+
+    def createContainerNodeWithListElements(numberOfListElements) {
+        def branches = (1..numberOfListElements).collect {
+            """{"name":"branch-${it}","nest":{"name":"nest-${it}","birds":["Owl","Raven","Crow"]}}"""
+        }
+        def jsonData = """{"test-tree":{"branch":[${branches.join(',')}]}}"""
+        return yangParserHelper.parseData(ContentType.JSON, jsonData, schemaContext, '', false)
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.utils
+
+import com.fasterxml.jackson.core.JsonGenerator
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.onap.cps.api.CpsAnchorService
+import org.onap.cps.api.model.Anchor
+import org.onap.cps.api.model.DataNode
+import org.onap.cps.impl.DataNodeBuilder
+import spock.lang.Specification
+
+class DataNodeJsonStreamWriterSpec extends Specification {
+
+    def objectMapper = new ObjectMapper()
+    def jsonObjectMapper = new JsonObjectMapper(objectMapper)
+    def mockCpsAnchorService = Mock(CpsAnchorService)
+    def mockPrefixResolver = Mock(PrefixResolver)
+    def dataMapper = new DataMapper(mockCpsAnchorService, mockPrefixResolver)
+    def anchor = new Anchor(name: 'my anchor')
+    def outputStream = new ByteArrayOutputStream()
+
+    def setup() {
+        mockCpsAnchorService.getAnchor('my dataspace', 'my anchor') >> anchor
+        mockPrefixResolver.getPrefix(anchor, _) >> 'my-prefix'
+    }
+
+    def 'Streamed data nodes have the same structure as the V3 data map for #scenario.'() {
+        given: 'a stream writer for the anchor'
+            def jsonGenerator = jsonObjectMapper.createJsonGenerator(outputStream)
+            def objectUnderTest = dataMapper.toJsonStreamWriterForApiV3('my dataspace', 'my anchor', jsonGenerator)
+        when: 'the data nodes are visited in depth-first order'
+            objectUnderTest.writeStartOfDocument()
+            dataNodes.each { visitDepthFirst(objectUnderTest, it) }
+            objectUnderTest.writeEndOfDocument()
+        then: 'the streamed json equals the data map created for the same data nodes'
+            def expectedDataMap = dataMapper.toDataMapForApiV3('my dataspace', 'my anchor', dataNodes)
+            assert objectMapper.readValue(outputStream.toString(), Map) == objectMapper.readValue(objectMapper.writeValueAsString(expectedDataMap), Map)
+        where: 'the following data nodes are used'
+            scenario                      | dataNodes
+            'a single container'          | [buildContainer()]
+            'top level list elements'     | [buildListElement('/top', 1), buildListElement('/top', 2)]
+            'a container and list element'| [buildContainer(), buildListElement('/top', 1)]
+    }
+
+    def 'Streaming an empty collection of data nodes.'() {
+        given: 'a stream writer for the anchor'
+            def objectUnderTest = new DataNodeJsonStreamWriter(jsonObjectMapper.createJsonGenerator(outputStream), anchor, mockPrefixResolver)
+        when: 'no data nodes are visited'
+            objectUnderTest.writeStartOfDocument()
+            objectUnderTest.writeEndOfDocument()
+        then: 'an empty json object is written'
+            assert outputStream.toString() == '{}'
+    }
+
+    def 'Streaming to a failing output stream.'() {
+        given: 'a stream writer for an output stream that cannot be written to'
+            def failingOutputStream = Mock(OutputStream)
+            failingOutputStream.write(*_) >> { throw new IOException('some io problem') }
+            def objectUnderTest = new DataNodeJsonStreamWriter(jsonObjectMapper.createJsonGenerator(failingOutputStream), anchor, mockPrefixResolver)
+        when: 'a document is written'
+            objectUnderTest.writeStartOfDocument()
+            objectUnderTest.writeEndOfDocument()
+        then: 'an unchecked io exception is thrown'
+            thrown(UncheckedIOException)
+    }
+
+    def 'Io exception from the json generator when #scenario.'() {
+        given: 'a json generator that fails on any write once the document has been started'
+            def generatorFails = false
+            def mockJsonGenerator = Mock(JsonGenerator)
+            mockJsonGenerator._ >> { if (generatorFails) { throw new IOException('some io problem') } }
+            def objectUnderTest = new DataNodeJsonStreamWriter(mockJsonGenerator, anchor, mockPrefixResolver)
+        and: 'the document is started (optional)'
+            if (startDocument) {
+                objectUnderTest.writeStartOfDocument()
+            }
+            generatorFails = true
+        when: 'the writer is used'
+            operation(objectUnderTest)
+        then: 'an unchecked io exception is thrown'
+            thrown(UncheckedIOException)
+        where: 'the following operations are used'
+            scenario                | startDocument | operation
+            'starting the document' | false         | { it.writeStartOfDocument() }
+            'entering a data node'  | true          | { it.enterDataNode(new DataNodeBuilder().withXpath('/parent').build()) }
+            'exiting a data node'   | true          | { it.exitDataNode(new DataNodeBuilder().withXpath('/parent').build()) }
+    }
+
+    def visitDepthFirst(objectUnderTest, DataNode dataNode) {
+        def dataNodeWithoutChildren = new DataNodeBuilder().withXpath(dataNode.xpath).withLeaves(dataNode.leaves).build()
+        objectUnderTest.enterDataNode(dataNodeWithoutChildren)
+        dataNode.childDataNodes.each { visitDepthFirst(objectUnderTest, it) }
+        objectUnderTest.exitDataNode(dataNodeWithoutChildren)
+    }
+
+    def buildContainer() {
+        def grandChild = new DataNodeBuilder().withXpath('/parent/child/grand-child').withLeaves(['grandChildLeaf': 'value']).build()
+        def child = new DataNodeBuilder().withXpath('/parent/child').withChildDataNodes([grandChild]).build()
+        def listElements = (1..3).collect { buildListElement('/parent/some-list', it) }
+        def otherListElement = buildListElement('/parent/some-list-other', 1)
+        return new DataNodeBuilder().withXpath('/parent').withLeaves(['parentLeaf': 'value', 'parentLeafList': ['a', 'b']])
+            .withChildDataNodes([otherListElement, child] + listElements).build()
+    }
+
+    def buildListElement(listXpath, key) {
+        def xpath = "${listXpath}[@key='${key}']"
+        def nestedListElement = new DataNodeBuilder().withXpath("${xpath}/nested[@id='1']").withLeaves(['id': 1]).build()
+        return new DataNodeBuilder().withXpath(xpath).withLeaves(['key': key]).withChildDataNodes([nestedListElement]).build()
+    }
+}
@@ -21,6 +21,7 @@
 
 package org.onap.cps.utils
 
+import com.fasterxml.jackson.core.JsonFactory
 import com.fasterxml.jackson.core.JsonProcessingException
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.fasterxml.jackson.databind.SerializationFeature
@@ -57,6 +58,17 @@ class JsonObjectMapperSpec extends Specification {
             assert thrown.details == 'message from cause'
     }
 
+    def 'Create json generator with io exception.'() {
+        given: 'the json factory of the object mapper throws an io exception'
+            def mockJsonFactory = Mock(JsonFactory)
+            mockJsonFactory.createGenerator(_ as OutputStream) >> { throw new IOException('some io problem') }
+            spiedObjectMapper.getFactory() >> mockJsonFactory
+        when: 'attempt to create a json generator'
+            jsonObjectMapper.createJsonGenerator(new ByteArrayOutputStream())
+        then: 'an unchecked io exception is thrown'
+            thrown(UncheckedIOException)
+    }
+
     def 'Map a structured object to json String error.'() {
         given: 'some object'
             def object = new Object()
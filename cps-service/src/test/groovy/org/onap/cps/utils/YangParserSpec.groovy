@@ -47,6 +47,8 @@ class YangParserSpec extends Specification {
     def yangResourceContentPerName = TestUtils.getYangResourcesAsMap('bookstore.yang')
     def mockYangTextSchemaSourceSet = Mock(YangTextSchemaSourceSet)
     def mockSchemaContext = Mock(SchemaContext)
+    def mockChangedYangTextSchemaSourceSet = Mock(YangTextSchemaSourceSet)
+    def mockChangedSchemaContext = Mock(SchemaContext)
     def containerNodeFromYangUtils = Mock(ContainerNode)
 
     def noParent = ''
@@ -56,6 +58,7 @@ class YangParserSpec extends Specification {
     def setup() {
         mockYangTextSchemaSourceSetCache.get('my dataspace', 'my schema') >> mockYangTextSchemaSourceSet
         mockYangTextSchemaSourceSet.schemaContext() >> mockSchemaContext
+        mockChangedYangTextSchemaSourceSet.schemaContext() >> mockChangedSchemaContext
     }
 
     def 'Convert RestConf-style path to CPS path'() {
@@ -90,26 +93,33 @@ class YangParserSpec extends Specification {
             0 * mockYangTextSchemaSourceSetCache.removeFromCache(*_)
     }
 
-    def 'Parsing data with exception on first attempt.'() {
-        given: 'the yang parser throws an exception on the first attempt only'
-            mockYangParserHelper.parseData(ContentType.JSON, 'some json', mockSchemaContext, noParent, validateAndParse)  >> { throw new DataValidationException(noParent, noParent) } >> containerNodeFromYangUtils
+    def 'Parsing invalid data when the schema set has changed.'() {
+        given: 'the yang parser throws an exception for the cached schema context only'
+            mockYangParserHelper.parseData(ContentType.JSON, 'some json', mockSchemaContext, noParent, validateAndParse) >> { throw new DataValidationException(noParent, noParent) }
+            mockYangParserHelper.parseData(ContentType.JSON, 'some json', mockChangedSchemaContext, noParent, validateAndParse) >> containerNodeFromYangUtils
+        and: 'the stored schema set has changed'
+            mockYangTextSchemaSourceSetCache.getIfSchemaSetChanged('my dataspace', 'my schema') >> Optional.of(mockChangedYangTextSchemaSourceSet)
         when: 'attempt to parse some data'
             def result = objectUnderTest.parseData(ContentType.JSON, 'some json', anchor, noParent)
-        then: 'the cache is cleared for the correct dataspace and schema'
-            1 * mockYangTextSchemaSourceSetCache.removeFromCache('my dataspace', 'my schema')
-        and: 'the result is the same container node as return from yang utils (no exception thrown!)'
+        then: 'the result is the container node parsed with the changed schema context (no exception thrown!)'
             assert result == containerNodeFromYangUtils
+        and: 'nothing is removed from the cache'
+            0 * mockYangTextSchemaSourceSetCache.removeFromCache(*_)
     }
 
-    def 'Parsing data with exception on all attempts.'() {
+    def 'Parsing invalid data when the schema set has not changed.'() {
         given: 'the yang parser always throws an exception'
-            mockYangParserHelper.parseData(ContentType.JSON, 'some json', mockSchemaContext, noParent, validateAndParse)  >> { throw new DataValidationException(noParent, noParent) }
+            mockYangParserHelper.parseData(ContentType.JSON, 'some json', mockSchemaContext, noParent, validateAndParse) >> { throw new DataValidationException(noParent, noParent) }
+        and: 'the stored schema set has not changed'
+            mockYangTextSchemaSourceSetCache.getIfSchemaSetChanged('my dataspace', 'my schema') >> Optional.empty()
         when: 'attempt to parse some data'
             objectUnderTest.parseData(ContentType.JSON, 'some json', anchor, noParent)
         then: 'a data validation exception is thrown'
             thrown(DataValidationException)
-        and: 'the cache is cleared for the correct dataspace and schema (but that did not help)'
-            1 * mockYangTextSchemaSourceSetCache.removeFromCache('my dataspace', 'my schema')
+        and: 'the data is not parsed again'
+            0 * mockYangParserHelper.parseData(ContentType.JSON, 'some json', mockChangedSchemaContext, *_)
+        and: 'nothing is removed from the cache'
+            0 * mockYangTextSchemaSourceSetCache.removeFromCache(*_)
     }
 
     def 'Parsing data with yang resource to context map.'() {
@@ -138,26 +148,30 @@ class YangParserSpec extends Specification {
             'XML'    | ContentType.XML
     }
 
-    def 'Validating data when parsing fails on first attempt and recovers.'() {
-        given: 'the Yang parser throws an exception on the first attempt but succeeds on the second'
-            mockYangParserHelper.parseData(ContentType.JSON, 'some json', mockSchemaContext, noParent, validateOnly)  >> { throw new DataValidationException(noParent, noParent) } >> null
-        when: 'attempting to parse JSON data'
+    def 'Validating invalid data when the schema set has changed.'() {
+        given: 'the yang parser throws an exception for the cached schema context only'
+            mockYangParserHelper.parseData(ContentType.JSON, 'some json', mockSchemaContext, noParent, validateOnly) >> { throw new DataValidationException(noParent, noParent) }
+        and: 'the stored schema set has changed'
+            mockYangTextSchemaSourceSetCache.getIfSchemaSetChanged('my dataspace', 'my schema') >> Optional.of(mockChangedYangTextSchemaSourceSet)
+        when: 'attempting to validate JSON data'
             objectUnderTest.validateData(ContentType.JSON, 'some json', anchor, noParent)
-        then: 'the cache is cleared for the correct dataspace and schema after the first failure'
-            1 * mockYangTextSchemaSourceSetCache.removeFromCache('my dataspace', 'my schema')
-        and: 'no exceptions are thrown after the second attempt'
+        then: 'the data is validated again using the changed schema context'
+            1 * mockYangParserHelper.parseData(ContentType.JSON, 'some json', mockChangedSchemaContext, noParent, validateOnly)
+        and: 'no exceptions are thrown'
             noExceptionThrown()
     }
 
-    def 'Validating data with repeated parsing failures leading to exception.'() {
-        given: 'the yang parser throws an exception on the first attempt only'
-            mockYangParserHelper.parseData(ContentType.JSON, 'some json', mockSchemaContext, noParent, validateOnly)  >> { throw new DataValidationException(noParent, noParent) }
-        when: 'attempting to parse JSON data'
+    def 'Validating invalid data when the schema set has not changed.'() {
+        given: 'the yang parser always throws an exception'
+            mockYangParserHelper.parseData(ContentType.JSON, 'some json', mockSchemaContext, noParent, validateOnly) >> { throw new DataValidationException(noParent, noParent) }
+        and: 'the stored schema set has not changed'
+            mockYangTextSchemaSourceSetCache.getIfSchemaSetChanged('my dataspace', 'my schema') >> Optional.empty()
+        when: 'attempting to validate JSON data'
             objectUnderTest.validateData(ContentType.JSON, 'some json', anchor, noParent)
         then: 'a data validation exception is thrown'
             thrown(DataValidationException)
-        and: 'the cache is cleared for the correct dataspace and schema after the failure'
-            1 * mockYangTextSchemaSourceSetCache.removeFromCache('my dataspace', 'my schema')
+        and: 'nothing is removed from the cache'
+            0 * mockYangTextSchemaSourceSetCache.removeFromCache(*_)
     }
 
     def 'Get module and root node references using an anchor'() {
@@ -45,7 +45,7 @@ class DeltaReportExecutorSpec extends Specification {
 
     def mockCpsAnchorService = Mock(CpsAnchorService)
     def mockCpsDataPersistenceService = Mock(CpsDataPersistenceService)
-    def mockYangTextSchemaSourceSetCache = Mock(YangTextSchemaSourceSetCache)
+    def mockYangTextSchemaSourceSetCache = Mock(YangTextSchemaSourceSetCache) { getIfSchemaSetChanged(*_) >> Optional.empty() }
     def mockTimedYangTextSchemaSourceSetBuilder = Mock(TimedYangTextSchemaSourceSetBuilder)
     def yangParser = new YangParser(new YangParserHelper(), mockYangTextSchemaSourceSetCache, mockTimedYangTextSchemaSourceSetBuilder)
     def dataNodeFactory = new DataNodeFactoryImpl(yangParser)
@@ -0,0 +1,174 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.integration.functional.cps
+
+import org.onap.cps.api.exceptions.AnchorNotFoundException
+import org.onap.cps.api.parameters.PaginationOption
+import org.onap.cps.integration.base.FunctionalSpecBase
+import org.onap.cps.ri.CpsAdminPersistenceServiceImpl
+import org.onap.cps.ri.repository.AnchorTombstoneRepository
+import org.onap.cps.ri.tombstone.AnchorTombstoneReclaimer
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.dao.DataAccessException
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.test.util.ReflectionTestUtils
+
+import java.time.OffsetDateTime
+
+import static org.onap.cps.api.parameters.FetchDescendantsOption.OMIT_DESCENDANTS
+import static org.onap.cps.utils.ContentType.JSON
+
+class AnchorTombstoneIntegrationSpec extends FunctionalSpecBase {
+
+    static TOMBSTONE_TEST_DATASPACE = 'tombstoneTestDataspace'
+
+    @Autowired
+    CpsAdminPersistenceServiceImpl cpsAdminPersistenceService
+
+    @Autowired
+    AnchorTombstoneRepository anchorTombstoneRepository
+
+    @Autowired
+    JdbcTemplate jdbcTemplate
+
+    def reclaimer
+
+    def setup() {
+        reclaimer = new AnchorTombstoneReclaimer(anchorTombstoneRepository)
+        reclaimer.reclaimPauseMs = 0
+        cpsDataspaceService.createDataspace(TOMBSTONE_TEST_DATASPACE)
+        createStandardBookStoreSchemaSet(TOMBSTONE_TEST_DATASPACE)
+        addAnchorsWithData(2, TOMBSTONE_TEST_DATASPACE, BOOKSTORE_SCHEMA_SET, 'anchor', bookstoreJsonData, JSON)
+    }
+
+    def cleanup() {
+        ReflectionTestUtils.setField(cpsAdminPersistenceService, 'anchorTombstoneEnabled', false)
+        if (dataspaceExists(TOMBSTONE_TEST_DATASPACE)) {
+            cpsModuleService.deleteSchemaSetsWithCascade(TOMBSTONE_TEST_DATASPACE, [BOOKSTORE_SCHEMA_SET])
+            cpsDataspaceService.deleteDataspace(TOMBSTONE_TEST_DATASPACE)
+        }
+    }
+
+    def 'Deleted anchor is hidden, its name can be reused and its fragments are reclaimed with tombstones #tombstoneEnabled.'() {
+        given: 'anchor tombstones are enabled or not'
+            ReflectionTestUtils.setField(cpsAdminPersistenceService, 'anchorTombstoneEnabled', tombstoneEnabled)
+        and: 'the id of anchor 1 and the number of its fragments'
+            def anchorId = getAnchorId('anchor1')
+            def originalFragmentCount = countFragments(anchorId)
+            assert originalFragmentCount > 0
+        when: 'anchor 1 is deleted'
+            cpsAnchorService.deleteAnchor(TOMBSTONE_TEST_DATASPACE, 'anchor1')
+        then: 'the anchor can no longer be read'
+            def thrown = null
+            try {
+                cpsAnchorService.getAnchor(TOMBSTONE_TEST_DATASPACE, 'anchor1')
+            } catch (AnchorNotFoundException anchorNotFoundException) {
+                thrown = anchorNotFoundException
+            }
+            assert thrown != null
+        and: 'it is no longer listed'
+            assert cpsAnchorService.getAnchors(TOMBSTONE_TEST_DATASPACE).collect { it.name } == ['anchor2']
+            assert cpsAnchorService.getAnchors(TOMBSTONE_TEST_DATASPACE, ['anchor1', 'anchor2']).collect { it.name } == ['anchor2']
+            assert cpsAnchorService.getAnchorsBySchemaSetName(TOMBSTONE_TEST_DATASPACE, BOOKSTORE_SCHEMA_SET).collect { it.name } == ['anchor2']
+            assert cpsAnchorService.queryAnchorNames(TOMBSTONE_TEST_DATASPACE, ['stores']) as List == ['anchor2']
+        and: 'its data nodes are not found by queries across anchors'
+            assert cpsQueryService.queryDataNodesAcrossAnchors(TOMBSTONE_TEST_DATASPACE, '/bookstore', OMIT_DESCENDANTS, PaginationOption.NO_PAGINATION)
+                .collect { it.anchorName } == ['anchor2']
+            assert cpsQueryService.countAnchorsForDataspaceAndCpsPath(TOMBSTONE_TEST_DATASPACE, '/bookstore', PaginationOption.NO_PAGINATION) == 1
+        and: 'only with tombstones the fragments (and the anchor row) still exist'
+            assert countFragments(anchorId) == (tombstoneEnabled ? originalFragmentCount : 0)
+            assert countAnchorRows(anchorId) == (tombstoneEnabled ? 1 : 0)
+        when: 'an anchor with the same name is created with different data'
+            cpsAnchorService.createAnchor(TOMBSTONE_TEST_DATASPACE, BOOKSTORE_SCHEMA_SET, 'anchor1')
+            cpsDataService.saveData(TOMBSTONE_TEST_DATASPACE, 'anchor1', '{"bookstore":{"bookstore-name":"New Store"}}', OffsetDateTime.now())
+        then: 'the new anchor and only its data can be read'
+            def dataNodes = cpsDataService.getDataNodes(TOMBSTONE_TEST_DATASPACE, 'anchor1', '/bookstore', OMIT_DESCENDANTS)
+            assert dataNodes.size() == 1
+            assert dataNodes[0].leaves['bookstore-name'] == 'New Store'
+            assert getAnchorId('anchor1') != anchorId
+        when: 'the fragments of tombstoned anchors are reclaimed'
+            reclaimer.reclaimTombstonedAnchors()
+        then: 'all fragments of the deleted anchor and its row are gone'
+            assert countFragments(anchorId) == 0
+            assert countAnchorRows(anchorId) == 0
+        and: 'the data of the new anchor is untouched'
+            assert cpsDataService.getDataNodes(TOMBSTONE_TEST_DATASPACE, 'anchor1', '/bookstore', OMIT_DESCENDANTS).size() == 1
+        where: 'anchor tombstones are'
+            tombstoneEnabled << [false, true]
+    }
+
+    def 'Delete multiple anchors, schema set and dataspace with tombstones #tombstoneEnabled.'() {
+        given: 'anchor tombstones are enabled or not'
+            ReflectionTestUtils.setField(cpsAdminPersistenceService, 'anchorTombstoneEnabled', tombstoneEnabled)
+        and: 'the ids of both anchors'
+            def anchorIds = [getAnchorId('anchor1'), getAnchorId('anchor2')]
+        when: 'both anchors are deleted'
+            cpsAnchorService.deleteAnchors(TOMBSTONE_TEST_DATASPACE, ['anchor1', 'anchor2'])
+        then: 'no anchors are left'
+            assert cpsAnchorService.getAnchors(TOMBSTONE_TEST_DATASPACE).isEmpty()
+        and: 'only with tombstones the fragments still exist'
+            anchorIds.each { assert (countFragments(it) > 0) == tombstoneEnabled }
+        and: 'the schema set can be deleted (it is no longer used by the deleted anchors)'
+            cpsModuleService.deleteSchemaSetsWithCascade(TOMBSTONE_TEST_DATASPACE, [BOOKSTORE_SCHEMA_SET])
+        when: 'the dataspace is deleted (before reclaiming)'
+            cpsDataspaceService.deleteDataspace(TOMBSTONE_TEST_DATASPACE)
+        then: 'the deleted anchors and all their fragments are gone'
+            anchorIds.each {
+                assert countFragments(it) == 0
+                assert countAnchorRows(it) == 0
+            }
+        where: 'anchor tombstones are'
+            tombstoneEnabled << [false, true]
+    }
+
+    def 'Fragments cannot be added to a tombstoned anchor (e.g. by an instance with a stale cached anchor).'() {
+        given: 'anchor tombstones are enabled'
+            ReflectionTestUtils.setField(cpsAdminPersistenceService, 'anchorTombstoneEnabled', true)
+        and: 'anchor 1 is deleted (tombstoned)'
+            def anchorId = getAnchorId('anchor1')
+            cpsAnchorService.deleteAnchor(TOMBSTONE_TEST_DATASPACE, 'anchor1')
+        when: 'a fragment is inserted for the tombstoned anchor'
+            insertFragment(anchorId, '/stale')
+        then: 'the insert is rejected'
+            def thrown = thrown(DataAccessException)
+            assert thrown.message.contains("Anchor with id ${anchorId} has been deleted")
+        and: 'fragments can still be added to other anchors'
+            insertFragment(getAnchorId('anchor2'), '/not-stale')
+            assert countFragments(getAnchorId('anchor2')) > 0
+    }
+
+    def insertFragment(anchorId, xpath) {
+        jdbcTemplate.update("INSERT INTO fragment (id, anchor_id, xpath) VALUES (nextval('fragment_id_seq'), ?, ?)", anchorId, xpath)
+    }
+
+    def getAnchorId(anchorName) {
+        return jdbcTemplate.queryForObject('SELECT anchor.id FROM anchor JOIN dataspace ON dataspace.id = anchor.dataspace_id'
+            + ' WHERE dataspace.name = ? AND anchor.name = ? AND anchor.deleted_at IS NULL', Long, TOMBSTONE_TEST_DATASPACE, anchorName)
+    }
+
+    def countFragments(anchorId) {
+        return jdbcTemplate.queryForObject('SELECT count(*) FROM fragment WHERE anchor_id = ?', Long, anchorId)
+    }
+
+    def countAnchorRows(anchorId) {
+        return jdbcTemplate.queryForObject('SELECT count(*) FROM anchor WHERE id = ?', Long, anchorId)
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.integration.functional.cps
+
+import org.onap.cps.integration.base.FunctionalSpecBase
+import org.onap.cps.ri.attributeindex.AttributeIndexBackfiller
+import org.onap.cps.ri.models.AnchorEntity
+import org.onap.cps.ri.repository.FragmentAttributeIndexRepository
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.test.util.ReflectionTestUtils
+
+import java.time.OffsetDateTime
+
+import static org.onap.cps.api.parameters.FetchDescendantsOption.OMIT_DESCENDANTS
+import static org.onap.cps.utils.ContentType.JSON
+
+class AttributeIndexIntegrationSpec extends FunctionalSpecBase {
+
+    static ATTRIBUTE_INDEX_TEST_DATASPACE = 'attributeIndexTestDataspace'
+    static INDEXED_ANCHOR = 'bookstoreAnchor1'
+    static NOT_INDEXED_ANCHOR = 'notIndexedAnchor1'
+
+    @Autowired
+    AttributeIndexBackfiller attributeIndexBackfiller
+
+    @Autowired
+    FragmentAttributeIndexRepository fragmentAttributeIndexRepository
+
+    @Autowired
+    JdbcTemplate jdbcTemplate
+
+    def setup() {
+        ReflectionTestUtils.setField(attributeIndexBackfiller, 'backfillPauseMs', 0L)
+        ReflectionTestUtils.setField(attributeIndexBackfiller, 'backfillChunkSize', 3)
+        cpsDataspaceService.createDataspace(ATTRIBUTE_INDEX_TEST_DATASPACE)
+        createStandardBookStoreSchemaSet(ATTRIBUTE_INDEX_TEST_DATASPACE)
+        addAnchorsWithData(1, ATTRIBUTE_INDEX_TEST_DATASPACE, BOOKSTORE_SCHEMA_SET, 'bookstoreAnchor', bookstoreJsonData, JSON)
+        addAnchorsWithData(1, ATTRIBUTE_INDEX_TEST_DATASPACE, BOOKSTORE_SCHEMA_SET, 'notIndexedAnchor', bookstoreJsonData, JSON)
+    }
+
+    def cleanup() {
+        cpsModuleService.deleteSchemaSetsWithCascade(ATTRIBUTE_INDEX_TEST_DATASPACE, [BOOKSTORE_SCHEMA_SET])
+        cpsDataspaceService.deleteDataspace(ATTRIBUTE_INDEX_TEST_DATASPACE)
+    }
+
+    def 'Attribute index of a configured anchor is only used once its existing data is backfilled.'() {
+        given: 'the ids of both anchors'
+            def indexedAnchorId = getAnchorId(INDEXED_ANCHOR)
+            def notIndexedAnchorId = getAnchorId(NOT_INDEXED_ANCHOR)
+        and: 'the anchor entity of the indexed anchor'
+            def anchorEntity = new AnchorEntity(id: indexedAnchorId, name: INDEXED_ANCHOR)
+        expect: 'the index is not used before the anchor is backfilled, and querying does not write anything'
+            assert !fragmentAttributeIndexRepository.isAttributeIndexEnabled(anchorEntity)
+            assert countIndexedLeaves(indexedAnchorId) == 0
+        when: 'the configured anchors are indexed in the background'
+            attributeIndexBackfiller.indexConfiguredAnchors()
+        then: 'the leaves of the existing fragments of the configured anchor are indexed'
+            assert countIndexedLeaves(indexedAnchorId) > 0
+        and: 'the backfill of the anchor is completed, so the index is used'
+            assert fragmentAttributeIndexRepository.isAttributeIndexEnabled(anchorEntity)
+        and: 'the other anchor is not indexed'
+            assert countIndexedLeaves(notIndexedAnchorId) == 0
+        and: 'queries on the indexed anchor give the same result as on the other anchor'
+            ['//books[@price=14]', '//books[@price>14]', '//books[@lang="English" or @price=15]'].each {
+                assert queryBookTitles(INDEXED_ANCHOR, it) == queryBookTitles(NOT_INDEXED_ANCHOR, it)
+            }
+    }
+
+    def 'The trigger only indexes changes to indexed anchors.'() {
+        given: 'the configured anchors are indexed'
+            attributeIndexBackfiller.indexConfiguredAnchors()
+        when: 'a book price is changed in both anchors'
+            [INDEXED_ANCHOR, NOT_INDEXED_ANCHOR].each {
+                cpsDataService.updateNodeLeaves(ATTRIBUTE_INDEX_TEST_DATASPACE, it, '/bookstore/categories[@code="1"]',
+                    '{"books":[{"title":"Matilda","price":99}]}', OffsetDateTime.now(), JSON)
+            }
+        then: 'the change is found in the indexed anchor'
+            assert queryBookTitles(INDEXED_ANCHOR, '//books[@price=99]') == ['Matilda']
+            assert !queryBookTitles(INDEXED_ANCHOR, '//books[@price=20]').contains('Matilda')
+        and: 'the other anchor still has no indexed leaves'
+            assert countIndexedLeaves(getAnchorId(NOT_INDEXED_ANCHOR)) == 0
+        when: 'a book is added to the indexed anchor'
+            cpsDataService.saveListElements(ATTRIBUTE_INDEX_TEST_DATASPACE, INDEXED_ANCHOR, '/bookstore/categories[@code="1"]',
+                '{"books":[{"title":"New Book","price":77}]}', OffsetDateTime.now(), JSON)
+        then: 'the new book is found using the index'
+            assert queryBookTitles(INDEXED_ANCHOR, '//books[@price=77]') == ['New Book']
+    }
+
+    def getAnchorId(anchorName) {
+        return jdbcTemplate.queryForObject('SELECT anchor.id FROM anchor JOIN dataspace ON dataspace.id = anchor.dataspace_id'
+            + ' WHERE dataspace.name = ? AND anchor.name = ?', Long, ATTRIBUTE_INDEX_TEST_DATASPACE, anchorName)
+    }
+
+    def countIndexedLeaves(anchorId) {
+        return jdbcTemplate.queryForObject('SELECT count(*) FROM fragment_attribute_index WHERE anchor_id = ?', Long, anchorId)
+    }
+
+    def queryBookTitles(anchorName, cpsPath) {
+        return cpsQueryService.queryDataNodes(ATTRIBUTE_INDEX_TEST_DATASPACE, anchorName, cpsPath, OMIT_DESCENDANTS)
+            .collect { it.leaves['title'] }.sort()
+    }
+}
@@ -22,6 +22,7 @@
 package org.onap.cps.integration.functional.cps
 
 import org.onap.cps.api.CpsDataService
+import org.onap.cps.api.DataNodeVisitor
 import org.onap.cps.api.exceptions.AlreadyDefinedException
 import org.onap.cps.api.exceptions.AnchorNotFoundException
 import org.onap.cps.api.exceptions.CpsPathException
@@ -70,6 +71,28 @@ class DataServiceIntegrationSpec extends FunctionalSpecBase {
             new FetchDescendantsOption(2) || 28
     }
 
+    def 'Stream bookstore top-level container using #fetchDescendantsOption.'() {
+        given: 'a visitor that records the xpaths of the data nodes it enters and exits'
+            def enteredXpaths = []
+            def exitedXpaths = []
+            def dataNodeVisitor = [enterDataNode: { enteredXpaths << it.xpath }, exitDataNode: { exitedXpaths << it.xpath }] as DataNodeVisitor
+        when: 'data nodes for bookstore container are streamed'
+            objectUnderTest.streamDataNodes(FUNCTIONAL_TEST_DATASPACE_1, BOOKSTORE_ANCHOR_1, '/bookstore', fetchDescendantsOption, dataNodeVisitor)
+        then: 'the same number of data nodes are streamed as when reading the data'
+            assert enteredXpaths.size() == expectNumberOfDataNodes
+        and: 'every data node is entered before its descendants'
+            assert enteredXpaths[0] == '/bookstore'
+            enteredXpaths.eachWithIndex { xpath, index -> assert index == 0 || enteredXpaths.subList(0, index).any { xpath.startsWith(it + '/') } }
+        and: 'every data node is exited after its descendants'
+            assert exitedXpaths.size() == expectNumberOfDataNodes
+            assert exitedXpaths.last() == '/bookstore'
+        where: 'the following option is used'
+            fetchDescendantsOption        || expectNumberOfDataNodes
+            OMIT_DESCENDANTS              || 1
+            DIRECT_CHILDREN_ONLY          || 7
+            INCLUDE_ALL_DESCENDANTS       || 28
+    }
+
     def 'Read bookstore top-level container(s) using "root" path variations.'() {
         when: 'get data nodes for bookstore container'
             def result = objectUnderTest.getDataNodes(FUNCTIONAL_TEST_DATASPACE_1, BOOKSTORE_ANCHOR_1, root, OMIT_DESCENDANTS)
@@ -0,0 +1,208 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.integration.functional.cps
+
+import org.onap.cps.integration.base.FunctionalSpecBase
+import org.onap.cps.ri.CpsDataPersistenceServiceImpl
+import org.onap.cps.ri.repository.FragmentBulkInsertRepositoryImpl
+import org.onap.cps.ri.repository.FragmentPrefetchRepositoryImpl
+import org.onap.cps.ri.repository.FragmentQueryBuilder
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.test.util.AopTestUtils
+import org.springframework.test.util.ReflectionTestUtils
+
+import java.time.OffsetDateTime
+
+import static org.onap.cps.api.parameters.FetchDescendantsOption.INCLUDE_ALL_DESCENDANTS
+import static org.onap.cps.utils.ContentType.JSON
+
+class FragmentPathIdsIntegrationSpec extends FunctionalSpecBase {
+
+    static PATH_IDS_TEST_DATASPACE = 'pathIdsTestDataspace'
+    static PATH_IDS_TEST_ANCHOR = 'pathIdsAnchor1'
+
+    // the materialized path of every fragment, calculated from the parent ids
+    static EXPECTED_PATH_IDS_CTE = '''
+            WITH RECURSIVE expected AS (
+                SELECT id, ARRAY[id] AS path_ids FROM fragment WHERE parent_id IS NULL AND anchor_id = ?
+              UNION ALL
+                SELECT child.id, expected.path_ids || child.id
+                FROM fragment child JOIN expected ON child.parent_id = expected.id
+            )'''
+
+    @Autowired
+    JdbcTemplate jdbcTemplate
+
+    @Autowired
+    FragmentQueryBuilder fragmentQueryBuilder
+
+    @Autowired
+    FragmentPrefetchRepositoryImpl fragmentPrefetchRepository
+
+    @Autowired
+    FragmentBulkInsertRepositoryImpl fragmentBulkInsertRepository
+
+    @Autowired
+    CpsDataPersistenceServiceImpl cpsDataPersistenceService
+
+    def setup() {
+        cpsDataspaceService.createDataspace(PATH_IDS_TEST_DATASPACE)
+        createStandardBookStoreSchemaSet(PATH_IDS_TEST_DATASPACE)
+        addAnchorsWithData(1, PATH_IDS_TEST_DATASPACE, BOOKSTORE_SCHEMA_SET, 'pathIdsAnchor', bookstoreJsonData, JSON)
+    }
+
+    def cleanup() {
+        setFlag(fragmentQueryBuilder, 'fragmentPathIdsEnabled', false)
+        setFlag(fragmentPrefetchRepository, 'fragmentPathIdsEnabled', false)
+        setFlag(fragmentBulkInsertRepository, 'fragmentPathIdsEnabled', false)
+        setFlag(cpsDataPersistenceService, 'bulkInsertMinimumNumberOfFragments', 1000)
+        jdbcTemplate.execute('SELECT cps_disable_fragment_path_ids()')
+        cpsModuleService.deleteSchemaSetsWithCascade(PATH_IDS_TEST_DATASPACE, [BOOKSTORE_SCHEMA_SET])
+        cpsDataspaceService.deleteDataspace(PATH_IDS_TEST_DATASPACE)
+    }
+
+    def 'Path ids are not maintained by default.'() {
+        expect: 'no path ids for the fragments written without enabling them'
+            assert countFragmentsWithPathIds() == 0
+        and: 'no triggers on the fragment table for them'
+            assert jdbcTemplate.queryForObject("SELECT count(*) FROM pg_trigger WHERE tgname LIKE 'fragment%path_ids_trigger'", Long) == 0
+    }
+
+    def 'Enabling path ids calculates the paths of the existing fragments once.'() {
+        when: 'path ids are enabled'
+            def firstResult = jdbcTemplate.queryForObject('SELECT cps_enable_fragment_path_ids()', Boolean)
+        then: 'the paths of all existing fragments are calculated'
+            assert firstResult
+            assertAllPathIdsCorrect()
+        and: 'enabling again does nothing'
+            assert !jdbcTemplate.queryForObject('SELECT cps_enable_fragment_path_ids()', Boolean)
+    }
+
+    def 'Insert trigger sets the path of new fragments.'() {
+        given: 'path ids are enabled'
+            jdbcTemplate.execute('SELECT cps_enable_fragment_path_ids()')
+        when: 'books are added to an existing category'
+            cpsDataService.saveListElements(PATH_IDS_TEST_DATASPACE, PATH_IDS_TEST_ANCHOR, '/bookstore/categories[@code="1"]',
+                '{"books":[{"title":"New Book 1"},{"title":"New Book 2"}]}', OffsetDateTime.now(), JSON)
+        and: 'a new category with a book is added'
+            cpsDataService.saveListElements(PATH_IDS_TEST_DATASPACE, PATH_IDS_TEST_ANCHOR, '/bookstore',
+                '{"categories":[{"code":"100","books":[{"title":"New Book 3"}]}]}', OffsetDateTime.now(), JSON)
+        then: 'the paths of all fragments are correct'
+            assertAllPathIdsCorrect()
+    }
+
+    def 'Bulk insert with path ids calculated #scenario.'() {
+        given: 'path ids are enabled'
+            jdbcTemplate.execute('SELECT cps_enable_fragment_path_ids()')
+        and: 'every insert is a bulk insert'
+            setFlag(cpsDataPersistenceService, 'bulkInsertMinimumNumberOfFragments', 1)
+        and: 'the bulk insert calculates the path ids itself or not'
+            setFlag(fragmentBulkInsertRepository, 'fragmentPathIdsEnabled', calculatedByBulkInsert)
+        when: 'a category with books is added'
+            cpsDataService.saveListElements(PATH_IDS_TEST_DATASPACE, PATH_IDS_TEST_ANCHOR, '/bookstore',
+                '{"categories":[{"code":"100","books":[{"title":"New Book 1"},{"title":"New Book 2"}]}]}', OffsetDateTime.now(), JSON)
+        then: 'the paths of all fragments are correct'
+            assertAllPathIdsCorrect()
+        where: 'path ids are calculated'
+            scenario                 | calculatedByBulkInsert
+            'by the bulk insert'     | true
+            'by the insert trigger'  | false
+    }
+
+    def 'Update trigger recalculates the paths of a re-parented fragment and its descendants.'() {
+        given: 'path ids are enabled'
+            jdbcTemplate.execute('SELECT cps_enable_fragment_path_ids()')
+        and: 'the fragments of two categories'
+            def category1Id = getFragmentId("/bookstore/categories[@code='1']")
+            def category2Id = getFragmentId("/bookstore/categories[@code='2']")
+        and: 'a book of category 2 with a child fragment'
+            cpsDataService.saveListElements(PATH_IDS_TEST_DATASPACE, PATH_IDS_TEST_ANCHOR, "/bookstore/categories[@code='2']",
+                '{"books":[{"title":"Moving Book"}]}', OffsetDateTime.now(), JSON)
+            def bookId = getFragmentId("/bookstore/categories[@code='2']/books[@title='Moving Book']")
+            jdbcTemplate.update("INSERT INTO fragment (id, anchor_id, parent_id, xpath, attributes) SELECT nextval('fragment_id_seq'), anchor_id, id, xpath || '/child', '{}' FROM fragment WHERE id = ?", bookId)
+        when: 'the book is moved to category 1'
+            jdbcTemplate.update('UPDATE fragment SET parent_id = ? WHERE id = ?', category1Id, bookId)
+        then: 'the paths of the book and its child now go through category 1'
+            def pathIdsOfBookAndChild = jdbcTemplate.queryForList('SELECT path_ids::TEXT FROM fragment WHERE path_ids @> ARRAY[?::BIGINT] ORDER BY cardinality(path_ids)', String, bookId)
+            assert pathIdsOfBookAndChild.size() == 2
+            pathIdsOfBookAndChild.each { assert it.contains(",${category1Id},${bookId}") && !it.contains(",${category2Id},") }
+        and: 'the paths of all fragments are correct'
+            assertAllPathIdsCorrect()
+    }
+
+    def 'Queries using path ids give the same results as without: #scenario.'() {
+        given: 'path ids are enabled'
+            jdbcTemplate.execute('SELECT cps_enable_fragment_path_ids()')
+        and: 'the results without using path ids'
+            def expectedResult = queryXpathsWithDescendants(cpsPath)
+        when: 'queries use the path ids'
+            setFlag(fragmentQueryBuilder, 'fragmentPathIdsEnabled', true)
+            setFlag(fragmentPrefetchRepository, 'fragmentPathIdsEnabled', true)
+        then: 'the same data nodes (and descendants) are found'
+            assert queryXpathsWithDescendants(cpsPath) == expectedResult
+            assert !expectedResult.isEmpty()
+        where: 'the following cps paths are used'
+            scenario                 | cpsPath
+            'all descendants'        | '/bookstore'
+            'list elements'          | '//books[@price=15]'
+            'ancestor list elements' | '//books/ancestor::categories'
+            'top ancestor'           | '//books[@lang="English"]/ancestor::bookstore'
+    }
+
+    def queryXpathsWithDescendants(cpsPath) {
+        def dataNodes = cpsQueryService.queryDataNodes(PATH_IDS_TEST_DATASPACE, PATH_IDS_TEST_ANCHOR, cpsPath, INCLUDE_ALL_DESCENDANTS)
+        def xpaths = []
+        def collectXpaths
+        collectXpaths = { dataNode ->
+            xpaths.add(dataNode.xpath)
+            dataNode.childDataNodes.each(collectXpaths)
+        }
+        dataNodes.each(collectXpaths)
+        return xpaths.sort()
+    }
+
+    def assertAllPathIdsCorrect() {
+        def anchorId = getAnchorId()
+        def numberOfFragments = jdbcTemplate.queryForObject('SELECT count(*) FROM fragment WHERE anchor_id = ?', Long, anchorId)
+        assert jdbcTemplate.queryForObject(EXPECTED_PATH_IDS_CTE + ' SELECT count(*) FROM expected', Long, anchorId) == numberOfFragments
+        assert jdbcTemplate.queryForObject(EXPECTED_PATH_IDS_CTE
+            + ' SELECT count(*) FROM expected JOIN fragment USING (id) WHERE fragment.path_ids IS DISTINCT FROM expected.path_ids', Long, anchorId) == 0
+        return true
+    }
+
+    def countFragmentsWithPathIds() {
+        return jdbcTemplate.queryForObject('SELECT count(*) FROM fragment WHERE anchor_id = ? AND path_ids IS NOT NULL', Long, getAnchorId())
+    }
+
+    def getAnchorId() {
+        return jdbcTemplate.queryForObject('SELECT anchor.id FROM anchor JOIN dataspace ON dataspace.id = anchor.dataspace_id'
+            + ' WHERE dataspace.name = ? AND anchor.name = ?', Long, PATH_IDS_TEST_DATASPACE, PATH_IDS_TEST_ANCHOR)
+    }
+
+    def getFragmentId(xpath) {
+        return jdbcTemplate.queryForObject('SELECT id FROM fragment WHERE anchor_id = ? AND xpath = ?', Long, getAnchorId(), xpath)
+    }
+
+    def static setFlag(bean, fieldName, value) {
+        ReflectionTestUtils.setField(AopTestUtils.getUltimateTargetObject(bean), fieldName, value)
+    }
+}
@@ -234,6 +234,24 @@ class ModuleServiceIntegrationSpec extends FunctionalSpecBase {
             objectUnderTest.deleteSchemaSetsWithCascade(FUNCTIONAL_TEST_DATASPACE_1, ['newSchema1'])
     }
 
+    def 'Find schema set by module references with #scenario.'() {
+        given: 'a schema set with two modules'
+            populateYangResourceContentPerNameAndAllModuleReferences('fingerprint', 2)
+            objectUnderTest.createSchemaSetFromModules(FUNCTIONAL_TEST_DATASPACE_1, 'fingerprintSchema', yangResourceContentPerName, allModuleReferences)
+        when: 'a schema set is searched for by module references'
+            def result = objectUnderTest.findSchemaSetNameByModuleReferences(FUNCTIONAL_TEST_DATASPACE_1, moduleReferences)
+        then: 'the schema set is only found when it has exactly the same modules'
+            assert result == Optional.ofNullable(expectedSchemaSetName)
+        cleanup: 'the data created in this test'
+            objectUnderTest.deleteSchemaSetsWithCascade(FUNCTIONAL_TEST_DATASPACE_1, ['fingerprintSchema'])
+        where: 'the following module references are used'
+            scenario                      | moduleReferences                                                                                                        || expectedSchemaSetName
+            'the same modules'            | [new ModuleReference('fingerprint_0', '2000-01-01'), new ModuleReference('fingerprint_1', '2001-01-01')]                || 'fingerprintSchema'
+            'the same modules, reordered' | [new ModuleReference('fingerprint_1', '2001-01-01'), new ModuleReference('fingerprint_0', '2000-01-01', 'some:namespace')] || 'fingerprintSchema'
+            'a subset of the modules'     | [new ModuleReference('fingerprint_0', '2000-01-01')]                                                                    || null
+            'a different revision'        | [new ModuleReference('fingerprint_0', '2000-01-01'), new ModuleReference('fingerprint_1', '2002-01-01')]                || null
+    }
+
     def 'Create schema set with duplicate module filename [CPS-138].'() {
         given: 'store the original number of sets and modules'
             def numberOfSchemaSets = objectUnderTest.getSchemaSets(FUNCTIONAL_TEST_DATASPACE_1).size()
@@ -27,6 +27,7 @@ import static org.onap.cps.api.parameters.FetchDescendantsOption.OMIT_DESCENDANT
 import static org.onap.cps.api.parameters.PaginationOption.NO_PAGINATION
 
 import java.time.OffsetDateTime
+import java.util.function.Consumer
 import org.onap.cps.api.CpsQueryService
 import org.onap.cps.integration.base.FunctionalSpecBase
 import org.onap.cps.api.parameters.FetchDescendantsOption
@@ -441,6 +442,18 @@ class QueryServiceIntegrationSpec extends FunctionalSpecBase {
             'no 2nd page due to page size' | 2         | 2        || 0                || []                                       || []
     }
 
+    def 'Cps Path query across anchors using pagination option after an anchor with #scenario.'() {
+        when: 'a query is executed to get a data nodes across anchors after the given anchor'
+            def result = objectUnderTest.queryDataNodesAcrossAnchors(FUNCTIONAL_TEST_DATASPACE_1, '/bookstore', OMIT_DESCENDANTS, new PaginationOption(1, 1, afterAnchorName))
+        then: 'the queried nodes have expected anchor names'
+            assert result.anchorName == expectedAnchors
+        where: 'the following data is used'
+            scenario               | afterAnchorName    || expectedAnchors
+            'first anchor'         | BOOKSTORE_ANCHOR_1 || [BOOKSTORE_ANCHOR_2]
+            'last anchor'          | BOOKSTORE_ANCHOR_2 || []
+            'name before anchors'  | ''                 || [BOOKSTORE_ANCHOR_1]
+    }
+
     def 'Cps Path query across anchors using pagination option for ancestor axis.'() {
         when: 'a query is executed to get a data nodes across anchors by the given CpsPath and pagination option'
             def result = objectUnderTest.queryDataNodesAcrossAnchors(FUNCTIONAL_TEST_DATASPACE_1, '//books/ancestor::categories', INCLUDE_ALL_DESCENDANTS, new PaginationOption(1, 2))
@@ -451,9 +464,28 @@ class QueryServiceIntegrationSpec extends FunctionalSpecBase {
             assert result.anchorName.toSet() == [BOOKSTORE_ANCHOR_1, BOOKSTORE_ANCHOR_2].toSet()
     }
 
-    def 'Count number of anchors for given dataspace name and cps path'() {
-        expect: '/bookstore is present in two anchors'
-            assert objectUnderTest.countAnchorsForDataspaceAndCpsPath(FUNCTIONAL_TEST_DATASPACE_1, '/bookstore') == 2
+    def 'Stream cps path query across anchors.'() {
+        given: 'a consumer that collects the data nodes per anchor'
+            def dataNodesPerAnchor = [:]
+            def dataNodesPerAnchorConsumer = { dataNodes -> dataNodesPerAnchor[dataNodes[0].anchorName] = dataNodes } as Consumer
+        when: 'a query across anchors is streamed'
+            objectUnderTest.streamDataNodesAcrossAnchors(FUNCTIONAL_TEST_DATASPACE_1, '/bookstore', INCLUDE_ALL_DESCENDANTS, dataNodesPerAnchorConsumer)
+        then: 'the consumer receives the bookstore of each anchor'
+            assert dataNodesPerAnchor.keySet() == [BOOKSTORE_ANCHOR_1, BOOKSTORE_ANCHOR_2] as Set
+            assert dataNodesPerAnchor.values().collect { it[0].leaves['bookstore-name'] } as Set == ['Easons-1', 'Easons-2'] as Set
+        and: 'the descendants are included'
+            assert dataNodesPerAnchor[BOOKSTORE_ANCHOR_1][0].childDataNodes.size() > 0
+    }
+
+    def 'Count number of anchors for given dataspace name and cps path with #scenario.'() {
+        expect: '/bookstore is present in the expected number of anchors'
+            assert objectUnderTest.countAnchorsForDataspaceAndCpsPath(FUNCTIONAL_TEST_DATASPACE_1, '/bookstore', paginationOption) == expectedCount
+        where: 'the following pagination options are used'
+            scenario                      | paginationOption                                 || expectedCount
+            'no pagination'               | NO_PAGINATION                                    || 2
+            'page index only'             | new PaginationOption(2, 1)                       || 2
+            'after the first anchor name' | new PaginationOption(1, 1, BOOKSTORE_ANCHOR_1)   || 1
+            'after the last anchor name'  | new PaginationOption(1, 1, BOOKSTORE_ANCHOR_2)   || 0
     }
 
     def 'Cps Path query across anchors using no pagination'() {
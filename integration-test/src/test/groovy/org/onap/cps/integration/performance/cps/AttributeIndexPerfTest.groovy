@@ -0,0 +1,73 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.integration.performance.cps
+
+import org.onap.cps.integration.performance.base.CpsPerfTestBase
+import org.onap.cps.ri.repository.FragmentAttributeIndexRepository
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.jdbc.core.JdbcTemplate
+
+import java.time.OffsetDateTime
+
+class AttributeIndexPerfTest extends CpsPerfTestBase {
+
+    static final def ATTRIBUTE_INDEX_TEST_ANCHOR = 'attributeIndexTestAnchor'
+    static final def OTHER_INDEXED_ANCHOR = 'attributeIndexOtherAnchor'
+
+    @Autowired
+    FragmentAttributeIndexRepository fragmentAttributeIndexRepository
+
+    @Autowired
+    JdbcTemplate jdbcTemplate
+
+    def 'Writing openroadm data to an anchor that is not indexed, while another anchor is indexed.'() {
+        given: 'an indexed anchor exists, so the attribute index trigger is active'
+            cpsAnchorService.createAnchor(CPS_PERFORMANCE_TEST_DATASPACE, LARGE_SCHEMA_SET, OTHER_INDEXED_ANCHOR)
+            fragmentAttributeIndexRepository.registerAnchors([getAnchorId(OTHER_INDEXED_ANCHOR)])
+        and: 'an empty anchor for openroadm, which is not indexed'
+            cpsAnchorService.createAnchor(CPS_PERFORMANCE_TEST_DATASPACE, LARGE_SCHEMA_SET, ATTRIBUTE_INDEX_TEST_ANCHOR)
+            def anchorId = getAnchorId(ATTRIBUTE_INDEX_TEST_ANCHOR)
+        and: 'a list of device nodes to add'
+            def jsonData = generateOpenRoadData(totalNodes)
+        when: 'device nodes are added'
+            resourceMeter.start()
+            cpsDataService.saveData(CPS_PERFORMANCE_TEST_DATASPACE, ATTRIBUTE_INDEX_TEST_ANCHOR, jsonData, OffsetDateTime.now())
+            resourceMeter.stop()
+        then: 'the leaves of the anchor are not indexed'
+            assert countIndexedLeaves(anchorId) == 0
+        and: 'the operation takes less than #expectedDuration with a margin of 100%'
+            recordAndAssertResourceUsage("CPS:Writing ${totalNodes} devices, not indexed", expectedDuration, resourceMeter.totalTimeInSeconds, resourceMeter.totalMemoryUsageInMB)
+        cleanup:
+            cpsAnchorService.deleteAnchors(CPS_PERFORMANCE_TEST_DATASPACE, [ATTRIBUTE_INDEX_TEST_ANCHOR, OTHER_INDEXED_ANCHOR])
+        where: 'the same limit as in WritePerfTest is used'
+            totalNodes || expectedDuration
+            200        || 6.2
+    }
+
+    def getAnchorId(anchorName) {
+        return jdbcTemplate.queryForObject('SELECT anchor.id FROM anchor JOIN dataspace ON dataspace.id = anchor.dataspace_id'
+            + ' WHERE dataspace.name = ? AND anchor.name = ?', Long, CPS_PERFORMANCE_TEST_DATASPACE, anchorName)
+    }
+
+    def countIndexedLeaves(anchorId) {
+        return jdbcTemplate.queryForObject('SELECT count(*) FROM fragment_attribute_index WHERE anchor_id = ?', Long, anchorId)
+    }
+}
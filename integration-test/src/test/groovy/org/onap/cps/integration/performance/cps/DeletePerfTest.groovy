@@ -22,6 +22,7 @@
 package org.onap.cps.integration.performance.cps
 
 import org.onap.cps.api.exceptions.DataNodeNotFoundException
+import org.onap.cps.api.parameters.FetchDescendantsOption
 import org.onap.cps.utils.ContentType
 import java.time.OffsetDateTime
 import org.onap.cps.api.CpsDataService
@@ -176,6 +177,32 @@ class DeletePerfTest extends CpsPerfTestBase {
             recordAndAssertResourceUsage('CPS:Batch delete 100 non-existing data nodes', 2, deleteDurationInSeconds, resourceMeter.getTotalMemoryUsageInMB())
     }
 
+    def 'Batch delete 10,000 cm handles from a registry'() {
+        given: 'a registry anchor with 10,000 cm handles'
+            def registryModel = readResourceDataFile('inventory/dmi-registry@2024-02-23.yang')
+            cpsModuleService.createSchemaSet(CPS_PERFORMANCE_TEST_DATASPACE, 'deleteRegistrySchemaSet', [registry: registryModel])
+            cpsAnchorService.createAnchor(CPS_PERFORMANCE_TEST_DATASPACE, 'deleteRegistrySchemaSet', 'deleteRegistry')
+            cpsDataService.saveData(CPS_PERFORMANCE_TEST_DATASPACE, 'deleteRegistry', '{"dmi-registry": []}', OffsetDateTime.now())
+            def cmHandleJsonTemplate = readResourceDataFile('inventory/cmHandleTemplate.json')
+            (0..<10_000).step(1000) { offset ->
+                def data = '{ "cm-handles": [' + (1..1000).collect { cmHandleJsonTemplate.replace('CM_HANDLE_ID_POSTFIX', (it + offset).toString()) }.join(',') + ']}'
+                cpsDataService.saveListElements(CPS_PERFORMANCE_TEST_DATASPACE, 'deleteRegistry', '/dmi-registry', data, OffsetDateTime.now(), ContentType.JSON)
+            }
+        and: 'the xpaths of all cm handles, in batches of 300'
+            def xpathBatches = (1..10_000).collect { "/dmi-registry/cm-handles[@id='cm-" + it + "']" }.collate(300)
+        when: 'all cm handles are deleted in batches'
+            resourceMeter.start()
+            xpathBatches.each {
+                objectUnderTest.deleteDataNodes(CPS_PERFORMANCE_TEST_DATASPACE, 'deleteRegistry', it, OffsetDateTime.now())
+            }
+            resourceMeter.stop()
+            def deleteDurationInSeconds = resourceMeter.getTotalTimeInSeconds()
+        then: 'no cm handles remain'
+            cpsDataService.getDataNodes(CPS_PERFORMANCE_TEST_DATASPACE, 'deleteRegistry', '/dmi-registry', FetchDescendantsOption.DIRECT_CHILDREN_ONLY)[0].childDataNodes.isEmpty()
+        and: 'delete duration is below accepted margin of the expected average'
+            recordAndAssertResourceUsage('CPS:Batch delete 10,000 cm handles', 4, deleteDurationInSeconds, resourceMeter.getTotalMemoryUsageInMB())
+    }
+
     def 'Clean up test data'() {
         given: 'a list of anchors to delete'
             def anchorNames = (1..10).collect {'delete' + it}
@@ -184,6 +211,8 @@ class DeletePerfTest extends CpsPerfTestBase {
             cpsAnchorService.deleteAnchors(CPS_PERFORMANCE_TEST_DATASPACE, anchorNames)
             resourceMeter.stop()
             def deleteDurationInSeconds = resourceMeter.getTotalTimeInSeconds()
+        and: 'the registry used for the cm handle deletion is removed'
+            cpsModuleService.deleteSchemaSetsWithCascade(CPS_PERFORMANCE_TEST_DATASPACE, ['deleteRegistrySchemaSet'])
         then: 'delete duration is below accepted margin of the expected average'
             recordAndAssertResourceUsage('CPS:Delete test cleanup', 9, deleteDurationInSeconds, resourceMeter.getTotalMemoryUsageInMB())
     }
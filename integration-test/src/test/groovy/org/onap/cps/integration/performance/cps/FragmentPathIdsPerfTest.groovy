@@ -0,0 +1,104 @@
+/*
+ *  ============LICENSE_START=======================================================
+ *  Copyright (C) 2025 OpenInfra Foundation Europe. All rights reserved.
+ *  ================================================================================
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *  ============LICENSE_END=========================================================
+ */
+
+package org.onap.cps.integration.performance.cps
+
+import org.onap.cps.integration.performance.base.CpsPerfTestBase
+import org.onap.cps.ri.repository.FragmentBulkInsertRepositoryImpl
+import org.onap.cps.ri.repository.FragmentPrefetchRepositoryImpl
+import org.onap.cps.ri.repository.FragmentQueryBuilder
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.test.util.AopTestUtils
+import org.springframework.test.util.ReflectionTestUtils
+
+import java.time.OffsetDateTime
+
+import static org.onap.cps.api.parameters.FetchDescendantsOption.INCLUDE_ALL_DESCENDANTS
+
+class FragmentPathIdsPerfTest extends CpsPerfTestBase {
+
+    static final def PATH_IDS_TEST_ANCHOR = 'pathIdsTestAnchor'
+
+    @Autowired
+    JdbcTemplate jdbcTemplate
+
+    @Autowired
+    FragmentPrefetchRepositoryImpl fragmentPrefetchRepository
+
+    @Autowired
+    FragmentBulkInsertRepositoryImpl fragmentBulkInsertRepository
+
+    @Autowired
+    FragmentQueryBuilder fragmentQueryBuilder
+
+    def cleanup() {
+        setPathIdsEnabled(false)
+    }
+
+    def 'Writing openroadm data with path ids #scenario.'() {
+        given: 'path ids are maintained or not'
+            setPathIdsEnabled(maintained)
+        and: 'an empty anchor for openroadm'
+            cpsAnchorService.createAnchor(CPS_PERFORMANCE_TEST_DATASPACE, LARGE_SCHEMA_SET, PATH_IDS_TEST_ANCHOR)
+        and: 'a list of device nodes to add'
+            def jsonData = generateOpenRoadData(totalNodes)
+        when: 'device nodes are added'
+            resourceMeter.start()
+            cpsDataService.saveData(CPS_PERFORMANCE_TEST_DATASPACE, PATH_IDS_TEST_ANCHOR, jsonData, OffsetDateTime.now())
+            resourceMeter.stop()
+        then: 'the operation takes less than #expectedDuration with a margin of 100%'
+            recordAndAssertResourceUsage("CPS:Writing ${totalNodes} devices, path ids ${scenario}", expectedDuration, resourceMeter.totalTimeInSeconds, resourceMeter.totalMemoryUsageInMB)
+        cleanup:
+            cpsAnchorService.deleteAnchor(CPS_PERFORMANCE_TEST_DATASPACE, PATH_IDS_TEST_ANCHOR)
+        where: 'writing without path ids has the same limit as in WritePerfTest'
+            scenario         | maintained | totalNodes || expectedDuration
+            'not maintained' | false      | 200        || 6.2
+            'maintained'     | true       | 200        || 7.3
+    }
+
+    def 'Read all descendants with path ids #scenario.'() {
+        given: 'path ids are maintained and used by queries or not'
+            setPathIdsEnabled(used)
+        when: 'all descendants of the top-level node of an openroadm anchor are read'
+            resourceMeter.start()
+            def result = cpsDataService.getDataNodes(CPS_PERFORMANCE_TEST_DATASPACE, 'openroadm1', '/openroadm-devices', INCLUDE_ALL_DESCENDANTS)
+            resourceMeter.stop()
+        then: 'all data nodes are read'
+            assert countDataNodesInTree(result) == 1 + OPENROADM_DEVICES_PER_ANCHOR * OPENROADM_DATANODES_PER_DEVICE
+        and: 'the operation takes less than #expectedDuration with a margin of 100%'
+            recordAndAssertResourceUsage("CPS:Read all descendants, path ids ${scenario}", expectedDuration, resourceMeter.totalTimeInSeconds, resourceMeter.totalMemoryUsageInMB)
+        where: 'reading without path ids has the same limit as in GetPerfTest'
+            scenario   | used  || expectedDuration
+            'not used' | false || 1.0
+            'used'     | true  || 0.5
+    }
+
+    def setPathIdsEnabled(enabled) {
+        if (enabled) {
+            jdbcTemplate.execute('SELECT cps_enable_fragment_path_ids()')
+        } else {
+            jdbcTemplate.execute('SELECT cps_disable_fragment_path_ids()')
+        }
+        [fragmentPrefetchRepository, fragmentBulkInsertRepository, fragmentQueryBuilder].each {
+            ReflectionTestUtils.setField(AopTestUtils.getUltimateTargetObject(it), 'fragmentPathIdsEnabled', enabled)
+        }
+    }
+}
@@ -65,4 +65,19 @@ class AlternateIdPerfTest extends CpsIntegrationSpecBase {
         then: 'record the result. Not asserted, just recorded in See https://lf-onap.atlassian.net/browse/CPS-2743?focusedCommentId=83220'
             println "*** CPS-2743 Execution time: ${resourceMeter.totalTimeInSeconds} ms"
     }
+
+    def 'Alternate Id Longest Match Performance for a batch of paths.'() {
+        given: 'an offset at 90% of the network size, so matches are not at the start...'
+            def offset = (int) (0.9 * NETWORK_SIZE)
+        and: '1,000 paths, each 4 levels below an alternate id (as in a write data job)'
+            def paths = (1..1000).collect { "${altIdPrefix}alt=${(it % 100) + offset}/d=4/e=5/f=6/g=${it}".toString() }
+        when: 'the longest matches are found for all paths in one batch'
+            resourceMeter.start()
+            def cmHandleIds = alternateIdMatcher.getCmHandleIdsByLongestMatchingAlternateIds(paths, '/')
+            resourceMeter.stop()
+        then: 'every path is matched'
+            assert cmHandleIds.size() == 1000
+        and: 'record the result. Not asserted, just recorded'
+            println "*** Batch longest match execution time: ${resourceMeter.totalTimeInSeconds} ms"
+    }
 }